@@ -0,0 +1,170 @@
+package com.risk.benchmark;
+
+import com.risk.config.AreaDefinition;
+import com.risk.config.MapDefinition;
+import com.risk.config.MapGraph;
+import com.risk.config.TerritoryDefinition;
+import com.risk.model.Continent;
+import com.risk.model.Game;
+import com.risk.model.GameMode;
+import com.risk.model.GamePhase;
+import com.risk.model.GameStatus;
+import com.risk.model.Player;
+import com.risk.model.PlayerColor;
+import com.risk.model.PlayerType;
+import com.risk.model.Territory;
+import com.risk.service.GameLifecycleService;
+import com.risk.service.GameQueryService;
+import com.risk.service.LiveGame;
+import com.risk.service.LiveGameRegistry;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Dealt, in-memory boards for the benchmarks.
+ * <p>
+ * A map name is either a built-in map id ({@code classic-world}, {@code europe}) or
+ * {@code synthetic-N}: a grid of N territories with 4-way adjacency, grouped into
+ * continents of {@value #SYNTHETIC_CONTINENT_SIZE}. Boards are dealt like
+ * {@code GameLifecycleService} deals them, from a fixed seed, and registered as live so
+ * the services answer from memory.
+ */
+public final class BenchmarkBoards {
+
+    private static final String SYNTHETIC_PREFIX = "synthetic-";
+    private static final int SYNTHETIC_CONTINENT_SIZE = 25;
+
+    private BenchmarkBoards() {
+    }
+
+    /**
+     * A dealt game, its live state and the registry and query service that serve it.
+     */
+    public record Board(Game game, LiveGame live, LiveGameRegistry registry, GameQueryService queries) {
+    }
+
+    public static MapDefinition map(String name) {
+        if (name.startsWith(SYNTHETIC_PREFIX)) {
+            return synthetic(Integer.parseInt(name.substring(SYNTHETIC_PREFIX.length())));
+        }
+        try (InputStream in = BenchmarkBoards.class.getResourceAsStream("/maps/" + name + ".json")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown map: " + name);
+            }
+            return new ObjectMapper().readValue(in, MapDefinition.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unknown map: " + name, e);
+        }
+    }
+
+    /**
+     * Square-ish grid of {@code size} territories; each touches its row and column neighbors.
+     */
+    public static MapDefinition synthetic(int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("A synthetic map needs at least 2 territories");
+        }
+        int width = (int) Math.ceil(Math.sqrt(size));
+        List<AreaDefinition> areas = new ArrayList<>();
+        List<TerritoryDefinition> members = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            List<String> neighbors = new ArrayList<>(4);
+            int x = i % width;
+            if (x > 0) neighbors.add("t" + (i - 1));
+            if (x < width - 1 && i + 1 < size) neighbors.add("t" + (i + 1));
+            if (i >= width) neighbors.add("t" + (i - width));
+            if (i + width < size) neighbors.add("t" + (i + width));
+            members.add(new TerritoryDefinition("t" + i, "T" + i, neighbors, x, (double) i / width));
+            if (members.size() == SYNTHETIC_CONTINENT_SIZE || i == size - 1) {
+                int c = areas.size();
+                areas.add(new AreaDefinition("c" + c, "C" + c, 2, "#888888", members));
+                members = new ArrayList<>();
+            }
+        }
+        return new MapDefinition(SYNTHETIC_PREFIX + size, "Synthetic " + size, "Benchmark grid", "benchmark",
+                2, 6, areas);
+    }
+
+    public static Board deal(MapDefinition map, int playerCount, long seed) {
+        Random random = new Random(seed);
+        MapGraph graph = MapGraph.compile(map);
+        Game game = Game.builder()
+                .id("bench-" + map.id())
+                .name("Benchmark " + map.id())
+                .mapId(map.id())
+                .status(GameStatus.IN_PROGRESS)
+                .currentPhase(GamePhase.REINFORCEMENT)
+                .currentPlayerIndex(0)
+                .turnNumber(1)
+                .maxPlayers(playerCount)
+                .minPlayers(2)
+                .gameMode(GameMode.CLASSIC)
+                .build();
+        for (int seat = 0; seat < playerCount; seat++) {
+            game.getPlayers().add(Player.builder()
+                    .id("seat-" + seat)
+                    .name("Seat " + seat)
+                    .color(PlayerColor.values()[seat])
+                    .type(PlayerType.CPU)
+                    .game(game)
+                    .turnOrder(seat)
+                    .build());
+        }
+
+        List<Territory> territories = new ArrayList<>(graph.size());
+        List<Continent> continents = new ArrayList<>(map.areas().size());
+        for (AreaDefinition area : map.areas()) {
+            Continent continent = Continent.builder()
+                    .id(area.key())
+                    .continentKey(area.key())
+                    .name(area.name())
+                    .bonusArmies(area.bonusArmies())
+                    .color(area.color())
+                    .game(game)
+                    .build();
+            for (TerritoryDefinition definition : area.territories()) {
+                Territory territory = Territory.builder()
+                        .id(definition.key())
+                        .territoryKey(definition.key())
+                        .name(definition.name())
+                        .game(game)
+                        .continent(continent)
+                        .mapX(definition.mapX())
+                        .mapY(definition.mapY())
+                        .build();
+                graph.attach(territory);
+                continent.getTerritories().add(territory);
+                territories.add(territory);
+            }
+            continents.add(continent);
+        }
+
+        List<Territory> deck = new ArrayList<>(territories);
+        Collections.shuffle(deck, random);
+        List<Player> players = game.getPlayers();
+        int initialArmies = GameLifecycleService.getInitialArmiesPerPlayer(playerCount);
+        for (int i = 0; i < deck.size(); i++) {
+            Territory territory = deck.get(i);
+            territory.setOwner(players.get(i % playerCount));
+            territory.setArmies(1);
+        }
+        for (int p = 0; p < playerCount; p++) {
+            int owned = (deck.size() - p + playerCount - 1) / playerCount;
+            for (int i = owned; i < initialArmies; i++) {
+                Territory t = deck.get(p + random.nextInt(owned) * playerCount);
+                t.setArmies(t.getArmies() + 1);
+            }
+        }
+
+        LiveGameRegistry registry = new LiveGameRegistry(null, null, null);
+        LiveGame live = new LiveGame(game, graph, territories, continents);
+        registry.register(live);
+        return new Board(game, live, registry, new GameQueryService(null, null, null, registry, null));
+    }
+}
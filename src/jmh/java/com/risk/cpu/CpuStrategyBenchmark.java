@@ -0,0 +1,67 @@
+package com.risk.cpu;
+
+import com.risk.benchmark.BenchmarkBoards;
+import com.risk.model.CPUDifficulty;
+import com.risk.model.Game;
+import com.risk.model.Player;
+import com.risk.simulation.StrategyProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three decisions of the built-in CPU strategies on a freshly dealt live board.
+ * EXPERT is left out: its search runs for a fixed wall-clock budget.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CpuStrategyBenchmark {
+
+    @Param({"classic-world", "europe", "synthetic-2000"})
+    public String map;
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    public CPUDifficulty difficulty;
+
+    private Game game;
+    private Player player;
+    private CPUStrategy strategy;
+
+    @Setup
+    public void setUp() {
+        BenchmarkBoards.Board board = BenchmarkBoards.deal(BenchmarkBoards.map(map), 4, 42);
+        game = board.game();
+        player = game.getCurrentPlayer();
+        strategy = StrategyProvider.of(difficulty, 0).create(board.queries(), new Random(42));
+    }
+
+    @Benchmark
+    public CPUAction decideReinforcement() {
+        return strategy.decideReinforcement(game, player, 5);
+    }
+
+    @Benchmark
+    public CPUAction decideAttack() {
+        return strategy.decideAttack(game, player);
+    }
+
+    @Benchmark
+    public CPUAction decideFortify() {
+        return strategy.decideFortify(game, player);
+    }
+}
@@ -0,0 +1,66 @@
+package com.risk.dto;
+
+import com.risk.benchmark.BenchmarkBoards;
+import com.risk.model.Game;
+import com.risk.model.Territory;
+import com.risk.service.GameQueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the client game state: the game header, every territory, and the full
+ * {@link GameQueryService#getGameState} a state broadcast pays for on a cache miss.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoBenchmark {
+
+    @Param({"classic-world", "europe", "synthetic-2000", "synthetic-10000"})
+    public String map;
+
+    private Game game;
+    private List<Territory> territories;
+    private GameQueryService queries;
+
+    @Setup
+    public void setUp() {
+        BenchmarkBoards.Board board = BenchmarkBoards.deal(BenchmarkBoards.map(map), 4, 42);
+        game = board.game();
+        territories = List.copyOf(board.live().getTerritories());
+        queries = board.queries();
+    }
+
+    @Benchmark
+    public GameStateDTO gameStateFromGame() {
+        return GameStateDTO.fromGame(game);
+    }
+
+    @Benchmark
+    public void territoriesFromTerritory(Blackhole blackhole) {
+        for (Territory territory : territories) {
+            blackhole.consume(TerritoryDTO.fromTerritory(territory));
+        }
+    }
+
+    @Benchmark
+    public GameStateDTO gameState() {
+        return queries.getGameState(game.getId());
+    }
+}
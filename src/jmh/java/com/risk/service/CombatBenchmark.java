@@ -0,0 +1,77 @@
+package com.risk.service;
+
+import com.risk.benchmark.BenchmarkBoards;
+import com.risk.dto.AttackResult;
+import com.risk.model.Game;
+import com.risk.model.Territory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One dice round through {@link CombatService#executeAttack} on a live game: dice,
+ * losses, dirty marking, counters and the event log.
+ * <p>
+ * Both sides are topped up before every round so the front never falls and each call does
+ * the same work; the game's pending writes are drained now and then, as the flusher would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CombatBenchmark {
+
+    private static final int DRAIN_EVERY = 1024;
+
+    @Param({"classic-world", "europe", "synthetic-2000", "synthetic-10000"})
+    public String map;
+
+    private BenchmarkBoards.Board board;
+    private CombatService combat;
+    private Territory from;
+    private Territory to;
+    private int rounds;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkBoards.deal(BenchmarkBoards.map(map), 4, 42);
+        WinConditionService winConditions = new WinConditionService(null, board.queries(), board.registry(), event -> { });
+        combat = new CombatService(board.queries(), winConditions, board.registry(), new Random(42));
+        for (Territory territory : board.live().getTerritories()) {
+            for (String neighborKey : territory.getNeighborKeys()) {
+                Territory neighbor = board.live().findTerritory(neighborKey).orElseThrow();
+                if (neighbor.getOwner() != territory.getOwner()) {
+                    from = territory;
+                    to = neighbor;
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException("No front on map " + map);
+    }
+
+    @Benchmark
+    public AttackResult executeAttack() {
+        Game game = board.game();
+        from.setArmies(50);
+        to.setArmies(50);
+        AttackResult result = combat.executeAttack(game, from, to, 3);
+        if (++rounds % DRAIN_EVERY == 0) {
+            board.live().drainChanges();
+        }
+        return result;
+    }
+}
@@ -2,24 +2,25 @@ package com.risk.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 import java.util.concurrent.Executor;
 
 /**
  * Async configuration for CPU player execution.
+ * <p>
+ * Each CPU turn runs on its own virtual thread. A turn spends nearly all its time in
+ * think-delay sleeps, and a sleeping virtual thread releases its carrier thread, so
+ * thousands of concurrent CPU games need only a few platform threads and no turn is
+ * ever rejected for lack of a pool slot.
  */
 @Configuration
 public class AsyncConfig {
 
     @Bean(name = "taskExecutor")
     public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(25);
-        executor.setThreadNamePrefix("CPU-");
-        executor.initialize();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("CPU-");
+        executor.setVirtualThreads(true);
         return executor;
     }
 }
@@ -0,0 +1,77 @@
+package com.risk.config;
+
+/**
+ * Helpers for territory bitsets stored as {@code long[]} words (bit {@code i} = territory {@code i}).
+ */
+public final class Bits {
+
+    private Bits() {
+    }
+
+    public static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    public static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    public static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+
+    public static int count(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Whether {@code a} has any bit that is not in {@code b}.
+     */
+    public static boolean anyAndNot(long[] a, long[] b) {
+        for (int w = 0; w < a.length; w++) {
+            if ((a[w] & ~b[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of bits of {@code a} that are not in {@code b}.
+     */
+    public static int countAndNot(long[] a, long[] b) {
+        int count = 0;
+        for (int w = 0; w < a.length; w++) {
+            count += Long.bitCount(a[w] & ~b[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Index of the next set bit of {@code a & ~b} at or after {@code from}, or {@code -1}.
+     */
+    public static int nextAndNot(long[] a, long[] b, int from) {
+        int w = from >>> 6;
+        if (w >= a.length) {
+            return -1;
+        }
+        long word = (a[w] & ~b[w]) & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == a.length) {
+                return -1;
+            }
+            word = a[w] & ~b[w];
+        }
+    }
+}
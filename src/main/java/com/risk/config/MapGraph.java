@@ -0,0 +1,308 @@
+package com.risk.config;
+
+import com.risk.model.Territory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, compiled topology of a {@link MapDefinition}.
+ * <p>
+ * Every territory gets a dense index in declaration order. Adjacency is stored in
+ * compressed sparse row form ({@code offsets}/{@code targets}), so neighbor checks and
+ * iteration need no string hashing. Continent membership and each continent's border
+ * territories (those with a neighbor outside the continent) are precomputed as well.
+ * Neighbor sets and continents are also available as bitsets ({@code long} words,
+ * bit {@code i} = territory {@code i}) for word-wise set operations.
+ * One instance is shared by every game played on the map.
+ */
+public final class MapGraph {
+
+    private final String mapId;
+    private final String[] keys;
+    private final Map<String, Integer> indexByKey;
+
+    // CSR adjacency: neighbors of i are targets[offsets[i] .. offsets[i + 1])
+    private final int[] offsets;
+    private final int[] targets;
+    private final List<Set<String>> neighborKeys;
+
+    private final long[][] neighborMasks;
+
+    private final String[] continentKeys;
+    private final int[] continentBonus;
+    private final int[] continentOf;
+    private final int[][] continentMembers;
+    private final int[][] continentBorders;
+    private final long[][] continentMasks;
+
+    private MapGraph(String mapId, String[] keys, Map<String, Integer> indexByKey,
+                     int[] offsets, int[] targets, List<Set<String>> neighborKeys,
+                     String[] continentKeys, int[] continentBonus, int[] continentOf,
+                     int[][] continentMembers, int[][] continentBorders) {
+        this.mapId = mapId;
+        this.keys = keys;
+        this.indexByKey = indexByKey;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.neighborKeys = neighborKeys;
+        this.continentKeys = continentKeys;
+        this.continentBonus = continentBonus;
+        this.continentOf = continentOf;
+        this.continentMembers = continentMembers;
+        this.continentBorders = continentBorders;
+
+        int words = Bits.words(keys.length);
+        this.neighborMasks = new long[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            neighborMasks[i] = new long[words];
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                Bits.set(neighborMasks[i], targets[e]);
+            }
+        }
+        this.continentMasks = new long[continentKeys.length][];
+        for (int c = 0; c < continentKeys.length; c++) {
+            continentMasks[c] = new long[words];
+            for (int member : continentMembers[c]) {
+                Bits.set(continentMasks[c], member);
+            }
+        }
+    }
+
+    /**
+     * Compile a map definition.
+     *
+     * @throws IllegalArgumentException on duplicate territory keys or unknown neighbor keys
+     */
+    public static MapGraph compile(MapDefinition map) {
+        List<AreaDefinition> areas = map.areas() != null ? map.areas() : List.of();
+
+        int size = 0;
+        for (AreaDefinition area : areas) {
+            size += area.territories().size();
+        }
+
+        String[] keys = new String[size];
+        int[] continentOf = new int[size];
+        Map<String, Integer> indexByKey = new HashMap<>(size * 2);
+        String[] continentKeys = new String[areas.size()];
+        int[] continentBonus = new int[areas.size()];
+        int[][] continentMembers = new int[areas.size()][];
+
+        int index = 0;
+        for (int c = 0; c < areas.size(); c++) {
+            AreaDefinition area = areas.get(c);
+            continentKeys[c] = area.key();
+            continentBonus[c] = area.bonusArmies();
+            continentMembers[c] = new int[area.territories().size()];
+            for (int m = 0; m < area.territories().size(); m++) {
+                String key = area.territories().get(m).key();
+                if (indexByKey.putIfAbsent(key, index) != null) {
+                    throw new IllegalArgumentException("Duplicate territory key in map " + map.id() + ": " + key);
+                }
+                keys[index] = key;
+                continentOf[index] = c;
+                continentMembers[c][m] = index;
+                index++;
+            }
+        }
+
+        int[] offsets = new int[size + 1];
+        int[] targets = new int[countEdges(areas)];
+        Set<String>[] neighborSets = newSetArray(size);
+        int edge = 0;
+        index = 0;
+        for (AreaDefinition area : areas) {
+            for (TerritoryDefinition territory : area.territories()) {
+                offsets[index] = edge;
+                Set<String> keysOfNeighbors = new LinkedHashSet<>();
+                for (String neighbor : neighborsOf(territory)) {
+                    Integer target = indexByKey.get(neighbor);
+                    if (target == null) {
+                        throw new IllegalArgumentException("Unknown neighbor '" + neighbor + "' of "
+                                + territory.key() + " in map " + map.id());
+                    }
+                    if (keysOfNeighbors.add(neighbor)) {
+                        targets[edge++] = target;
+                    }
+                }
+                neighborSets[index] = Collections.unmodifiableSet(keysOfNeighbors);
+                index++;
+            }
+        }
+        offsets[size] = edge;
+
+        int[][] continentBorders = new int[areas.size()][];
+        for (int c = 0; c < areas.size(); c++) {
+            int finalC = c;
+            continentBorders[c] = Arrays.stream(continentMembers[c])
+                    .filter(t -> hasNeighborOutside(t, finalC, offsets, targets, continentOf))
+                    .toArray();
+        }
+
+        return new MapGraph(map.id(), keys, Map.copyOf(indexByKey),
+                offsets, Arrays.copyOf(targets, edge), List.of(neighborSets),
+                continentKeys, continentBonus, continentOf, continentMembers, continentBorders);
+    }
+
+    private static int countEdges(List<AreaDefinition> areas) {
+        int edges = 0;
+        for (AreaDefinition area : areas) {
+            for (TerritoryDefinition territory : area.territories()) {
+                edges += neighborsOf(territory).size();
+            }
+        }
+        return edges;
+    }
+
+    private static List<String> neighborsOf(TerritoryDefinition territory) {
+        return territory.neighbors() != null ? territory.neighbors() : List.of();
+    }
+
+    private static boolean hasNeighborOutside(int t, int continent, int[] offsets, int[] targets, int[] continentOf) {
+        for (int e = offsets[t]; e < offsets[t + 1]; e++) {
+            if (continentOf[targets[e]] != continent) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String>[] newSetArray(int size) {
+        return (Set<String>[]) new Set[size];
+    }
+
+    public String getMapId() {
+        return mapId;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Index of a territory key, or {@code -1} if the key is not on this map.
+     */
+    public int indexOf(String territoryKey) {
+        Integer index = indexByKey.get(territoryKey);
+        return index != null ? index : -1;
+    }
+
+    public String keyOf(int index) {
+        return keys[index];
+    }
+
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * The {@code n}-th neighbor of a territory, {@code 0 <= n < degree(index)}.
+     */
+    public int neighbor(int index, int n) {
+        return targets[offsets[index] + n];
+    }
+
+    public boolean isAdjacent(int from, int to) {
+        if (from < 0 || to < 0) {
+            return false;
+        }
+        for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+            if (targets[e] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Neighbor keys of a territory as a shared, unmodifiable set.
+     */
+    public Set<String> neighborKeysOf(int index) {
+        return neighborKeys.get(index);
+    }
+
+    /**
+     * Neighbors of a territory as a bitset. The array is shared and must not be modified.
+     */
+    public long[] neighborMask(int index) {
+        return neighborMasks[index];
+    }
+
+    public int continentCount() {
+        return continentKeys.length;
+    }
+
+    public String continentKey(int continent) {
+        return continentKeys[continent];
+    }
+
+    public int continentBonus(int continent) {
+        return continentBonus[continent];
+    }
+
+    /**
+     * Index of a continent key, or {@code -1} if the key is not on this map.
+     */
+    public int continentIndex(String continentKey) {
+        for (int c = 0; c < continentKeys.length; c++) {
+            if (continentKeys[c].equals(continentKey)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Members of a continent as a bitset. The array is shared and must not be modified.
+     */
+    public long[] continentMask(int continent) {
+        return continentMasks[continent];
+    }
+
+    public int continentOf(int index) {
+        return continentOf[index];
+    }
+
+    public int continentSize(int continent) {
+        return continentMembers[continent].length;
+    }
+
+    /**
+     * The {@code m}-th member of a continent, {@code 0 <= m < continentSize(continent)}.
+     */
+    public int continentMember(int continent, int m) {
+        return continentMembers[continent][m];
+    }
+
+    public int[] continentMembers(int continent) {
+        return continentMembers[continent].clone();
+    }
+
+    /**
+     * Territories of a continent that have at least one neighbor outside it.
+     */
+    public int[] continentBorders(int continent) {
+        return continentBorders[continent].clone();
+    }
+
+    /**
+     * Bind a territory entity to this graph so adjacency checks use the compiled indices.
+     */
+    public void attach(Territory territory) {
+        int index = indexOf(territory.getTerritoryKey());
+        if (index < 0) {
+            throw new IllegalArgumentException("Territory " + territory.getTerritoryKey()
+                    + " is not on map " + mapId);
+        }
+        territory.setMapGraph(this);
+        territory.setMapIndex(index);
+        territory.setNeighborKeys(neighborKeys.get(index));
+    }
+}
@@ -16,6 +16,7 @@ import java.nio.file.Paths;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
@@ -27,6 +28,9 @@ import java.util.stream.Stream;
  *   <li>External folder: {@code ./maps/} next to the running jar – user-created custom maps</li>
  * </ol>
  * If a custom map has the same {@code id} as a built-in map, the custom one wins.
+ * <p>
+ * Each map is compiled once into a shared {@link MapGraph}; a map whose neighbors
+ * do not resolve is rejected.
  */
 @Component
 @Slf4j
@@ -38,6 +42,9 @@ public class MapLoader {
     @Getter
     private final Map<String, MapDefinition> maps = new LinkedHashMap<>();
 
+    /** Compiled topology of every loaded map, keyed by map id. */
+    private final Map<String, MapGraph> graphs = new ConcurrentHashMap<>();
+
     public MapLoader(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
@@ -76,6 +83,26 @@ public class MapLoader {
         return map;
     }
 
+    /**
+     * Get the compiled graph of a map.
+     *
+     * @throws IllegalArgumentException if the map id is unknown
+     */
+    public MapGraph getGraph(String mapId) {
+        MapGraph graph = mapId != null ? graphs.get(mapId) : null;
+        if (graph == null) {
+            throw new IllegalArgumentException("Unknown map: " + mapId
+                    + ". Available maps: " + graphs.keySet());
+        }
+        return graph;
+    }
+
+    private void register(MapDefinition map) {
+        MapGraph graph = MapGraph.compile(map);
+        maps.put(map.id(), map);
+        graphs.put(map.id(), graph);
+    }
+
     // ── classpath maps ──────────────────────────────────────────────────
 
     private void loadClasspathMaps() {
@@ -86,10 +113,10 @@ public class MapLoader {
             for (Resource resource : resources) {
                 try (InputStream is = resource.getInputStream()) {
                     MapDefinition map = objectMapper.readValue(is, MapDefinition.class);
-                    maps.put(map.id(), map);
+                    register(map);
                     log.info("Loaded built-in map '{}' ({}) from classpath",
                             map.name(), map.id());
-                } catch (IOException e) {
+                } catch (IOException | IllegalArgumentException e) {
                     log.error("Failed to load classpath map: {}", resource.getFilename(), e);
                 }
             }
@@ -119,7 +146,7 @@ public class MapLoader {
     private void loadExternalMapFile(Path path) {
         try {
             MapDefinition map = objectMapper.readValue(path.toFile(), MapDefinition.class);
-            maps.put(map.id(), map);
+            register(map);
             log.info("Loaded custom map '{}' ({}) from {}", map.name(), map.id(), path);
         } catch (Exception e) {
             log.error("Failed to load custom map: {}", path, e);
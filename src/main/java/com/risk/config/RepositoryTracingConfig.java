@@ -0,0 +1,61 @@
+package com.risk.config;
+
+import com.risk.service.GameTracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.function.Supplier;
+
+/**
+ * Adds a {@link GameTracer} span around every repository call made while a game is
+ * current on the calling thread, so a game's timeline shows its database round-trips.
+ */
+@Configuration
+public class RepositoryTracingConfig {
+
+    @Bean
+    static BeanPostProcessor repositoryTracing(ObjectProvider<GameTracer> tracer) {
+        // Resolved on first use: post-processors are created before the beans they serve
+        Supplier<GameTracer> gameTracer = SingletonSupplier.of(tracer::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(new TracingInterceptor(
+                                    gameTracer, repository.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private record TracingInterceptor(Supplier<GameTracer> tracer, String repository) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            GameTracer gameTracer = tracer.get();
+            String gameId = gameTracer.currentGame();
+            if (gameId == null) {
+                return invocation.proceed();
+            }
+            long started = System.nanoTime();
+            String failure = null;
+            try {
+                return invocation.proceed();
+            } catch (Throwable t) {
+                failure = t.getClass().getSimpleName();
+                throw t;
+            } finally {
+                gameTracer.record(gameId, GameTracer.REPOSITORY, repository + "." + invocation.getMethod().getName(),
+                        started, System.nanoTime(), failure);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.risk.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -9,7 +10,8 @@ import org.springframework.security.config.annotation.web.configurers.HeadersCon
 import org.springframework.security.web.SecurityFilterChain;
 
 /**
- * Security configuration - permissive for development.
+ * Security configuration - permissive for development, except for actuator endpoints other
+ * than health, which need the {@code spring.security.user} credentials over HTTP Basic.
  */
 @Configuration
 @EnableWebSecurity
@@ -22,8 +24,11 @@ public class SecurityConfig {
             .headers(headers -> headers
                 .frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin))
             .authorizeHttpRequests(auth -> auth
+                .requestMatchers("/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").authenticated()
                 .requestMatchers("/**").permitAll()
-            );
+            )
+            .httpBasic(Customizer.withDefaults());
         
         return http.build();
     }
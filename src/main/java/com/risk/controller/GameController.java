@@ -1,8 +1,11 @@
 package com.risk.controller;
 
 import com.risk.config.MapLoader;
+import com.risk.dto.AttackOddsDTO;
 import com.risk.dto.AttackResult;
+import com.risk.dto.BlitzResult;
 import com.risk.dto.CreateGameRequest;
+import com.risk.dto.GamePageDTO;
 import com.risk.dto.GameStateDTO;
 import com.risk.dto.GameSummaryDTO;
 import com.risk.dto.JoinGameRequest;
@@ -11,19 +14,24 @@ import com.risk.dto.PlayerDTO;
 import com.risk.dto.TerritoryDTO;
 import com.risk.model.CPUDifficulty;
 import com.risk.model.Game;
+import com.risk.model.GameMode;
 import com.risk.model.GameStatus;
 import com.risk.model.Player;
 import com.risk.model.Territory;
+import com.risk.repository.GameListing;
 import com.risk.service.CPUPlayerService;
 import com.risk.service.GameService;
+import com.risk.service.ReplayRecording;
 import com.risk.websocket.GameWebSocketHandler;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,8 +51,6 @@ public class GameController {
     private final GameWebSocketHandler webSocketHandler;
     private final MapLoader mapLoader;
 
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
     /**
      * List available maps.
      */
@@ -68,30 +74,53 @@ public class GameController {
     }
 
     /**
-     * Get all available games.
+     * One page of the game lobby, newest first, optionally filtered by status, map and mode.
      */
     @GetMapping
-    public ResponseEntity<List<GameSummaryDTO>> getGames(
-            @RequestParam(required = false, defaultValue = "false") boolean joinableOnly) {
-        
-        List<Game> games = joinableOnly ? 
-                gameService.getJoinableGames() : 
-                gameService.getAllGames();
+    public ResponseEntity<GamePageDTO> getGames(
+            @RequestParam(required = false, defaultValue = "false") boolean joinableOnly,
+            @RequestParam(required = false) GameStatus status,
+            @RequestParam(required = false) String mapId,
+            @RequestParam(required = false) GameMode gameMode,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "20") int size) {
 
-        List<GameSummaryDTO> summaries = games.stream()
-                .map(this::toGameSummary)
-                .toList();
+        Page<GameListing> listings = gameService.listGames(status, mapId, gameMode, joinableOnly, page, size);
 
-        return ResponseEntity.ok(summaries);
+        return ResponseEntity.ok(GamePageDTO.builder()
+                .games(listings.getContent().stream().map(this::toGameSummary).toList())
+                .page(listings.getNumber())
+                .size(listings.getSize())
+                .totalElements(listings.getTotalElements())
+                .totalPages(listings.getTotalPages())
+                .build());
+    }
+
+    /**
+     * Get game details, written from the cached JSON of the game's current state version.
+     * Also the full snapshot a client reloads after missing a GAME_DELTA.
+     */
+    @GetMapping(value = "/{gameId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getGame(@PathVariable String gameId) {
+        return ResponseEntity.ok(gameService.getGameStateSnapshot(gameId).json());
     }
 
     /**
-     * Get game details.
+     * Get the final state and event log of a finished game that has been archived.
      */
-    @GetMapping("/{gameId}")
-    public ResponseEntity<GameStateDTO> getGame(@PathVariable String gameId) {
-        GameStateDTO gameState = gameService.getGameState(gameId);
-        return ResponseEntity.ok(gameState);
+    @GetMapping(value = "/{gameId}/archive", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getArchive(@PathVariable String gameId) {
+        return ResponseEntity.ok(gameService.getArchive(gameId));
+    }
+
+    /**
+     * Stream the binary replay of an archived game, starting at the beginning of {@code fromTurn}.
+     */
+    @GetMapping(value = "/{gameId}/replay", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> getReplay(@PathVariable String gameId,
+                                                           @RequestParam(required = false, defaultValue = "1") int fromTurn) {
+        ReplayRecording.Playback playback = gameService.getReplay(gameId, fromTurn);
+        return ResponseEntity.ok(playback::writeTo);
     }
 
     /**
@@ -187,6 +216,35 @@ public class GameController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Blitz attack: roll until the target is conquered or the source is down to {@code stopAtArmies}.
+     * All rounds are broadcast as one BLITZ_RESULT followed by a single game update.
+     */
+    @PostMapping("/{gameId}/blitz")
+    public ResponseEntity<BlitzResult> blitz(@PathVariable String gameId,
+                                             @RequestParam String playerId,
+                                             @RequestParam String fromTerritoryKey,
+                                             @RequestParam String toTerritoryKey,
+                                             @RequestParam(defaultValue = "1") int stopAtArmies) {
+        BlitzResult result = gameService.blitz(gameId, playerId,
+                fromTerritoryKey, toTerritoryKey, stopAtArmies);
+
+        webSocketHandler.broadcastBlitzResult(gameId, result);
+        webSocketHandler.broadcastGameUpdate(gameId);
+
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Odds of attacking a territory until conquest or exhaustion, with the current armies.
+     */
+    @GetMapping("/{gameId}/attack-odds")
+    public ResponseEntity<AttackOddsDTO> getAttackOdds(@PathVariable String gameId,
+                                                       @RequestParam String fromTerritoryKey,
+                                                       @RequestParam String toTerritoryKey) {
+        return ResponseEntity.ok(gameService.getAttackOdds(gameId, fromTerritoryKey, toTerritoryKey));
+    }
+
     /**
      * End the attack phase.
      */
@@ -243,30 +301,13 @@ public class GameController {
         return ResponseEntity.ok(state);
     }
 
-    private GameSummaryDTO toGameSummary(Game game) {
-        String hostName = game.getPlayers().isEmpty() ? "Unknown" : 
-                game.getPlayers().get(0).getName();
-
+    private GameSummaryDTO toGameSummary(GameListing game) {
         String mapName = "";
         try {
-            mapName = mapLoader.getMap(game.getMapId()).name();
+            mapName = mapLoader.getMap(game.mapId()).name();
         } catch (IllegalArgumentException e) {
-            log.debug("Map not found for game {}: {}", game.getId(), e.getMessage());
+            log.debug("Map not found for game {}: {}", game.id(), e.getMessage());
         }
-
-        return GameSummaryDTO.builder()
-                .id(game.getId())
-                .name(game.getName())
-                .mapId(game.getMapId())
-                .mapName(mapName)
-                .status(game.getStatus().name())
-                .playerCount(game.getPlayers().size())
-                .maxPlayers(game.getMaxPlayers())
-                .minPlayers(game.getMinPlayers())
-                .createdAt(game.getCreatedAt().format(DATE_FORMAT))
-                .canJoin(game.getStatus() == GameStatus.WAITING_FOR_PLAYERS && !game.isFull())
-                .hostName(hostName)
-                .gameMode(game.getGameMode().name())
-                .build();
+        return GameSummaryDTO.fromListing(game, mapName);
     }
 }
@@ -0,0 +1,46 @@
+package com.risk.controller;
+
+import com.risk.service.GameTracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint for game traces: {@code GET /actuator/gametrace} tells whether sampling
+ * is on, {@code POST /actuator/gametrace} with {@code {"enabled": true}} switches it, and
+ * {@code GET /actuator/gametrace/{gameId}} dumps the game's recent timeline.
+ */
+@Component
+@Endpoint(id = "gametrace")
+@RequiredArgsConstructor
+public class GameTraceEndpoint {
+
+    private final GameTracer gameTracer;
+
+    @ReadOperation
+    public Sampling sampling() {
+        return new Sampling(gameTracer.isEnabled());
+    }
+
+    @WriteOperation
+    public Sampling setSampling(boolean enabled) {
+        gameTracer.setEnabled(enabled);
+        return sampling();
+    }
+
+    @ReadOperation
+    public Timeline timeline(@Selector String gameId) {
+        return new Timeline(gameId, gameTracer.isEnabled(), gameTracer.timeline(gameId));
+    }
+
+    public record Sampling(boolean enabled) {
+    }
+
+    public record Timeline(String gameId, boolean sampling, List<GameTracer.Span> spans) {
+    }
+}
@@ -17,6 +17,7 @@ public class CPUStrategyFactory {
     private final EasyCPUStrategy easyStrategy;
     private final MediumCPUStrategy mediumStrategy;
     private final HardCPUStrategy hardStrategy;
+    private final ExpertCPUStrategy expertStrategy;
 
     /**
      * Get the appropriate strategy for a player's difficulty level.
@@ -29,7 +30,8 @@ public class CPUStrategyFactory {
         return switch (difficulty) {
             case EASY -> easyStrategy;
             case MEDIUM -> mediumStrategy;
-            case HARD, EXPERT -> hardStrategy;
+            case HARD -> hardStrategy;
+            case EXPERT -> expertStrategy;
         };
     }
 
@@ -4,8 +4,9 @@ import com.risk.model.CPUDifficulty;
 import com.risk.model.Game;
 import com.risk.model.Player;
 import com.risk.model.Territory;
-import com.risk.repository.TerritoryRepository;
-import lombok.RequiredArgsConstructor;
+import com.risk.service.BoardView;
+import com.risk.service.GameQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -15,11 +16,23 @@ import java.util.Random;
  * Easy CPU Strategy - Makes random decisions.
  */
 @Component
-@RequiredArgsConstructor
 public class EasyCPUStrategy implements CPUStrategy {
 
-    private final TerritoryRepository territoryRepository;
-    private final Random random = new Random();
+    private final GameQueryService gameQueryService;
+    private final Random random;
+
+    @Autowired
+    public EasyCPUStrategy(GameQueryService gameQueryService) {
+        this(gameQueryService, new Random());
+    }
+
+    /**
+     * Strategy drawing from the given random source, e.g. a seeded one for simulations.
+     */
+    public EasyCPUStrategy(GameQueryService gameQueryService, Random random) {
+        this.gameQueryService = gameQueryService;
+        this.random = random;
+    }
 
     @Override
     public CPUDifficulty getDifficulty() {
@@ -28,7 +41,7 @@ public class EasyCPUStrategy implements CPUStrategy {
 
     @Override
     public CPUAction decideReinforcement(Game game, Player cpuPlayer, int reinforcementsAvailable) {
-        List<Territory> myTerritories = territoryRepository.findByOwnerId(cpuPlayer.getId());
+        List<Territory> myTerritories = gameQueryService.getTerritoriesOwnedBy(game.getId(), cpuPlayer.getId());
 
         if (myTerritories.isEmpty()) {
             return null;
@@ -46,7 +59,7 @@ public class EasyCPUStrategy implements CPUStrategy {
             return CPUAction.endAttack();
         }
 
-        List<Territory> attackCapable = territoryRepository.findAttackCapableTerritories(
+        List<Territory> attackCapable = gameQueryService.getAttackCapableTerritories(
                 game.getId(), cpuPlayer.getId());
 
         if (attackCapable.isEmpty()) {
@@ -54,13 +67,12 @@ public class EasyCPUStrategy implements CPUStrategy {
         }
 
         // Find a territory with an enemy neighbor
+        BoardView board = gameQueryService.getBoard(game.getId());
         for (Territory from : attackCapable) {
-            List<Territory> allTerritories = territoryRepository.findByGameId(game.getId());
-            for (Territory to : allTerritories) {
-                if (!to.isOwnedBy(cpuPlayer) && from.isNeighborOf(to.getTerritoryKey())) {
-                    int attackArmies = Math.min(3, from.getArmies() - 1);
-                    return CPUAction.attack(from.getTerritoryKey(), to.getTerritoryKey(), attackArmies);
-                }
+            List<Territory> enemies = board.enemyNeighbors(from, cpuPlayer.getId());
+            if (!enemies.isEmpty()) {
+                int attackArmies = Math.min(3, from.getArmies() - 1);
+                return CPUAction.attack(from.getTerritoryKey(), enemies.get(0).getTerritoryKey(), attackArmies);
             }
         }
 
@@ -74,7 +86,7 @@ public class EasyCPUStrategy implements CPUStrategy {
             return CPUAction.skipFortify();
         }
 
-        List<Territory> myTerritories = territoryRepository.findByOwnerId(cpuPlayer.getId());
+        List<Territory> myTerritories = gameQueryService.getTerritoriesOwnedBy(game.getId(), cpuPlayer.getId());
         List<Territory> canMove = myTerritories.stream()
                 .filter(t -> t.getArmies() > 1)
                 .toList();
@@ -87,7 +99,7 @@ public class EasyCPUStrategy implements CPUStrategy {
 
         // Find a connected territory
         for (Territory to : myTerritories) {
-            if (!to.getId().equals(from.getId()) && from.isNeighborOf(to.getTerritoryKey())) {
+            if (!to.getId().equals(from.getId()) && from.isNeighborOf(to)) {
                 int armies = random.nextInt(from.getArmies() - 1) + 1;
                 return CPUAction.fortify(from.getTerritoryKey(), to.getTerritoryKey(), armies);
             }
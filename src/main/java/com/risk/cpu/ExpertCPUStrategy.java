@@ -0,0 +1,179 @@
+package com.risk.cpu;
+
+import com.risk.config.MapGraph;
+import com.risk.model.CPUDifficulty;
+import com.risk.model.Game;
+import com.risk.model.Player;
+import com.risk.model.Territory;
+import com.risk.service.GameQueryService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Expert CPU Strategy - Monte Carlo Tree Search over a detached copy of the board.
+ * <p>
+ * Each decision snapshots the game into a {@link SimulationState} and searches it on a
+ * dedicated fork-join pool until a hard wall-clock budget runs out. The budget never
+ * exceeds the CPU think delay, so an expert turn is paced like any other. Games whose
+ * territories are not bound to a compiled map, maps too large for the move encoding and
+ * searches that ran out of time before a single iteration fall back to
+ * {@link HardCPUStrategy}.
+ */
+@Component
+@Slf4j
+public class ExpertCPUStrategy implements CPUStrategy, AutoCloseable {
+
+    /** Below this there is no time for a meaningful search. */
+    private static final long MIN_BUDGET_MS = 20;
+
+    private final GameQueryService gameQueryService;
+    private final HardCPUStrategy fallback;
+    private final long budgetMs;
+    private final ForkJoinPool pool;
+    private final MonteCarloTreeSearch search;
+
+    public ExpertCPUStrategy(GameQueryService gameQueryService,
+                             HardCPUStrategy fallback,
+                             @Value("${game.cpu.expert.search-budget-ms:2000}") long searchBudgetMs,
+                             @Value("${game.cpu.think-delay-ms:1000}") long thinkDelayMs,
+                             @Value("${game.cpu.expert.parallelism:0}") int parallelism) {
+        this.gameQueryService = gameQueryService;
+        this.fallback = fallback;
+        this.budgetMs = Math.min(searchBudgetMs, thinkDelayMs);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.search = new MonteCarloTreeSearch(pool);
+    }
+
+    /**
+     * Stop the search threads.
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public CPUDifficulty getDifficulty() {
+        return CPUDifficulty.EXPERT;
+    }
+
+    @Override
+    public CPUAction decideReinforcement(Game game, Player cpuPlayer, int reinforcementsAvailable) {
+        Snapshot snapshot = snapshot(game, cpuPlayer, SimulationState.REINFORCE);
+        if (snapshot == null) {
+            return fallback.decideReinforcement(game, cpuPlayer, reinforcementsAvailable);
+        }
+        snapshot.state.reinforcements = reinforcementsAvailable;
+        Integer move = searchMove(snapshot, game);
+        if (move == null) {
+            return fallback.decideReinforcement(game, cpuPlayer, reinforcementsAvailable);
+        }
+        return CPUAction.placeArmies(snapshot.keyOf(MonteCarloTreeSearch.to(move)), reinforcementsAvailable);
+    }
+
+    @Override
+    public CPUAction decideAttack(Game game, Player cpuPlayer) {
+        Snapshot snapshot = snapshot(game, cpuPlayer, SimulationState.ATTACK);
+        if (snapshot == null) {
+            return fallback.decideAttack(game, cpuPlayer);
+        }
+        Integer move = searchMove(snapshot, game);
+        if (move == null) {
+            return fallback.decideAttack(game, cpuPlayer);
+        }
+        if (MonteCarloTreeSearch.kind(move) != MonteCarloTreeSearch.ATTACK) {
+            return CPUAction.endAttack();
+        }
+        int from = MonteCarloTreeSearch.from(move);
+        int attackArmies = Math.min(3, snapshot.state.armies[from] - 1);
+        return CPUAction.attack(snapshot.keyOf(from), snapshot.keyOf(MonteCarloTreeSearch.to(move)), attackArmies);
+    }
+
+    @Override
+    public CPUAction decideFortify(Game game, Player cpuPlayer) {
+        Snapshot snapshot = snapshot(game, cpuPlayer, SimulationState.FORTIFY);
+        if (snapshot == null) {
+            return fallback.decideFortify(game, cpuPlayer);
+        }
+        Integer move = searchMove(snapshot, game);
+        if (move == null) {
+            return fallback.decideFortify(game, cpuPlayer);
+        }
+        if (MonteCarloTreeSearch.kind(move) != MonteCarloTreeSearch.FORTIFY) {
+            return CPUAction.skipFortify();
+        }
+        int from = MonteCarloTreeSearch.from(move);
+        return CPUAction.fortify(snapshot.keyOf(from), snapshot.keyOf(MonteCarloTreeSearch.to(move)),
+                snapshot.state.armies[from] - 1);
+    }
+
+    private Integer searchMove(Snapshot snapshot, Game game) {
+        long deadline = System.nanoTime() + budgetMs * 1_000_000;
+        try {
+            int move = search.search(snapshot.state, deadline, ThreadLocalRandom.current().nextLong());
+            if (move == MonteCarloTreeSearch.NO_MOVE) {
+                log.debug("Expert search in game {} finished no iteration", game.getId());
+                return null;
+            }
+            return move;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Expert search interrupted in game {}", game.getId());
+            return null;
+        }
+    }
+
+    /**
+     * Copy the board into a simulation state, or {@code null} if the game cannot be searched.
+     */
+    private Snapshot snapshot(Game game, Player cpuPlayer, int phase) {
+        if (budgetMs < MIN_BUDGET_MS) {
+            return null;
+        }
+        List<Territory> territories = gameQueryService.getTerritories(game.getId());
+        MapGraph graph = territories.isEmpty() ? null : territories.get(0).getMapGraph();
+        if (graph == null || graph.size() != territories.size()
+                || graph.size() > MonteCarloTreeSearch.MAX_TERRITORIES) {
+            return null;
+        }
+
+        // Players are indexed in turn order
+        List<Player> players = game.getPlayers();
+        Map<String, Integer> playerIndex = new HashMap<>();
+        for (int p = 0; p < players.size(); p++) {
+            playerIndex.put(players.get(p).getId(), p);
+        }
+        Integer current = playerIndex.get(cpuPlayer.getId());
+        if (current == null) {
+            return null;
+        }
+
+        SimulationState state = new SimulationState(graph, players.size());
+        for (Territory t : territories) {
+            Integer owner = t.getOwner() != null ? playerIndex.get(t.getOwner().getId()) : null;
+            if (t.getMapGraph() != graph || owner == null) {
+                return null;
+            }
+            state.setTerritory(t.getMapIndex(), owner, t.getArmies());
+        }
+        state.currentPlayer = current;
+        state.phase = phase;
+        return new Snapshot(graph, state);
+    }
+
+    private record Snapshot(MapGraph graph, SimulationState state) {
+
+        String keyOf(int territory) {
+            return graph.keyOf(territory);
+        }
+    }
+}
@@ -5,8 +5,9 @@ import com.risk.model.Continent;
 import com.risk.model.Game;
 import com.risk.model.Player;
 import com.risk.model.Territory;
-import com.risk.repository.TerritoryRepository;
-import com.risk.repository.ContinentRepository;
+import com.risk.service.BattleOddsService;
+import com.risk.service.BoardView;
+import com.risk.service.GameQueryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -20,8 +21,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class HardCPUStrategy implements CPUStrategy {
 
-    private final TerritoryRepository territoryRepository;
-    private final ContinentRepository continentRepository;
+    /** Minimum full-battle win probability for an opportunistic attack. */
+    private static final double ATTACK_THRESHOLD = 0.75;
+    /** Taking the last territory of a continent is worth a riskier fight. */
+    private static final double CONTINENT_ATTACK_THRESHOLD = 0.5;
+
+    private final GameQueryService gameQueryService;
+    private final BattleOddsService battleOdds;
 
     @Override
     public CPUDifficulty getDifficulty() {
@@ -30,24 +36,16 @@ public class HardCPUStrategy implements CPUStrategy {
 
     @Override
     public CPUAction decideReinforcement(Game game, Player cpuPlayer, int reinforcementsAvailable) {
-        List<Territory> myTerritories = territoryRepository.findByOwnerId(cpuPlayer.getId());
-        List<Continent> continents = continentRepository.findByGameIdWithTerritories(game.getId());
+        List<Territory> myTerritories = gameQueryService.getTerritoriesOwnedBy(game.getId(), cpuPlayer.getId());
+        List<Continent> continents = gameQueryService.getContinents(game.getId());
+        BoardView board = gameQueryService.getBoard(game.getId());
 
         // Find continents we're close to controlling
         Continent targetContinent = null;
         int minMissing = Integer.MAX_VALUE;
 
         for (Continent continent : continents) {
-            int myCount = 0;
-            int totalCount = continent.getTerritories().size();
-
-            for (Territory t : continent.getTerritories()) {
-                if (t.isOwnedBy(cpuPlayer)) {
-                    myCount++;
-                }
-            }
-
-            int missing = totalCount - myCount;
+            int missing = board.continentGap(continent, cpuPlayer.getId());
             if (missing > 0 && missing < minMissing) {
                 minMissing = missing;
                 targetContinent = continent;
@@ -56,14 +54,14 @@ public class HardCPUStrategy implements CPUStrategy {
 
         // Reinforce territories in the target continent that border enemies
         if (targetContinent != null) {
-            Territory reinforceTarget = findBestReinforcementTarget(cpuPlayer, targetContinent, myTerritories);
+            Territory reinforceTarget = findBestReinforcementTarget(cpuPlayer, targetContinent, board);
             if (reinforceTarget != null) {
                 return CPUAction.placeArmies(reinforceTarget.getTerritoryKey(), reinforcementsAvailable);
             }
         }
 
         // Default: reinforce weakest border territory
-        Territory weakest = findWeakestBorderTerritory(cpuPlayer, game.getId());
+        Territory weakest = findWeakestBorderTerritory(cpuPlayer, myTerritories, board);
         if (weakest != null) {
             return CPUAction.placeArmies(weakest.getTerritoryKey(), reinforcementsAvailable);
         }
@@ -71,35 +69,25 @@ public class HardCPUStrategy implements CPUStrategy {
         return CPUAction.placeArmies(myTerritories.get(0).getTerritoryKey(), reinforcementsAvailable);
     }
 
-    private Territory findBestReinforcementTarget(Player cpuPlayer, Continent continent, List<Territory> myTerritories) {
-        List<Territory> allTerritories = territoryRepository.findByGameId(cpuPlayer.getGame().getId());
-
+    private Territory findBestReinforcementTarget(Player cpuPlayer, Continent continent, BoardView board) {
         return continent.getTerritories().stream()
                 .filter(t -> t.isOwnedBy(cpuPlayer))
-                .filter(t -> hasEnemyNeighbor(t, cpuPlayer, allTerritories))
+                .filter(t -> board.hasEnemyNeighbor(t, cpuPlayer.getId()))
                 .min(Comparator.comparingInt(Territory::getArmies))
                 .orElse(null);
     }
 
-    private Territory findWeakestBorderTerritory(Player cpuPlayer, String gameId) {
-        List<Territory> myTerritories = territoryRepository.findByOwnerId(cpuPlayer.getId());
-        List<Territory> allTerritories = territoryRepository.findByGameId(gameId);
-
+    private Territory findWeakestBorderTerritory(Player cpuPlayer, List<Territory> myTerritories, BoardView board) {
         return myTerritories.stream()
-                .filter(t -> hasEnemyNeighbor(t, cpuPlayer, allTerritories))
+                .filter(t -> board.hasEnemyNeighbor(t, cpuPlayer.getId()))
                 .min(Comparator.comparingInt(Territory::getArmies))
                 .orElse(null);
     }
 
-    private boolean hasEnemyNeighbor(Territory t, Player cpuPlayer, List<Territory> allTerritories) {
-        return allTerritories.stream()
-                .anyMatch(other -> !other.isOwnedBy(cpuPlayer) && t.isNeighborOf(other.getTerritoryKey()));
-    }
-
     @Override
     public CPUAction decideAttack(Game game, Player cpuPlayer) {
-        List<Continent> continents = continentRepository.findByGameIdWithTerritories(game.getId());
-        List<Territory> attackCapable = territoryRepository.findAttackCapableTerritories(
+        List<Continent> continents = gameQueryService.getContinents(game.getId());
+        List<Territory> attackCapable = gameQueryService.getAttackCapableTerritories(
                 game.getId(), cpuPlayer.getId());
 
         if (attackCapable.isEmpty()) {
@@ -114,21 +102,19 @@ public class HardCPUStrategy implements CPUStrategy {
             }
         }
 
-        // Priority 2: Attack weak neighbors with strong advantage
-        List<Territory> allTerritories = territoryRepository.findByGameId(game.getId());
+        // Priority 2: Attack the neighbor we are most likely to take
+        BoardView board = gameQueryService.getBoard(game.getId());
         Territory bestFrom = null;
         Territory bestTo = null;
         double bestScore = 0;
 
         for (Territory from : attackCapable) {
-            for (Territory to : allTerritories) {
-                if (!to.isOwnedBy(cpuPlayer) && from.isNeighborOf(to.getTerritoryKey())) {
-                    double ratio = (double) from.getArmies() / to.getArmies();
-                    if (ratio > 2.0 && ratio > bestScore) {
-                        bestScore = ratio;
-                        bestFrom = from;
-                        bestTo = to;
-                    }
+            for (Territory to : board.enemyNeighbors(from, cpuPlayer.getId())) {
+                double odds = battleOdds.winProbability(from.getArmies(), to.getArmies());
+                if (odds >= ATTACK_THRESHOLD && odds > bestScore) {
+                    bestScore = odds;
+                    bestFrom = from;
+                    bestTo = to;
                 }
             }
         }
@@ -155,9 +141,9 @@ public class HardCPUStrategy implements CPUStrategy {
         // Check if we can attack any of them
         for (Territory target : enemyInContinent) {
             for (Territory from : attackCapable) {
-                if (from.isNeighborOf(target.getTerritoryKey())) {
+                if (from.isNeighborOf(target)) {
                     // Check if attack is viable
-                    if (from.getArmies() > target.getArmies()) {
+                    if (battleOdds.winProbability(from.getArmies(), target.getArmies()) >= CONTINENT_ATTACK_THRESHOLD) {
                         int attackArmies = Math.min(3, from.getArmies() - 1);
                         return CPUAction.attack(from.getTerritoryKey(), target.getTerritoryKey(), attackArmies);
                     }
@@ -170,13 +156,13 @@ public class HardCPUStrategy implements CPUStrategy {
 
     @Override
     public CPUAction decideFortify(Game game, Player cpuPlayer) {
-        List<Territory> myTerritories = territoryRepository.findByOwnerId(cpuPlayer.getId());
-        List<Territory> allTerritories = territoryRepository.findByGameId(game.getId());
+        List<Territory> myTerritories = gameQueryService.getTerritoriesOwnedBy(game.getId(), cpuPlayer.getId());
+        BoardView board = gameQueryService.getBoard(game.getId());
 
         // Find interior territories with excess armies
         List<Territory> interior = myTerritories.stream()
                 .filter(t -> t.getArmies() > 1)
-                .filter(t -> !hasEnemyNeighbor(t, cpuPlayer, allTerritories))
+                .filter(t -> !board.hasEnemyNeighbor(t, cpuPlayer.getId()))
                 .toList();
 
         if (interior.isEmpty()) {
@@ -184,10 +170,7 @@ public class HardCPUStrategy implements CPUStrategy {
         }
 
         // Find weakest border territory
-        Territory weakestBorder = myTerritories.stream()
-                .filter(t -> hasEnemyNeighbor(t, cpuPlayer, allTerritories))
-                .min(Comparator.comparingInt(Territory::getArmies))
-                .orElse(null);
+        Territory weakestBorder = findWeakestBorderTerritory(cpuPlayer, myTerritories, board);
 
         if (weakestBorder == null) {
             return CPUAction.skipFortify();
@@ -195,7 +178,7 @@ public class HardCPUStrategy implements CPUStrategy {
 
         // Find interior territory that connects (simplified - direct connection only)
         for (Territory from : interior) {
-            if (from.isNeighborOf(weakestBorder.getTerritoryKey())) {
+            if (from.isNeighborOf(weakestBorder)) {
                 int armies = from.getArmies() - 1;
                 return CPUAction.fortify(from.getTerritoryKey(), weakestBorder.getTerritoryKey(), armies);
             }
@@ -4,9 +4,10 @@ import com.risk.model.CPUDifficulty;
 import com.risk.model.Game;
 import com.risk.model.Player;
 import com.risk.model.Territory;
-import com.risk.repository.TerritoryRepository;
-import com.risk.repository.ContinentRepository;
-import lombok.RequiredArgsConstructor;
+import com.risk.service.BattleOddsService;
+import com.risk.service.BoardView;
+import com.risk.service.GameQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -20,12 +21,28 @@ import java.util.Random;
  * Medium CPU Strategy - Makes somewhat strategic decisions.
  */
 @Component
-@RequiredArgsConstructor
 public class MediumCPUStrategy implements CPUStrategy {
 
-    private final TerritoryRepository territoryRepository;
-    private final ContinentRepository continentRepository;
-    private final Random random = new Random();
+    /** Minimum full-battle win probability to attack. */
+    private static final double ATTACK_THRESHOLD = 0.6;
+
+    private final GameQueryService gameQueryService;
+    private final BattleOddsService battleOdds;
+    private final Random random;
+
+    @Autowired
+    public MediumCPUStrategy(GameQueryService gameQueryService, BattleOddsService battleOdds) {
+        this(gameQueryService, battleOdds, new Random());
+    }
+
+    /**
+     * Strategy drawing from the given random source, e.g. a seeded one for simulations.
+     */
+    public MediumCPUStrategy(GameQueryService gameQueryService, BattleOddsService battleOdds, Random random) {
+        this.gameQueryService = gameQueryService;
+        this.battleOdds = battleOdds;
+        this.random = random;
+    }
 
     @Override
     public CPUDifficulty getDifficulty() {
@@ -34,7 +51,7 @@ public class MediumCPUStrategy implements CPUStrategy {
 
     @Override
     public CPUAction decideReinforcement(Game game, Player cpuPlayer, int reinforcementsAvailable) {
-        List<Territory> myTerritories = territoryRepository.findByOwnerId(cpuPlayer.getId());
+        List<Territory> myTerritories = gameQueryService.getTerritoriesOwnedBy(game.getId(), cpuPlayer.getId());
 
         if (myTerritories.isEmpty()) {
             return null;
@@ -42,15 +59,10 @@ public class MediumCPUStrategy implements CPUStrategy {
 
         // Find territories on borders (have enemy neighbors)
         Map<String, Integer> enemyNeighborCount = new HashMap<>();
-        List<Territory> allTerritories = territoryRepository.findByGameId(game.getId());
+        BoardView board = gameQueryService.getBoard(game.getId());
 
         for (Territory t : myTerritories) {
-            int enemyCount = 0;
-            for (Territory other : allTerritories) {
-                if (!other.isOwnedBy(cpuPlayer) && t.isNeighborOf(other.getTerritoryKey())) {
-                    enemyCount++;
-                }
-            }
+            int enemyCount = board.countEnemyNeighbors(t, cpuPlayer.getId());
             if (enemyCount > 0) {
                 enemyNeighborCount.put(t.getTerritoryKey(), enemyCount);
             }
@@ -67,35 +79,33 @@ public class MediumCPUStrategy implements CPUStrategy {
 
     @Override
     public CPUAction decideAttack(Game game, Player cpuPlayer) {
-        List<Territory> attackCapable = territoryRepository.findAttackCapableTerritories(
+        List<Territory> attackCapable = gameQueryService.getAttackCapableTerritories(
                 game.getId(), cpuPlayer.getId());
 
         if (attackCapable.isEmpty()) {
             return CPUAction.endAttack();
         }
 
-        // Find the best attack opportunity
+        // Find the attack most likely to succeed
         Territory bestFrom = null;
         Territory bestTo = null;
-        int bestAdvantage = 0;
+        double bestOdds = 0;
 
-        List<Territory> allTerritories = territoryRepository.findByGameId(game.getId());
+        BoardView board = gameQueryService.getBoard(game.getId());
 
         for (Territory from : attackCapable) {
-            for (Territory to : allTerritories) {
-                if (!to.isOwnedBy(cpuPlayer) && from.isNeighborOf(to.getTerritoryKey())) {
-                    int advantage = from.getArmies() - to.getArmies();
-                    if (advantage > bestAdvantage) {
-                        bestAdvantage = advantage;
-                        bestFrom = from;
-                        bestTo = to;
-                    }
+            for (Territory to : board.enemyNeighbors(from, cpuPlayer.getId())) {
+                double odds = battleOdds.winProbability(from.getArmies(), to.getArmies());
+                if (odds > bestOdds) {
+                    bestOdds = odds;
+                    bestFrom = from;
+                    bestTo = to;
                 }
             }
         }
 
-        // Only attack if we have an advantage
-        if (bestFrom != null && bestAdvantage >= 2) {
+        // Only attack if the odds favor us
+        if (bestFrom != null && bestOdds >= ATTACK_THRESHOLD) {
             int attackArmies = Math.min(3, bestFrom.getArmies() - 1);
             return CPUAction.attack(bestFrom.getTerritoryKey(), bestTo.getTerritoryKey(), attackArmies);
         }
@@ -105,22 +115,15 @@ public class MediumCPUStrategy implements CPUStrategy {
 
     @Override
     public CPUAction decideFortify(Game game, Player cpuPlayer) {
-        List<Territory> myTerritories = territoryRepository.findByOwnerId(cpuPlayer.getId());
-        List<Territory> allTerritories = territoryRepository.findByGameId(game.getId());
+        List<Territory> myTerritories = gameQueryService.getTerritoriesOwnedBy(game.getId(), cpuPlayer.getId());
+        BoardView board = gameQueryService.getBoard(game.getId());
 
         // Find interior territories (no enemy neighbors) with armies
         List<Territory> interior = new ArrayList<>();
         List<Territory> border = new ArrayList<>();
 
         for (Territory t : myTerritories) {
-            boolean hasBorder = false;
-            for (Territory other : allTerritories) {
-                if (!other.isOwnedBy(cpuPlayer) && t.isNeighborOf(other.getTerritoryKey())) {
-                    hasBorder = true;
-                    break;
-                }
-            }
-            if (hasBorder) {
+            if (board.hasEnemyNeighbor(t, cpuPlayer.getId())) {
                 border.add(t);
             } else if (t.getArmies() > 1) {
                 interior.add(t);
@@ -136,7 +139,7 @@ public class MediumCPUStrategy implements CPUStrategy {
             if (from != null) {
                 // Find a connected border territory
                 for (Territory to : border) {
-                    if (from.isNeighborOf(to.getTerritoryKey())) {
+                    if (from.isNeighborOf(to)) {
                         int armies = from.getArmies() - 1;
                         return CPUAction.fortify(from.getTerritoryKey(), to.getTerritoryKey(), armies);
                     }
@@ -0,0 +1,386 @@
+package com.risk.cpu;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Open-loop Monte Carlo Tree Search over a {@link SimulationState}.
+ * <p>
+ * The tree covers the searching player's remaining decisions in the current turn;
+ * dice are re-rolled on every iteration, so a node stands for a move sequence rather
+ * than a single resulting state. Once the turn ends, a greedy rollout plays a few more
+ * turns for everybody and the position is scored with {@link SimulationState#evaluate}.
+ * <p>
+ * Search is root-parallel: each fork-join worker grows its own tree from a private copy
+ * of the state until the deadline, and root visit counts are summed at the end.
+ */
+final class MonteCarloTreeSearch {
+
+    static final int END = 0;
+    static final int PLACE = 1;
+    static final int ATTACK = 2;
+    static final int FORTIFY = 3;
+
+    /** Returned by {@link #search} when no worker completed a single iteration. */
+    static final int NO_MOVE = -1;
+
+    /** Territory indices must fit the 12 bits a move gives each of them. */
+    static final int MAX_TERRITORIES = 1 << 12;
+
+    private static final double EXPLORATION = 0.7;
+    private static final int ROLLOUT_ROUNDS = 2;
+
+    private final ForkJoinPool pool;
+    private final int workers;
+
+    MonteCarloTreeSearch(ForkJoinPool pool) {
+        this.pool = pool;
+        this.workers = pool.getParallelism();
+    }
+
+    // ── move encoding: kind in the top byte, then from and to territory indices ──
+
+    static int move(int kind, int from, int to) {
+        return (kind << 24) | (from << 12) | to;
+    }
+
+    static int kind(int move) {
+        return move >>> 24;
+    }
+
+    static int from(int move) {
+        return (move >>> 12) & 0xFFF;
+    }
+
+    static int to(int move) {
+        return move & 0xFFF;
+    }
+
+    /**
+     * Pick the best move for the current player of {@code root} within the deadline, or
+     * {@link #NO_MOVE} if the deadline left no time to search.
+     */
+    int search(SimulationState root, long deadlineNanos, long seed) throws InterruptedException {
+        MoveList rootMoves = new MoveList();
+        legalMoves(root, rootMoves);
+        if (rootMoves.size() == 1) {
+            return rootMoves.get(0);
+        }
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<Node>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            SplittableRandom random = seeds.split();
+            tasks.add(() -> grow(root.copy(), deadlineNanos, random));
+        }
+
+        // Per root move: {visits, total value}
+        Map<Integer, double[]> totals = new HashMap<>();
+        for (Future<Node> future : pool.invokeAll(tasks)) {
+            try {
+                for (Node child : future.get().children) {
+                    double[] total = totals.computeIfAbsent(child.move, m -> new double[2]);
+                    total[0] += child.visits;
+                    total[1] += child.value;
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search worker failed", e.getCause());
+            }
+        }
+
+        if (totals.isEmpty()) {
+            return NO_MOVE;
+        }
+        int best = rootMoves.get(0);
+        double bestVisits = -1;
+        double bestMean = -1;
+        for (Map.Entry<Integer, double[]> entry : totals.entrySet()) {
+            double visits = entry.getValue()[0];
+            double mean = visits > 0 ? entry.getValue()[1] / visits : 0;
+            if (visits > bestVisits || (visits == bestVisits && mean > bestMean)) {
+                best = entry.getKey();
+                bestVisits = visits;
+                bestMean = mean;
+            }
+        }
+        return best;
+    }
+
+    private Node grow(SimulationState root, long deadlineNanos, SplittableRandom random) {
+        int player = root.currentPlayer;
+        Node tree = new Node(END, null);
+        SimulationState state = root.copy();
+        MoveList moves = new MoveList();
+
+        while (System.nanoTime() < deadlineNanos) {
+            state.copyFrom(root);
+            Node node = tree;
+
+            // Selection and expansion while it is still our turn
+            while (!state.isOver() && state.currentPlayer == player && !isNewTurn(state, root)) {
+                legalMoves(state, moves);
+                if (moves.size() == 0) {
+                    break;
+                }
+                Node next = node.select(moves);
+                if (next == null) {
+                    next = node.expand(moves, random);
+                    apply(state, next.move, random);
+                    node = next;
+                    break;
+                }
+                apply(state, next.move, random);
+                node = next;
+            }
+
+            double value = rollout(state, player, random);
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                n.value += value;
+            }
+        }
+        return tree;
+    }
+
+    private static boolean isNewTurn(SimulationState state, SimulationState root) {
+        return state.turns != root.turns;
+    }
+
+    /**
+     * Greedy play for every player until {@link #ROLLOUT_ROUNDS} rounds have passed.
+     */
+    private static double rollout(SimulationState state, int player, SplittableRandom random) {
+        int stopAfter = state.turns + ROLLOUT_ROUNDS * state.playerCount;
+        while (!state.isOver() && state.turns < stopAfter) {
+            switch (state.phase) {
+                case SimulationState.REINFORCE -> state.placeAll(randomBorder(state, random));
+                case SimulationState.ATTACK -> {
+                    int attack = bestAttack(state);
+                    if (attack < 0 || state.attacksThisTurn >= SimulationState.MAX_ATTACKS_PER_TURN) {
+                        state.endAttack();
+                    } else {
+                        state.attack(from(attack), to(attack), random);
+                    }
+                }
+                default -> state.endTurn();
+            }
+        }
+        return state.evaluate(player);
+    }
+
+    /**
+     * A uniformly random owned border territory (any owned territory if none border an enemy).
+     */
+    private static int randomBorder(SimulationState state, SplittableRandom random) {
+        int anyOwned = -1;
+        int border = -1;
+        int borders = 0;
+        for (int t = 0; t < state.owner.length; t++) {
+            if (state.owner[t] != state.currentPlayer) {
+                continue;
+            }
+            anyOwned = t;
+            if (state.hasEnemyNeighbor(t) && random.nextInt(++borders) == 0) {
+                border = t;
+            }
+        }
+        return border >= 0 ? border : anyOwned;
+    }
+
+    /**
+     * Attack with the largest army advantage of at least two, or {@code -1}.
+     */
+    private static int bestAttack(SimulationState state) {
+        int best = -1;
+        int bestAdvantage = 1;
+        for (int from = 0; from < state.owner.length; from++) {
+            if (state.owner[from] != state.currentPlayer || state.armies[from] < 3) {
+                continue;
+            }
+            for (int n = 0; n < state.graph.degree(from); n++) {
+                int to = state.graph.neighbor(from, n);
+                int advantage = state.armies[from] - state.armies[to];
+                if (state.owner[to] != state.currentPlayer && advantage > bestAdvantage) {
+                    best = move(ATTACK, from, to);
+                    bestAdvantage = advantage;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Candidate moves for the current player. Reinforcements go on border territories;
+     * fortification moves armies from interior to border territories.
+     */
+    static void legalMoves(SimulationState state, MoveList moves) {
+        moves.clear();
+        int me = state.currentPlayer;
+        switch (state.phase) {
+            case SimulationState.REINFORCE -> {
+                int fallback = -1;
+                for (int t = 0; t < state.owner.length; t++) {
+                    if (state.owner[t] == me) {
+                        if (state.hasEnemyNeighbor(t)) {
+                            moves.add(move(PLACE, 0, t));
+                        } else if (fallback < 0) {
+                            fallback = t;
+                        }
+                    }
+                }
+                if (moves.size() == 0 && fallback >= 0) {
+                    moves.add(move(PLACE, 0, fallback));
+                }
+            }
+            case SimulationState.ATTACK -> {
+                moves.add(move(END, 0, 0));
+                if (state.attacksThisTurn >= SimulationState.MAX_ATTACKS_PER_TURN) {
+                    return;
+                }
+                for (int from = 0; from < state.owner.length; from++) {
+                    if (state.owner[from] != me || state.armies[from] < 2) {
+                        continue;
+                    }
+                    for (int n = 0; n < state.graph.degree(from); n++) {
+                        int to = state.graph.neighbor(from, n);
+                        if (state.owner[to] != me) {
+                            moves.add(move(ATTACK, from, to));
+                        }
+                    }
+                }
+            }
+            case SimulationState.FORTIFY -> {
+                moves.add(move(END, 0, 0));
+                for (int from = 0; from < state.owner.length; from++) {
+                    if (state.owner[from] != me || state.armies[from] < 2 || state.hasEnemyNeighbor(from)) {
+                        continue;
+                    }
+                    for (int n = 0; n < state.graph.degree(from); n++) {
+                        int to = state.graph.neighbor(from, n);
+                        if (state.owner[to] == me && state.hasEnemyNeighbor(to)) {
+                            moves.add(move(FORTIFY, from, to));
+                        }
+                    }
+                }
+            }
+            default -> {
+                // Game over: no moves
+            }
+        }
+    }
+
+    static void apply(SimulationState state, int move, SplittableRandom random) {
+        switch (kind(move)) {
+            case PLACE -> state.placeAll(to(move));
+            case ATTACK -> state.attack(from(move), to(move), random);
+            case FORTIFY -> state.fortify(from(move), to(move));
+            default -> {
+                if (state.phase == SimulationState.ATTACK) {
+                    state.endAttack();
+                } else {
+                    state.endTurn();
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+
+        final int move;
+        final Node parent;
+        final List<Node> children = new ArrayList<>();
+        int visits;
+        double value;
+
+        Node(int move, Node parent) {
+            this.move = move;
+            this.parent = parent;
+        }
+
+        /**
+         * UCB1 choice among children that are legal in this sample, or {@code null}
+         * if some legal move has not been tried yet.
+         */
+        Node select(MoveList legal) {
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, visits));
+            for (int i = 0; i < legal.size(); i++) {
+                Node child = child(legal.get(i));
+                if (child == null) {
+                    return null;
+                }
+                double score = child.value / child.visits
+                        + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        Node expand(MoveList legal, SplittableRandom random) {
+            int untried = 0;
+            for (int i = 0; i < legal.size(); i++) {
+                if (child(legal.get(i)) == null) {
+                    untried++;
+                }
+            }
+            int pick = random.nextInt(untried);
+            for (int i = 0; i < legal.size(); i++) {
+                if (child(legal.get(i)) == null && pick-- == 0) {
+                    Node child = new Node(legal.get(i), this);
+                    children.add(child);
+                    return child;
+                }
+            }
+            throw new IllegalStateException("No untried move");
+        }
+
+        private Node child(int move) {
+            for (Node child : children) {
+                if (child.move == move) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Growable list of encoded moves without boxing.
+     */
+    static final class MoveList {
+
+        private int[] moves = new int[64];
+        private int size;
+
+        void add(int move) {
+            if (size == moves.length) {
+                moves = Arrays.copyOf(moves, size * 2);
+            }
+            moves[size++] = move;
+        }
+
+        int get(int index) {
+            return moves[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
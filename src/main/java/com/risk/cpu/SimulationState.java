@@ -0,0 +1,247 @@
+package com.risk.cpu;
+
+import com.risk.config.MapGraph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Compact, mutable game state for search and simulation.
+ * <p>
+ * Territories are the {@link MapGraph} indices and players are turn-order indices;
+ * everything else is plain {@code int} arrays, so copying a state is a few
+ * {@code System.arraycopy} calls and playing a move allocates nothing.
+ * Rules match the game services: reinforcements are {@code max(3, territories / 3)}
+ * plus continent bonuses, up to three attacking and two defending dice, and the
+ * attacker moves in as many armies as dice rolled.
+ */
+final class SimulationState {
+
+    static final int REINFORCE = 0;
+    static final int ATTACK = 1;
+    static final int FORTIFY = 2;
+    static final int OVER = 3;
+
+    /** Same cap as {@code CPUPlayerService} uses per turn. */
+    static final int MAX_ATTACKS_PER_TURN = 10;
+
+    final MapGraph graph;
+    final int playerCount;
+    final int[] owner;
+    final int[] armies;
+    final int[] territoryCount;
+
+    int currentPlayer;
+    int phase;
+    int reinforcements;
+    int attacksThisTurn;
+    int turns;
+
+    SimulationState(MapGraph graph, int playerCount) {
+        this.graph = graph;
+        this.playerCount = playerCount;
+        this.owner = new int[graph.size()];
+        this.armies = new int[graph.size()];
+        this.territoryCount = new int[playerCount];
+        Arrays.fill(owner, -1);
+    }
+
+    SimulationState copy() {
+        SimulationState copy = new SimulationState(graph, playerCount);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    void copyFrom(SimulationState other) {
+        System.arraycopy(other.owner, 0, owner, 0, owner.length);
+        System.arraycopy(other.armies, 0, armies, 0, armies.length);
+        System.arraycopy(other.territoryCount, 0, territoryCount, 0, territoryCount.length);
+        currentPlayer = other.currentPlayer;
+        phase = other.phase;
+        reinforcements = other.reinforcements;
+        attacksThisTurn = other.attacksThisTurn;
+        turns = other.turns;
+    }
+
+    /**
+     * Set a territory's owner and armies, keeping per-player counts in step.
+     */
+    void setTerritory(int territory, int player, int armyCount) {
+        if (owner[territory] >= 0) {
+            territoryCount[owner[territory]]--;
+        }
+        owner[territory] = player;
+        armies[territory] = armyCount;
+        if (player >= 0) {
+            territoryCount[player]++;
+        }
+    }
+
+    boolean isEliminated(int player) {
+        return territoryCount[player] == 0;
+    }
+
+    boolean isOver() {
+        return phase == OVER;
+    }
+
+    /**
+     * The only player left, or {@code -1} while the game is still open.
+     */
+    int winner() {
+        int alive = -1;
+        for (int p = 0; p < playerCount; p++) {
+            if (territoryCount[p] > 0) {
+                if (alive >= 0) {
+                    return -1;
+                }
+                alive = p;
+            }
+        }
+        return alive;
+    }
+
+    int calculateReinforcements(int player) {
+        int total = Math.max(3, territoryCount[player] / 3);
+        for (int c = 0; c < graph.continentCount(); c++) {
+            if (controlsContinent(player, c)) {
+                total += graph.continentBonus(c);
+            }
+        }
+        return total;
+    }
+
+    boolean controlsContinent(int player, int continent) {
+        int size = graph.continentSize(continent);
+        if (size == 0) {
+            return false;
+        }
+        for (int m = 0; m < size; m++) {
+            if (owner[graph.continentMember(continent, m)] != player) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean hasEnemyNeighbor(int territory) {
+        int me = owner[territory];
+        for (int n = 0; n < graph.degree(territory); n++) {
+            if (owner[graph.neighbor(territory, n)] != me) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ── moves ───────────────────────────────────────────────────────────
+
+    void placeAll(int territory) {
+        armies[territory] += reinforcements;
+        reinforcements = 0;
+        phase = ATTACK;
+        attacksThisTurn = 0;
+    }
+
+    /**
+     * Roll one attack with {@code min(3, armies - 1)} dice.
+     *
+     * @return {@code true} if the territory was conquered
+     */
+    boolean attack(int from, int to, SplittableRandom random) {
+        int attackDice = Math.min(3, armies[from] - 1);
+        int defendDice = Math.min(2, armies[to]);
+        attacksThisTurn++;
+
+        // Only the two highest dice of each side are ever compared
+        int a1 = 0, a2 = 0;
+        for (int i = 0; i < attackDice; i++) {
+            int roll = random.nextInt(6) + 1;
+            if (roll > a1) { a2 = a1; a1 = roll; }
+            else if (roll > a2) { a2 = roll; }
+        }
+        int d1 = 0, d2 = 0;
+        for (int i = 0; i < defendDice; i++) {
+            int roll = random.nextInt(6) + 1;
+            if (roll > d1) { d2 = d1; d1 = roll; }
+            else if (roll > d2) { d2 = roll; }
+        }
+
+        if (a1 > d1) armies[to]--; else armies[from]--;
+        if (attackDice > 1 && defendDice > 1) {
+            if (a2 > d2) armies[to]--; else armies[from]--;
+        }
+
+        if (armies[to] > 0) {
+            return false;
+        }
+        int move = Math.min(attackDice, armies[from] - 1);
+        setTerritory(to, owner[from], move);
+        armies[from] -= move;
+        if (winner() >= 0) {
+            phase = OVER;
+        }
+        return true;
+    }
+
+    void endAttack() {
+        phase = FORTIFY;
+    }
+
+    void fortify(int from, int to) {
+        int move = armies[from] - 1;
+        armies[from] -= move;
+        armies[to] += move;
+        endTurn();
+    }
+
+    void endTurn() {
+        turns++;
+        int next = currentPlayer;
+        for (int i = 0; i < playerCount; i++) {
+            next = (next + 1) % playerCount;
+            if (!isEliminated(next)) {
+                break;
+            }
+        }
+        currentPlayer = next;
+        phase = REINFORCE;
+        reinforcements = calculateReinforcements(next);
+        attacksThisTurn = 0;
+    }
+
+    // ── evaluation ──────────────────────────────────────────────────────
+
+    /**
+     * Heuristic value of the position for a player in {@code [0, 1]}: 1 for a win,
+     * 0 once eliminated, otherwise a blend of territory share, army share and income.
+     */
+    double evaluate(int player) {
+        int winner = winner();
+        if (winner >= 0) {
+            return winner == player ? 1.0 : 0.0;
+        }
+        if (isEliminated(player)) {
+            return 0.0;
+        }
+        int myArmies = 0;
+        int totalArmies = 0;
+        for (int t = 0; t < owner.length; t++) {
+            totalArmies += armies[t];
+            if (owner[t] == player) {
+                myArmies += armies[t];
+            }
+        }
+        int myIncome = calculateReinforcements(player);
+        int totalIncome = 0;
+        for (int p = 0; p < playerCount; p++) {
+            if (!isEliminated(p)) {
+                totalIncome += calculateReinforcements(p);
+            }
+        }
+        double territoryShare = (double) territoryCount[player] / owner.length;
+        double armyShare = totalArmies > 0 ? (double) myArmies / totalArmies : 0.0;
+        double incomeShare = totalIncome > 0 ? (double) myIncome / totalIncome : 0.0;
+        return 0.4 * territoryShare + 0.3 * armyShare + 0.3 * incomeShare;
+    }
+}
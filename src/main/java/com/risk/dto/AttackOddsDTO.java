@@ -0,0 +1,26 @@
+package com.risk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Odds of attacking one territory from another until conquest or exhaustion.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttackOddsDTO {
+
+    private String fromTerritoryKey;
+    private String toTerritoryKey;
+    private int attackerArmies;
+    private int defenderArmies;
+    private double winProbability;
+    private double expectedAttackerSurvivors;
+    private double expectedDefenderSurvivors;
+    /** False when the armies exceed the precomputed table and the odds are approximated. */
+    private boolean exact;
+}
@@ -0,0 +1,41 @@
+package com.risk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a blitz attack: every dice round fought against one territory,
+ * resolved together until conquest or the stop condition.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlitzResult {
+    private String fromTerritoryKey;
+    private String toTerritoryKey;
+    private List<Round> rounds;
+    private int attackerLosses;
+    private int defenderLosses;
+    private int fromArmies;
+    private int toArmies;
+    private boolean conquered;
+    private String eliminatedPlayer;
+
+    /**
+     * Dice and losses of a single round, sorted highest first.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Round {
+        private int[] attackerDice;
+        private int[] defenderDice;
+        private int attackerLosses;
+        private int defenderLosses;
+    }
+}
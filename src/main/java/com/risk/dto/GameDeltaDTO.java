@@ -0,0 +1,64 @@
+package com.risk.dto;
+
+import com.risk.model.GamePhase;
+import com.risk.model.GameStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Changes to a game's state between two broadcast versions.
+ * <p>
+ * Turn fields are always present; {@code players} and {@code territories} only hold
+ * the entries that changed since {@code baseVersion}. A client whose state is not
+ * at {@code baseVersion} has missed a message and should reload the full state.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameDeltaDTO {
+
+    private String gameId;
+    private long baseVersion;
+    private long stateVersion;
+    private GameStatus status;
+    private GamePhase currentPhase;
+    private int turnNumber;
+    private int reinforcementsRemaining;
+    private PlayerDTO currentPlayer;
+    private String winnerId;
+    private String winnerName;
+    private List<PlayerDTO> players;
+    private List<TerritoryChange> territories;
+
+    /**
+     * The mutable part of a {@link TerritoryDTO}; names, neighbors and coordinates never change.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TerritoryChange {
+        private String territoryKey;
+        private String ownerId;
+        private String ownerName;
+        private String ownerColor;
+        private int armies;
+        private boolean canAttackFrom;
+
+        public static TerritoryChange fromTerritory(TerritoryDTO territory) {
+            return TerritoryChange.builder()
+                    .territoryKey(territory.getTerritoryKey())
+                    .ownerId(territory.getOwnerId())
+                    .ownerName(territory.getOwnerName())
+                    .ownerColor(territory.getOwnerColor())
+                    .armies(territory.getArmies())
+                    .canAttackFrom(territory.isCanAttackFrom())
+                    .build();
+        }
+    }
+}
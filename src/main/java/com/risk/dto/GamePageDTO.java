@@ -0,0 +1,24 @@
+package com.risk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the game lobby.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GamePageDTO {
+
+    private List<GameSummaryDTO> games;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+}
@@ -41,6 +41,7 @@ public class GameStateDTO {
     private int dominationPercent;
     private int turnLimit;
     private int totalTerritories;
+    private long stateVersion;
 
     public static GameStateDTO fromGame(Game game) {
         return GameStateDTO.builder()
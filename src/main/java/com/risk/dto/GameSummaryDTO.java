@@ -1,10 +1,13 @@
 package com.risk.dto;
 
+import com.risk.repository.GameListing;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.format.DateTimeFormatter;
+
 /**
  * DTO for game summary in list views.
  */
@@ -14,6 +17,8 @@ import lombok.NoArgsConstructor;
 @Builder
 public class GameSummaryDTO {
 
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private String id;
     private String name;
     private String mapId;
@@ -26,4 +31,21 @@ public class GameSummaryDTO {
     private boolean canJoin;
     private String hostName;
     private String gameMode;
+
+    public static GameSummaryDTO fromListing(GameListing game, String mapName) {
+        return GameSummaryDTO.builder()
+                .id(game.id())
+                .name(game.name())
+                .mapId(game.mapId())
+                .mapName(mapName)
+                .status(game.status().name())
+                .playerCount(game.playerCount())
+                .maxPlayers(game.maxPlayers())
+                .minPlayers(game.minPlayers())
+                .createdAt(game.createdAt() == null ? null : game.createdAt().format(DATE_FORMAT))
+                .canJoin(game.isJoinable())
+                .hostName(game.hostName() == null ? "Unknown" : game.hostName())
+                .gameMode(game.gameMode().name())
+                .build();
+    }
 }
@@ -8,10 +8,12 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -26,7 +28,7 @@ import java.util.Set;
  * Represents a RiskAI game session.
  */
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = @Index(columnList = "status, created_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -62,6 +64,10 @@ public class Game {
     @Builder.Default
     private List<Player> players = new ArrayList<>();
 
+    /** Size of {@link #players}, kept as a column so the lobby can list games without loading them */
+    @Column(nullable = false)
+    private int playerCount;
+
     @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<Territory> territories = new LinkedHashSet<>();
@@ -102,6 +108,10 @@ public class Game {
     @Builder.Default
     private int turnLimit = 20;
 
+    /** Row version; the write-behind flush only updates the row it last read or wrote */
+    @Version
+    private long version;
+
     @PrePersist
     public void prePersist() {
         if (createdAt == null) {
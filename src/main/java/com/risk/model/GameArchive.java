@@ -0,0 +1,79 @@
+package com.risk.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A finished game compacted into one row once its game, player, territory, continent,
+ * event and snapshot rows have been deleted.
+ * <p>
+ * The columns summarize the game; {@code data} is the gzipped JSON of its final state and
+ * full event log. {@code replay} is its {@link com.risk.service.ReplayRecording}, or null
+ * when the snapshot of the game's start was not kept.
+ */
+@Entity
+@Table(name = "game_archives")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String gameId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String mapId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GameMode gameMode;
+
+    @Column
+    private String winnerName;
+
+    @Column(nullable = false)
+    private int playerCount;
+
+    @Column(nullable = false)
+    private int turnNumber;
+
+    @Column(nullable = false)
+    private int eventCount;
+
+    @Column
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime endedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    @Lob
+    @Column
+    private byte[] replay;
+}
@@ -0,0 +1,133 @@
+package com.risk.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a game's append-only event log.
+ * <p>
+ * Events are numbered per game from 1. Columns a type does not use stay null or 0:
+ * <ul>
+ *   <li>{@code ARMIES_PLACED}: player, {@code toKey}, armies</li>
+ *   <li>{@code ATTACK_ROLLED}: player, both keys, dice ({@code "653-42"}), losses</li>
+ *   <li>{@code TERRITORY_CONQUERED}: player, both keys, armies moved in</li>
+ *   <li>{@code PLAYER_ELIMINATED}: the eliminated player</li>
+ *   <li>{@code ATTACK_ENDED}: player</li>
+ *   <li>{@code FORTIFIED}: player, both keys, armies</li>
+ *   <li>{@code TURN_ENDED}: the next player, their reinforcements as armies, turn number</li>
+ *   <li>{@code GAME_FINISHED}: the winner, final turn number</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "game_events",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"game_id", "sequence"}),
+        indexes = @Index(columnList = "game_id, sequence"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String gameId;
+
+    @Column(nullable = false)
+    private long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GameEventType type;
+
+    @Column
+    private String playerId;
+
+    @Column
+    private String fromKey;
+
+    @Column
+    private String toKey;
+
+    @Column(nullable = false)
+    private int armies;
+
+    @Column(nullable = false)
+    private int attackerLosses;
+
+    @Column(nullable = false)
+    private int defenderLosses;
+
+    @Column
+    private String dice;
+
+    @Column(nullable = false)
+    private int turnNumber;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    public static GameEvent armiesPlaced(String playerId, String territoryKey, int armies) {
+        return of(GameEventType.ARMIES_PLACED, playerId).toKey(territoryKey).armies(armies).build();
+    }
+
+    public static GameEvent attackRolled(String playerId, String fromKey, String toKey,
+                                         int[] attackerDice, int[] defenderDice,
+                                         int attackerLosses, int defenderLosses) {
+        return of(GameEventType.ATTACK_ROLLED, playerId).fromKey(fromKey).toKey(toKey)
+                .dice(encodeDice(attackerDice) + "-" + encodeDice(defenderDice))
+                .attackerLosses(attackerLosses).defenderLosses(defenderLosses).build();
+    }
+
+    public static GameEvent territoryConquered(String playerId, String fromKey, String toKey, int armiesMoved) {
+        return of(GameEventType.TERRITORY_CONQUERED, playerId).fromKey(fromKey).toKey(toKey)
+                .armies(armiesMoved).build();
+    }
+
+    public static GameEvent playerEliminated(String playerId) {
+        return of(GameEventType.PLAYER_ELIMINATED, playerId).build();
+    }
+
+    public static GameEvent attackEnded(String playerId) {
+        return of(GameEventType.ATTACK_ENDED, playerId).build();
+    }
+
+    public static GameEvent fortified(String playerId, String fromKey, String toKey, int armies) {
+        return of(GameEventType.FORTIFIED, playerId).fromKey(fromKey).toKey(toKey).armies(armies).build();
+    }
+
+    public static GameEvent turnEnded(String nextPlayerId, int reinforcements, int turnNumber) {
+        return of(GameEventType.TURN_ENDED, nextPlayerId).armies(reinforcements).turnNumber(turnNumber).build();
+    }
+
+    public static GameEvent gameFinished(String winnerId, int turnNumber) {
+        return of(GameEventType.GAME_FINISHED, winnerId).turnNumber(turnNumber).build();
+    }
+
+    private static GameEventBuilder of(GameEventType type, String playerId) {
+        return GameEvent.builder().type(type).playerId(playerId).occurredAt(LocalDateTime.now());
+    }
+
+    private static String encodeDice(int[] dice) {
+        StringBuilder sb = new StringBuilder(dice.length);
+        for (int d : dice) {
+            sb.append(d);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.risk.model;
+
+/**
+ * Kinds of entries in a game's event log.
+ */
+public enum GameEventType {
+    ARMIES_PLACED,
+    ATTACK_ROLLED,
+    TERRITORY_CONQUERED,
+    PLAYER_ELIMINATED,
+    ATTACK_ENDED,
+    FORTIFIED,
+    TURN_ENDED,
+    GAME_FINISHED
+}
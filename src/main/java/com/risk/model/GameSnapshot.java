@@ -0,0 +1,73 @@
+package com.risk.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Compact copy of a game's state after event {@code sequence}; recovery starts from the
+ * latest one and replays only the events after it.
+ * <p>
+ * {@code board} lists every territory as {@code key:ownerId:armies}, separated by
+ * {@code ;}. {@code eliminatedPlayerIds} is comma-separated.
+ */
+@Entity
+@Table(name = "game_snapshots", indexes = @Index(columnList = "game_id, sequence"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String gameId;
+
+    @Column(nullable = false)
+    private long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GameStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GamePhase currentPhase;
+
+    @Column
+    private String currentPlayerId;
+
+    @Column(nullable = false)
+    private int turnNumber;
+
+    @Column(nullable = false)
+    private int reinforcementsRemaining;
+
+    @Column
+    private String winnerId;
+
+    @Lob
+    @Column(nullable = false)
+    private String board;
+
+    @Column(length = 1024)
+    private String eliminatedPlayerIds;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -26,7 +27,7 @@ import java.util.List;
  * Represents a player in the game (human or CPU).
  */
 @Entity
-@Table(name = "players")
+@Table(name = "players", indexes = @Index(columnList = "game_id, turn_order"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,8 +1,7 @@
 package com.risk.model;
 
-import jakarta.persistence.CollectionTable;
+import com.risk.config.MapGraph;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -11,6 +10,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -63,12 +64,21 @@ public class Territory {
     @Builder.Default
     private int armies = 0;
 
-    @ElementCollection
-    @CollectionTable(name = "territory_neighbors", joinColumns = @JoinColumn(name = "territory_id"))
-    @Column(name = "neighbor_key")
+    // Topology is shared per map (see MapGraph), not stored per game
+    @Transient
     @Builder.Default
     private Set<String> neighborKeys = new HashSet<>();
 
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private MapGraph mapGraph;
+
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    private int mapIndex = -1;
+
     // Coordinates for map display
     @Column
     private double mapX;
@@ -76,6 +86,11 @@ public class Territory {
     @Column
     private double mapY;
 
+    /** Row version; see {@link Game#getVersion()} */
+    @Version
+    @EqualsAndHashCode.Exclude
+    private long version;
+
     public boolean isOwnedBy(Player player) {
         return owner != null && owner.getId().equals(player.getId());
     }
@@ -85,6 +100,16 @@ public class Territory {
     }
 
     public boolean isNeighborOf(String territoryKey) {
+        if (mapGraph != null) {
+            return mapGraph.isAdjacent(mapIndex, mapGraph.indexOf(territoryKey));
+        }
         return neighborKeys.contains(territoryKey);
     }
+
+    public boolean isNeighborOf(Territory other) {
+        if (mapGraph != null && mapGraph == other.mapGraph) {
+            return mapGraph.isAdjacent(mapIndex, other.mapIndex);
+        }
+        return isNeighborOf(other.getTerritoryKey());
+    }
 }
@@ -0,0 +1,21 @@
+package com.risk.repository;
+
+import com.risk.model.GameArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for GameArchive entities.
+ */
+@Repository
+public interface GameArchiveRepository extends JpaRepository<GameArchive, Long> {
+
+    Optional<GameArchive> findByGameId(String gameId);
+
+    /** Only the replay column, so seeking does not load the JSON archive too */
+    @Query("SELECT a.replay FROM GameArchive a WHERE a.gameId = :gameId")
+    Optional<byte[]> findReplayByGameId(String gameId);
+}
@@ -0,0 +1,20 @@
+package com.risk.repository;
+
+import com.risk.model.GameEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for GameEvent entities. Events are inserted in batches by the write-behind flusher.
+ */
+@Repository
+public interface GameEventRepository extends JpaRepository<GameEvent, Long> {
+
+    List<GameEvent> findByGameIdAndSequenceGreaterThanOrderBySequence(String gameId, long sequence);
+
+    @Query("SELECT COALESCE(MAX(e.sequence), 0) FROM GameEvent e WHERE e.gameId = :gameId")
+    long findLastSequence(String gameId);
+}
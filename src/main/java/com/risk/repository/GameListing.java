@@ -0,0 +1,29 @@
+package com.risk.repository;
+
+import com.risk.model.Game;
+import com.risk.model.GameMode;
+import com.risk.model.GameStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the game lobby, read by a constructor projection without loading the game.
+ * {@code hostName} is the name of the first player to join, or {@code null} if there is none.
+ */
+public record GameListing(String id, String name, String mapId, GameStatus status, GameMode gameMode,
+                          int playerCount, int maxPlayers, int minPlayers, LocalDateTime createdAt,
+                          String hostName) {
+
+    /**
+     * The listing of a loaded game, as the lobby query would read it.
+     */
+    public static GameListing of(Game game) {
+        String hostName = game.getPlayers().isEmpty() ? null : game.getPlayers().get(0).getName();
+        return new GameListing(game.getId(), game.getName(), game.getMapId(), game.getStatus(), game.getGameMode(),
+                game.getPlayerCount(), game.getMaxPlayers(), game.getMinPlayers(), game.getCreatedAt(), hostName);
+    }
+
+    public boolean isJoinable() {
+        return status == GameStatus.WAITING_FOR_PLAYERS && playerCount < maxPlayers;
+    }
+}
@@ -1,11 +1,15 @@
 package com.risk.repository;
 
 import com.risk.model.Game;
+import com.risk.model.GameMode;
 import com.risk.model.GameStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -14,12 +18,32 @@ import java.util.List;
 @Repository
 public interface GameRepository extends JpaRepository<Game, String> {
 
+    String LISTING_FILTER = " WHERE (:status IS NULL OR g.status = :status)"
+            + " AND (:mapId IS NULL OR g.mapId = :mapId)"
+            + " AND (:gameMode IS NULL OR g.gameMode = :gameMode)"
+            + " AND (:joinableOnly = FALSE OR (g.status = 'WAITING_FOR_PLAYERS' AND g.playerCount < g.maxPlayers))";
+
     List<Game> findByStatus(GameStatus status);
 
     List<Game> findByStatusIn(List<GameStatus> statuses);
 
-    @Query("SELECT g FROM Game g WHERE g.status = 'WAITING_FOR_PLAYERS' AND SIZE(g.players) < g.maxPlayers")
-    List<Game> findJoinableGames();
+    /**
+     * One page of the lobby, newest games first; a {@code null} filter matches every game.
+     */
+    @Query(value = "SELECT new com.risk.repository.GameListing(g.id, g.name, g.mapId, g.status, g.gameMode, "
+            + "g.playerCount, g.maxPlayers, g.minPlayers, g.createdAt, host.name) "
+            + "FROM Game g LEFT JOIN g.players host ON host.turnOrder = 0"
+            + LISTING_FILTER
+            + " ORDER BY g.createdAt DESC, g.id",
+            countQuery = "SELECT COUNT(g) FROM Game g" + LISTING_FILTER)
+    Page<GameListing> findListings(GameStatus status, String mapId, GameMode gameMode, boolean joinableOnly,
+                                   Pageable pageable);
+
+    /**
+     * Ids of games that finished before the given time, longest finished first.
+     */
+    @Query("SELECT g.id FROM Game g WHERE g.status = 'FINISHED' AND g.endedAt < :endedBefore ORDER BY g.endedAt, g.id")
+    List<String> findFinishedBefore(LocalDateTime endedBefore, Pageable pageable);
 
     @Query("SELECT g FROM Game g LEFT JOIN FETCH g.players WHERE g.id = :gameId")
     Game findByIdWithPlayers(String gameId);
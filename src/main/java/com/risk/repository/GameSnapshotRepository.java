@@ -0,0 +1,18 @@
+package com.risk.repository;
+
+import com.risk.model.GameSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for GameSnapshot entities.
+ */
+@Repository
+public interface GameSnapshotRepository extends JpaRepository<GameSnapshot, Long> {
+
+    Optional<GameSnapshot> findTopByGameIdOrderBySequenceDesc(String gameId);
+
+    Optional<GameSnapshot> findByGameIdAndSequence(String gameId, long sequence);
+}
@@ -25,4 +25,8 @@ public interface TerritoryRepository extends JpaRepository<Territory, String> {
 
     @Query("SELECT t FROM Territory t WHERE t.game.id = :gameId AND t.owner.id = :ownerId AND t.armies > 1")
     List<Territory> findAttackCapableTerritories(String gameId, String ownerId);
+
+    @Query("SELECT t FROM Territory t LEFT JOIN FETCH t.owner LEFT JOIN FETCH t.continent "
+            + "WHERE t.game.id = :gameId")
+    List<Territory> findByGameIdWithDetails(String gameId);
 }
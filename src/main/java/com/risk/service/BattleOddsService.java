@@ -0,0 +1,232 @@
+package com.risk.service;
+
+import com.risk.dto.AttackOddsDTO;
+import com.risk.model.Territory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * Odds of a full battle: the attacker keeps rolling until the territory is conquered
+ * or only one army is left behind.
+ * <p>
+ * Single-round outcomes are enumerated once from the dice rules of {@link CombatService}
+ * (up to three attacking and two defending dice, highest pairs compared, ties to the defender).
+ * From those, win probability and expected survivors for every army pair up to
+ * {@code game.battle-odds.max-armies} are filled in by dynamic programming, so lookups
+ * are a table read. Larger battles use a normal approximation of the 3-vs-2 loss race.
+ * <p>
+ * Armies are counted as on the board: {@code attackerArmies} includes the army that
+ * must stay behind, so an attack needs at least two.
+ */
+@Service
+@Slf4j
+public class BattleOddsService {
+
+    public static final int DEFAULT_MAX_ARMIES = 100;
+
+    /** ROUND[attackDice][defendDice][defenderLosses]: probability of one roll. */
+    private static final double[][][] ROUND = enumerateRounds();
+
+    // Per-round statistics of 3-vs-2 rolls, the regime of every large battle
+    private static final double DEFENDER_LOSS_SHARE;
+    private static final double LOSS_VARIANCE;
+    private static final double ATTACKER_PER_DEFENDER_LOSS;
+
+    static {
+        double[] threeVsTwo = ROUND[3][2];
+        double mean = threeVsTwo[1] + 2 * threeVsTwo[2];
+        double meanSquare = threeVsTwo[1] + 4 * threeVsTwo[2];
+        DEFENDER_LOSS_SHARE = mean / 2;
+        LOSS_VARIANCE = (meanSquare - mean * mean) / 2;
+        ATTACKER_PER_DEFENDER_LOSS = (2 - mean) / mean;
+    }
+
+    private final int maxArmies;
+    private final int stride;
+    // Indexed by (attacking armies = board armies - 1) * stride + defending armies
+    private final double[] win;
+    private final double[] attackersLeft;
+    private final double[] defendersLeft;
+
+    public BattleOddsService(@Value("${game.battle-odds.max-armies:" + DEFAULT_MAX_ARMIES + "}") int maxArmies) {
+        if (maxArmies < 1) {
+            throw new IllegalArgumentException("max-armies must be positive");
+        }
+        this.maxArmies = maxArmies;
+        this.stride = maxArmies + 1;
+        int size = stride * stride;
+        this.win = new double[size];
+        this.attackersLeft = new double[size];
+        this.defendersLeft = new double[size];
+        fillTables();
+        log.debug("Battle odds precomputed up to {} armies per side", maxArmies);
+    }
+
+    public int getMaxArmies() {
+        return maxArmies;
+    }
+
+    /**
+     * Probability that attacking until conquest or exhaustion takes the territory.
+     */
+    public double winProbability(int attackerArmies, int defenderArmies) {
+        int a = attackerArmies - 1;
+        if (a < 1) return 0.0;
+        if (defenderArmies < 1) return 1.0;
+        if (isExact(attackerArmies, defenderArmies)) {
+            return win[a * stride + defenderArmies];
+        }
+        return approximateWin(a, defenderArmies);
+    }
+
+    /**
+     * Expected armies left on the attacking territory when the battle ends
+     * (before any move into a conquered territory), including the one left behind.
+     */
+    public double expectedAttackerSurvivors(int attackerArmies, int defenderArmies) {
+        int a = attackerArmies - 1;
+        if (a < 1 || defenderArmies < 1) return Math.max(attackerArmies, 0);
+        if (isExact(attackerArmies, defenderArmies)) {
+            return attackersLeft[a * stride + defenderArmies] + 1;
+        }
+        double left = Math.max(1.0, a - defenderArmies * ATTACKER_PER_DEFENDER_LOSS);
+        return approximateWin(a, defenderArmies) * left + 1;
+    }
+
+    /**
+     * Expected armies left on the defending territory when the battle ends (0 if conquered).
+     */
+    public double expectedDefenderSurvivors(int attackerArmies, int defenderArmies) {
+        int a = attackerArmies - 1;
+        if (defenderArmies < 1) return 0.0;
+        if (a < 1) return defenderArmies;
+        if (isExact(attackerArmies, defenderArmies)) {
+            return defendersLeft[a * stride + defenderArmies];
+        }
+        double left = Math.max(1.0, defenderArmies - a / ATTACKER_PER_DEFENDER_LOSS);
+        return (1 - approximateWin(a, defenderArmies)) * left;
+    }
+
+    /**
+     * Odds of attacking {@code to} from {@code from} with their current armies.
+     */
+    public AttackOddsDTO forAttack(Territory from, Territory to) {
+        int attackers = from.getArmies();
+        int defenders = to.getArmies();
+        return AttackOddsDTO.builder()
+                .fromTerritoryKey(from.getTerritoryKey())
+                .toTerritoryKey(to.getTerritoryKey())
+                .attackerArmies(attackers)
+                .defenderArmies(defenders)
+                .winProbability(winProbability(attackers, defenders))
+                .expectedAttackerSurvivors(expectedAttackerSurvivors(attackers, defenders))
+                .expectedDefenderSurvivors(expectedDefenderSurvivors(attackers, defenders))
+                .exact(isExact(attackers, defenders))
+                .build();
+    }
+
+    /**
+     * Whether the pair is served from the precomputed table rather than approximated.
+     */
+    public boolean isExact(int attackerArmies, int defenderArmies) {
+        return attackerArmies - 1 <= maxArmies && defenderArmies <= maxArmies;
+    }
+
+    // ── tables ──────────────────────────────────────────────────────────
+
+    private void fillTables() {
+        for (int a = 0; a <= maxArmies; a++) {
+            for (int d = 0; d <= maxArmies; d++) {
+                int i = a * stride + d;
+                if (d == 0) {
+                    win[i] = 1.0;
+                    attackersLeft[i] = a;
+                    continue;
+                }
+                if (a == 0) {
+                    defendersLeft[i] = d;
+                    continue;
+                }
+                int attackDice = Math.min(3, a);
+                int defendDice = Math.min(2, d);
+                int fought = Math.min(attackDice, defendDice);
+                double[] outcomes = ROUND[attackDice][defendDice];
+                // Every outcome leads to a strictly smaller pair, already filled in
+                for (int defenderLosses = 0; defenderLosses <= fought; defenderLosses++) {
+                    double p = outcomes[defenderLosses];
+                    int next = (a - (fought - defenderLosses)) * stride + (d - defenderLosses);
+                    win[i] += p * win[next];
+                    attackersLeft[i] += p * attackersLeft[next];
+                    defendersLeft[i] += p * defendersLeft[next];
+                }
+            }
+        }
+    }
+
+    private static double[][][] enumerateRounds() {
+        double[][][] round = new double[4][3][];
+        for (int attackDice = 1; attackDice <= 3; attackDice++) {
+            for (int defendDice = 1; defendDice <= 2; defendDice++) {
+                int fought = Math.min(attackDice, defendDice);
+                int dice = attackDice + defendDice;
+                int combinations = (int) Math.pow(6, dice);
+                double[] counts = new double[fought + 1];
+                int[] rolls = new int[dice];
+                for (int c = 0; c < combinations; c++) {
+                    int rest = c;
+                    for (int k = 0; k < dice; k++) {
+                        rolls[k] = rest % 6 + 1;
+                        rest /= 6;
+                    }
+                    counts[defenderLosses(rolls, attackDice, defendDice)]++;
+                }
+                for (int k = 0; k <= fought; k++) {
+                    counts[k] /= combinations;
+                }
+                round[attackDice][defendDice] = counts;
+            }
+        }
+        return round;
+    }
+
+    private static int defenderLosses(int[] rolls, int attackDice, int defendDice) {
+        int[] attack = Arrays.copyOfRange(rolls, 0, attackDice);
+        int[] defend = Arrays.copyOfRange(rolls, attackDice, attackDice + defendDice);
+        Arrays.sort(attack);
+        Arrays.sort(defend);
+        int losses = 0;
+        for (int k = 0; k < Math.min(attackDice, defendDice); k++) {
+            if (attack[attackDice - 1 - k] > defend[defendDice - 1 - k]) {
+                losses++;
+            }
+        }
+        return losses;
+    }
+
+    // ── approximation ───────────────────────────────────────────────────
+
+    /**
+     * The attacker wins if the defender takes at least {@code d} of the first
+     * {@code a + d - 1} losses; with many rounds that count is close to normal.
+     */
+    private static double approximateWin(int a, int d) {
+        double losses = a + d - 1;
+        double mean = losses * DEFENDER_LOSS_SHARE;
+        double sd = Math.sqrt(losses * LOSS_VARIANCE);
+        return normalCdf((mean - d + 0.5) / sd);
+    }
+
+    /**
+     * Standard normal CDF (Abramowitz and Stegun 7.1.26, error below 1.5e-7).
+     */
+    private static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+                + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+}
@@ -0,0 +1,186 @@
+package com.risk.service;
+
+import com.risk.config.Bits;
+import com.risk.config.MapGraph;
+import com.risk.model.Continent;
+import com.risk.model.Territory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of a board as territory bitsets, for CPU strategies.
+ * <p>
+ * Ownership is held as one bitset per player and adjacency as one bitset per territory,
+ * so questions like "does this territory border an enemy" or "how many territories of
+ * this continent am I missing" are a few word-wise AND/NOT operations instead of nested
+ * loops over territory lists. Live games provide the bitsets they maintain incrementally;
+ * other games build them from a territory list.
+ */
+public final class BoardView {
+
+    private static final long[] NONE = new long[0];
+
+    private final MapGraph graph;
+    private final Territory[] territories;
+    private final long[][] adjacency;
+    private final Map<String, long[]> ownedByPlayer;
+    private final Map<String, Integer> indexByKey;
+    private final long[] empty;
+
+    private BoardView(MapGraph graph, Territory[] territories, long[][] adjacency,
+                      Map<String, long[]> ownedByPlayer, Map<String, Integer> indexByKey) {
+        this.graph = graph;
+        this.territories = territories;
+        this.adjacency = adjacency;
+        this.ownedByPlayer = ownedByPlayer;
+        this.indexByKey = indexByKey;
+        this.empty = new long[Bits.words(territories.length)];
+    }
+
+    /**
+     * View over a compiled map with ownership bitsets already maintained by the caller.
+     */
+    static BoardView of(MapGraph graph, Territory[] byIndex, Map<String, long[]> ownedByPlayer) {
+        long[][] adjacency = new long[byIndex.length][];
+        for (int i = 0; i < byIndex.length; i++) {
+            adjacency[i] = graph.neighborMask(i);
+        }
+        return new BoardView(graph, byIndex, adjacency, ownedByPlayer, null);
+    }
+
+    /**
+     * View built from a list of every territory of a game.
+     */
+    public static BoardView of(Collection<Territory> allTerritories) {
+        MapGraph graph = sharedGraph(allTerritories);
+        if (graph != null) {
+            Territory[] byIndex = new Territory[graph.size()];
+            for (Territory t : allTerritories) {
+                byIndex[t.getMapIndex()] = t;
+            }
+            return of(graph, byIndex, ownership(byIndex));
+        }
+
+        // Not bound to a map graph: index by list position, adjacency from neighbor keys
+        Territory[] byIndex = allTerritories.toArray(new Territory[0]);
+        Map<String, Integer> indexByKey = new HashMap<>(byIndex.length * 2);
+        for (int i = 0; i < byIndex.length; i++) {
+            indexByKey.put(byIndex[i].getTerritoryKey(), i);
+        }
+        long[][] adjacency = new long[byIndex.length][];
+        for (int i = 0; i < byIndex.length; i++) {
+            adjacency[i] = new long[Bits.words(byIndex.length)];
+            for (String neighbor : byIndex[i].getNeighborKeys()) {
+                Integer target = indexByKey.get(neighbor);
+                if (target != null) {
+                    Bits.set(adjacency[i], target);
+                }
+            }
+        }
+        return new BoardView(null, byIndex, adjacency, ownership(byIndex), indexByKey);
+    }
+
+    private static MapGraph sharedGraph(Collection<Territory> territories) {
+        MapGraph graph = null;
+        for (Territory t : territories) {
+            if (t.getMapGraph() == null || (graph != null && t.getMapGraph() != graph)) {
+                return null;
+            }
+            graph = t.getMapGraph();
+        }
+        return graph != null && graph.size() == territories.size() ? graph : null;
+    }
+
+    private static Map<String, long[]> ownership(Territory[] byIndex) {
+        Map<String, long[]> owned = new HashMap<>();
+        for (int i = 0; i < byIndex.length; i++) {
+            if (byIndex[i].getOwner() != null) {
+                Bits.set(owned.computeIfAbsent(byIndex[i].getOwner().getId(),
+                        id -> new long[Bits.words(byIndex.length)]), i);
+            }
+        }
+        return owned;
+    }
+
+    public int size() {
+        return territories.length;
+    }
+
+    public Territory territory(int index) {
+        return territories[index];
+    }
+
+    /**
+     * Index of a territory on this board, or {@code -1} if it is not on it.
+     */
+    public int indexOf(Territory territory) {
+        if (indexByKey == null) {
+            return territory.getMapGraph() == graph ? territory.getMapIndex() : -1;
+        }
+        Integer index = indexByKey.get(territory.getTerritoryKey());
+        return index != null ? index : -1;
+    }
+
+    private long[] owned(String playerId) {
+        return ownedByPlayer.getOrDefault(playerId, empty);
+    }
+
+    private long[] adjacencyOf(Territory territory) {
+        int index = indexOf(territory);
+        return index >= 0 ? adjacency[index] : NONE;
+    }
+
+    public int countOwnedBy(String playerId) {
+        return Bits.count(owned(playerId));
+    }
+
+    /**
+     * Whether the territory borders any territory the player does not own.
+     */
+    public boolean hasEnemyNeighbor(Territory territory, String playerId) {
+        long[] neighbors = adjacencyOf(territory);
+        return neighbors.length > 0 && Bits.anyAndNot(neighbors, owned(playerId));
+    }
+
+    public int countEnemyNeighbors(Territory territory, String playerId) {
+        long[] neighbors = adjacencyOf(territory);
+        return neighbors.length > 0 ? Bits.countAndNot(neighbors, owned(playerId)) : 0;
+    }
+
+    /**
+     * Neighbors of the territory that the player does not own, in board order.
+     */
+    public List<Territory> enemyNeighbors(Territory territory, String playerId) {
+        long[] neighbors = adjacencyOf(territory);
+        List<Territory> enemies = new ArrayList<>();
+        if (neighbors.length == 0) {
+            return enemies;
+        }
+        long[] mine = owned(playerId);
+        for (int i = Bits.nextAndNot(neighbors, mine, 0); i >= 0; i = Bits.nextAndNot(neighbors, mine, i + 1)) {
+            enemies.add(territories[i]);
+        }
+        return enemies;
+    }
+
+    /**
+     * Number of the continent's territories the player does not own yet.
+     */
+    public int continentGap(Continent continent, String playerId) {
+        int c = graph != null ? graph.continentIndex(continent.getContinentKey()) : -1;
+        if (c >= 0) {
+            return Bits.countAndNot(graph.continentMask(c), owned(playerId));
+        }
+        int gap = 0;
+        for (Territory t : continent.getTerritories()) {
+            if (t.getOwner() == null || !t.getOwner().getId().equals(playerId)) {
+                gap++;
+            }
+        }
+        return gap;
+    }
+}
@@ -17,7 +17,8 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service for executing CPU player turns.
@@ -28,31 +29,88 @@ import java.util.concurrent.locks.ReentrantLock;
 public class CPUPlayerService {
 
     private static final String UNKNOWN_PLAYER = "Unknown";
+    private static final int MAX_DECISION_ATTEMPTS = 3;
 
     private final GameService gameService;
     private final CPUStrategyFactory strategyFactory;
     private final GameWebSocketHandler webSocketHandler;
+    private final GameActors gameActors;
+    private final GameMetrics gameMetrics;
+    private final GameTracer gameTracer;
 
-    private final ConcurrentHashMap<String, ReentrantLock> gameLocks = new ConcurrentHashMap<>();
+    // Games with a CPU turn running, mapped to the turn requests that arrived meanwhile
+    private final ConcurrentHashMap<String, Integer> turnRequests = new ConcurrentHashMap<>();
 
     @Value("${game.cpu.think-delay-ms:1000}")
     private long thinkDelayMs;
 
     /**
      * Execute a turn for a CPU player.
+     * <p>
+     * One thread plays a game's CPU turns at a time. A request that arrives while a turn
+     * is running is not dropped: the running thread plays the game's current CPU player
+     * again once it is done, for as long as requests keep arriving.
      */
     @Async
     public void executeCPUTurn(String gameId, String playerId) {
-        ReentrantLock lock = gameLocks.computeIfAbsent(gameId, id -> new ReentrantLock());
-        if (!lock.tryLock()) {
-            log.info("CPU turn already running for game {}", gameId);
+        if (!claimTurns(gameId)) {
+            log.info("CPU turn already running for game {}; it will pick up this request", gameId);
             return;
         }
+        boolean released = false;
+        try {
+            String requested = playerId;
+            do {
+                playTurn(gameId, requested);
+                requested = null;
+            } while (!(released = releaseTurns(gameId)));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            log.warn("CPU turn interrupted for game {} player {}", gameId, playerId);
+        } finally {
+            if (!released) {
+                turnRequests.remove(gameId);
+            }
+        }
+    }
+
+    /**
+     * Start running the game's CPU turns, or leave a request for the thread already running them.
+     */
+    private boolean claimTurns(String gameId) {
+        boolean[] claimed = {false};
+        turnRequests.compute(gameId, (id, pending) -> {
+            if (pending == null) {
+                claimed[0] = true;
+                return 0;
+            }
+            return pending + 1;
+        });
+        return claimed[0];
+    }
+
+    /**
+     * Stop running the game's CPU turns unless requests arrived meanwhile, which are then taken.
+     */
+    private boolean releaseTurns(String gameId) {
+        return turnRequests.computeIfPresent(gameId, (id, pending) -> pending == 0 ? null : 0) == null;
+    }
+
+    /**
+     * Play one CPU turn: the given player's, or with {@code null} the current player's if
+     * that is a CPU in a game still in progress.
+     */
+    private void playTurn(String gameId, String playerId) throws InterruptedException {
         try {
             Game game = gameService.getGame(gameId);
             Player cpuPlayer = game.getCurrentPlayer();
 
-            if (cpuPlayer == null || !cpuPlayer.getId().equals(playerId) || !cpuPlayer.isCPU()) {
+            if (playerId == null) {
+                if (cpuPlayer == null || !cpuPlayer.isCPU() || game.getStatus() != GameStatus.IN_PROGRESS) {
+                    return;
+                }
+                playerId = cpuPlayer.getId();
+            } else if (cpuPlayer == null || !cpuPlayer.getId().equals(playerId) || !cpuPlayer.isCPU()) {
                 log.warn("Invalid CPU turn request for game {} player {}", gameId, playerId);
                 return;
             }
@@ -90,7 +148,7 @@ public class CPUPlayerService {
 
             log.info("{} completed turn in game {}", cpuPlayer.getName(), game.getName());
 
-            // Check if the next player is also a CPU and trigger their turn
+            // If the next player is also a CPU, this leaves a request that the loop in executeCPUTurn plays
             Game updatedGame = gameService.getGame(gameId);
             if (updatedGame.getCurrentPlayer() != null &&
                     !updatedGame.getCurrentPlayer().getId().equals(playerId) &&
@@ -98,37 +156,39 @@ public class CPUPlayerService {
                 checkAndTriggerCPUTurn(gameId);
             }
 
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            log.warn("CPU turn interrupted for game {} player {}", gameId, playerId);
         } catch (RuntimeException e) {
             log.error("Error executing CPU turn for game {} player {}", gameId, playerId, e);
-        } finally {
-            lock.unlock();
-            if (!lock.hasQueuedThreads()) {
-                gameLocks.remove(gameId, lock);
-            }
         }
     }
 
     private void executeReinforcementPhase(Game game, Player cpuPlayer, CPUStrategy strategy) throws InterruptedException {
+        final String gameId = game.getId();
         int reinforcements = game.getReinforcementsRemaining();
 
         while (reinforcements > 0) {
-            Thread.sleep(thinkDelayMs);
-
-            CPUAction action = strategy.decideReinforcement(game, cpuPlayer, reinforcements);
+            final int toPlace = reinforcements;
+            Function<Game, CPUAction> decision = current -> strategy.decideReinforcement(current, cpuPlayer, toPlace);
+            Function<CPUAction, Boolean> place = action -> {
+                if (action == null || action.getType() != CPUAction.ActionType.PLACE_ARMIES) {
+                    return false;
+                }
+                gameService.placeArmies(gameId, cpuPlayer.getId(),
+                        action.getToTerritoryKey(), action.getArmies());
+                return true;
+            };
+            Played<Boolean> placed = play(game, strategy, GamePhase.REINFORCEMENT, decision, place);
+            if (placed == null) {
+                // The armies must be placed before the turn can go on
+                placed = playOnMailbox(gameId, strategy, GamePhase.REINFORCEMENT, decision, place);
+            }
 
-            if (action == null || action.getType() != CPUAction.ActionType.PLACE_ARMIES) {
+            if (!placed.result()) {
                 break;
             }
 
-            gameService.placeArmies(game.getId(), cpuPlayer.getId(),
-                    action.getToTerritoryKey(), action.getArmies());
-
-            webSocketHandler.broadcastGameUpdate(game.getId());
+            webSocketHandler.broadcastGameUpdate(gameId);
 
-            game = gameService.getGame(game.getId());
+            game = gameService.getGame(gameId);
             reinforcements = game.getReinforcementsRemaining();
         }
     }
@@ -138,43 +198,54 @@ public class CPUPlayerService {
         int attacks = 0;
 
         while (attacks < maxAttacks) {
-            Thread.sleep(thinkDelayMs);
-
             game = gameService.getGame(game.getId());
 
             if (game.getCurrentPhase() != GamePhase.ATTACK) {
                 break;
             }
 
-            CPUAction action = strategy.decideAttack(game, cpuPlayer);
+            final String gameId = game.getId();
+            Played<AttackResult> played;
+            try {
+                played = play(game, strategy, GamePhase.ATTACK,
+                        current -> strategy.decideAttack(current, cpuPlayer),
+                        action -> {
+                            if (action == null || action.getType() == CPUAction.ActionType.END_ATTACK) {
+                                gameService.endAttackPhase(gameId, cpuPlayer.getId());
+                                return null;
+                            }
+                            if (action.getType() != CPUAction.ActionType.ATTACK) {
+                                return null;
+                            }
+                            return gameService.attack(gameId, cpuPlayer.getId(),
+                                    action.getFromTerritoryKey(), action.getToTerritoryKey(),
+                                    action.getArmies());
+                        });
+            } catch (RuntimeException e) {
+                log.debug("CPU attack failed: {}", e.getMessage());
+                break;
+            }
+            if (played == null) {
+                break;
+            }
 
+            CPUAction action = played.action();
             if (action == null || action.getType() == CPUAction.ActionType.END_ATTACK) {
-                gameService.endAttackPhase(game.getId(), cpuPlayer.getId());
-                webSocketHandler.broadcastGameUpdate(game.getId());
+                webSocketHandler.broadcastGameUpdate(gameId);
                 break;
             }
 
             if (action.getType() == CPUAction.ActionType.ATTACK) {
-                try {
-                    AttackResult result = gameService.attack(
-                            game.getId(), cpuPlayer.getId(),
-                            action.getFromTerritoryKey(), action.getToTerritoryKey(),
-                            action.getArmies());
-
-                    webSocketHandler.broadcastAttackResult(game.getId(), action, result);
-                    // Broadcast updated game state so clients see ownership changes (especially after conquests)
-                    webSocketHandler.broadcastGameUpdate(game.getId());
-                    attacks++;
-
-                    // Check if game is over after this attack
-                    game = gameService.getGame(game.getId());
-                    if (game.getStatus() == GameStatus.FINISHED) {
-                        webSocketHandler.broadcastGameOver(game.getId(), getWinnerName(game));
-                        return;
-                    }
-                } catch (RuntimeException e) {
-                    log.debug("CPU attack failed: {}", e.getMessage());
-                    break;
+                webSocketHandler.broadcastAttackResult(gameId, action, played.result());
+                // Broadcast updated game state so clients see ownership changes (especially after conquests)
+                webSocketHandler.broadcastGameUpdate(gameId);
+                attacks++;
+
+                // Check if game is over after this attack
+                game = gameService.getGame(gameId);
+                if (game.getStatus() == GameStatus.FINISHED) {
+                    webSocketHandler.broadcastGameOver(gameId, getWinnerName(game));
+                    return;
                 }
             }
         }
@@ -188,8 +259,6 @@ public class CPUPlayerService {
     }
 
     private void executeFortifyPhase(Game game, Player cpuPlayer, CPUStrategy strategy) throws InterruptedException {
-        Thread.sleep(thinkDelayMs);
-
         game = gameService.getGame(game.getId());
         // Refresh cpuPlayer reference from the reloaded game
         final String cpuId = cpuPlayer.getId();
@@ -201,15 +270,31 @@ public class CPUPlayerService {
             return;
         }
 
-        CPUAction action = strategy.decideFortify(game, cpuPlayer);
-
-        if (action == null || action.getType() == CPUAction.ActionType.SKIP_FORTIFY) {
-            gameService.skipFortify(game.getId(), cpuPlayer.getId());
-        } else if (action.getType() == CPUAction.ActionType.FORTIFY) {
-            gameService.fortify(game.getId(), cpuPlayer.getId(),
-                    action.getFromTerritoryKey(), action.getToTerritoryKey(),
-                    action.getArmies());
+        final String gameId = game.getId();
+        final Player fortifying = cpuPlayer;
+        Played<Void> played = play(game, strategy, GamePhase.FORTIFY,
+                current -> strategy.decideFortify(current, fortifying),
+                decided -> {
+                    if (decided == null || decided.getType() == CPUAction.ActionType.SKIP_FORTIFY) {
+                        gameService.skipFortify(gameId, cpuId);
+                    } else if (decided.getType() == CPUAction.ActionType.FORTIFY) {
+                        gameService.fortify(gameId, cpuId,
+                                decided.getFromTerritoryKey(), decided.getToTerritoryKey(),
+                                decided.getArmies());
+                    }
+                    return null;
+                });
+        if (played == null) {
+            // Skip fortifying rather than leave the turn unfinished
+            if (gameService.getGame(gameId).getCurrentPhase() == GamePhase.FORTIFY) {
+                gameService.skipFortify(gameId, cpuId);
+            }
+            webSocketHandler.broadcastGameUpdate(gameId);
+            return;
+        }
+        CPUAction action = played.action();
 
+        if (action != null && action.getType() == CPUAction.ActionType.FORTIFY) {
             // Broadcast CPU fortify details for modal display
             String fromName = game.getTerritories().stream()
                     .filter(t -> t.getTerritoryKey().equals(action.getFromTerritoryKey()))
@@ -217,11 +302,91 @@ public class CPUPlayerService {
             String toName = game.getTerritories().stream()
                     .filter(t -> t.getTerritoryKey().equals(action.getToTerritoryKey()))
                     .map(Territory::getName).findFirst().orElse(action.getToTerritoryKey());
-            webSocketHandler.broadcastCPUFortify(game.getId(), cpuPlayer.getName(),
+            webSocketHandler.broadcastCPUFortify(gameId, cpuPlayer.getName(),
                     fromName, toName, action.getArmies());
         }
 
-        webSocketHandler.broadcastGameUpdate(game.getId());
+        webSocketHandler.broadcastGameUpdate(gameId);
+    }
+
+    /**
+     * Decide an action, wait out the think delay, then apply it on the game's mailbox if the
+     * game's state version is still the one the decision read.
+     * <p>
+     * A decision overtaken by another change to the game is dropped and re-made on the
+     * current state, up to {@value #MAX_DECISION_ATTEMPTS} times, so the CPU never acts on
+     * a board it has not seen. Nothing is locked across the think delay.
+     *
+     * @return what was played, or {@code null} if every attempt went stale; the caller then
+     *         falls back to an action that still finishes the phase
+     */
+    private <R> Played<R> play(Game game, CPUStrategy strategy, GamePhase phase,
+                               Function<Game, CPUAction> decision,
+                               Function<CPUAction, R> apply) throws InterruptedException {
+        String gameId = game.getId();
+        for (int attempt = 1; ; attempt++) {
+            long started = System.nanoTime();
+            final Game current = game;
+            Decision decided = decide(game, strategy, phase, () -> decision.apply(current));
+            pauseForThinkDelay(gameId, started);
+
+            Played<R> played = gameActors.call(gameId, () -> gameService.getStateVersion(gameId) == decided.version()
+                    ? new Played<R>(decided.action(), apply.apply(decided.action()))
+                    : null);
+            if (played != null) {
+                return played;
+            }
+            gameMetrics.countStaleCpuDecision(phase);
+            if (attempt == MAX_DECISION_ATTEMPTS) {
+                log.warn("Game {} kept changing during the CPU's {} decision", gameId, phase);
+                return null;
+            }
+            log.debug("Game {} changed during the CPU's {} decision; deciding again", gameId, phase);
+            game = gameService.getGame(gameId);
+        }
+    }
+
+    /**
+     * Decide on the current state and apply the decision in one step on the game's mailbox,
+     * with no think delay, so nothing can change the game in between. Commands for the game
+     * wait while the strategy decides, so this is only the fallback for a phase that cannot
+     * be skipped.
+     */
+    private <R> Played<R> playOnMailbox(String gameId, CPUStrategy strategy, GamePhase phase,
+                                        Function<Game, CPUAction> decision,
+                                        Function<CPUAction, R> apply) {
+        return gameActors.call(gameId, () -> {
+            Game current = gameService.getGame(gameId);
+            CPUAction action = decide(current, strategy, phase, () -> decision.apply(current)).action();
+            return new Played<>(action, apply.apply(action));
+        });
+    }
+
+    /**
+     * Run a strategy decision on the game's mailbox, so it reads the board while no command
+     * is changing it, and note the state version it read. The think delay that follows is
+     * spent outside the mailbox.
+     * Its latency is recorded per difficulty and phase, waiting for the mailbox included.
+     */
+    private Decision decide(Game game, CPUStrategy strategy, GamePhase phase, Supplier<CPUAction> decision) {
+        String gameId = game.getId();
+        return gameMetrics.timeCpuDecision(strategy.getDifficulty(), phase,
+                () -> gameActors.call(gameId, () -> new Decision(gameService.getStateVersion(gameId),
+                        gameTracer.trace(gameId, GameTracer.CPU_DECISION, phase.name(), decision))));
+    }
+
+    /**
+     * Sleep for whatever is left of the think delay after the strategy's own decision time,
+     * so searching strategies do not make CPU turns slower than the configured pace.
+     * Turns run on virtual threads (see {@code AsyncConfig}), so sleeping holds no platform thread.
+     */
+    private void pauseForThinkDelay(String gameId, long decisionStartedNanos) throws InterruptedException {
+        long remainingMs = thinkDelayMs - (System.nanoTime() - decisionStartedNanos) / 1_000_000;
+        if (remainingMs > 0) {
+            long sleptFrom = System.nanoTime();
+            Thread.sleep(remainingMs);
+            gameTracer.record(gameId, GameTracer.THINK_DELAY, "sleep", sleptFrom, System.nanoTime(), null);
+        }
     }
 
     private String getWinnerName(Game game) {
@@ -249,4 +414,10 @@ public class CPUPlayerService {
             log.error("Error checking CPU turn for game {}", gameId, e);
         }
     }
+
+    private record Decision(long version, CPUAction action) {
+    }
+
+    private record Played<R>(CPUAction action, R result) {
+    }
 }
@@ -1,52 +1,133 @@
 package com.risk.service;
 
 import com.risk.dto.AttackResult;
+import com.risk.dto.BlitzResult;
 import com.risk.model.Game;
+import com.risk.model.GameEvent;
 import com.risk.model.GamePhase;
 import com.risk.model.Player;
 import com.risk.model.Territory;
-import com.risk.repository.GameRepository;
-import com.risk.repository.PlayerRepository;
-import com.risk.repository.TerritoryRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 /**
  * Service responsible for attack/combat mechanics including dice resolution.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class CombatService {
 
-    private final GameRepository gameRepository;
-    private final TerritoryRepository territoryRepository;
-    private final PlayerRepository playerRepository;
     private final GameQueryService gameQueryService;
     private final WinConditionService winConditionService;
+    private final LiveGameRegistry liveGames;
+    private final Random random;
 
-    private final SecureRandom random = new SecureRandom();
+    @Autowired
+    public CombatService(GameQueryService gameQueryService, WinConditionService winConditionService,
+                         LiveGameRegistry liveGames) {
+        this(gameQueryService, winConditionService, liveGames, new SecureRandom());
+    }
+
+    /**
+     * Combat rolling dice from the given random source, e.g. a seeded one for simulations.
+     */
+    public CombatService(GameQueryService gameQueryService, WinConditionService winConditionService,
+                         LiveGameRegistry liveGames, Random random) {
+        this.gameQueryService = gameQueryService;
+        this.winConditionService = winConditionService;
+        this.liveGames = liveGames;
+        this.random = random;
+    }
 
     /**
      * Execute an attack.
      */
     public AttackResult attack(String gameId, String playerId, String fromKey, String toKey, int attackingArmies) {
         Game game = gameQueryService.getGame(gameId);
+        Front front = validateFront(game, playerId, fromKey, toKey);
+
+        if (attackingArmies < 1 || attackingArmies > 3 || attackingArmies >= front.from().getArmies()) {
+            throw new IllegalArgumentException("Invalid number of attacking armies");
+        }
+
+        return executeAttack(game, front.from(), front.to(), attackingArmies);
+    }
+
+    /**
+     * Attack with as many dice as allowed, round after round, until the target is conquered
+     * or the attacking territory is down to {@code stopAtArmies}. All rounds are resolved
+     * in one transaction and the territories are saved once.
+     *
+     * @param stopAtArmies armies at which the attacker stops rolling; {@code 1} fights to the last
+     */
+    public BlitzResult blitz(String gameId, String playerId, String fromKey, String toKey, int stopAtArmies) {
+        Game game = gameQueryService.getGame(gameId);
+        Front front = validateFront(game, playerId, fromKey, toKey);
+        Territory from = front.from();
+        Territory to = front.to();
+
+        if (stopAtArmies < 1) {
+            throw new IllegalArgumentException("Stop threshold must be at least 1");
+        }
+        if (from.getArmies() <= stopAtArmies) {
+            throw new IllegalArgumentException("Not enough armies above the stop threshold");
+        }
+
+        List<BlitzResult.Round> rounds = new ArrayList<>();
+        int attackerLosses = 0;
+        int defenderLosses = 0;
+        AttackResult last;
+        do {
+            // Never roll more dice than armies above the threshold, so losses cannot cross it
+            last = resolveRound(game, from, to, Math.min(3, from.getArmies() - stopAtArmies));
+            rounds.add(new BlitzResult.Round(last.getAttackerDice(), last.getDefenderDice(),
+                    last.getAttackerLosses(), last.getDefenderLosses()));
+            attackerLosses += last.getAttackerLosses();
+            defenderLosses += last.getDefenderLosses();
+        } while (!last.isConquered() && from.getArmies() > stopAtArmies);
+
+        liveGames.saveTerritory(game, from);
+        liveGames.saveTerritory(game, to);
+        liveGames.saveGame(game);
+
+        log.debug("Blitz {} -> {} in game {}: {} rounds, conquered={}",
+                fromKey, toKey, gameId, rounds.size(), last.isConquered());
+
+        return BlitzResult.builder()
+                .fromTerritoryKey(fromKey)
+                .toTerritoryKey(toKey)
+                .rounds(rounds)
+                .attackerLosses(attackerLosses)
+                .defenderLosses(defenderLosses)
+                .fromArmies(from.getArmies())
+                .toArmies(to.getArmies())
+                .conquered(last.isConquered())
+                .eliminatedPlayer(last.getEliminatedPlayer())
+                .build();
+    }
+
+    /**
+     * Checks that the current player may attack {@code toKey} from {@code fromKey}.
+     */
+    private Front validateFront(Game game, String playerId, String fromKey, String toKey) {
         gameQueryService.validateCurrentPlayer(game, playerId);
 
         if (game.getCurrentPhase() != GamePhase.ATTACK) {
             throw new IllegalStateException("Not in attack phase");
         }
 
-        Territory from = territoryRepository.findByGameIdAndTerritoryKey(gameId, fromKey)
+        Territory from = gameQueryService.findTerritory(game.getId(), fromKey)
                 .orElseThrow(() -> new IllegalArgumentException("Source territory not found"));
-        Territory to = territoryRepository.findByGameIdAndTerritoryKey(gameId, toKey)
+        Territory to = gameQueryService.findTerritory(game.getId(), toKey)
                 .orElseThrow(() -> new IllegalArgumentException("Target territory not found"));
 
         if (!from.isOwnedBy(game.getCurrentPlayer())) {
@@ -57,18 +138,27 @@ public class CombatService {
             throw new IllegalArgumentException("Cannot attack your own territory");
         }
 
-        if (!from.isNeighborOf(toKey)) {
+        if (!from.isNeighborOf(to)) {
             throw new IllegalArgumentException("Territories are not adjacent");
         }
 
-        if (attackingArmies < 1 || attackingArmies > 3 || attackingArmies >= from.getArmies()) {
-            throw new IllegalArgumentException("Invalid number of attacking armies");
-        }
-
-        return executeAttack(game, from, to, attackingArmies);
+        return new Front(from, to);
     }
 
     AttackResult executeAttack(Game game, Territory from, Territory to, int attackingArmies) {
+        AttackResult result = resolveRound(game, from, to, attackingArmies);
+
+        liveGames.saveTerritory(game, from);
+        liveGames.saveTerritory(game, to);
+        liveGames.saveGame(game);
+
+        return result;
+    }
+
+    /**
+     * Rolls one round and applies it to the territories, without saving them.
+     */
+    private AttackResult resolveRound(Game game, Territory from, Territory to, int attackingArmies) {
         int defendingArmies = Math.min(2, to.getArmies());
 
         int[] attackDice = rollDice(attackingArmies);
@@ -93,6 +183,9 @@ public class CombatService {
 
         from.setArmies(from.getArmies() - attackerLosses);
         to.setArmies(to.getArmies() - defenderLosses);
+        String attackerId = from.getOwner().getId();
+        liveGames.recordEvent(game, GameEvent.attackRolled(attackerId, from.getTerritoryKey(), to.getTerritoryKey(),
+                attackDice, defendDice, attackerLosses, defenderLosses));
 
         boolean conquered = to.getArmies() <= 0;
         Player eliminatedPlayer = null;
@@ -106,11 +199,16 @@ public class CombatService {
             }
             to.setArmies(moveArmies);
             from.setArmies(from.getArmies() - moveArmies);
+            liveGames.recordEvent(game, GameEvent.territoryConquered(attackerId, from.getTerritoryKey(),
+                    to.getTerritoryKey(), moveArmies));
+            // The checks below read the live counters, which must include this conquest
+            liveGames.recount(game, to);
 
             // Check if player was eliminated
-            if (territoryRepository.findByOwnerId(previousOwner.getId()).isEmpty()) {
+            if (gameQueryService.countTerritoriesOwnedBy(game.getId(), previousOwner.getId()) == 0) {
                 previousOwner.eliminate();
-                playerRepository.save(previousOwner);
+                liveGames.savePlayer(game, previousOwner);
+                liveGames.recordEvent(game, GameEvent.playerEliminated(previousOwner.getId()));
                 eliminatedPlayer = previousOwner;
             }
 
@@ -118,10 +216,6 @@ public class CombatService {
             winConditionService.checkGameOver(game);
         }
 
-        territoryRepository.save(from);
-        territoryRepository.save(to);
-        gameRepository.save(game);
-
         return AttackResult.builder()
                 .attackerDice(attackDice)
                 .defenderDice(defendDice)
@@ -147,4 +241,7 @@ public class CombatService {
             arr[arr.length - 1 - i] = temp;
         }
     }
+
+    private record Front(Territory from, Territory to) {
+    }
 }
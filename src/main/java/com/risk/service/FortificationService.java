@@ -1,11 +1,10 @@
 package com.risk.service;
 
 import com.risk.model.Game;
+import com.risk.model.GameEvent;
 import com.risk.model.GamePhase;
 import com.risk.model.Player;
 import com.risk.model.Territory;
-import com.risk.repository.GameRepository;
-import com.risk.repository.TerritoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,10 +19,9 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class FortificationService {
 
-    private final GameRepository gameRepository;
-    private final TerritoryRepository territoryRepository;
     private final GameQueryService gameQueryService;
     private final TurnManagementService turnManagementService;
+    private final LiveGameRegistry liveGames;
 
     /**
      * Fortify - move armies between owned adjacent territories, then end turn.
@@ -36,9 +34,9 @@ public class FortificationService {
             throw new IllegalStateException("Not in fortify phase");
         }
 
-        Territory from = territoryRepository.findByGameIdAndTerritoryKey(gameId, fromKey)
+        Territory from = gameQueryService.findTerritory(gameId, fromKey)
                 .orElseThrow(() -> new IllegalArgumentException("Source territory not found"));
-        Territory to = territoryRepository.findByGameIdAndTerritoryKey(gameId, toKey)
+        Territory to = gameQueryService.findTerritory(gameId, toKey)
                 .orElseThrow(() -> new IllegalArgumentException("Target territory not found"));
 
         Player currentPlayer = game.getCurrentPlayer();
@@ -47,7 +45,7 @@ public class FortificationService {
             throw new IllegalArgumentException("You must own both territories");
         }
 
-        if (!from.isNeighborOf(toKey)) {
+        if (!from.isNeighborOf(to)) {
             throw new IllegalArgumentException("Territories must be adjacent for fortification");
         }
 
@@ -58,8 +56,9 @@ public class FortificationService {
         from.setArmies(from.getArmies() - armies);
         to.setArmies(to.getArmies() + armies);
 
-        territoryRepository.save(from);
-        territoryRepository.save(to);
+        liveGames.saveTerritory(game, from);
+        liveGames.saveTerritory(game, to);
+        liveGames.recordEvent(game, GameEvent.fortified(playerId, fromKey, toKey, armies));
 
         turnManagementService.endTurn(game);
         return game;
@@ -77,6 +76,6 @@ public class FortificationService {
         }
 
         turnManagementService.endTurn(game);
-        return gameRepository.save(game);
+        return liveGames.saveGame(game);
     }
 }
@@ -0,0 +1,156 @@
+package com.risk.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * One single-writer mailbox per game.
+ * <p>
+ * Every command for a game (human actions from REST or STOMP, CPU decisions and moves)
+ * is queued on the game's mailbox and run one at a time, in arrival order, on a virtual
+ * thread that exists only while the mailbox has work. Commands for different games run
+ * in parallel. A command that issues another command for the same game runs it inline,
+ * so nesting cannot deadlock.
+ * <p>
+ * Callers block until their command has run and get its result or exception back.
+ * <p>
+ * The number of active mailboxes and of commands waiting in them are published as gauges.
+ */
+@Component
+@Slf4j
+public class GameActors implements MeterBinder {
+
+    private static final ThreadLocal<String> CURRENT_GAME = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+
+    /**
+     * Run {@code command} on the game's mailbox and return its result.
+     */
+    public <T> T call(String gameId, Supplier<T> command) {
+        if (gameId.equals(CURRENT_GAME.get())) {
+            return command.get();
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(gameId, () -> {
+            try {
+                result.complete(command.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Run {@code command} on the game's mailbox and wait for it.
+     */
+    public void run(String gameId, Runnable command) {
+        call(gameId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * Queue {@code command} on the game's mailbox without waiting for it; failures are logged.
+     */
+    public void submit(String gameId, Runnable command) {
+        enqueue(gameId, () -> {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                log.error("Command failed for game {}", gameId, e);
+            }
+        });
+    }
+
+    int activeMailboxes() {
+        return mailboxes.size();
+    }
+
+    int queuedTasks() {
+        return queuedTasks.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("risk.actors.mailboxes", mailboxes, ConcurrentHashMap::size)
+                .description("Games with commands queued or running")
+                .register(registry);
+        Gauge.builder("risk.actors.queued", queuedTasks, AtomicInteger::get)
+                .description("Commands waiting on game mailboxes")
+                .register(registry);
+    }
+
+    private void enqueue(String gameId, Runnable task) {
+        // Queueing, starting and retiring a mailbox all happen under the map's per-key lock,
+        // so a game never has two mailboxes draining at once
+        mailboxes.compute(gameId, (id, mailbox) -> {
+            Mailbox m = mailbox != null ? mailbox : new Mailbox();
+            m.tasks.add(task);
+            queuedTasks.incrementAndGet();
+            if (!m.draining) {
+                m.draining = true;
+                Thread.ofVirtual().name("game-" + id).start(() -> drain(id, m));
+            }
+            return m;
+        });
+    }
+
+    private void drain(String gameId, Mailbox mailbox) {
+        CURRENT_GAME.set(gameId);
+        try {
+            Runnable task;
+            while ((task = next(gameId, mailbox)) != null) {
+                task.run();
+            }
+        } finally {
+            CURRENT_GAME.remove();
+        }
+    }
+
+    /**
+     * Next task, or {@code null} after retiring the now empty mailbox.
+     */
+    private Runnable next(String gameId, Mailbox mailbox) {
+        Runnable[] next = new Runnable[1];
+        mailboxes.compute(gameId, (id, current) -> {
+            next[0] = mailbox.tasks.poll();
+            if (next[0] == null) {
+                mailbox.draining = false;
+                return null;
+            }
+            queuedTasks.decrementAndGet();
+            return current;
+        });
+        return next[0];
+    }
+
+    private static final class Mailbox {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean draining;
+    }
+}
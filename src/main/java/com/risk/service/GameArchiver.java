@@ -0,0 +1,212 @@
+package com.risk.service;
+
+import com.risk.dto.GameStateDTO;
+import com.risk.model.Game;
+import com.risk.model.GameArchive;
+import com.risk.model.GameEvent;
+import com.risk.repository.GameArchiveRepository;
+import com.risk.repository.GameRepository;
+import com.risk.repository.GameSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compacts finished games into {@link GameArchive} rows.
+ * <p>
+ * Every {@code game.archive.interval-ms}, games that finished more than
+ * {@code game.archive.grace-ms} ago and are no longer live are archived in batches of
+ * {@code game.archive.batch-size}. Each batch is one transaction: the archives are
+ * inserted and the games' rows deleted with one batched DELETE per table, so the tables
+ * games are played from only hold games that are waiting, in progress or just finished.
+ * A failed batch is rolled back and retried on the next run.
+ * <p>
+ * Each archive also gets the game's {@link ReplayRecording}, built from its start snapshot
+ * and event log with a keyframe every {@code game.replay.keyframe-interval} turns. Replays
+ * are served from the archive alone, away from the tables live games are played from.
+ */
+@Component
+@Slf4j
+public class GameArchiver {
+
+    // Children first: territories reference players and continents
+    private static final List<String> DELETES = List.of(
+            "DELETE FROM game_events WHERE game_id = ?",
+            "DELETE FROM game_snapshots WHERE game_id = ?",
+            "DELETE FROM territories WHERE game_id = ?",
+            "DELETE FROM continents WHERE game_id = ?",
+            "DELETE FROM players WHERE game_id = ?",
+            "DELETE FROM games WHERE id = ?");
+
+    private final GameRepository gameRepository;
+    private final GameArchiveRepository archiveRepository;
+    private final GameQueryService gameQueryService;
+    private final GameEventLog gameEventLog;
+    private final GameSnapshotRepository gameSnapshotRepository;
+    private final LiveGameRegistry liveGames;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final long graceMs;
+    private final int batchSize;
+    private final int keyframeInterval;
+
+    public GameArchiver(GameRepository gameRepository,
+                        GameArchiveRepository archiveRepository,
+                        GameQueryService gameQueryService,
+                        GameEventLog gameEventLog,
+                        GameSnapshotRepository gameSnapshotRepository,
+                        LiveGameRegistry liveGames,
+                        JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        ObjectMapper objectMapper,
+                        @Value("${game.archive.grace-ms:600000}") long graceMs,
+                        @Value("${game.archive.batch-size:50}") int batchSize,
+                        @Value("${game.replay.keyframe-interval:10}") int keyframeInterval) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("archive batch-size must be positive");
+        }
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("replay keyframe-interval must be positive");
+        }
+        this.gameRepository = gameRepository;
+        this.archiveRepository = archiveRepository;
+        this.gameQueryService = gameQueryService;
+        this.gameEventLog = gameEventLog;
+        this.gameSnapshotRepository = gameSnapshotRepository;
+        this.liveGames = liveGames;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.graceMs = graceMs;
+        this.batchSize = batchSize;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    @Scheduled(fixedDelayString = "${game.archive.interval-ms:60000}",
+            initialDelayString = "${game.archive.interval-ms:60000}")
+    public void archiveFinished() {
+        LocalDateTime endedBefore = LocalDateTime.now().minus(Duration.ofMillis(graceMs));
+        int archived = 0;
+        while (true) {
+            List<String> finished = gameRepository.findFinishedBefore(endedBefore, PageRequest.of(0, batchSize));
+            // A finished game stays live until the write-behind flusher has written its end
+            List<String> gameIds = finished.stream()
+                    .filter(gameId -> liveGames.find(gameId).isEmpty())
+                    .toList();
+            if (gameIds.isEmpty()) {
+                break;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> archive(gameIds));
+            } catch (RuntimeException e) {
+                log.error("Archiving games {} failed; will retry", gameIds, e);
+                break;
+            }
+            archived += gameIds.size();
+            if (finished.size() < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} finished games", archived);
+        }
+    }
+
+    /**
+     * The archived game's final state and event log as JSON:
+     * {@code {"finalState": {...}, "events": [...]}}.
+     */
+    public byte[] read(String gameId) {
+        GameArchive archive = archiveRepository.findByGameId(gameId)
+                .orElseThrow(() -> new IllegalArgumentException("No archive for game: " + gameId));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(archive.getData()))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The archived game's replay from the start of {@code fromTurn} to its end.
+     */
+    public ReplayRecording.Playback replay(String gameId, int fromTurn) {
+        byte[] replay = archiveRepository.findReplayByGameId(gameId)
+                .orElseThrow(() -> new IllegalArgumentException("No replay for game: " + gameId));
+        return ReplayRecording.parse(replay).seek(fromTurn);
+    }
+
+    private void archive(List<String> gameIds) {
+        archiveRepository.saveAll(gameIds.stream().map(this::compact).toList());
+        List<Object[]> rows = gameIds.stream().map(gameId -> new Object[]{gameId}).toList();
+        for (String delete : DELETES) {
+            jdbcTemplate.batchUpdate(delete, rows);
+        }
+    }
+
+    private GameArchive compact(String gameId) {
+        GameStateDTO finalState = gameQueryService.getGameState(gameId);
+        Game game = gameQueryService.getGame(gameId);
+        List<GameEvent> events = gameEventLog.getEvents(gameId, 0);
+        return GameArchive.builder()
+                .gameId(gameId)
+                .name(game.getName())
+                .mapId(game.getMapId())
+                .gameMode(game.getGameMode())
+                .winnerName(finalState.getWinnerName())
+                .playerCount(game.getPlayers().size())
+                .turnNumber(game.getTurnNumber())
+                .eventCount(events.size())
+                .createdAt(game.getCreatedAt())
+                .endedAt(game.getEndedAt())
+                .archivedAt(LocalDateTime.now())
+                .data(gzip(new Contents(finalState, events)))
+                .replay(recordReplay(game, events))
+                .build();
+    }
+
+    /**
+     * The game's replay, or null when it cannot be recorded; the archive is kept either way.
+     */
+    private byte[] recordReplay(Game game, List<GameEvent> events) {
+        try {
+            return gameSnapshotRepository.findByGameIdAndSequence(game.getId(), 0)
+                    .map(start -> ReplayRecording.record(game, start, events, keyframeInterval))
+                    .orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Could not record the replay of game {}", game.getId(), e);
+            return null;
+        }
+    }
+
+    private byte[] gzip(Contents contents) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, contents);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    record Contents(GameStateDTO finalState, List<GameEvent> events) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.risk.service;
+
+import com.risk.model.GameEvent;
+import com.risk.model.GameSnapshot;
+import com.risk.repository.GameEventRepository;
+import com.risk.repository.GameSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Read side of the game event log: audit queries and recovery from the latest snapshot.
+ * <p>
+ * Events are recorded through {@link LiveGameRegistry#recordEvent} and written by the
+ * {@link WriteBehindFlusher}; only what has been flushed is visible here.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class GameEventLog {
+
+    private final GameEventRepository gameEventRepository;
+    private final GameSnapshotRepository gameSnapshotRepository;
+
+    /**
+     * Stored events of a game after {@code afterSequence}, in order.
+     */
+    public List<GameEvent> getEvents(String gameId, long afterSequence) {
+        return gameEventRepository.findByGameIdAndSequenceGreaterThanOrderBySequence(gameId, afterSequence);
+    }
+
+    /**
+     * Rebuild a game's state from its latest snapshot and the events stored after it.
+     */
+    public ReplayedGame recover(String gameId) {
+        GameSnapshot snapshot = gameSnapshotRepository.findTopByGameIdOrderBySequenceDesc(gameId)
+                .orElseThrow(() -> new IllegalArgumentException("No snapshot for game: " + gameId));
+        ReplayedGame game = ReplayedGame.fromSnapshot(snapshot);
+        for (GameEvent event : getEvents(gameId, snapshot.getSequence())) {
+            game.apply(event);
+        }
+        return game;
+    }
+}
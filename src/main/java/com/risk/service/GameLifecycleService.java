@@ -15,19 +15,23 @@ import com.risk.repository.PlayerRepository;
 import com.risk.repository.TerritoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service responsible for game lifecycle: creation, joining, starting, and setup.
+ * Each change the lobby shows is published as a {@link LobbyEvent}.
  */
 @Service
 @RequiredArgsConstructor
@@ -41,6 +45,8 @@ public class GameLifecycleService {
     private final MapService mapService;
     private final GameQueryService gameQueryService;
     private final ReinforcementService reinforcementService;
+    private final LiveGameLoader liveGameLoader;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new game.
@@ -63,7 +69,8 @@ public class GameLifecycleService {
                 .turnLimit(request.getTurnLimit())
                 .build();
 
-        game = gameRepository.save(game);
+        // Flushed so the map's batched inserts can reference the game row
+        game = gameRepository.saveAndFlush(game);
 
         // Initialize map
         mapService.initializeMap(game);
@@ -81,7 +88,9 @@ public class GameLifecycleService {
             addPlayer(game, "CPU Player " + (i + 1), PlayerType.CPU, null, request.getCpuDifficulty());
         }
 
-        return gameRepository.save(game);
+        game = gameRepository.save(game);
+        eventPublisher.publishEvent(LobbyEvent.of(LobbyEvent.Type.GAME_CREATED, game));
+        return game;
     }
 
     /**
@@ -102,7 +111,9 @@ public class GameLifecycleService {
             throw new IllegalArgumentException("Player name already taken");
         }
 
-        return addPlayer(game, request.getPlayerName(), PlayerType.HUMAN, sessionId, null);
+        Player player = addPlayer(game, request.getPlayerName(), PlayerType.HUMAN, sessionId, null);
+        eventPublisher.publishEvent(LobbyEvent.of(LobbyEvent.Type.PLAYER_COUNT_CHANGED, game));
+        return player;
     }
 
     /**
@@ -116,7 +127,9 @@ public class GameLifecycleService {
         }
 
         int cpuCount = (int) game.getPlayers().stream().filter(Player::isCPU).count();
-        return addPlayer(game, "CPU Player " + (cpuCount + 1), PlayerType.CPU, null, difficulty);
+        Player player = addPlayer(game, "CPU Player " + (cpuCount + 1), PlayerType.CPU, null, difficulty);
+        eventPublisher.publishEvent(LobbyEvent.of(LobbyEvent.Type.PLAYER_COUNT_CHANGED, game));
+        return player;
     }
 
     /**
@@ -140,7 +153,12 @@ public class GameLifecycleService {
         game.setReinforcementsRemaining(reinforcementService.calculateReinforcements(game.getCurrentPlayer()));
 
         log.info("Game {} started with {} players", game.getName(), game.getPlayers().size());
-        return gameRepository.save(game);
+        game = gameRepository.save(game);
+        eventPublisher.publishEvent(LobbyEvent.of(LobbyEvent.Type.GAME_STARTED, game));
+
+        // From now on the game is played in memory
+        liveGameLoader.activateAfterCommit(game.getId());
+        return game;
     }
 
     Player addPlayer(Game game, String name, PlayerType type, String sessionId, CPUDifficulty difficulty) {
@@ -160,6 +178,7 @@ public class GameLifecycleService {
 
         player = playerRepository.save(player);
         game.getPlayers().add(player);
+        game.setPlayerCount(game.getPlayers().size());
 
         log.info("Player {} joined game {}", name, game.getName());
         return player;
@@ -177,46 +196,42 @@ public class GameLifecycleService {
         throw new IllegalStateException("No colors available");
     }
 
+    /**
+     * Deal the territories round-robin in random order and spread each player's remaining
+     * starting armies over their territories at random. Computed in memory and written as
+     * one batched UPDATE.
+     */
     void distributeTerritories(Game game) {
         List<Territory> territories = new ArrayList<>(territoryRepository.findByGameId(game.getId()));
-        Collections.shuffle(territories);
+        Random random = ThreadLocalRandom.current();
+        Collections.shuffle(territories, random);
 
         List<Player> players = game.getPlayers();
-        int initialArmies = getInitialArmiesPerPlayer(players.size());
-
-        int playerIndex = 0;
-        for (Territory territory : territories) {
-            Player player = players.get(playerIndex);
-            territory.setOwner(player);
-            territory.setArmies(1);
-            territoryRepository.save(territory);
-            playerIndex = (playerIndex + 1) % players.size();
-        }
-
-        // Distribute remaining armies
-        for (Player player : players) {
-            List<Territory> playerTerritories = territoryRepository.findByOwnerId(player.getId());
-            int armiesPlaced = playerTerritories.size();
-            int remaining = initialArmies - armiesPlaced;
-
-            if (remaining <= 0) {
-                continue;
+        int playerCount = players.size();
+        int[] armies = new int[territories.size()];
+        Arrays.fill(armies, 1);
+
+        // After the shuffle, player p owns positions p, p + n, p + 2n, ...
+        int initialArmies = getInitialArmiesPerPlayer(playerCount);
+        for (int p = 0; p < playerCount; p++) {
+            int owned = (territories.size() - p + playerCount - 1) / playerCount;
+            if (owned == 0) {
+                throw new IllegalStateException("No territories assigned to player " + players.get(p).getName());
             }
-
-            if (playerTerritories.isEmpty()) {
-                throw new IllegalStateException("No territories assigned to player " + player.getName());
+            for (int i = owned; i < initialArmies; i++) {
+                armies[p + random.nextInt(owned) * playerCount]++;
             }
+        }
 
-            Random random = new Random();
-            for (int i = 0; i < remaining; i++) {
-                Territory t = playerTerritories.get(random.nextInt(playerTerritories.size()));
-                t.setArmies(t.getArmies() + 1);
-                territoryRepository.save(t);
-            }
+        for (int i = 0; i < territories.size(); i++) {
+            Territory territory = territories.get(i);
+            territory.setOwner(players.get(i % playerCount));
+            territory.setArmies(armies[i]);
         }
+        territoryRepository.saveAll(territories);
     }
 
-    int getInitialArmiesPerPlayer(int playerCount) {
+    public static int getInitialArmiesPerPlayer(int playerCount) {
         return switch (playerCount) {
             case 2 -> 40;
             case 3 -> 35;
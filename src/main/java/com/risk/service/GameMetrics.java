@@ -0,0 +1,123 @@
+package com.risk.service;
+
+import com.risk.model.CPUDifficulty;
+import com.risk.model.GamePhase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers and distributions for game actions, CPU decisions and broadcasts.
+ * <p>
+ * Every meter publishes a percentile histogram, so latency can be broken down by tag on
+ * the {@code /actuator/metrics} and {@code /actuator/prometheus} endpoints. Meters are
+ * registered on first use of each tag combination and cached, so the instrumented paths
+ * only pay for a map lookup and the recording itself.
+ */
+@Component
+public class GameMetrics {
+
+    static final String ACTION = "risk.game.action";
+    static final String CPU_DECISION = "risk.cpu.decision";
+    static final String CPU_STALE_DECISION = "risk.cpu.stale-decisions";
+    static final String BROADCAST_DURATION = "risk.broadcast.duration";
+    static final String BROADCAST_SIZE = "risk.broadcast.size";
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<ActionTags, Timer> actionTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<DecisionTags, Timer> decisionTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<GamePhase, Counter> staleDecisionCounters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> broadcastTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DistributionSummary> broadcastSizes = new ConcurrentHashMap<>();
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Run a game action and time it, tagged with the action and whether it succeeded.
+     * The time includes waiting for the game's mailbox.
+     */
+    public <T> T timeAction(String action, Supplier<T> body) {
+        long started = System.nanoTime();
+        String outcome = "failure";
+        try {
+            T result = body.get();
+            outcome = "success";
+            return result;
+        } finally {
+            actionTimers.computeIfAbsent(new ActionTags(action, outcome), tags -> Timer.builder(ACTION)
+                            .description("Game actions, from the caller's side")
+                            .tag("action", tags.action())
+                            .tag("outcome", tags.outcome())
+                            .publishPercentileHistogram()
+                            .register(registry))
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void timeAction(String action, Runnable body) {
+        timeAction(action, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a CPU strategy decision and time it by difficulty and phase.
+     */
+    public <T> T timeCpuDecision(CPUDifficulty difficulty, GamePhase phase, Supplier<T> decision) {
+        return decisionTimers.computeIfAbsent(new DecisionTags(difficulty, phase), tags -> Timer.builder(CPU_DECISION)
+                        .description("CPU strategy decisions, excluding the think delay")
+                        .tag("difficulty", String.valueOf(tags.difficulty()))
+                        .tag("phase", tags.phase().name())
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(decision);
+    }
+
+    /**
+     * Count a CPU decision that was dropped because the game changed before it was applied.
+     */
+    public void countStaleCpuDecision(GamePhase phase) {
+        staleDecisionCounters.computeIfAbsent(phase, p -> Counter.builder(CPU_STALE_DECISION)
+                        .description("CPU decisions re-made because the game changed during the think delay")
+                        .tag("phase", p.name())
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * Record one message sent to a game topic; {@code bytes} is negative when the payload
+     * was handed to the message converter and its size is not known.
+     */
+    public void recordBroadcast(String type, long nanos, int bytes) {
+        broadcastTimers.computeIfAbsent(type, t -> Timer.builder(BROADCAST_DURATION)
+                        .description("Building and sending a message to a game topic")
+                        .tag("type", t)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (bytes >= 0) {
+            broadcastSizes.computeIfAbsent(type, t -> DistributionSummary.builder(BROADCAST_SIZE)
+                            .description("Size of the messages sent to game topics")
+                            .baseUnit("bytes")
+                            .tag("type", t)
+                            .publishPercentileHistogram()
+                            .register(registry))
+                    .record(bytes);
+        }
+    }
+
+    private record ActionTags(String action, String outcome) {
+    }
+
+    private record DecisionTags(CPUDifficulty difficulty, GamePhase phase) {
+    }
+}
@@ -1,27 +1,39 @@
 package com.risk.service;
 
+import com.risk.config.MapGraph;
+import com.risk.config.MapLoader;
 import com.risk.dto.ContinentDTO;
 import com.risk.dto.GameStateDTO;
 import com.risk.dto.PlayerDTO;
 import com.risk.dto.TerritoryDTO;
 import com.risk.model.Continent;
 import com.risk.model.Game;
+import com.risk.model.GameMode;
+import com.risk.model.GameStatus;
 import com.risk.model.Player;
 import com.risk.model.Territory;
 import com.risk.repository.ContinentRepository;
+import com.risk.repository.GameListing;
 import com.risk.repository.GameRepository;
 import com.risk.repository.TerritoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
 
 /**
  * Service responsible for game state queries and read-only operations.
+ * Live games are answered from the {@link LiveGameRegistry}; all others from the database.
  */
 @Service
 @RequiredArgsConstructor
@@ -32,50 +44,182 @@ public class GameQueryService {
     private final GameRepository gameRepository;
     private final TerritoryRepository territoryRepository;
     private final ContinentRepository continentRepository;
+    private final LiveGameRegistry liveGames;
+    private final MapLoader mapLoader;
+
+    static final int MAX_PAGE_SIZE = 100;
 
     /**
      * Get game by ID.
      */
     public Game getGame(String gameId) {
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            return live.get().getGame();
+        }
         return gameRepository.findById(gameId)
                 .orElseThrow(() -> new IllegalArgumentException("Game not found: " + gameId));
     }
 
     /**
-     * Get full game state as DTO.
+     * State version of a live game, bumped by every change to it; {@code 0} for others.
+     * Callers compare two reads to tell whether anything changed in between.
      */
-    public GameStateDTO getGameState(String gameId) {
-        Game game = gameRepository.findByIdWithPlayers(gameId);
-        if (game == null) {
-            throw new IllegalArgumentException("Game not found: " + gameId);
+    public long getStateVersion(String gameId) {
+        return liveGames.find(gameId).map(LiveGame::getVersion).orElse(0L);
+    }
+
+    /**
+     * Find a territory of a game by its map key.
+     */
+    public Optional<Territory> findTerritory(String gameId, String territoryKey) {
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            return live.get().findTerritory(territoryKey);
+        }
+        Optional<Territory> territory = territoryRepository.findByGameIdAndTerritoryKey(gameId, territoryKey);
+        territory.ifPresent(t -> withGraph(List.of(t)));
+        return territory;
+    }
+
+    /**
+     * Get every territory of a game.
+     */
+    public List<Territory> getTerritories(String gameId) {
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            return new ArrayList<>(live.get().getTerritories());
+        }
+        return withGraph(territoryRepository.findByGameId(gameId));
+    }
+
+    /**
+     * Get a bitset view of a game's board for ownership and border queries.
+     */
+    public BoardView getBoard(String gameId) {
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            return live.get().board();
+        }
+        return BoardView.of(getTerritories(gameId));
+    }
+
+    /**
+     * Get the territories owned by a player.
+     */
+    public List<Territory> getTerritoriesOwnedBy(String gameId, String playerId) {
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            return live.get().getTerritoriesOwnedBy(playerId);
+        }
+        return withGraph(territoryRepository.findByOwnerId(playerId));
+    }
+
+    /**
+     * Count the territories owned by a player; a counter read for live games.
+     */
+    public int countTerritoriesOwnedBy(String gameId, String playerId) {
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            return live.get().countTerritoriesOwnedBy(playerId);
+        }
+        return territoryRepository.findByOwnerId(playerId).size();
+    }
+
+    /**
+     * Count every territory of a game.
+     */
+    public int countTerritories(String gameId) {
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            return live.get().getTerritories().size();
+        }
+        return territoryRepository.findByGameId(gameId).size();
+    }
+
+    /**
+     * Get the territories a player can attack from (more than one army).
+     */
+    public List<Territory> getAttackCapableTerritories(String gameId, String playerId) {
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            return live.get().getTerritoriesOwnedBy(playerId).stream()
+                    .filter(Territory::canAttackFrom)
+                    .toList();
+        }
+        return withGraph(territoryRepository.findAttackCapableTerritories(gameId, playerId));
+    }
+
+    /**
+     * Get all continents of a game with their territories initialized.
+     */
+    public List<Continent> getContinents(String gameId) {
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            return live.get().getContinents();
         }
-        // Load territories and continents separately to avoid MultipleBagFetchException with Hibernate 7
-        List<Territory> territories = territoryRepository.findByGameId(gameId);
         List<Continent> continents = continentRepository.findByGameIdWithTerritories(gameId);
+        continents.forEach(c -> withGraph(c.getTerritories()));
+        return continents;
+    }
 
-        // Compute player stats from loaded territories (Player.territories may be lazy/empty)
-        Map<String, Integer> terrCountByOwner = new HashMap<>();
-        Map<String, Integer> armiesByOwner = new HashMap<>();
-        for (Territory t : territories) {
-            if (t.getOwner() != null) {
-                String ownerId = t.getOwner().getId();
-                terrCountByOwner.merge(ownerId, 1, Integer::sum);
-                armiesByOwner.merge(ownerId, t.getArmies(), Integer::sum);
+    /**
+     * Get full game state as DTO. Live games stamp it with their state version;
+     * others have none ({@code 0}).
+     */
+    public GameStateDTO getGameState(String gameId) {
+        Game game;
+        List<Territory> territories;
+        List<Continent> continents;
+        ToIntFunction<String> territoryCount;
+        ToIntFunction<String> armyCount;
+        long version = 0;
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            LiveGame liveGame = live.get();
+            // Read before the state: the DTO is then at least as new as its version
+            version = liveGame.getVersion();
+            game = liveGame.getGame();
+            territories = new ArrayList<>(liveGame.getTerritories());
+            continents = liveGame.getContinents();
+            territoryCount = liveGame::countTerritoriesOwnedBy;
+            armyCount = liveGame::countArmiesOwnedBy;
+        } else {
+            game = gameRepository.findByIdWithPlayers(gameId);
+            if (game == null) {
+                throw new IllegalArgumentException("Game not found: " + gameId);
             }
+            // Load territories and continents separately to avoid MultipleBagFetchException with Hibernate 7
+            territories = withGraph(territoryRepository.findByGameId(gameId));
+            continents = continentRepository.findByGameIdWithTerritories(gameId);
+
+            // Compute player stats from loaded territories (Player.territories may be lazy/empty)
+            Map<String, Integer> terrCountByOwner = new HashMap<>();
+            Map<String, Integer> armiesByOwner = new HashMap<>();
+            for (Territory t : territories) {
+                if (t.getOwner() != null) {
+                    String ownerId = t.getOwner().getId();
+                    terrCountByOwner.merge(ownerId, 1, Integer::sum);
+                    armiesByOwner.merge(ownerId, t.getArmies(), Integer::sum);
+                }
+            }
+            territoryCount = id -> terrCountByOwner.getOrDefault(id, 0);
+            armyCount = id -> armiesByOwner.getOrDefault(id, 0);
         }
 
         GameStateDTO dto = GameStateDTO.fromGame(game);
         dto.setTotalTerritories(territories.size());
+        dto.setStateVersion(version);
 
         // Fix player stats from territory data
         for (PlayerDTO p : dto.getPlayers()) {
-            p.setTerritoryCount(terrCountByOwner.getOrDefault(p.getId(), 0));
-            p.setTotalArmies(armiesByOwner.getOrDefault(p.getId(), 0));
+            p.setTerritoryCount(territoryCount.applyAsInt(p.getId()));
+            p.setTotalArmies(armyCount.applyAsInt(p.getId()));
         }
         if (dto.getCurrentPlayer() != null) {
             String cpId = dto.getCurrentPlayer().getId();
-            dto.getCurrentPlayer().setTerritoryCount(terrCountByOwner.getOrDefault(cpId, 0));
-            dto.getCurrentPlayer().setTotalArmies(armiesByOwner.getOrDefault(cpId, 0));
+            dto.getCurrentPlayer().setTerritoryCount(territoryCount.applyAsInt(cpId));
+            dto.getCurrentPlayer().setTotalArmies(armyCount.applyAsInt(cpId));
         }
 
         dto.setTerritories(territories.stream()
@@ -88,17 +232,35 @@ public class GameQueryService {
     }
 
     /**
-     * Get all joinable games.
+     * One page of the lobby, newest games first, read as projections without loading any
+     * game or player entity. {@code null} filters match every game; pages hold at most
+     * {@value #MAX_PAGE_SIZE} games.
      */
-    public List<Game> getJoinableGames() {
-        return gameRepository.findJoinableGames();
+    public Page<GameListing> listGames(GameStatus status, String mapId, GameMode gameMode, boolean joinableOnly,
+                                       int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE));
+        return gameRepository.findListings(status, mapId, gameMode, joinableOnly, pageRequest);
     }
 
     /**
-     * Get all games.
+     * Bind territories loaded from the database to their map's shared {@link MapGraph}.
+     * Live games are bound once, when they are loaded.
      */
-    public List<Game> getAllGames() {
-        return gameRepository.findAll();
+    private <T extends Collection<Territory>> T withGraph(T territories) {
+        MapGraph graph = null;
+        for (Territory t : territories) {
+            if (t.getMapGraph() != null || t.getGame() == null) {
+                continue;
+            }
+            if (graph == null) {
+                graph = mapLoader.getGraph(t.getGame().getMapId());
+                if (graph == null) {
+                    return territories;
+                }
+            }
+            graph.attach(t);
+        }
+        return territories;
     }
 
     /**
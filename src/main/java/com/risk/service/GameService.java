@@ -1,23 +1,34 @@
 package com.risk.service;
 
+import com.risk.dto.AttackOddsDTO;
 import com.risk.dto.AttackResult;
+import com.risk.dto.BlitzResult;
 import com.risk.dto.CreateGameRequest;
 import com.risk.dto.GameStateDTO;
 import com.risk.dto.JoinGameRequest;
 import com.risk.model.CPUDifficulty;
 import com.risk.model.Game;
+import com.risk.model.GameMode;
+import com.risk.model.GameStatus;
 import com.risk.model.Player;
 import com.risk.model.Territory;
+import com.risk.repository.GameListing;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Facade service delegating to focused service classes.
  * Maintained for backward compatibility during incremental migration of callers.
+ * <p>
+ * Commands on a game run on that game's {@link GameActors} mailbox, one at a time.
+ * They open their transaction there, in the delegate, rather than on the waiting caller.
+ * Turn actions and state reads are timed by {@link GameMetrics} and traced by {@link GameTracer}.
  *
  * @see GameLifecycleService
  * @see CombatService
@@ -26,6 +37,12 @@ import java.util.List;
  * @see TurnManagementService
  * @see GameQueryService
  * @see WinConditionService
+ * @see BattleOddsService
+ * @see GameStateCache
+ * @see GameActors
+ * @see GameMetrics
+ * @see GameTracer
+ * @see GameArchiver
  */
 @Service
 @RequiredArgsConstructor
@@ -40,45 +57,83 @@ public class GameService {
     private final TurnManagementService turnManagementService;
     private final GameQueryService queryService;
     private final WinConditionService winConditionService;
+    private final BattleOddsService battleOddsService;
+    private final GameStateCache gameStateCache;
+    private final GameActors gameActors;
+    private final GameMetrics gameMetrics;
+    private final GameTracer gameTracer;
+    private final GameArchiver gameArchiver;
 
     public Game createGame(CreateGameRequest request, String sessionId) {
         return lifecycleService.createGame(request, sessionId);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Player joinGame(String gameId, JoinGameRequest request, String sessionId) {
-        return lifecycleService.joinGame(gameId, request, sessionId);
+        return gameActors.call(gameId, () -> lifecycleService.joinGame(gameId, request, sessionId));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Player addCPUPlayer(String gameId, CPUDifficulty difficulty) {
-        return lifecycleService.addCPUPlayer(gameId, difficulty);
+        return gameActors.call(gameId, () -> lifecycleService.addCPUPlayer(gameId, difficulty));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Game startGame(String gameId) {
-        return lifecycleService.startGame(gameId);
+        return gameActors.call(gameId, () -> lifecycleService.startGame(gameId));
     }
 
     public int calculateReinforcements(Player player) {
         return reinforcementService.calculateReinforcements(player);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Territory placeArmies(String gameId, String playerId, String territoryKey, int armies) {
-        return reinforcementService.placeArmies(gameId, playerId, territoryKey, armies);
+        return command(gameId, "placeArmies",
+                () -> reinforcementService.placeArmies(gameId, playerId, territoryKey, armies));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AttackResult attack(String gameId, String playerId, String fromKey, String toKey, int attackingArmies) {
-        return combatService.attack(gameId, playerId, fromKey, toKey, attackingArmies);
+        return command(gameId, "attack",
+                () -> combatService.attack(gameId, playerId, fromKey, toKey, attackingArmies));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BlitzResult blitz(String gameId, String playerId, String fromKey, String toKey, int stopAtArmies) {
+        return command(gameId, "blitz",
+                () -> combatService.blitz(gameId, playerId, fromKey, toKey, stopAtArmies));
+    }
+
+    /**
+     * Odds of attacking {@code toKey} from {@code fromKey} with the armies currently on the board.
+     */
+    @Transactional(readOnly = true)
+    public AttackOddsDTO getAttackOdds(String gameId, String fromKey, String toKey) {
+        Territory from = queryService.findTerritory(gameId, fromKey)
+                .orElseThrow(() -> new IllegalArgumentException("Source territory not found"));
+        Territory to = queryService.findTerritory(gameId, toKey)
+                .orElseThrow(() -> new IllegalArgumentException("Target territory not found"));
+        if (!from.isNeighborOf(to)) {
+            throw new IllegalArgumentException("Territories are not adjacent");
+        }
+        return battleOddsService.forAttack(from, to);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Game endAttackPhase(String gameId, String playerId) {
-        return turnManagementService.endAttackPhase(gameId, playerId);
+        return command(gameId, "endAttackPhase", () -> turnManagementService.endAttackPhase(gameId, playerId));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Game fortify(String gameId, String playerId, String fromKey, String toKey, int armies) {
-        return fortificationService.fortify(gameId, playerId, fromKey, toKey, armies);
+        return command(gameId, "fortify",
+                () -> fortificationService.fortify(gameId, playerId, fromKey, toKey, armies));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Game skipFortify(String gameId, String playerId) {
-        return fortificationService.skipFortify(gameId, playerId);
+        return command(gameId, "skipFortify", () -> fortificationService.skipFortify(gameId, playerId));
     }
 
     public boolean checkTurnLimit(Game game) {
@@ -90,18 +145,61 @@ public class GameService {
         return queryService.getGame(gameId);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long getStateVersion(String gameId) {
+        return queryService.getStateVersion(gameId);
+    }
+
     @Transactional(readOnly = true)
     public GameStateDTO getGameState(String gameId) {
-        return queryService.getGameState(gameId);
+        return query(gameId, "getGameState", () -> queryService.getGameState(gameId));
     }
 
+    /**
+     * Current game state with its JSON, shared by every caller until the game changes.
+     * The returned state must not be modified.
+     */
     @Transactional(readOnly = true)
-    public List<Game> getJoinableGames() {
-        return queryService.getJoinableGames();
+    public GameStateCache.Snapshot getGameStateSnapshot(String gameId) {
+        return query(gameId, "getGameStateSnapshot", () -> gameStateCache.get(gameId));
     }
 
     @Transactional(readOnly = true)
-    public List<Game> getAllGames() {
-        return queryService.getAllGames();
+    public Page<GameListing> listGames(GameStatus status, String mapId, GameMode gameMode, boolean joinableOnly,
+                                       int page, int size) {
+        return queryService.listGames(status, mapId, gameMode, joinableOnly, page, size);
+    }
+
+    /**
+     * Final state and event log of an archived game, as JSON.
+     */
+    @Transactional(readOnly = true)
+    public byte[] getArchive(String gameId) {
+        return gameArchiver.read(gameId);
+    }
+
+    /**
+     * Binary replay of an archived game from the start of {@code fromTurn}.
+     */
+    @Transactional(readOnly = true)
+    public ReplayRecording.Playback getReplay(String gameId, int fromTurn) {
+        return gameArchiver.replay(gameId, fromTurn);
+    }
+
+    /**
+     * Run a timed, traced turn action on the game's mailbox.
+     */
+    private <T> T command(String gameId, String action, Supplier<T> body) {
+        return gameMetrics.timeAction(action, () -> {
+            long queued = System.nanoTime();
+            return gameActors.call(gameId, () -> {
+                gameTracer.record(gameId, GameTracer.MAILBOX_WAIT, action, queued, System.nanoTime(), null);
+                return gameTracer.trace(gameId, GameTracer.COMMAND, action, body);
+            });
+        });
+    }
+
+    private <T> T query(String gameId, String name, Supplier<T> body) {
+        return gameMetrics.timeAction(name, () -> gameTracer.trace(gameId, GameTracer.QUERY, name, body));
     }
 }
@@ -0,0 +1,76 @@
+package com.risk.service;
+
+import com.risk.dto.GameStateDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest game state of each live game, as a DTO and as serialized JSON, keyed by
+ * (gameId, state version).
+ * <p>
+ * Broadcasts to every subscriber and {@code GET /api/games/{id}} reuse one build and
+ * one serialization for as long as the game stays at that version. Each game keeps a
+ * single entry, replaced when its version advances; entries of games that are no
+ * longer live (finished, cancelled) are dropped on the next lookup or sweep.
+ * Games that are not live have no version and are built on every call.
+ * <p>
+ * Cached DTOs are shared: callers must not modify them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameStateCache {
+
+    private final GameQueryService gameQueryService;
+    private final LiveGameRegistry liveGames;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Game state and its JSON at the game's current version.
+     */
+    public Snapshot get(String gameId) {
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isEmpty()) {
+            snapshots.remove(gameId);
+            return serialize(gameQueryService.getGameState(gameId));
+        }
+        Snapshot cached = snapshots.get(gameId);
+        if (cached != null && cached.version() == live.get().getVersion()) {
+            return cached;
+        }
+        Snapshot built = serialize(gameQueryService.getGameState(gameId));
+        // Keep whichever is newer if another thread built concurrently
+        return snapshots.merge(gameId, built, (old, fresh) -> old.version() >= fresh.version() ? old : fresh);
+    }
+
+    public void evict(String gameId) {
+        snapshots.remove(gameId);
+    }
+
+    @Scheduled(fixedDelayString = "${game.state-cache.sweep-interval-ms:60000}")
+    public void evictInactive() {
+        snapshots.keySet().removeIf(gameId -> liveGames.find(gameId).isEmpty());
+    }
+
+    int size() {
+        return snapshots.size();
+    }
+
+    private Snapshot serialize(GameStateDTO state) {
+        return new Snapshot(state.getStateVersion(), state, objectMapper.writeValueAsBytes(state));
+    }
+
+    /**
+     * One game state with its serialized form.
+     */
+    public record Snapshot(long version, GameStateDTO state, byte[] json) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.risk.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-process trace of where each game's time goes.
+ * <p>
+ * While sampling is on, every command and its wait for the game's mailbox, repository
+ * call, CPU decision, think delay, state read, write-behind flush and broadcast of a game
+ * is recorded as a {@link Span} in that game's ring buffer of the last
+ * {@code game.trace.capacity} spans. A span opened with
+ * {@link #trace} makes its game current on the thread, so repository calls made inside
+ * it are attributed to the game. Buffers of games with no new span for
+ * {@code game.trace.retention-ms} are dropped.
+ * <p>
+ * Sampling is off by default and can be switched at runtime; while off, tracing costs one
+ * volatile read per call.
+ */
+@Component
+@Slf4j
+public class GameTracer {
+
+    public static final String MAILBOX_WAIT = "mailbox-wait";
+    public static final String COMMAND = "command";
+    public static final String QUERY = "query";
+    public static final String REPOSITORY = "repository";
+    public static final String CPU_DECISION = "cpu-decision";
+    public static final String THINK_DELAY = "think-delay";
+    public static final String FLUSH = "flush";
+    public static final String BROADCAST = "broadcast";
+
+    private static final ThreadLocal<String> CURRENT_GAME = new ThreadLocal<>();
+
+    private final int capacity;
+    private final long retentionMs;
+    private final long originMillis = System.currentTimeMillis();
+    private final long originNanos = System.nanoTime();
+    private final ConcurrentHashMap<String, Ring> rings = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public GameTracer(@Value("${game.trace.enabled:false}") boolean enabled,
+                      @Value("${game.trace.capacity:512}") int capacity,
+                      @Value("${game.trace.retention-ms:600000}") long retentionMs) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("trace capacity must be positive");
+        }
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.retentionMs = retentionMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        log.info("Game tracing {}", enabled ? "on" : "off");
+    }
+
+    /**
+     * Run {@code body} as a span of the game, with the game current on this thread.
+     */
+    public <T> T trace(String gameId, String kind, String name, Supplier<T> body) {
+        if (!enabled || gameId == null) {
+            return body.get();
+        }
+        String previous = CURRENT_GAME.get();
+        CURRENT_GAME.set(gameId);
+        long started = System.nanoTime();
+        String failure = null;
+        try {
+            return body.get();
+        } catch (RuntimeException | Error e) {
+            failure = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            if (previous == null) {
+                CURRENT_GAME.remove();
+            } else {
+                CURRENT_GAME.set(previous);
+            }
+            record(gameId, kind, name, started, System.nanoTime(), failure);
+        }
+    }
+
+    public void trace(String gameId, String kind, String name, Runnable body) {
+        trace(gameId, kind, name, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Record a span measured by the caller, with {@link System#nanoTime()} bounds.
+     */
+    public void record(String gameId, String kind, String name, long startNanos, long endNanos, String detail) {
+        if (!enabled || gameId == null) {
+            return;
+        }
+        Instant start = Instant.ofEpochMilli(originMillis).plusNanos(startNanos - originNanos);
+        Span span = new Span(start, kind, name, (endNanos - startNanos) / 1_000,
+                Thread.currentThread().getName(), detail);
+        rings.computeIfAbsent(gameId, id -> new Ring(capacity)).add(span);
+    }
+
+    /**
+     * Game of the innermost span open on this thread, or {@code null} when there is none
+     * or sampling is off.
+     */
+    public String currentGame() {
+        return enabled ? CURRENT_GAME.get() : null;
+    }
+
+    /**
+     * The game's recorded spans by start time; a span is recorded when it ends, so one
+     * enclosing older ones may be missing once the buffer has wrapped.
+     */
+    public List<Span> timeline(String gameId) {
+        Ring ring = rings.get(gameId);
+        if (ring == null) {
+            return List.of();
+        }
+        List<Span> spans = ring.spans();
+        spans.sort(Comparator.comparing(Span::start));
+        return spans;
+    }
+
+    @Scheduled(fixedDelayString = "${game.trace.retention-ms:600000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        rings.values().removeIf(ring -> ring.lastRecordedMillis < cutoff);
+    }
+
+    /**
+     * One timed piece of work; {@code detail} is null, a message size, or the exception
+     * that ended it.
+     */
+    public record Span(Instant start, String kind, String name, long durationMicros, String thread, String detail) {
+    }
+
+    private static final class Ring {
+        private final Span[] spans;
+        private int next;
+        private int size;
+        private volatile long lastRecordedMillis;
+
+        private Ring(int capacity) {
+            this.spans = new Span[capacity];
+        }
+
+        private synchronized void add(Span span) {
+            spans[next] = span;
+            next = (next + 1) % spans.length;
+            size = Math.min(size + 1, spans.length);
+            lastRecordedMillis = System.currentTimeMillis();
+        }
+
+        private synchronized List<Span> spans() {
+            List<Span> ordered = new ArrayList<>(size);
+            int first = (next - size + spans.length) % spans.length;
+            for (int i = 0; i < size; i++) {
+                ordered.add(spans[(first + i) % spans.length]);
+            }
+            return ordered;
+        }
+    }
+}
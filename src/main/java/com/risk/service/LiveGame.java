@@ -0,0 +1,381 @@
+package com.risk.service;
+
+import com.risk.config.Bits;
+import com.risk.config.MapGraph;
+import com.risk.model.Continent;
+import com.risk.model.Game;
+import com.risk.model.GameEvent;
+import com.risk.model.GamePhase;
+import com.risk.model.GameSnapshot;
+import com.risk.model.GameStatus;
+import com.risk.model.Player;
+import com.risk.model.Territory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Authoritative in-memory state of one IN_PROGRESS game.
+ * <p>
+ * Holds the fully initialized, detached entity graph loaded once by {@link LiveGameLoader}.
+ * Services mutate these objects directly and record what they touched; the
+ * {@link WriteBehindFlusher} drains the dirty set and persists it in batches.
+ * Each player's holdings are kept as a bitset of owned territories over the map's
+ * {@link MapGraph} indices plus running counts (territories, armies, territories per
+ * continent), updated incrementally whenever a territory is marked dirty, so they can be
+ * read in O(1).
+ * <p>
+ * Every change marked dirty also advances the game's state version, which identifies
+ * a state for caching and for the deltas sent to clients.
+ * <p>
+ * Game events are numbered and buffered here too, and written by the flusher in the same
+ * transaction as the rows they describe, together with a periodic {@link GameSnapshot}.
+ * The flusher drains on the game's mailbox, between commands, and gets copies of the row
+ * values, so what it writes is always the state right after the last drained event.
+ */
+public class LiveGame {
+
+    private final Game game;
+    private final Map<String, Territory> territoriesByKey = new LinkedHashMap<>();
+    private final List<Continent> continents;
+    private final MapGraph graph;
+    private final Territory[] territoriesByIndex;
+    private final Map<String, Holdings> holdingsByPlayer = new HashMap<>();
+    // Owner and armies each territory was last counted with, by map index
+    private final String[] countedOwner;
+    private final int[] countedArmies;
+
+    // Identity-based: entity equals/hashCode cover mutable fields such as armies
+    private final Set<Territory> dirtyTerritories = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Player> dirtyPlayers = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean gameDirty;
+    // Starts at the load time so a game reloaded after a restart never reuses a version
+    private long version = System.currentTimeMillis();
+
+    private final List<GameEvent> pendingEvents = new ArrayList<>();
+    private long lastEventSequence;
+    // Sequence of the latest snapshot taken, -1 before the first
+    private long snapshotSequence = -1;
+    private GameSnapshot pendingSnapshot;
+
+    /**
+     * @param territories every territory of the game, already attached to {@code graph}
+     */
+    public LiveGame(Game game, MapGraph graph, List<Territory> territories, List<Continent> continents) {
+        this.game = game;
+        this.graph = graph;
+        this.territoriesByIndex = new Territory[graph.size()];
+        this.countedOwner = new String[graph.size()];
+        this.countedArmies = new int[graph.size()];
+        for (Territory t : territories) {
+            territoriesByKey.put(t.getTerritoryKey(), t);
+            territoriesByIndex[t.getMapIndex()] = t;
+            recount(t);
+        }
+        this.continents = List.copyOf(continents);
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public String getGameId() {
+        return game.getId();
+    }
+
+    public Optional<Territory> findTerritory(String territoryKey) {
+        return Optional.ofNullable(territoriesByKey.get(territoryKey));
+    }
+
+    public Collection<Territory> getTerritories() {
+        return Collections.unmodifiableCollection(territoriesByKey.values());
+    }
+
+    public List<Continent> getContinents() {
+        return continents;
+    }
+
+    public MapGraph getGraph() {
+        return graph;
+    }
+
+    public synchronized List<Territory> getTerritoriesOwnedBy(String playerId) {
+        List<Territory> owned = new ArrayList<>();
+        Holdings holdings = holdingsByPlayer.get(playerId);
+        if (holdings != null) {
+            for (int i = 0; i < territoriesByIndex.length; i++) {
+                if (Bits.get(holdings.owned, i)) {
+                    owned.add(territoriesByIndex[i]);
+                }
+            }
+        }
+        return owned;
+    }
+
+    public synchronized int countTerritoriesOwnedBy(String playerId) {
+        Holdings holdings = holdingsByPlayer.get(playerId);
+        return holdings != null ? holdings.territories : 0;
+    }
+
+    public synchronized int countArmiesOwnedBy(String playerId) {
+        Holdings holdings = holdingsByPlayer.get(playerId);
+        return holdings != null ? holdings.armies : 0;
+    }
+
+    /**
+     * Territories {@code playerId} owns in the continent with the given {@link MapGraph} index.
+     */
+    public synchronized int countTerritoriesOwnedIn(String playerId, int continent) {
+        Holdings holdings = holdingsByPlayer.get(playerId);
+        return holdings != null ? holdings.byContinent[continent] : 0;
+    }
+
+    /**
+     * Sum of the bonuses of every continent {@code playerId} controls entirely.
+     */
+    public synchronized int continentBonusOf(String playerId) {
+        Holdings holdings = holdingsByPlayer.get(playerId);
+        if (holdings == null) {
+            return 0;
+        }
+        int bonus = 0;
+        for (int c = 0; c < graph.continentCount(); c++) {
+            if (holdings.byContinent[c] == graph.continentSize(c)) {
+                bonus += graph.continentBonus(c);
+            }
+        }
+        return bonus;
+    }
+
+    /**
+     * Bitset snapshot of the board; later changes to this game do not affect it.
+     */
+    public synchronized BoardView board() {
+        Map<String, long[]> owned = new HashMap<>();
+        holdingsByPlayer.forEach((playerId, holdings) -> owned.put(playerId, holdings.owned.clone()));
+        return BoardView.of(graph, territoriesByIndex, owned);
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized void markDirty(Territory territory) {
+        dirtyTerritories.add(territory);
+        recount(territory);
+        version++;
+    }
+
+    /**
+     * Move the territory's contribution from the holdings it was last counted in to its
+     * current owner's. {@link #markDirty(Territory)} does this too.
+     */
+    synchronized void recount(Territory territory) {
+        int index = territory.getMapIndex();
+        int continent = graph.continentOf(index);
+        String previousOwner = countedOwner[index];
+        if (previousOwner != null) {
+            Holdings previous = holdingsByPlayer.get(previousOwner);
+            Bits.clear(previous.owned, index);
+            previous.territories--;
+            previous.armies -= countedArmies[index];
+            previous.byContinent[continent]--;
+        }
+        String ownerId = territory.getOwner() != null ? territory.getOwner().getId() : null;
+        if (ownerId != null) {
+            Holdings holdings = holdingsByPlayer.computeIfAbsent(ownerId, id -> new Holdings(
+                    Bits.words(territoriesByIndex.length), graph.continentCount()));
+            Bits.set(holdings.owned, index);
+            holdings.territories++;
+            holdings.armies += territory.getArmies();
+            holdings.byContinent[continent]++;
+        }
+        countedOwner[index] = ownerId;
+        countedArmies[index] = territory.getArmies();
+    }
+
+    public synchronized void markDirty(Player player) {
+        dirtyPlayers.add(player);
+        version++;
+    }
+
+    public synchronized void markGameDirty() {
+        gameDirty = true;
+        version++;
+    }
+
+    /**
+     * Append an event to the game's log, numbering it after the previous one.
+     */
+    public synchronized void recordEvent(GameEvent event) {
+        event.setGameId(game.getId());
+        event.setSequence(++lastEventSequence);
+        pendingEvents.add(event);
+    }
+
+    /**
+     * Continue the event log of a reloaded game after what is already stored.
+     */
+    synchronized void resumeEventLog(long lastStoredSequence, long lastSnapshotSequence) {
+        this.lastEventSequence = lastStoredSequence;
+        this.snapshotSequence = lastSnapshotSequence;
+    }
+
+    public synchronized long getLastEventSequence() {
+        return lastEventSequence;
+    }
+
+    /**
+     * Whether {@code interval} events have been recorded since the last snapshot, or none was taken yet.
+     */
+    synchronized boolean isSnapshotDue(int interval) {
+        return snapshotSequence < 0 || lastEventSequence - snapshotSequence >= interval;
+    }
+
+    /**
+     * Copy the current state into a snapshot for the next flush. Must run while no command
+     * is changing the game (on its {@link GameActors} mailbox), so the state matches the
+     * event sequence exactly.
+     */
+    void captureSnapshot() {
+        StringBuilder board = new StringBuilder();
+        for (Territory t : territoriesByKey.values()) {
+            if (!board.isEmpty()) {
+                board.append(';');
+            }
+            board.append(t.getTerritoryKey()).append(':')
+                    .append(t.getOwner() != null ? t.getOwner().getId() : "").append(':')
+                    .append(t.getArmies());
+        }
+        List<String> eliminated = game.getPlayers().stream()
+                .filter(Player::isEliminated)
+                .map(Player::getId)
+                .toList();
+        Player current = game.getCurrentPlayer();
+        synchronized (this) {
+            pendingSnapshot = GameSnapshot.builder()
+                    .gameId(game.getId())
+                    .sequence(lastEventSequence)
+                    .status(game.getStatus())
+                    .currentPhase(game.getCurrentPhase())
+                    .currentPlayerId(current != null ? current.getId() : null)
+                    .turnNumber(game.getTurnNumber())
+                    .reinforcementsRemaining(game.getReinforcementsRemaining())
+                    .winnerId(game.getWinnerId())
+                    .board(board.toString())
+                    .eliminatedPlayerIds(String.join(",", eliminated))
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            snapshotSequence = lastEventSequence;
+        }
+    }
+
+    public synchronized boolean isDirty() {
+        return gameDirty || !dirtyTerritories.isEmpty() || !dirtyPlayers.isEmpty()
+                || !pendingEvents.isEmpty() || pendingSnapshot != null;
+    }
+
+    /**
+     * Take every pending change, with the current values of its rows, and reset the dirty
+     * set. Must run while no command is changing the game (on its {@link GameActors}
+     * mailbox), so the rows match the events taken with them.
+     */
+    synchronized Changes drainChanges() {
+        Changes changes = new Changes(
+                dirtyTerritories.stream().map(TerritoryRow::of).toList(),
+                dirtyPlayers.stream().map(PlayerRow::of).toList(),
+                gameDirty ? GameRow.of(game) : null,
+                List.copyOf(pendingEvents), pendingSnapshot);
+        dirtyTerritories.clear();
+        dirtyPlayers.clear();
+        gameDirty = false;
+        pendingEvents.clear();
+        pendingSnapshot = null;
+        return changes;
+    }
+
+    /**
+     * Put back changes whose write failed so the next flush retries them.
+     */
+    synchronized void restoreChanges(Changes changes) {
+        // Marked dirty again, so the next flush writes their values as they are by then
+        changes.territories().forEach(row -> dirtyTerritories.add(row.territory()));
+        changes.players().forEach(row -> dirtyPlayers.add(row.player()));
+        gameDirty |= changes.game() != null;
+        // Failed events go back ahead of anything recorded since
+        pendingEvents.addAll(0, changes.events());
+        if (pendingSnapshot == null) {
+            pendingSnapshot = changes.snapshot();
+        }
+    }
+
+    /**
+     * What one player owns, kept current by {@link #recount}.
+     */
+    private static final class Holdings {
+        private final long[] owned;
+        private final int[] byContinent;
+        private int territories;
+        private int armies;
+
+        private Holdings(int words, int continents) {
+            this.owned = new long[words];
+            this.byContinent = new int[continents];
+        }
+    }
+
+    /**
+     * Snapshot of pending writes for one game; {@code game} is {@code null} if its row is clean.
+     */
+    record Changes(List<TerritoryRow> territories, List<PlayerRow> players, GameRow game,
+                   List<GameEvent> events, GameSnapshot snapshot) {
+
+        boolean isEmpty() {
+            return territories.isEmpty() && players.isEmpty() && game == null && events.isEmpty()
+                    && snapshot == null;
+        }
+    }
+
+    /**
+     * A territory's column values when drained, with the entity for retries and version bumps.
+     */
+    record TerritoryRow(Territory territory, int armies, String ownerId, long version) {
+
+        static TerritoryRow of(Territory t) {
+            return new TerritoryRow(t, t.getArmies(), t.getOwner() != null ? t.getOwner().getId() : null,
+                    t.getVersion());
+        }
+    }
+
+    /**
+     * A player's column values when drained.
+     */
+    record PlayerRow(Player player, boolean eliminated, int cardsHeld) {
+
+        static PlayerRow of(Player p) {
+            return new PlayerRow(p, p.isEliminated(), p.getCardsHeld());
+        }
+    }
+
+    /**
+     * The game's column values when drained.
+     */
+    record GameRow(String id, GameStatus status, GamePhase currentPhase, int currentPlayerIndex, int turnNumber,
+                   int reinforcementsRemaining, String winnerId, LocalDateTime endedAt, long version) {
+
+        static GameRow of(Game game) {
+            return new GameRow(game.getId(), game.getStatus(), game.getCurrentPhase(), game.getCurrentPlayerIndex(),
+                    game.getTurnNumber(), game.getReinforcementsRemaining(), game.getWinnerId(), game.getEndedAt(),
+                    game.getVersion());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.risk.service;
+
+import com.risk.config.MapGraph;
+import com.risk.config.MapLoader;
+import com.risk.model.Continent;
+import com.risk.model.Game;
+import com.risk.model.GameSnapshot;
+import com.risk.model.GameStatus;
+import com.risk.model.Player;
+import com.risk.model.Territory;
+import com.risk.repository.ContinentRepository;
+import com.risk.repository.GameEventRepository;
+import com.risk.repository.GameRepository;
+import com.risk.repository.GameSnapshotRepository;
+import com.risk.repository.TerritoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Hydrates games into the {@link LiveGameRegistry}.
+ * <p>
+ * Everything the game services and DTO mappers touch (players, owners, continents,
+ * lazy collections) is initialized inside one read-only transaction, so the resulting
+ * detached graph is safe to use without a session. Territories are bound to the
+ * map's shared {@link MapGraph} for adjacency. A reloaded game's event log continues
+ * after the last stored event; a game loaded before its first event gets its start
+ * snapshot.
+ */
+@Component
+@Slf4j
+public class LiveGameLoader {
+
+    private final GameRepository gameRepository;
+    private final TerritoryRepository territoryRepository;
+    private final ContinentRepository continentRepository;
+    private final GameEventRepository gameEventRepository;
+    private final GameSnapshotRepository gameSnapshotRepository;
+    private final LiveGameRegistry liveGames;
+    private final MapLoader mapLoader;
+    private final TransactionTemplate readTransaction;
+
+    public LiveGameLoader(GameRepository gameRepository,
+                          TerritoryRepository territoryRepository,
+                          ContinentRepository continentRepository,
+                          GameEventRepository gameEventRepository,
+                          GameSnapshotRepository gameSnapshotRepository,
+                          LiveGameRegistry liveGames,
+                          MapLoader mapLoader,
+                          PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.territoryRepository = territoryRepository;
+        this.continentRepository = continentRepository;
+        this.gameEventRepository = gameEventRepository;
+        this.gameSnapshotRepository = gameSnapshotRepository;
+        this.liveGames = liveGames;
+        this.mapLoader = mapLoader;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Make a game live once the current transaction has committed,
+     * or immediately when called outside a transaction.
+     */
+    public void activateAfterCommit(String gameId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            load(gameId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                load(gameId);
+            }
+        });
+    }
+
+    /**
+     * Load a game's full state from the database and register it as live.
+     */
+    public LiveGame load(String gameId) {
+        LiveGame liveGame = readTransaction.execute(status -> {
+            Game game = gameRepository.findByIdWithPlayers(gameId);
+            if (game == null) {
+                throw new IllegalArgumentException("Game not found: " + gameId);
+            }
+            List<Territory> territories = territoryRepository.findByGameIdWithDetails(gameId);
+            List<Continent> continents = continentRepository.findByGameIdWithTerritories(gameId);
+
+            MapGraph graph = mapLoader.getGraph(game.getMapId());
+            territories.forEach(graph::attach);
+
+            // Same persistence context, so these resolve to the instances loaded above
+            Hibernate.initialize(game.getTerritories());
+            for (Player player : game.getPlayers()) {
+                Hibernate.initialize(player.getTerritories());
+            }
+            LiveGame live = new LiveGame(game, graph, territories, continents);
+            long lastSequence = gameEventRepository.findLastSequence(gameId);
+            long snapshotSequence = gameSnapshotRepository.findTopByGameIdOrderBySequenceDesc(gameId)
+                    .map(GameSnapshot::getSequence)
+                    .orElse(-1L);
+            live.resumeEventLog(lastSequence, snapshotSequence);
+            if (lastSequence == 0 && snapshotSequence < 0) {
+                // The game's start, kept as the first keyframe of its replay; not registered
+                // yet, so no command can be changing it
+                live.captureSnapshot();
+            }
+            return live;
+        });
+        liveGames.register(liveGame);
+        log.info("Game {} loaded into memory ({} territories)", gameId, liveGame.getTerritories().size());
+        return liveGame;
+    }
+
+    /**
+     * Re-hydrate games that were in progress when the application last stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInProgressGames() {
+        for (Game game : gameRepository.findByStatus(GameStatus.IN_PROGRESS)) {
+            try {
+                load(game.getId());
+            } catch (RuntimeException e) {
+                log.error("Could not load in-progress game {}", game.getId(), e);
+            }
+        }
+    }
+}
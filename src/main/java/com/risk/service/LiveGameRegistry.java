@@ -0,0 +1,130 @@
+package com.risk.service;
+
+import com.risk.model.Game;
+import com.risk.model.GameEvent;
+import com.risk.model.GameStatus;
+import com.risk.model.Player;
+import com.risk.model.Territory;
+import com.risk.repository.GameRepository;
+import com.risk.repository.PlayerRepository;
+import com.risk.repository.TerritoryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of live (in-memory, authoritative) games.
+ * <p>
+ * The {@code save*} methods are the single write path used by the game services:
+ * for a live game they only mark the entity dirty and leave persistence to the
+ * {@link WriteBehindFlusher}; for any other game they write straight through to
+ * the repositories as before.
+ * <p>
+ * {@link #recordEvent} appends to a live game's event log. Only started games have one,
+ * and those are always live.
+ * <p>
+ * The number of live games in each {@link GameStatus} is published as a gauge.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveGameRegistry implements MeterBinder {
+
+    private final GameRepository gameRepository;
+    private final TerritoryRepository territoryRepository;
+    private final PlayerRepository playerRepository;
+
+    private final ConcurrentHashMap<String, LiveGame> liveGames = new ConcurrentHashMap<>();
+
+    public Optional<LiveGame> find(String gameId) {
+        if (gameId == null) return Optional.empty();
+        return Optional.ofNullable(liveGames.get(gameId));
+    }
+
+    public void register(LiveGame liveGame) {
+        liveGames.put(liveGame.getGameId(), liveGame);
+        log.debug("Game {} is now live", liveGame.getGameId());
+    }
+
+    public void unregister(String gameId) {
+        if (liveGames.remove(gameId) != null) {
+            log.debug("Game {} is no longer live", gameId);
+        }
+    }
+
+    public Collection<LiveGame> getLiveGames() {
+        return List.copyOf(liveGames.values());
+    }
+
+    int countLiveGames(GameStatus status) {
+        int count = 0;
+        for (LiveGame liveGame : liveGames.values()) {
+            if (liveGame.getGame().getStatus() == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (GameStatus status : GameStatus.values()) {
+            Gauge.builder("risk.games.live", this, r -> r.countLiveGames(status))
+                    .description("Games played in memory, by status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+    }
+
+    public Territory saveTerritory(Game game, Territory territory) {
+        Optional<LiveGame> live = find(game.getId());
+        if (live.isPresent()) {
+            live.get().markDirty(territory);
+            return territory;
+        }
+        return territoryRepository.save(territory);
+    }
+
+    /**
+     * Bring a live game's ownership counters up to date with {@code territory} ahead of its
+     * save; a no-op for other games.
+     */
+    public void recount(Game game, Territory territory) {
+        find(game.getId()).ifPresent(live -> live.recount(territory));
+    }
+
+    public Player savePlayer(Game game, Player player) {
+        Optional<LiveGame> live = find(game.getId());
+        if (live.isPresent()) {
+            live.get().markDirty(player);
+            return player;
+        }
+        return playerRepository.save(player);
+    }
+
+    public Game saveGame(Game game) {
+        Optional<LiveGame> live = find(game.getId());
+        if (live.isPresent()) {
+            live.get().markGameDirty();
+            return game;
+        }
+        return gameRepository.save(game);
+    }
+
+    public void recordEvent(Game game, GameEvent event) {
+        Optional<LiveGame> live = find(game.getId());
+        if (live.isPresent()) {
+            live.get().recordEvent(event);
+        } else {
+            log.debug("Game {} is not live; {} not logged", game.getId(), event.getType());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.risk.service;
+
+import com.risk.model.Game;
+import com.risk.repository.GameListing;
+
+/**
+ * A change to a game that the lobby shows, published as an application event when the
+ * game is created, gains a player, starts or finishes.
+ */
+public record LobbyEvent(Type type, GameListing game) {
+
+    public enum Type {
+        GAME_CREATED,
+        PLAYER_COUNT_CHANGED,
+        GAME_STARTED,
+        GAME_FINISHED
+    }
+
+    public static LobbyEvent of(Type type, Game game) {
+        return new LobbyEvent(type, GameListing.of(game));
+    }
+}
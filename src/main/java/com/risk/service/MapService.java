@@ -2,9 +2,9 @@ package com.risk.service;
 
 import com.risk.config.*;
 import com.risk.model.*;
-import com.risk.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +12,10 @@ import java.util.*;
 
 /**
  * Service for initializing game maps from JSON-based {@link MapDefinition}s.
+ * <p>
+ * A game's continents and territories are inserted as two JDBC batches with ids
+ * generated here, instead of one {@code save} (and one INSERT) per row. Adjacency is
+ * not stored per game; it comes from the map's shared {@link MapGraph}.
  */
 @Service
 @RequiredArgsConstructor
@@ -19,51 +23,72 @@ import java.util.*;
 @Transactional
 public class MapService {
 
-    private final ContinentRepository continentRepository;
-    private final TerritoryRepository territoryRepository;
+    private static final String INSERT_CONTINENT =
+            "INSERT INTO continents (id, name, continent_key, bonus_armies, color, game_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TERRITORY =
+            "INSERT INTO territories (id, name, territory_key, armies, map_x, map_y, continent_id, game_id, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
     private final MapLoader mapLoader;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * Initialize the map for a game using the map definition identified by
-     * {@code game.getMapId()}.
+     * {@code game.getMapId()}. The game row must already be flushed.
      */
     public void initializeMap(Game game) {
         String mapId = game.getMapId();
         MapDefinition mapDef = mapLoader.getMap(mapId);
-        log.info("Initializing map '{}' for game: {}", mapDef.name(), game.getId());
+        long start = System.nanoTime();
 
+        List<Continent> continents = new ArrayList<>(mapDef.areas().size());
+        List<Territory> territories = new ArrayList<>();
         for (AreaDefinition areaDef : mapDef.areas()) {
             Continent continent = createContinent(game, areaDef);
+            continents.add(continent);
             for (TerritoryDefinition terrDef : areaDef.territories()) {
-                createTerritory(game, continent, terrDef);
+                territories.add(createTerritory(game, continent, terrDef));
             }
         }
 
-        log.info("Map '{}' initialized with {} territories", mapDef.name(),
-                territoryRepository.findByGameId(game.getId()).size());
+        List<Object[]> continentRows = new ArrayList<>(continents.size());
+        for (Continent c : continents) {
+            continentRows.add(new Object[]{c.getId(), c.getName(), c.getContinentKey(), c.getBonusArmies(),
+                    c.getColor(), game.getId()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_CONTINENT, continentRows);
+
+        List<Object[]> territoryRows = new ArrayList<>(territories.size());
+        for (Territory t : territories) {
+            territoryRows.add(new Object[]{t.getId(), t.getName(), t.getTerritoryKey(), t.getArmies(),
+                    t.getMapX(), t.getMapY(), t.getContinent().getId(), game.getId()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_TERRITORY, territoryRows);
+
+        log.info("Map '{}' initialized for game {}: {} continents, {} territories in {} ms", mapDef.name(),
+                game.getId(), continents.size(), territories.size(), (System.nanoTime() - start) / 1_000_000);
     }
 
     private Continent createContinent(Game game, AreaDefinition areaDef) {
-        Continent continent = Continent.builder()
+        return Continent.builder()
+                .id(UUID.randomUUID().toString())
                 .continentKey(areaDef.key())
                 .name(areaDef.name())
                 .bonusArmies(areaDef.bonusArmies())
                 .color(areaDef.color())
                 .game(game)
                 .build();
-        return continentRepository.save(continent);
     }
 
     private Territory createTerritory(Game game, Continent continent, TerritoryDefinition terrDef) {
-        Territory territory = Territory.builder()
+        return Territory.builder()
+                .id(UUID.randomUUID().toString())
                 .territoryKey(terrDef.key())
                 .name(terrDef.name())
                 .game(game)
                 .continent(continent)
                 .mapX(terrDef.mapX())
                 .mapY(terrDef.mapY())
-                .neighborKeys(new HashSet<>(terrDef.neighbors()))
                 .build();
-        return territoryRepository.save(territory);
     }
 }
@@ -2,18 +2,16 @@ package com.risk.service;
 
 import com.risk.model.Continent;
 import com.risk.model.Game;
+import com.risk.model.GameEvent;
 import com.risk.model.GamePhase;
 import com.risk.model.Player;
 import com.risk.model.Territory;
-import com.risk.repository.ContinentRepository;
-import com.risk.repository.GameRepository;
-import com.risk.repository.TerritoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Optional;
 
 /**
  * Service responsible for reinforcement calculation and placement.
@@ -24,24 +22,29 @@ import java.util.List;
 @Transactional
 public class ReinforcementService {
 
-    private final GameRepository gameRepository;
-    private final TerritoryRepository territoryRepository;
-    private final ContinentRepository continentRepository;
     private final GameQueryService gameQueryService;
+    private final LiveGameRegistry liveGames;
 
     /**
-     * Calculate reinforcements for a player.
+     * Calculate reinforcements for a player. Live games answer from their holdings
+     * counters without touching the database.
      */
     public int calculateReinforcements(Player player) {
         if (player == null) return 0;
 
+        String gameId = player.getGame().getId();
+        Optional<LiveGame> live = liveGames.find(gameId);
+        if (live.isPresent()) {
+            LiveGame liveGame = live.get();
+            return Math.max(3, liveGame.countTerritoriesOwnedBy(player.getId()) / 3)
+                    + liveGame.continentBonusOf(player.getId());
+        }
+
         // Base reinforcements: territories / 3, minimum 3
-        int territories = player.getTerritoryCount();
-        int reinforcements = Math.max(3, territories / 3);
+        int reinforcements = Math.max(3, player.getTerritoryCount() / 3);
 
         // Continent bonuses
-        List<Continent> continents = continentRepository.findByGameIdWithTerritories(player.getGame().getId());
-        for (Continent continent : continents) {
+        for (Continent continent : gameQueryService.getContinents(gameId)) {
             if (continent.isControlledBy(player)) {
                 reinforcements += continent.getBonusArmies();
             }
@@ -65,7 +68,7 @@ public class ReinforcementService {
             throw new IllegalArgumentException("Not enough reinforcements available");
         }
 
-        Territory territory = territoryRepository.findByGameIdAndTerritoryKey(gameId, territoryKey)
+        Territory territory = gameQueryService.findTerritory(gameId, territoryKey)
                 .orElseThrow(() -> new IllegalArgumentException("Territory not found"));
 
         if (!territory.isOwnedBy(game.getCurrentPlayer())) {
@@ -73,7 +76,8 @@ public class ReinforcementService {
         }
 
         territory.setArmies(territory.getArmies() + armies);
-        territoryRepository.save(territory);
+        liveGames.saveTerritory(game, territory);
+        liveGames.recordEvent(game, GameEvent.armiesPlaced(playerId, territoryKey, armies));
 
         game.setReinforcementsRemaining(game.getReinforcementsRemaining() - armies);
 
@@ -81,7 +85,7 @@ public class ReinforcementService {
             game.setCurrentPhase(GamePhase.ATTACK);
         }
 
-        gameRepository.save(game);
+        liveGames.saveGame(game);
         return territory;
     }
 }
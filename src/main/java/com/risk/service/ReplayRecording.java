@@ -0,0 +1,559 @@
+package com.risk.service;
+
+import com.risk.model.Game;
+import com.risk.model.GameEvent;
+import com.risk.model.GameEventType;
+import com.risk.model.GamePhase;
+import com.risk.model.GameSnapshot;
+import com.risk.model.GameStatus;
+import com.risk.model.Player;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary recording of a game's action stream, seekable by turn.
+ * <p>
+ * A recording is a header followed by records. The header holds the game and map ids,
+ * the players and territory keys that records refer to by index, the first and last
+ * turn, and an index of keyframes by turn. Each record starts with a tag byte:
+ * <ul>
+ *   <li>an action: the {@link GameEventType} ordinal, the milliseconds since the previous
+ *   action, the acting player and the event's fields, dice packed two to a byte</li>
+ *   <li>{@value #KEYFRAME}: a keyframe, the full game state after the previous action</li>
+ * </ul>
+ * Recordings start with a keyframe of the game's start and repeat one at the start of
+ * every {@code keyframeInterval}th turn. {@link #seek} decodes the last keyframe at or
+ * before the wanted turn and replays at most one interval of actions from it. Numbers are
+ * unsigned varints; enum values are stored by ordinal, so constants are only ever appended.
+ */
+public final class ReplayRecording {
+
+    static final int MAGIC = 0x52504C59; // "RPLY"
+    static final int FORMAT = 1;
+    static final int KEYFRAME = 0xFF;
+
+    private static final GameEventType[] TYPES = GameEventType.values();
+    private static final GameStatus[] STATUSES = GameStatus.values();
+    private static final GamePhase[] PHASES = GamePhase.values();
+
+    private final Header header;
+    private final byte[] data;
+    // Offset of the first record in data; keyframe offsets are relative to it
+    private final int recordsStart;
+
+    private ReplayRecording(Header header, byte[] data, int recordsStart) {
+        this.header = header;
+        this.data = data;
+        this.recordsStart = recordsStart;
+    }
+
+    /**
+     * Record a game from its start snapshot and every event logged after it, in order.
+     */
+    public static byte[] record(Game game, GameSnapshot start, List<GameEvent> events, int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("keyframe interval must be positive");
+        }
+        ReplayedGame state = ReplayedGame.fromSnapshot(start);
+        Dictionary dictionary = new Dictionary(
+                game.getPlayers().stream().map(Player::getId).toList(),
+                game.getPlayers().stream().map(Player::getName).toList(),
+                List.copyOf(state.getTerritories().keySet()));
+
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(records);
+        List<Keyframe> keyframes = new ArrayList<>();
+        int firstTurn = state.getTurnNumber();
+        int lastTurn = firstTurn;
+        try {
+            keyframes.add(new Keyframe(firstTurn, records.size()));
+            writeKeyframe(out, state, dictionary);
+            long previousMillis = millis(start.getCreatedAt());
+            for (GameEvent event : events) {
+                long occurredMillis = millis(event.getOccurredAt());
+                writeAction(out, event, Math.max(0, occurredMillis - previousMillis), dictionary);
+                previousMillis = Math.max(previousMillis, occurredMillis);
+                int turnBefore = state.getTurnNumber();
+                state.apply(event);
+                if (event.getType() == GameEventType.TURN_ENDED && state.getTurnNumber() > turnBefore) {
+                    lastTurn = state.getTurnNumber();
+                    if (lastTurn % keyframeInterval == 0) {
+                        keyframes.add(new Keyframe(lastTurn, records.size()));
+                        writeKeyframe(out, state, dictionary);
+                    }
+                }
+            }
+            out.flush();
+
+            ByteArrayOutputStream recording = new ByteArrayOutputStream(records.size() + 1024);
+            DataOutputStream headerOut = new DataOutputStream(recording);
+            writeHeader(headerOut, new Header(game.getId(), game.getMapId(), dictionary, firstTurn, lastTurn, keyframes));
+            headerOut.flush();
+            records.writeTo(recording);
+            return recording.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read the header of a recording made by {@link #record}.
+     */
+    public static ReplayRecording parse(byte[] data) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != FORMAT) {
+                throw new IllegalArgumentException("Not a replay recording");
+            }
+            Header header = readHeader(in);
+            return new ReplayRecording(header, data, data.length - in.available());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt replay recording", e);
+        }
+    }
+
+    public int getFirstTurn() {
+        return header.firstTurn();
+    }
+
+    public int getLastTurn() {
+        return header.lastTurn();
+    }
+
+    /**
+     * Position the recording at the start of {@code turn}: the returned playback is itself
+     * a recording, beginning with a keyframe of that turn.
+     */
+    public Playback seek(int turn) {
+        Position position = locate(turn);
+        if (position.atKeyframe()) {
+            return playback(turn, new byte[0], position.offset());
+        }
+        try {
+            ByteArrayOutputStream keyframe = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(keyframe);
+            writeKeyframe(out, position.state(), header.dictionary());
+            out.flush();
+            return playback(turn, keyframe.toByteArray(), position.offset());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Game state at the start of {@code turn}.
+     */
+    ReplayedGame stateAt(int turn) {
+        return locate(turn).state();
+    }
+
+    /**
+     * Every action of the recording in order, numbered after the first keyframe.
+     */
+    List<GameEvent> readActions() {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, recordsStart,
+                    data.length - recordsStart));
+            List<GameEvent> actions = new ArrayList<>();
+            long sequence = 0;
+            while (in.available() > 0) {
+                int tag = in.readUnsignedByte();
+                if (tag == KEYFRAME) {
+                    sequence = readKeyframe(in, header).getSequence();
+                } else {
+                    actions.add(readAction(in, tag, ++sequence, header.dictionary()));
+                }
+            }
+            return actions;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt replay recording of game " + header.gameId(), e);
+        }
+    }
+
+    /**
+     * Decode the last keyframe at or before {@code turn} and apply the actions after it up
+     * to the start of the turn.
+     */
+    private Position locate(int turn) {
+        if (turn < header.firstTurn() || turn > header.lastTurn()) {
+            throw new IllegalArgumentException("Turn " + turn + " is not in the replay of game " + header.gameId()
+                    + " (turns " + header.firstTurn() + " to " + header.lastTurn() + ")");
+        }
+        Keyframe from = header.keyframes().getFirst();
+        for (Keyframe keyframe : header.keyframes()) {
+            if (keyframe.turn() <= turn) {
+                from = keyframe;
+            }
+        }
+        try {
+            ByteArrayInputStream bytes = new ByteArrayInputStream(data, recordsStart + from.offset(),
+                    data.length - recordsStart - from.offset());
+            DataInputStream in = new DataInputStream(bytes);
+            in.readUnsignedByte();
+            ReplayedGame state = readKeyframe(in, header);
+            if (from.turn() == turn) {
+                return new Position(state, from.offset(), true);
+            }
+            while (state.getTurnNumber() < turn) {
+                int tag = in.readUnsignedByte();
+                if (tag == KEYFRAME) {
+                    state = readKeyframe(in, header);
+                } else {
+                    state.apply(readAction(in, tag, state.getSequence() + 1, header.dictionary()));
+                }
+            }
+            return new Position(state, data.length - recordsStart - bytes.available(), false);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt replay recording of game " + header.gameId(), e);
+        }
+    }
+
+    private Playback playback(int turn, byte[] keyframe, int position) {
+        List<Keyframe> keyframes = new ArrayList<>();
+        int shift = keyframe.length - position;
+        if (keyframe.length > 0) {
+            keyframes.add(new Keyframe(turn, 0));
+        }
+        for (Keyframe stored : header.keyframes()) {
+            if (stored.offset() >= position) {
+                keyframes.add(new Keyframe(stored.turn(), stored.offset() + shift));
+            }
+        }
+        Header seeked = new Header(header.gameId(), header.mapId(), header.dictionary(), turn, header.lastTurn(),
+                keyframes);
+        return new Playback(seeked, keyframe, data, recordsStart + position);
+    }
+
+    /**
+     * A recording from one turn to the end, written without copying the stored actions.
+     */
+    public static final class Playback {
+
+        private final Header header;
+        private final byte[] keyframe;
+        private final byte[] data;
+        private final int tailStart;
+
+        private Playback(Header header, byte[] keyframe, byte[] data, int tailStart) {
+            this.header = header;
+            this.keyframe = keyframe;
+            this.data = data;
+            this.tailStart = tailStart;
+        }
+
+        public int getFirstTurn() {
+            return header.firstTurn();
+        }
+
+        public void writeTo(OutputStream stream) throws IOException {
+            DataOutputStream out = new DataOutputStream(stream);
+            writeHeader(out, header);
+            out.write(keyframe);
+            out.write(data, tailStart, data.length - tailStart);
+            out.flush();
+        }
+    }
+
+    // --- Encoding ---
+
+    private static void writeHeader(DataOutputStream out, Header header) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT);
+        out.writeUTF(header.gameId());
+        out.writeUTF(header.mapId());
+        Dictionary dictionary = header.dictionary();
+        writeVarint(out, dictionary.playerIds().size());
+        for (int i = 0; i < dictionary.playerIds().size(); i++) {
+            out.writeUTF(dictionary.playerIds().get(i));
+            out.writeUTF(dictionary.playerNames().get(i));
+        }
+        writeVarint(out, dictionary.territoryKeys().size());
+        for (String key : dictionary.territoryKeys()) {
+            out.writeUTF(key);
+        }
+        writeVarint(out, header.firstTurn());
+        writeVarint(out, header.lastTurn());
+        writeVarint(out, header.keyframes().size());
+        for (Keyframe keyframe : header.keyframes()) {
+            writeVarint(out, keyframe.turn());
+            writeVarint(out, keyframe.offset());
+        }
+    }
+
+    private static void writeKeyframe(DataOutput out, ReplayedGame state, Dictionary dictionary) throws IOException {
+        out.writeByte(KEYFRAME);
+        writeVarint(out, state.getSequence());
+        writeVarint(out, state.getTurnNumber());
+        out.writeByte(state.getStatus().ordinal());
+        out.writeByte(state.getCurrentPhase().ordinal());
+        writeVarint(out, dictionary.player(state.getCurrentPlayerId()));
+        writeVarint(out, state.getReinforcementsRemaining());
+        writeVarint(out, dictionary.player(state.getWinnerId()));
+        writeVarint(out, state.getEliminatedPlayerIds().size());
+        for (String playerId : state.getEliminatedPlayerIds()) {
+            writeVarint(out, dictionary.player(playerId));
+        }
+        for (String key : dictionary.territoryKeys()) {
+            ReplayedGame.TerritoryState territory = state.getTerritories().get(key);
+            writeVarint(out, dictionary.player(territory.getOwnerId()));
+            writeVarint(out, territory.getArmies());
+        }
+    }
+
+    private static void writeAction(DataOutput out, GameEvent event, long elapsedMillis, Dictionary dictionary)
+            throws IOException {
+        out.writeByte(event.getType().ordinal());
+        writeVarint(out, elapsedMillis);
+        writeVarint(out, dictionary.player(event.getPlayerId()));
+        switch (event.getType()) {
+            case ARMIES_PLACED -> {
+                writeVarint(out, dictionary.territory(event.getToKey()));
+                writeVarint(out, event.getArmies());
+            }
+            case ATTACK_ROLLED -> {
+                writeVarint(out, dictionary.territory(event.getFromKey()));
+                writeVarint(out, dictionary.territory(event.getToKey()));
+                writeVarint(out, event.getAttackerLosses());
+                writeVarint(out, event.getDefenderLosses());
+                writeDice(out, event.getDice());
+            }
+            case TERRITORY_CONQUERED, FORTIFIED -> {
+                writeVarint(out, dictionary.territory(event.getFromKey()));
+                writeVarint(out, dictionary.territory(event.getToKey()));
+                writeVarint(out, event.getArmies());
+            }
+            case TURN_ENDED -> {
+                writeVarint(out, event.getArmies());
+                writeVarint(out, event.getTurnNumber());
+            }
+            case GAME_FINISHED -> writeVarint(out, event.getTurnNumber());
+            case PLAYER_ELIMINATED, ATTACK_ENDED -> {
+                // The player is all there is
+            }
+        }
+    }
+
+    /**
+     * Dice as logged ({@code "653-42"}): one byte with both counts, then one die per nibble.
+     */
+    private static void writeDice(DataOutput out, String dice) throws IOException {
+        String[] sides = dice != null ? dice.split("-", -1) : new String[]{"", ""};
+        String all = sides[0] + sides[1];
+        out.writeByte(sides[0].length() << 4 | sides[1].length());
+        for (int i = 0; i < all.length(); i += 2) {
+            int high = all.charAt(i) - '0';
+            int low = i + 1 < all.length() ? all.charAt(i + 1) - '0' : 0;
+            out.writeByte(high << 4 | low);
+        }
+    }
+
+    private static void writeVarint(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    // --- Decoding ---
+
+    private static Header readHeader(DataInput in) throws IOException {
+        String gameId = in.readUTF();
+        String mapId = in.readUTF();
+        int players = readInt(in);
+        List<String> playerIds = new ArrayList<>(players);
+        List<String> playerNames = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            playerIds.add(in.readUTF());
+            playerNames.add(in.readUTF());
+        }
+        int territories = readInt(in);
+        List<String> territoryKeys = new ArrayList<>(territories);
+        for (int i = 0; i < territories; i++) {
+            territoryKeys.add(in.readUTF());
+        }
+        int firstTurn = readInt(in);
+        int lastTurn = readInt(in);
+        int count = readInt(in);
+        List<Keyframe> keyframes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keyframes.add(new Keyframe(readInt(in), readInt(in)));
+        }
+        return new Header(gameId, mapId, new Dictionary(playerIds, playerNames, territoryKeys),
+                firstTurn, lastTurn, keyframes);
+    }
+
+    /**
+     * Decode a keyframe whose tag has been read, through the snapshot form recovery uses.
+     */
+    private static ReplayedGame readKeyframe(DataInput in, Header header) throws IOException {
+        Dictionary dictionary = header.dictionary();
+        GameSnapshot.GameSnapshotBuilder snapshot = GameSnapshot.builder()
+                .gameId(header.gameId())
+                .sequence(readLong(in))
+                .turnNumber(readInt(in))
+                .status(STATUSES[in.readUnsignedByte()])
+                .currentPhase(PHASES[in.readUnsignedByte()])
+                .currentPlayerId(dictionary.playerId(readInt(in)))
+                .reinforcementsRemaining(readInt(in))
+                .winnerId(dictionary.playerId(readInt(in)));
+        int eliminatedCount = readInt(in);
+        List<String> eliminated = new ArrayList<>(eliminatedCount);
+        for (int i = 0; i < eliminatedCount; i++) {
+            eliminated.add(dictionary.playerId(readInt(in)));
+        }
+        StringBuilder board = new StringBuilder();
+        for (String key : dictionary.territoryKeys()) {
+            String ownerId = dictionary.playerId(readInt(in));
+            if (!board.isEmpty()) {
+                board.append(';');
+            }
+            board.append(key).append(':').append(ownerId != null ? ownerId : "").append(':').append(readInt(in));
+        }
+        return ReplayedGame.fromSnapshot(snapshot
+                .board(board.toString())
+                .eliminatedPlayerIds(String.join(",", eliminated))
+                .build());
+    }
+
+    /**
+     * Decode an action whose tag has been read; its time is dropped, as replaying ignores it.
+     */
+    private static GameEvent readAction(DataInput in, int tag, long sequence, Dictionary dictionary)
+            throws IOException {
+        GameEventType type = TYPES[tag];
+        readLong(in);
+        GameEvent.GameEventBuilder event = GameEvent.builder()
+                .sequence(sequence)
+                .type(type)
+                .playerId(dictionary.playerId(readInt(in)));
+        switch (type) {
+            case ARMIES_PLACED -> event.toKey(dictionary.territoryKey(readInt(in))).armies(readInt(in));
+            case ATTACK_ROLLED -> event.fromKey(dictionary.territoryKey(readInt(in)))
+                    .toKey(dictionary.territoryKey(readInt(in)))
+                    .attackerLosses(readInt(in))
+                    .defenderLosses(readInt(in))
+                    .dice(readDice(in));
+            case TERRITORY_CONQUERED, FORTIFIED -> event.fromKey(dictionary.territoryKey(readInt(in)))
+                    .toKey(dictionary.territoryKey(readInt(in)))
+                    .armies(readInt(in));
+            case TURN_ENDED -> event.armies(readInt(in)).turnNumber(readInt(in));
+            case GAME_FINISHED -> event.turnNumber(readInt(in));
+            case PLAYER_ELIMINATED, ATTACK_ENDED -> {
+                // The player is all there is
+            }
+        }
+        return event.build();
+    }
+
+    private static String readDice(DataInput in) throws IOException {
+        int counts = in.readUnsignedByte();
+        int attacker = counts >> 4;
+        int total = attacker + (counts & 0x0F);
+        StringBuilder dice = new StringBuilder(total + 1);
+        for (int i = 0; i < total; i += 2) {
+            int packed = in.readUnsignedByte();
+            dice.append((char) ('0' + (packed >> 4)));
+            if (i + 1 < total) {
+                dice.append((char) ('0' + (packed & 0x0F)));
+            }
+        }
+        return dice.insert(attacker, '-').toString();
+    }
+
+    private static int readInt(DataInput in) throws IOException {
+        return Math.toIntExact(readLong(in));
+    }
+
+    private static long readLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint too long");
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    }
+
+    // --- Header ---
+
+    private record Keyframe(int turn, int offset) {
+    }
+
+    /**
+     * State at the start of a turn and the offset of the record that follows it, which is
+     * the stored keyframe itself when {@code atKeyframe}.
+     */
+    private record Position(ReplayedGame state, int offset, boolean atKeyframe) {
+    }
+
+    private record Header(String gameId, String mapId, Dictionary dictionary, int firstTurn, int lastTurn,
+                          List<Keyframe> keyframes) {
+    }
+
+    /**
+     * Players and territories by index; players are written as index + 1, with 0 for none.
+     */
+    private record Dictionary(List<String> playerIds, List<String> playerNames, List<String> territoryKeys,
+                              Map<String, Integer> playerIndex, Map<String, Integer> territoryIndex) {
+
+        Dictionary(List<String> playerIds, List<String> playerNames, List<String> territoryKeys) {
+            this(playerIds, playerNames, territoryKeys, indexOf(playerIds), indexOf(territoryKeys));
+        }
+
+        int player(String playerId) {
+            if (playerId == null) {
+                return 0;
+            }
+            Integer index = playerIndex.get(playerId);
+            if (index == null) {
+                throw new IllegalStateException("Unknown player in event log: " + playerId);
+            }
+            return index + 1;
+        }
+
+        String playerId(int encoded) {
+            return encoded == 0 ? null : playerIds.get(encoded - 1);
+        }
+
+        int territory(String key) {
+            Integer index = territoryIndex.get(key);
+            if (index == null) {
+                throw new IllegalStateException("Unknown territory in event log: " + key);
+            }
+            return index;
+        }
+
+        String territoryKey(int index) {
+            return territoryKeys.get(index);
+        }
+
+        private static Map<String, Integer> indexOf(List<String> values) {
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                index.put(values.get(i), i);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.risk.service;
+
+import com.risk.model.GameEvent;
+import com.risk.model.GamePhase;
+import com.risk.model.GameSnapshot;
+import com.risk.model.GameStatus;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Game state rebuilt from a {@link GameSnapshot} plus the events logged after it.
+ */
+@Getter
+public class ReplayedGame {
+
+    private final String gameId;
+    private long sequence;
+    private GameStatus status;
+    private GamePhase currentPhase;
+    private String currentPlayerId;
+    private int turnNumber;
+    private int reinforcementsRemaining;
+    private String winnerId;
+    private final Map<String, TerritoryState> territories = new LinkedHashMap<>();
+    private final Set<String> eliminatedPlayerIds = new LinkedHashSet<>();
+
+    private ReplayedGame(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public static ReplayedGame fromSnapshot(GameSnapshot snapshot) {
+        ReplayedGame game = new ReplayedGame(snapshot.getGameId());
+        game.sequence = snapshot.getSequence();
+        game.status = snapshot.getStatus();
+        game.currentPhase = snapshot.getCurrentPhase();
+        game.currentPlayerId = snapshot.getCurrentPlayerId();
+        game.turnNumber = snapshot.getTurnNumber();
+        game.reinforcementsRemaining = snapshot.getReinforcementsRemaining();
+        game.winnerId = snapshot.getWinnerId();
+        for (String entry : snapshot.getBoard().split(";")) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            String[] parts = entry.split(":", -1);
+            game.territories.put(parts[0],
+                    new TerritoryState(parts[1].isEmpty() ? null : parts[1], Integer.parseInt(parts[2])));
+        }
+        String eliminated = snapshot.getEliminatedPlayerIds();
+        if (eliminated != null && !eliminated.isEmpty()) {
+            Collections.addAll(game.eliminatedPlayerIds, eliminated.split(","));
+        }
+        return game;
+    }
+
+    /**
+     * Apply the next event; events must be applied in sequence order.
+     */
+    public void apply(GameEvent event) {
+        if (event.getSequence() <= sequence) {
+            throw new IllegalArgumentException("Event " + event.getSequence() + " is not after " + sequence);
+        }
+        switch (event.getType()) {
+            case ARMIES_PLACED -> {
+                territory(event.getToKey()).armies += event.getArmies();
+                reinforcementsRemaining -= event.getArmies();
+                if (reinforcementsRemaining == 0) {
+                    currentPhase = GamePhase.ATTACK;
+                }
+            }
+            case ATTACK_ROLLED -> {
+                territory(event.getFromKey()).armies -= event.getAttackerLosses();
+                territory(event.getToKey()).armies -= event.getDefenderLosses();
+            }
+            case TERRITORY_CONQUERED -> {
+                TerritoryState to = territory(event.getToKey());
+                to.ownerId = event.getPlayerId();
+                to.armies = event.getArmies();
+                territory(event.getFromKey()).armies -= event.getArmies();
+            }
+            case PLAYER_ELIMINATED -> eliminatedPlayerIds.add(event.getPlayerId());
+            case ATTACK_ENDED -> currentPhase = GamePhase.FORTIFY;
+            case FORTIFIED -> {
+                territory(event.getFromKey()).armies -= event.getArmies();
+                territory(event.getToKey()).armies += event.getArmies();
+            }
+            case TURN_ENDED -> {
+                currentPlayerId = event.getPlayerId();
+                turnNumber = event.getTurnNumber();
+                reinforcementsRemaining = event.getArmies();
+                currentPhase = GamePhase.REINFORCEMENT;
+            }
+            case GAME_FINISHED -> {
+                status = GameStatus.FINISHED;
+                currentPhase = GamePhase.GAME_OVER;
+                winnerId = event.getPlayerId();
+                turnNumber = event.getTurnNumber();
+            }
+        }
+        sequence = event.getSequence();
+    }
+
+    private TerritoryState territory(String key) {
+        TerritoryState state = territories.get(key);
+        if (state == null) {
+            throw new IllegalStateException("Unknown territory in event log: " + key);
+        }
+        return state;
+    }
+
+    /**
+     * Owner and armies of one territory.
+     */
+    @Getter
+    public static class TerritoryState {
+        private String ownerId;
+        private int armies;
+
+        TerritoryState(String ownerId, int armies) {
+            this.ownerId = ownerId;
+            this.armies = armies;
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.risk.service;
 
 import com.risk.model.Game;
+import com.risk.model.GameEvent;
 import com.risk.model.GamePhase;
-import com.risk.repository.GameRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,16 +17,21 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class TurnManagementService {
 
-    private final GameRepository gameRepository;
     private final GameQueryService gameQueryService;
     private final WinConditionService winConditionService;
     private final ReinforcementService reinforcementService;
+    private final LiveGameRegistry liveGames;
+    private final GameMetrics gameMetrics;
 
     /**
      * End the current turn: advance to next active player, handle wrap-around,
      * check turn limit, and set up reinforcement phase.
      */
     public void endTurn(Game game) {
+        gameMetrics.timeAction("endTurn", () -> advanceTurn(game));
+    }
+
+    private void advanceTurn(Game game) {
         // Move to next active player
         int attempts = 0;
         int maxAttempts = game.getPlayers().size();
@@ -55,7 +60,9 @@ public class TurnManagementService {
 
         game.setCurrentPhase(GamePhase.REINFORCEMENT);
         game.setReinforcementsRemaining(reinforcementService.calculateReinforcements(game.getCurrentPlayer()));
-        gameRepository.save(game);
+        liveGames.saveGame(game);
+        liveGames.recordEvent(game, GameEvent.turnEnded(game.getCurrentPlayer().getId(),
+                game.getReinforcementsRemaining(), game.getTurnNumber()));
     }
 
     /**
@@ -70,6 +77,7 @@ public class TurnManagementService {
         }
 
         game.setCurrentPhase(GamePhase.FORTIFY);
-        return gameRepository.save(game);
+        liveGames.recordEvent(game, GameEvent.attackEnded(playerId));
+        return liveGames.saveGame(game);
     }
 }
@@ -1,15 +1,15 @@
 package com.risk.service;
 
 import com.risk.model.Game;
+import com.risk.model.GameEvent;
 import com.risk.model.GameMode;
 import com.risk.model.GamePhase;
 import com.risk.model.GameStatus;
 import com.risk.model.Player;
-import com.risk.repository.GameRepository;
 import com.risk.repository.PlayerRepository;
-import com.risk.repository.TerritoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,16 +25,17 @@ import java.util.List;
 @Transactional
 public class WinConditionService {
 
-    private final GameRepository gameRepository;
     private final PlayerRepository playerRepository;
-    private final TerritoryRepository territoryRepository;
+    private final GameQueryService gameQueryService;
+    private final LiveGameRegistry liveGames;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Check if the game is over after an attack.
      * Handles Classic (last player standing) and Domination (territory percentage) modes.
      */
     public void checkGameOver(Game game) {
-        List<Player> activePlayers = playerRepository.findActivePlayersByGameId(game.getId());
+        List<Player> activePlayers = getActivePlayers(game);
 
         // Classic: last player standing
         if (activePlayers.size() == 1) {
@@ -44,10 +45,10 @@ public class WinConditionService {
 
         // Domination: check if any player controls enough territories
         if (game.getGameMode() == GameMode.DOMINATION) {
-            int totalTerritories = territoryRepository.findByGameId(game.getId()).size();
+            int totalTerritories = gameQueryService.countTerritories(game.getId());
             int threshold = (int) Math.ceil(totalTerritories * game.getDominationPercent() / 100.0);
             for (Player player : activePlayers) {
-                int owned = territoryRepository.findByOwnerId(player.getId()).size();
+                int owned = gameQueryService.countTerritoriesOwnedBy(game.getId(), player.getId());
                 if (owned >= threshold) {
                     finishGame(game, player);
                     return;
@@ -65,11 +66,11 @@ public class WinConditionService {
             // Reset turn number to the limit (this turn never actually started)
             game.setTurnNumber(game.getTurnLimit());
             // Find player with most territories
-            List<Player> activePlayers = playerRepository.findActivePlayersByGameId(game.getId());
+            List<Player> activePlayers = getActivePlayers(game);
             Player winner = null;
             int maxTerritories = 0;
             for (Player p : activePlayers) {
-                int count = territoryRepository.findByOwnerId(p.getId()).size();
+                int count = gameQueryService.countTerritoriesOwnedBy(game.getId(), p.getId());
                 if (count > maxTerritories) {
                     maxTerritories = count;
                     winner = p;
@@ -91,7 +92,19 @@ public class WinConditionService {
         game.setCurrentPhase(GamePhase.GAME_OVER);
         game.setWinnerId(winner.getId());
         game.setEndedAt(LocalDateTime.now());
-        gameRepository.save(game);
+        liveGames.saveGame(game);
+        liveGames.recordEvent(game, GameEvent.gameFinished(winner.getId(), game.getTurnNumber()));
+        eventPublisher.publishEvent(LobbyEvent.of(LobbyEvent.Type.GAME_FINISHED, game));
         log.info("Game {} won by {} (mode: {})", game.getName(), winner.getName(), game.getGameMode());
     }
+
+    private List<Player> getActivePlayers(Game game) {
+        if (liveGames.find(game.getId()).isPresent()) {
+            // Live players are kept in turn order and their eliminated flag is authoritative
+            return game.getPlayers().stream()
+                    .filter(p -> !p.isEliminated())
+                    .toList();
+        }
+        return playerRepository.findActivePlayersByGameId(game.getId());
+    }
 }
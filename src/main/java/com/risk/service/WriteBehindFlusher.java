@@ -0,0 +1,214 @@
+package com.risk.service;
+
+import com.risk.model.Game;
+import com.risk.model.GameEvent;
+import com.risk.model.GameSnapshot;
+import com.risk.model.GameStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists dirty live-game state in JDBC batches.
+ * <p>
+ * Runs every {@code game.live.flush-interval-ms}, which bounds how many actions a
+ * crash can lose. Each game's changes are written in a single transaction as one
+ * batched UPDATE per table; a failed write is put back and retried on the next run.
+ * Finished games are dropped from the registry once their final state is on disk.
+ * <p>
+ * Game and territory rows are compare-and-set on their {@code version} column, which the
+ * live copy bumps after each committed flush. An update that matches no row means the row
+ * was written outside the game's mailbox since it was loaded: the flush is rolled back and
+ * the game is reloaded from the database on its mailbox, so the first write wins and the
+ * stale live changes are dropped rather than written over it.
+ * <p>
+ * Changes are drained on the game's mailbox, between commands, as copies of the row values
+ * together with the events recorded up to that point, and only those copies are written.
+ * A flush therefore never persists half a command, and since the events are inserted in
+ * the same transaction the event log never runs ahead of or behind the rows. Every {@code game.events.snapshot-interval}
+ * events a {@link GameSnapshot} is captured on the game's mailbox and written with the
+ * next flush, replacing the previous one. The snapshot of the game's start (sequence 0)
+ * is kept for its {@link ReplayRecording}.
+ */
+@Component
+@Slf4j
+public class WriteBehindFlusher {
+
+    private static final String UPDATE_TERRITORY =
+            "UPDATE territories SET armies = ?, owner_id = ?, version = version + 1 WHERE id = ? AND version = ?";
+    private static final String UPDATE_PLAYER =
+            "UPDATE players SET eliminated = ?, cards_held = ? WHERE id = ?";
+    private static final String UPDATE_GAME =
+            "UPDATE games SET status = ?, current_phase = ?, current_player_index = ?, turn_number = ?, "
+                    + "reinforcements_remaining = ?, winner_id = ?, ended_at = ?, version = version + 1 "
+                    + "WHERE id = ? AND version = ?";
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO game_events (game_id, sequence, type, player_id, from_key, to_key, armies, "
+                    + "attacker_losses, defender_losses, dice, turn_number, occurred_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SNAPSHOT =
+            "INSERT INTO game_snapshots (game_id, sequence, status, current_phase, current_player_id, turn_number, "
+                    + "reinforcements_remaining, winner_id, board, eliminated_player_ids, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_OLDER_SNAPSHOTS =
+            "DELETE FROM game_snapshots WHERE game_id = ? AND sequence > 0 AND sequence < ?";
+
+    private final LiveGameRegistry liveGames;
+    private final GameActors gameActors;
+    private final LiveGameLoader liveGameLoader;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GameTracer gameTracer;
+    private final int snapshotInterval;
+
+    public WriteBehindFlusher(LiveGameRegistry liveGames,
+                              GameActors gameActors,
+                              LiveGameLoader liveGameLoader,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              GameTracer gameTracer,
+                              @Value("${game.events.snapshot-interval:200}") int snapshotInterval) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("snapshot-interval must be positive");
+        }
+        this.liveGames = liveGames;
+        this.gameActors = gameActors;
+        this.liveGameLoader = liveGameLoader;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.gameTracer = gameTracer;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Scheduled(fixedDelayString = "${game.live.flush-interval-ms:250}")
+    public void flushAll() {
+        for (LiveGame liveGame : liveGames.getLiveGames()) {
+            flush(liveGame);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushAll();
+    }
+
+    void flush(LiveGame liveGame) {
+        if (liveGame.isSnapshotDue(snapshotInterval)) {
+            // Captured between commands and written by a later flush
+            gameActors.submit(liveGame.getGameId(), liveGame::captureSnapshot);
+        }
+        LiveGame.Changes changes = gameActors.call(liveGame.getGameId(), liveGame::drainChanges);
+        if (!changes.isEmpty()) {
+            try {
+                gameTracer.trace(liveGame.getGameId(), GameTracer.FLUSH, "writeBehind",
+                        () -> transactionTemplate.executeWithoutResult(status -> write(liveGame.getGameId(), changes)));
+            } catch (OptimisticLockingFailureException e) {
+                log.warn("Game {} was written outside its mailbox; reloading it from the database: {}",
+                        liveGame.getGameId(), e.getMessage());
+                gameActors.submit(liveGame.getGameId(), () -> liveGameLoader.load(liveGame.getGameId()));
+                return;
+            } catch (RuntimeException e) {
+                liveGame.restoreChanges(changes);
+                log.error("Write-behind flush failed for game {}; will retry", liveGame.getGameId(), e);
+                return;
+            }
+            // Ordered on the mailbox ahead of the next drain
+            gameActors.submit(liveGame.getGameId(), () -> committed(liveGame.getGame(), changes));
+        }
+
+        GameStatus status = liveGame.getGame().getStatus();
+        if ((status == GameStatus.FINISHED || status == GameStatus.CANCELLED) && !liveGame.isDirty()) {
+            liveGames.unregister(liveGame.getGameId());
+        }
+    }
+
+    private void write(String gameId, LiveGame.Changes changes) {
+        if (!changes.territories().isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(changes.territories().size());
+            for (LiveGame.TerritoryRow t : changes.territories()) {
+                rows.add(new Object[]{t.armies(), t.ownerId(), t.territory().getId(), t.version()});
+            }
+            int[] updated = jdbcTemplate.batchUpdate(UPDATE_TERRITORY, rows);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    throw new OptimisticLockingFailureException("Territory " + rows.get(i)[2]
+                            + " is no longer at version " + rows.get(i)[3]);
+                }
+            }
+        }
+        if (!changes.players().isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(changes.players().size());
+            for (LiveGame.PlayerRow p : changes.players()) {
+                rows.add(new Object[]{p.eliminated(), p.cardsHeld(), p.player().getId()});
+            }
+            jdbcTemplate.batchUpdate(UPDATE_PLAYER, rows);
+        }
+        LiveGame.GameRow game = changes.game();
+        if (game != null) {
+            int updated = jdbcTemplate.update(UPDATE_GAME,
+                    game.status().name(),
+                    game.currentPhase().name(),
+                    game.currentPlayerIndex(),
+                    game.turnNumber(),
+                    game.reinforcementsRemaining(),
+                    game.winnerId(),
+                    game.endedAt(),
+                    game.id(),
+                    game.version());
+            if (updated == 0) {
+                throw new OptimisticLockingFailureException("Game " + game.id()
+                        + " is no longer at version " + game.version());
+            }
+        }
+        if (!changes.events().isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(changes.events().size());
+            for (GameEvent e : changes.events()) {
+                rows.add(new Object[]{e.getGameId(), e.getSequence(), e.getType().name(), e.getPlayerId(),
+                        e.getFromKey(), e.getToKey(), e.getArmies(), e.getAttackerLosses(), e.getDefenderLosses(),
+                        e.getDice(), e.getTurnNumber(), e.getOccurredAt()});
+            }
+            jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+        }
+        GameSnapshot snapshot = changes.snapshot();
+        if (snapshot != null) {
+            jdbcTemplate.update(INSERT_SNAPSHOT,
+                    snapshot.getGameId(),
+                    snapshot.getSequence(),
+                    snapshot.getStatus().name(),
+                    snapshot.getCurrentPhase().name(),
+                    snapshot.getCurrentPlayerId(),
+                    snapshot.getTurnNumber(),
+                    snapshot.getReinforcementsRemaining(),
+                    snapshot.getWinnerId(),
+                    snapshot.getBoard(),
+                    snapshot.getEliminatedPlayerIds(),
+                    snapshot.getCreatedAt());
+            jdbcTemplate.update(DELETE_OLDER_SNAPSHOTS, snapshot.getGameId(), snapshot.getSequence());
+        }
+        log.debug("Flushed game {}: {} territories, {} players, game row: {}, {} events, snapshot: {}", gameId,
+                changes.territories().size(), changes.players().size(), game != null,
+                changes.events().size(), snapshot != null);
+    }
+
+    /**
+     * Move the live copy to the row versions its committed flush wrote.
+     */
+    private void committed(Game game, LiveGame.Changes changes) {
+        for (LiveGame.TerritoryRow t : changes.territories()) {
+            t.territory().setVersion(t.version() + 1);
+        }
+        if (changes.game() != null) {
+            game.setVersion(changes.game().version() + 1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.risk.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Aggregate of a batch of simulated games.
+ *
+ * @param games        games played
+ * @param winsBySeat   games won per seat
+ * @param draws        games that hit the turn cap
+ * @param totalTurns   rounds played over all games
+ * @param totalAttacks attacks rolled over all games
+ * @param elapsedNanos wall-clock time of the whole batch
+ */
+public record BatchReport(int games, int[] winsBySeat, int draws, long totalTurns, long totalAttacks,
+                          long elapsedNanos) {
+
+    public double winRate(int seat) {
+        return games > 0 ? (double) winsBySeat[seat] / games : 0.0;
+    }
+
+    public double averageTurns() {
+        return games > 0 ? (double) totalTurns / games : 0.0;
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos > 0 ? games / (elapsedNanos / 1_000_000_000.0) : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchReport[games=" + games + ", winsBySeat=" + Arrays.toString(winsBySeat)
+                + ", draws=" + draws + ", averageTurns=" + String.format("%.1f", averageTurns())
+                + ", gamesPerSecond=" + String.format("%.0f", gamesPerSecond()) + "]";
+    }
+
+    /**
+     * Mutable accumulator; one per worker, combined at the end.
+     */
+    static final class Tally {
+
+        private int games;
+        private final int[] winsBySeat;
+        private int draws;
+        private long totalTurns;
+        private long totalAttacks;
+
+        Tally(int seats) {
+            this.winsBySeat = new int[seats];
+        }
+
+        void add(SimulationResult result) {
+            games++;
+            if (result.isDraw()) {
+                draws++;
+            } else {
+                winsBySeat[result.winnerSeat()]++;
+            }
+            totalTurns += result.turns();
+            totalAttacks += result.attacks();
+        }
+
+        void addAll(Tally other) {
+            games += other.games;
+            for (int seat = 0; seat < winsBySeat.length; seat++) {
+                winsBySeat[seat] += other.winsBySeat[seat];
+            }
+            draws += other.draws;
+            totalTurns += other.totalTurns;
+            totalAttacks += other.totalAttacks;
+        }
+
+        BatchReport toReport(long elapsedNanos) {
+            return new BatchReport(games, winsBySeat.clone(), draws, totalTurns, totalAttacks, elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.risk.simulation;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Runs many simulated games in parallel across a fork-join pool.
+ * <p>
+ * Game {@code i} of a batch is played with seed {@code baseSeed + i}, so any single game
+ * of interest can be replayed with {@link GameSimulator#play(long)}.
+ */
+public final class BatchSimulator {
+
+    private final GameSimulator simulator;
+    private final int parallelism;
+
+    /**
+     * @param parallelism worker threads; {@code 0} uses every core
+     */
+    public BatchSimulator(GameSimulator simulator, int parallelism) {
+        this.simulator = simulator;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public BatchReport run(int games, long baseSeed) throws InterruptedException {
+        if (games < 0) {
+            throw new IllegalArgumentException("games must not be negative");
+        }
+        int seats = simulator.getSeatCount();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long started = System.nanoTime();
+        try {
+            BatchReport.Tally tally = pool.submit(() -> LongStream.range(0, games)
+                    .parallel()
+                    .mapToObj(i -> simulator.play(baseSeed + i))
+                    .collect(() -> new BatchReport.Tally(seats), BatchReport.Tally::add, BatchReport.Tally::addAll))
+                    .get();
+            return tally.toReport(System.nanoTime() - started);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
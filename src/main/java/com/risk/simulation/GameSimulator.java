@@ -0,0 +1,295 @@
+package com.risk.simulation;
+
+import com.risk.config.AreaDefinition;
+import com.risk.config.MapDefinition;
+import com.risk.config.MapGraph;
+import com.risk.config.TerritoryDefinition;
+import com.risk.cpu.CPUAction;
+import com.risk.cpu.CPUStrategy;
+import com.risk.model.Continent;
+import com.risk.model.Game;
+import com.risk.model.GameMode;
+import com.risk.model.GamePhase;
+import com.risk.model.GameStatus;
+import com.risk.model.Player;
+import com.risk.model.PlayerColor;
+import com.risk.model.PlayerType;
+import com.risk.model.Territory;
+import com.risk.service.CombatService;
+import com.risk.service.FortificationService;
+import com.risk.service.GameLifecycleService;
+import com.risk.service.GameMetrics;
+import com.risk.service.GameQueryService;
+import com.risk.service.LiveGame;
+import com.risk.service.LiveGameRegistry;
+import com.risk.service.ReinforcementService;
+import com.risk.service.TurnManagementService;
+import com.risk.service.WinConditionService;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays complete CPU-only games in memory, without Spring, a database or WebSocket broadcasts.
+ * <p>
+ * Every game gets its own live-game registry and service stack wired by hand, so the rules are
+ * exactly those of the game services; strategies read the board through a {@link GameQueryService}
+ * that only ever answers from memory. Dice, territory distribution and the built-in strategies
+ * all draw from one {@link Random} seeded per game, which makes a game reproducible from its seed.
+ * The turn loop mirrors {@code CPUPlayerService} without its think delay.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class GameSimulator {
+
+    /** Same cap as {@code CPUPlayerService} uses per turn. */
+    private static final int MAX_ATTACKS_PER_TURN = 10;
+
+    private final MapDefinition map;
+    private final MapGraph graph;
+    private final List<StrategyProvider> seats;
+    private final int maxTurns;
+
+    /**
+     * @param seats    one provider per player, in turn order
+     * @param maxTurns rounds after which an undecided game is recorded as a draw
+     */
+    public GameSimulator(MapDefinition map, List<StrategyProvider> seats, int maxTurns) {
+        if (seats.size() < 2 || seats.size() > PlayerColor.values().length) {
+            throw new IllegalArgumentException("A game needs 2 to " + PlayerColor.values().length
+                    + " players, got " + seats.size());
+        }
+        if (maxTurns < 1) {
+            throw new IllegalArgumentException("maxTurns must be positive");
+        }
+        this.map = map;
+        this.graph = MapGraph.compile(map);
+        this.seats = List.copyOf(seats);
+        this.maxTurns = maxTurns;
+    }
+
+    public int getSeatCount() {
+        return seats.size();
+    }
+
+    /**
+     * Play one game to the end or to the turn cap.
+     */
+    public SimulationResult play(long seed) {
+        Random random = new Random(seed);
+        Game game = newGame(seed);
+        Match match = new Match(game, random);
+        match.registry.register(newBoard(game, random));
+        game.setReinforcementsRemaining(match.reinforcements.calculateReinforcements(game.getCurrentPlayer()));
+
+        List<CPUStrategy> strategies = new ArrayList<>(seats.size());
+        try {
+            for (StrategyProvider seat : seats) {
+                strategies.add(seat.create(match.queries, random));
+            }
+            while (game.getStatus() == GameStatus.IN_PROGRESS && game.getTurnNumber() <= maxTurns) {
+                Player player = game.getCurrentPlayer();
+                match.playTurn(player, strategies.get(player.getTurnOrder()));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Simulated game with seed " + seed + " failed", e);
+        } finally {
+            strategies.forEach(GameSimulator::closeIfNeeded);
+        }
+
+        int winner = game.getStatus() == GameStatus.FINISHED ? seatOf(game, game.getWinnerId()) : -1;
+        int rounds = Math.min(game.getTurnNumber(), maxTurns);
+        return new SimulationResult(seed, winner, rounds, match.attacks);
+    }
+
+    /**
+     * One game's hand-wired service stack and turn loop.
+     */
+    private static final class Match {
+
+        // An empty composite registry records nothing
+        private static final GameMetrics NO_METRICS = new GameMetrics(new CompositeMeterRegistry());
+
+        private final Game game;
+        private final LiveGameRegistry registry = new LiveGameRegistry(null, null, null);
+        private final GameQueryService queries = new GameQueryService(null, null, null, registry, null);
+        private final ReinforcementService reinforcements = new ReinforcementService(queries, registry);
+        private final TurnManagementService turns;
+        private final CombatService combat;
+        private final FortificationService fortification;
+        private int attacks;
+
+        Match(Game game, Random random) {
+            this.game = game;
+            WinConditionService winConditions = new WinConditionService(null, queries, registry, event -> { });
+            this.turns = new TurnManagementService(queries, winConditions, reinforcements, registry, NO_METRICS);
+            this.combat = new CombatService(queries, winConditions, registry, random);
+            this.fortification = new FortificationService(queries, turns, registry);
+        }
+
+        void playTurn(Player player, CPUStrategy strategy) {
+            placeReinforcements(player, strategy);
+            attack(player, strategy);
+            if (game.getStatus() == GameStatus.IN_PROGRESS) {
+                fortify(player, strategy);
+            }
+        }
+
+        private void placeReinforcements(Player player, CPUStrategy strategy) {
+            while (game.getReinforcementsRemaining() > 0) {
+                int remaining = game.getReinforcementsRemaining();
+                CPUAction action = strategy.decideReinforcement(game, player, remaining);
+                if (action != null && action.getType() == CPUAction.ActionType.PLACE_ARMIES) {
+                    reinforcements.placeArmies(game.getId(), player.getId(),
+                            action.getToTerritoryKey(), action.getArmies());
+                } else {
+                    // A strategy that gives up still has to leave the reinforcement phase
+                    String fallback = queries.getTerritoriesOwnedBy(game.getId(), player.getId())
+                            .get(0).getTerritoryKey();
+                    reinforcements.placeArmies(game.getId(), player.getId(), fallback, remaining);
+                }
+            }
+        }
+
+        private void attack(Player player, CPUStrategy strategy) {
+            int attacksThisTurn = 0;
+            while (attacksThisTurn < MAX_ATTACKS_PER_TURN && game.getCurrentPhase() == GamePhase.ATTACK) {
+                CPUAction action = strategy.decideAttack(game, player);
+                if (action == null || action.getType() != CPUAction.ActionType.ATTACK) {
+                    break;
+                }
+                try {
+                    combat.attack(game.getId(), player.getId(),
+                            action.getFromTerritoryKey(), action.getToTerritoryKey(), action.getArmies());
+                    attacksThisTurn++;
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    // An invalid CPU attack ends the phase, as in CPUPlayerService
+                    break;
+                }
+            }
+            attacks += attacksThisTurn;
+            if (game.getCurrentPhase() == GamePhase.ATTACK) {
+                turns.endAttackPhase(game.getId(), player.getId());
+            }
+        }
+
+        private void fortify(Player player, CPUStrategy strategy) {
+            CPUAction action = strategy.decideFortify(game, player);
+            if (action != null && action.getType() == CPUAction.ActionType.FORTIFY) {
+                try {
+                    fortification.fortify(game.getId(), player.getId(),
+                            action.getFromTerritoryKey(), action.getToTerritoryKey(), action.getArmies());
+                    return;
+                } catch (IllegalArgumentException e) {
+                    // An invalid move is treated as skipping fortification
+                }
+            }
+            fortification.skipFortify(game.getId(), player.getId());
+        }
+    }
+
+    // ── setup ───────────────────────────────────────────────────────────
+
+    private Game newGame(long seed) {
+        Game game = Game.builder()
+                .id("sim-" + seed)
+                .name("Simulation " + seed)
+                .mapId(map.id())
+                .status(GameStatus.IN_PROGRESS)
+                .currentPhase(GamePhase.REINFORCEMENT)
+                .currentPlayerIndex(0)
+                .turnNumber(1)
+                .maxPlayers(seats.size())
+                .minPlayers(2)
+                .gameMode(GameMode.CLASSIC)
+                .build();
+        for (int seat = 0; seat < seats.size(); seat++) {
+            game.getPlayers().add(Player.builder()
+                    .id("seat-" + seat)
+                    .name("Seat " + seat)
+                    .color(PlayerColor.values()[seat])
+                    .type(PlayerType.CPU)
+                    .game(game)
+                    .turnOrder(seat)
+                    .build());
+        }
+        return game;
+    }
+
+    /**
+     * Build the board and deal it out the way {@code GameLifecycleService} does:
+     * shuffled territories round-robin, then the remaining starting armies at random.
+     */
+    private LiveGame newBoard(Game game, Random random) {
+        List<Territory> territories = new ArrayList<>(graph.size());
+        List<Continent> continents = new ArrayList<>(map.areas().size());
+        for (AreaDefinition area : map.areas()) {
+            Continent continent = Continent.builder()
+                    .id(area.key())
+                    .continentKey(area.key())
+                    .name(area.name())
+                    .bonusArmies(area.bonusArmies())
+                    .color(area.color())
+                    .game(game)
+                    .build();
+            for (TerritoryDefinition definition : area.territories()) {
+                Territory territory = Territory.builder()
+                        .id(definition.key())
+                        .territoryKey(definition.key())
+                        .name(definition.name())
+                        .game(game)
+                        .continent(continent)
+                        .build();
+                graph.attach(territory);
+                continent.getTerritories().add(territory);
+                territories.add(territory);
+            }
+            continents.add(continent);
+        }
+
+        List<Territory> deck = new ArrayList<>(territories);
+        Collections.shuffle(deck, random);
+        List<Player> players = game.getPlayers();
+        List<List<Territory>> owned = new ArrayList<>(players.size());
+        players.forEach(p -> owned.add(new ArrayList<>()));
+        for (int i = 0; i < deck.size(); i++) {
+            Territory territory = deck.get(i);
+            territory.setOwner(players.get(i % players.size()));
+            territory.setArmies(1);
+            owned.get(i % players.size()).add(territory);
+        }
+
+        int initialArmies = GameLifecycleService.getInitialArmiesPerPlayer(players.size());
+        for (List<Territory> mine : owned) {
+            for (int i = mine.size(); i < initialArmies && !mine.isEmpty(); i++) {
+                Territory t = mine.get(random.nextInt(mine.size()));
+                t.setArmies(t.getArmies() + 1);
+            }
+        }
+        return new LiveGame(game, graph, territories, continents);
+    }
+
+    // ── helpers ─────────────────────────────────────────────────────────
+
+    private static int seatOf(Game game, String playerId) {
+        for (Player player : game.getPlayers()) {
+            if (player.getId().equals(playerId)) {
+                return player.getTurnOrder();
+            }
+        }
+        return -1;
+    }
+
+    private static void closeIfNeeded(CPUStrategy strategy) {
+        if (strategy instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to release strategy " + strategy.getDifficulty(), e);
+            }
+        }
+    }
+}
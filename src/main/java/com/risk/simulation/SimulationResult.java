@@ -0,0 +1,16 @@
+package com.risk.simulation;
+
+/**
+ * Outcome of one simulated game.
+ *
+ * @param seed       seed the game was played with
+ * @param winnerSeat seat index of the winner, or {@code -1} if the turn cap was reached first
+ * @param turns      completed rounds
+ * @param attacks    attacks rolled over the whole game
+ */
+public record SimulationResult(long seed, int winnerSeat, int turns, int attacks) {
+
+    public boolean isDraw() {
+        return winnerSeat < 0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.risk.simulation;
+
+import ch.qos.logback.classic.Level;
+import com.risk.config.MapDefinition;
+import com.risk.model.CPUDifficulty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command-line entry point for batch self-play, without starting the Spring application.
+ * <pre>
+ * java -cp riskai-game.jar -Dloader.main=com.risk.simulation.SimulatorCli \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      --map=classic-world --players=HARD,MEDIUM,EASY --games=10000 --seed=1
+ * </pre>
+ * Options: {@code --map} (built-in map id or path to a map JSON file, default {@code classic-world}),
+ * {@code --players} (comma-separated difficulties in turn order, default {@code HARD,MEDIUM}),
+ * {@code --games} (default 1000), {@code --seed} (default 1), {@code --max-turns} (default 500),
+ * {@code --threads} (default 0 = every core), {@code --expert-budget-ms} (default 50).
+ */
+public final class SimulatorCli {
+
+    private SimulatorCli() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parse(args);
+        quietLogging();
+
+        MapDefinition map = loadMap(options.getOrDefault("map", "classic-world"));
+        long expertBudgetMs = Long.parseLong(options.getOrDefault("expert-budget-ms", "50"));
+        List<StrategyProvider> seats = new ArrayList<>();
+        List<String> seatNames = new ArrayList<>();
+        for (String name : options.getOrDefault("players", "HARD,MEDIUM").split(",")) {
+            CPUDifficulty difficulty = CPUDifficulty.valueOf(name.trim().toUpperCase(Locale.ROOT));
+            seats.add(StrategyProvider.of(difficulty, expertBudgetMs));
+            seatNames.add(difficulty.name());
+        }
+
+        GameSimulator simulator = new GameSimulator(map, seats,
+                Integer.parseInt(options.getOrDefault("max-turns", "500")));
+        BatchSimulator batch = new BatchSimulator(simulator,
+                Integer.parseInt(options.getOrDefault("threads", "0")));
+        int games = Integer.parseInt(options.getOrDefault("games", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+
+        BatchReport report = batch.run(games, seed);
+
+        System.out.printf("Map %s, %d games, seeds %d..%d%n", map.id(), report.games(), seed, seed + games - 1);
+        for (int seat = 0; seat < seatNames.size(); seat++) {
+            System.out.printf("  seat %d %-6s wins %6d (%5.1f%%)%n", seat, seatNames.get(seat),
+                    report.winsBySeat()[seat], report.winRate(seat) * 100);
+        }
+        System.out.printf("  draws %d, average turns %.1f, %.0f games/s%n",
+                report.draws(), report.averageTurns(), report.gamesPerSecond());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Built-in map by id from the classpath, otherwise a map JSON file.
+     */
+    private static MapDefinition loadMap(String map) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (InputStream builtIn = SimulatorCli.class.getResourceAsStream("/maps/" + map + ".json")) {
+            if (builtIn != null) {
+                return objectMapper.readValue(builtIn, MapDefinition.class);
+            }
+            try (InputStream file = Files.newInputStream(Path.of(map))) {
+                return objectMapper.readValue(file, MapDefinition.class);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unknown map: " + map, e);
+        }
+    }
+
+    /**
+     * The services log every finished game; keep batch output readable and fast.
+     */
+    private static void quietLogging() {
+        Logger root = LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (root instanceof ch.qos.logback.classic.Logger logback) {
+            logback.setLevel(Level.WARN);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.risk.simulation;
+
+import com.risk.cpu.CPUStrategy;
+import com.risk.cpu.EasyCPUStrategy;
+import com.risk.cpu.ExpertCPUStrategy;
+import com.risk.cpu.HardCPUStrategy;
+import com.risk.cpu.MediumCPUStrategy;
+import com.risk.model.CPUDifficulty;
+import com.risk.service.BattleOddsService;
+import com.risk.service.GameQueryService;
+
+import java.util.Random;
+
+/**
+ * Creates the strategy for one seat of one simulated game.
+ * <p>
+ * A simulated game has its own in-memory {@link GameQueryService} and seeded {@link Random};
+ * strategies should draw all randomness from that source so the game can be replayed from its seed.
+ */
+@FunctionalInterface
+public interface StrategyProvider {
+
+    CPUStrategy create(GameQueryService gameQueryService, Random random);
+
+    /**
+     * Provider for a built-in difficulty. EXPERT searches against the wall clock with
+     * {@code expertBudgetMs} per decision, so its games are not reproducible from the seed.
+     */
+    static StrategyProvider of(CPUDifficulty difficulty, long expertBudgetMs) {
+        BattleOddsService odds = SharedOdds.INSTANCE;
+        return switch (difficulty) {
+            case EASY -> EasyCPUStrategy::new;
+            case MEDIUM -> (queries, random) -> new MediumCPUStrategy(queries, odds, random);
+            case HARD -> (queries, random) -> new HardCPUStrategy(queries, odds);
+            case EXPERT -> (queries, random) -> new ExpertCPUStrategy(queries, new HardCPUStrategy(queries, odds),
+                    expertBudgetMs, expertBudgetMs, 1);
+        };
+    }
+
+    /** Odds tables are immutable, so every simulated game shares one set. */
+    final class SharedOdds {
+        static final BattleOddsService INSTANCE = new BattleOddsService(BattleOddsService.DEFAULT_MAX_ARMIES);
+
+        private SharedOdds() {
+        }
+    }
+}
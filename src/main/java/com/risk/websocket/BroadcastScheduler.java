@@ -0,0 +1,164 @@
+package com.risk.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Paces the messages sent to each game's topic.
+ * <p>
+ * A state update requested while another is pending is merged into it: the first request
+ * opens a window of {@code game.broadcast.window-ms}, and when it closes a single update
+ * with the state at that moment is sent. A game therefore gets at most one state push per
+ * window however fast actions arrive. Events (attack results, game over, ...) are sent at
+ * once unless an update is pending, in which case they wait and follow it, so no event
+ * reaches clients ahead of a state update requested before it. A window of 0 sends
+ * everything immediately.
+ * <p>
+ * The number of games with an update window open is published as a gauge.
+ */
+@Component
+@Slf4j
+public class BroadcastScheduler implements MeterBinder {
+
+    private final TaskScheduler taskScheduler;
+    private final long windowMs;
+
+    private final ConcurrentHashMap<String, Outbox> outboxes = new ConcurrentHashMap<>();
+
+    public BroadcastScheduler(TaskScheduler taskScheduler,
+                              @Value("${game.broadcast.window-ms:100}") long windowMs) {
+        if (windowMs < 0) {
+            throw new IllegalArgumentException("window-ms must not be negative");
+        }
+        this.taskScheduler = taskScheduler;
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Ask for a state update; {@code send} runs once per window and must read the state
+     * when it runs, not when it was requested.
+     */
+    public void requestUpdate(String gameId, Runnable send) {
+        if (windowMs == 0) {
+            run(gameId, send);
+            return;
+        }
+        while (!outbox(gameId).requestUpdate(send)) {
+            // Retired by its flush after we looked it up; the next lookup creates a fresh one
+        }
+    }
+
+    /**
+     * Send an event message, after any state update still pending for the game.
+     */
+    public void sendEvent(String gameId, Runnable send) {
+        if (windowMs == 0) {
+            run(gameId, send);
+            return;
+        }
+        while (!outbox(gameId).sendEvent(send)) {
+            // Retired by its flush after we looked it up; the next lookup creates a fresh one
+        }
+    }
+
+    int pendingGames() {
+        return outboxes.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("risk.broadcast.pending", outboxes, ConcurrentHashMap::size)
+                .description("Games with a state update waiting for its window to close")
+                .register(registry);
+    }
+
+    private Outbox outbox(String gameId) {
+        return outboxes.computeIfAbsent(gameId, Outbox::new);
+    }
+
+    private static void run(String gameId, Runnable send) {
+        try {
+            send.run();
+        } catch (RuntimeException e) {
+            log.error("Broadcast failed for game {}", gameId, e);
+        }
+    }
+
+    /**
+     * One game's pending update and the events waiting for it. An outbox leaves the map only
+     * when its flush finds nothing pending, under its own lock, and is retired then: callers
+     * that still hold it are told to look the game up again, so a game never has two live
+     * outboxes whose messages could overtake each other.
+     */
+    private final class Outbox {
+        private final String gameId;
+        private Runnable pendingUpdate;
+        private final List<Runnable> queuedEvents = new ArrayList<>();
+        private boolean retired;
+
+        private Outbox(String gameId) {
+            this.gameId = gameId;
+        }
+
+        /**
+         * @return {@code false} if this outbox was retired and {@code send} was not taken
+         */
+        private synchronized boolean requestUpdate(Runnable send) {
+            if (retired) {
+                return false;
+            }
+            if (pendingUpdate == null) {
+                taskScheduler.schedule(this::flush, Instant.now().plusMillis(windowMs));
+            }
+            pendingUpdate = send;
+            return true;
+        }
+
+        /**
+         * @return {@code false} if this outbox was retired and {@code send} was not taken
+         */
+        private synchronized boolean sendEvent(Runnable send) {
+            if (retired) {
+                return false;
+            }
+            if (pendingUpdate == null) {
+                run(gameId, send);
+            } else {
+                queuedEvents.add(send);
+            }
+            return true;
+        }
+
+        /**
+         * Send the merged update, then the events that waited for it. Runs under the
+         * outbox lock so messages from different threads leave in order.
+         */
+        private synchronized void flush() {
+            Runnable update = pendingUpdate;
+            pendingUpdate = null;
+            if (update != null) {
+                run(gameId, update);
+            }
+            // A send may request another update, which opens a new window on this outbox
+            List<Runnable> events = List.copyOf(queuedEvents);
+            queuedEvents.clear();
+            for (Runnable event : events) {
+                run(gameId, event);
+            }
+            if (pendingUpdate == null) {
+                retired = true;
+                outboxes.remove(gameId, this);
+            }
+        }
+    }
+}
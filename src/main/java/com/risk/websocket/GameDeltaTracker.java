@@ -0,0 +1,178 @@
+package com.risk.websocket;
+
+import com.risk.dto.GameDeltaDTO;
+import com.risk.dto.GameStateDTO;
+import com.risk.dto.PlayerDTO;
+import com.risk.dto.TerritoryDTO;
+import com.risk.model.GamePhase;
+import com.risk.model.GameStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Remembers the last state broadcast for each game and turns each new state into a
+ * {@link GameDeltaDTO} against it.
+ * <p>
+ * States are identified by the live game's state version. A delta applies to any client
+ * state between its {@code baseVersion} and {@code stateVersion}, since it carries the
+ * current values of everything that changed in that range. States without a version
+ * (games that are not live) are always sent whole. The states passed in may be shared
+ * cached instances and are never modified.
+ */
+@Component
+public class GameDeltaTracker {
+
+    private final ConcurrentHashMap<String, Tracked> games = new ConcurrentHashMap<>();
+
+    /**
+     * Record {@code state} as the new baseline and send it whole, e.g. when a game starts.
+     */
+    public void publishSnapshot(String gameId, GameStateDTO state, Consumer<GameStateDTO> send) {
+        Tracked tracked = games.computeIfAbsent(gameId, id -> new Tracked());
+        synchronized (tracked) {
+            tracked.remember(state);
+            send.accept(state);
+        }
+    }
+
+    /**
+     * Send {@code state} as a delta against the last broadcast state, or whole if there is
+     * nothing to compare it with. Nothing is sent for a state already broadcast, an older
+     * one, or one without visible changes. Sending happens under the game's lock so
+     * versions leave in order.
+     */
+    public void publish(String gameId, GameStateDTO state,
+                        Consumer<GameStateDTO> sendSnapshot, Consumer<GameDeltaDTO> sendDelta) {
+        if (state.getStateVersion() == 0) {
+            games.remove(gameId);
+            sendSnapshot.accept(state);
+            return;
+        }
+        Tracked tracked = games.get(gameId);
+        if (tracked == null) {
+            publishSnapshot(gameId, state, sendSnapshot);
+            return;
+        }
+        synchronized (tracked) {
+            if (tracked.version == 0 || !tracked.sameShape(state)) {
+                // Players joined or left: a delta cannot describe removals, resend everything
+                tracked.remember(state);
+                sendSnapshot.accept(state);
+                return;
+            }
+            if (state.getStateVersion() <= tracked.version) {
+                return;
+            }
+            GameDeltaDTO delta = tracked.diff(gameId, state);
+            if (delta == null) {
+                // Keep the old base: the next delta must still cover clients at that version
+                return;
+            }
+            tracked.remember(state);
+            sendDelta.accept(delta);
+        }
+    }
+
+    /**
+     * Drop a game's history, e.g. once it is over. Its next broadcast is sent whole.
+     */
+    public void forget(String gameId) {
+        games.remove(gameId);
+    }
+
+    private static final class Tracked {
+        private long version;
+        private GameStatus status;
+        private GamePhase phase;
+        private int turnNumber;
+        private int reinforcementsRemaining;
+        private String currentPlayerId;
+        private String winnerId;
+        private final Map<String, PlayerDTO> players = new HashMap<>();
+        private final Map<String, GameDeltaDTO.TerritoryChange> territories = new HashMap<>();
+
+        private void remember(GameStateDTO state) {
+            version = state.getStateVersion();
+            status = state.getStatus();
+            phase = state.getCurrentPhase();
+            turnNumber = state.getTurnNumber();
+            reinforcementsRemaining = state.getReinforcementsRemaining();
+            currentPlayerId = state.getCurrentPlayer() != null ? state.getCurrentPlayer().getId() : null;
+            winnerId = state.getWinnerId();
+            players.clear();
+            if (state.getPlayers() != null) {
+                for (PlayerDTO p : state.getPlayers()) {
+                    players.put(p.getId(), p);
+                }
+            }
+            territories.clear();
+            if (state.getTerritories() != null) {
+                for (TerritoryDTO t : state.getTerritories()) {
+                    territories.put(t.getTerritoryKey(), GameDeltaDTO.TerritoryChange.fromTerritory(t));
+                }
+            }
+        }
+
+        private boolean sameShape(GameStateDTO state) {
+            List<PlayerDTO> statePlayers = state.getPlayers() != null ? state.getPlayers() : List.of();
+            List<TerritoryDTO> stateTerritories = state.getTerritories() != null ? state.getTerritories() : List.of();
+            return statePlayers.size() == players.size()
+                    && statePlayers.stream().allMatch(p -> players.containsKey(p.getId()))
+                    && stateTerritories.size() == territories.size();
+        }
+
+        /**
+         * Changes since the remembered state, or {@code null} if there are none.
+         */
+        private GameDeltaDTO diff(String gameId, GameStateDTO state) {
+            List<PlayerDTO> changedPlayers = new ArrayList<>();
+            if (state.getPlayers() != null) {
+                for (PlayerDTO p : state.getPlayers()) {
+                    if (!p.equals(players.get(p.getId()))) {
+                        changedPlayers.add(p);
+                    }
+                }
+            }
+            List<GameDeltaDTO.TerritoryChange> changedTerritories = new ArrayList<>();
+            if (state.getTerritories() != null) {
+                for (TerritoryDTO t : state.getTerritories()) {
+                    GameDeltaDTO.TerritoryChange change = GameDeltaDTO.TerritoryChange.fromTerritory(t);
+                    if (!change.equals(territories.get(t.getTerritoryKey()))) {
+                        changedTerritories.add(change);
+                    }
+                }
+            }
+            String newCurrentPlayerId = state.getCurrentPlayer() != null ? state.getCurrentPlayer().getId() : null;
+            boolean turnChanged = status != state.getStatus()
+                    || phase != state.getCurrentPhase()
+                    || turnNumber != state.getTurnNumber()
+                    || reinforcementsRemaining != state.getReinforcementsRemaining()
+                    || !Objects.equals(currentPlayerId, newCurrentPlayerId)
+                    || !Objects.equals(winnerId, state.getWinnerId());
+            if (!turnChanged && changedPlayers.isEmpty() && changedTerritories.isEmpty()) {
+                return null;
+            }
+            return GameDeltaDTO.builder()
+                    .gameId(gameId)
+                    .baseVersion(version)
+                    .stateVersion(state.getStateVersion())
+                    .status(state.getStatus())
+                    .currentPhase(state.getCurrentPhase())
+                    .turnNumber(state.getTurnNumber())
+                    .reinforcementsRemaining(state.getReinforcementsRemaining())
+                    .currentPlayer(state.getCurrentPlayer())
+                    .winnerId(state.getWinnerId())
+                    .winnerName(state.getWinnerName())
+                    .players(changedPlayers)
+                    .territories(changedTerritories)
+                    .build();
+        }
+    }
+}
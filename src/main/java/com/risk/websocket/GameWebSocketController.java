@@ -1,6 +1,7 @@
 package com.risk.websocket;
 
 import com.risk.dto.AttackResult;
+import com.risk.dto.BlitzResult;
 import com.risk.model.Game;
 import com.risk.model.GameStatus;
 import com.risk.model.Player;
@@ -14,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 /**
@@ -29,6 +31,7 @@ public class GameWebSocketController {
     private final GameService gameService;
     private final CPUPlayerService cpuPlayerService;
     private final GameWebSocketHandler webSocketHandler;
+    private final LobbyFeed lobbyFeed;
 
     /**
      * Handle reinforcement placement.
@@ -87,6 +90,35 @@ public class GameWebSocketController {
         }
     }
 
+    /**
+     * Handle blitz attack: all rounds resolved at once, one result and one state broadcast.
+     */
+    @MessageMapping("/game/{gameId}/blitz")
+    public void handleBlitz(@DestinationVariable String gameId,
+                            @Payload BlitzMessage message) {
+        log.debug("Blitz request: {} -> {} stopping at {} armies in game {}",
+                message.getFromTerritoryKey(), message.getToTerritoryKey(),
+                message.getStopAtArmies(), gameId);
+
+        try {
+            BlitzResult result = gameService.blitz(
+                    gameId, message.getPlayerId(),
+                    message.getFromTerritoryKey(), message.getToTerritoryKey(),
+                    Math.max(1, message.getStopAtArmies()));
+
+            webSocketHandler.broadcastBlitzResult(gameId, result);
+            webSocketHandler.broadcastGameUpdate(gameId);
+
+            Game game = gameService.getGame(gameId);
+            if (game.getStatus() == GameStatus.FINISHED) {
+                webSocketHandler.broadcastGameOver(gameId, getWinnerName(game));
+            }
+        } catch (RuntimeException e) {
+            log.error("Error processing blitz", e);
+            sendError(gameId, message.getPlayerId(), e.getMessage());
+        }
+    }
+
     /**
      * Handle end attack phase.
      */
@@ -169,6 +201,15 @@ public class GameWebSocketController {
         webSocketHandler.broadcastChatMessage(gameId, message.getPlayerName(), message.getMessage());
     }
 
+    /**
+     * Answer a subscription to {@code /app/lobby} with the lobby snapshot; changes after it
+     * arrive on {@code /topic/lobby}.
+     */
+    @SubscribeMapping("/lobby")
+    public GameWebSocketHandler.GameMessage subscribeLobby() {
+        return lobbyFeed.snapshot();
+    }
+
     private String getWinnerName(Game game) {
         return game.getPlayers().stream()
                 .filter(p -> p.getId().equals(game.getWinnerId()))
@@ -203,6 +244,16 @@ public class GameWebSocketController {
         private int armies;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BlitzMessage {
+        private String playerId;
+        private String fromTerritoryKey;
+        private String toTerritoryKey;
+        private int stopAtArmies;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -2,20 +2,37 @@ package com.risk.websocket;
 
 import com.risk.cpu.CPUAction;
 import com.risk.dto.AttackResult;
+import com.risk.dto.BlitzResult;
+import com.risk.dto.GameDeltaDTO;
 import com.risk.dto.GameStateDTO;
 import com.risk.dto.PlayerDTO;
+import com.risk.service.GameMetrics;
 import com.risk.service.GameService;
+import com.risk.service.GameStateCache;
+import com.risk.service.GameTracer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * Handler for WebSocket game updates.
+ * <p>
+ * State updates and game events go through {@link BroadcastScheduler}, which merges bursts
+ * of updates and keeps events behind the updates requested before them. Chat and error
+ * messages are sent directly. Every message sent to a game topic is timed, and whole
+ * states, whose JSON is at hand, are also measured, in {@link GameMetrics} and as
+ * {@link GameTracer} spans.
  */
 @Component
 @RequiredArgsConstructor
@@ -26,15 +43,26 @@ public class GameWebSocketHandler {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final GameService gameService;
+    private final GameDeltaTracker deltaTracker;
+    private final BroadcastScheduler broadcasts;
+    private final GameMetrics gameMetrics;
+    private final GameTracer gameTracer;
 
     /**
-     * Broadcast game state update to all players in a game.
+     * Broadcast game state update to all players in a game: a GAME_DELTA with what changed
+     * since the previous broadcast, or a full GAME_UPDATE if there is none to compare with.
+     * Requests that arrive close together are sent as one update.
      */
     public void broadcastGameUpdate(String gameId) {
+        broadcasts.requestUpdate(gameId, () -> publishGameUpdate(gameId));
+    }
+
+    private void publishGameUpdate(String gameId) {
         try {
-            GameStateDTO gameState = gameService.getGameState(gameId);
-            messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId, 
-                    GameMessage.gameUpdate(gameState));
+            GameStateCache.Snapshot snapshot = gameService.getGameStateSnapshot(gameId);
+            deltaTracker.publish(gameId, snapshot.state(),
+                    state -> sendState(gameId, GameMessage.GAME_UPDATE, snapshot),
+                    delta -> send(gameId, GameMessage.gameDelta(delta)));
             log.debug("Broadcast game update for game {}", gameId);
         } catch (RuntimeException e) {
             log.error("Error broadcasting game update for game {}", gameId, e);
@@ -63,8 +91,14 @@ public class GameWebSocketHandler {
                 .eliminatedPlayer(result.getEliminatedPlayer())
                 .build();
 
-        messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId,
-                GameMessage.attackResult(message));
+        sendEvent(gameId, GameMessage.attackResult(message));
+    }
+
+    /**
+     * Broadcast every round of a blitz attack as a single message.
+     */
+    public void broadcastBlitzResult(String gameId, BlitzResult result) {
+        sendEvent(gameId, GameMessage.blitzResult(result));
     }
 
     /**
@@ -73,49 +107,49 @@ public class GameWebSocketHandler {
     public void broadcastCPUFortify(String gameId, String playerName,
                                      String fromName, String toName, int armies) {
         CPUFortifyMessage msg = new CPUFortifyMessage(playerName, fromName, toName, armies);
-        messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId,
-                GameMessage.cpuFortify(msg));
+        sendEvent(gameId, GameMessage.cpuFortify(msg));
     }
 
     /**
      * Broadcast CPU turn end notification.
      */
     public void broadcastCPUTurnEnd(String gameId, String playerName) {
-        messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId,
-                GameMessage.cpuTurnEnd(playerName));
+        sendEvent(gameId, GameMessage.cpuTurnEnd(playerName));
     }
 
     /**
      * Broadcast player joined notification.
      */
     public void broadcastPlayerJoined(String gameId, PlayerDTO player) {
-        messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId,
-                GameMessage.playerJoined(player));
+        sendEvent(gameId, GameMessage.playerJoined(player));
     }
 
     /**
      * Broadcast player left notification.
      */
     public void broadcastPlayerLeft(String gameId, String playerName) {
-        messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId,
-                GameMessage.playerLeft(playerName));
+        sendEvent(gameId, GameMessage.playerLeft(playerName));
     }
 
     /**
      * Broadcast game started notification.
      */
     public void broadcastGameStarted(String gameId) {
-        GameStateDTO gameState = gameService.getGameState(gameId);
-        messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId,
-                GameMessage.gameStarted(gameState));
+        broadcasts.sendEvent(gameId, () -> {
+            GameStateCache.Snapshot snapshot = gameService.getGameStateSnapshot(gameId);
+            deltaTracker.publishSnapshot(gameId, snapshot.state(),
+                    state -> sendState(gameId, GameMessage.GAME_STARTED, snapshot));
+        });
     }
 
     /**
      * Broadcast game over notification.
      */
     public void broadcastGameOver(String gameId, String winnerName) {
-        messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId,
-                GameMessage.gameOver(winnerName));
+        broadcasts.sendEvent(gameId, () -> {
+            send(gameId, GameMessage.gameOver(winnerName));
+            deltaTracker.forget(gameId);
+        });
     }
 
     /**
@@ -123,8 +157,7 @@ public class GameWebSocketHandler {
      */
     public void broadcastError(String gameId, String playerId, String error) {
         GameErrorMessage msg = new GameErrorMessage(playerId, error);
-        messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId,
-                GameMessage.error(msg));
+        send(gameId, GameMessage.error(msg));
     }
 
     /**
@@ -135,6 +168,41 @@ public class GameWebSocketHandler {
         messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId + "/chat", chat);
     }
 
+    private void sendEvent(String gameId, GameMessage message) {
+        broadcasts.sendEvent(gameId, () -> send(gameId, message));
+    }
+
+    private void send(String gameId, GameMessage message) {
+        long started = System.nanoTime();
+        messagingTemplate.convertAndSend(TOPIC_PREFIX + gameId, message);
+        long ended = System.nanoTime();
+        gameMetrics.recordBroadcast(message.getType(), ended - started, -1);
+        gameTracer.record(gameId, GameTracer.BROADCAST, message.getType(), started, ended, null);
+    }
+
+    /**
+     * Send a whole game state as a {@link GameMessage} of the given type, splicing in the
+     * cached JSON instead of serializing the state again for every broadcast.
+     */
+    private void sendState(String gameId, String type, GameStateCache.Snapshot snapshot) {
+        long started = System.nanoTime();
+        byte[] head = ("{\"type\":\"" + type + "\",\"payload\":").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = (",\"timestamp\":" + System.currentTimeMillis() + "}").getBytes(StandardCharsets.UTF_8);
+        byte[] json = snapshot.json();
+        byte[] body = new byte[head.length + json.length + tail.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        System.arraycopy(json, 0, body, head.length, json.length);
+        System.arraycopy(tail, 0, body, head.length + json.length, tail.length);
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(TOPIC_PREFIX + gameId, MessageBuilder.createMessage(body, headers.getMessageHeaders()));
+        long ended = System.nanoTime();
+        gameMetrics.recordBroadcast(type, ended - started, body.length);
+        gameTracer.record(gameId, GameTracer.BROADCAST, type, started, ended, body.length + " bytes");
+    }
+
     /**
      * Generic game message wrapper.
      */
@@ -143,18 +211,29 @@ public class GameWebSocketHandler {
     @AllArgsConstructor
     @Builder
     public static class GameMessage {
+        static final String GAME_UPDATE = "GAME_UPDATE";
+        static final String GAME_STARTED = "GAME_STARTED";
+
         private String type;
         private Object payload;
         private long timestamp;
 
         public static GameMessage gameUpdate(GameStateDTO state) {
             return GameMessage.builder()
-                    .type("GAME_UPDATE")
+                    .type(GAME_UPDATE)
                     .payload(state)
                     .timestamp(System.currentTimeMillis())
                     .build();
         }
 
+        public static GameMessage gameDelta(GameDeltaDTO delta) {
+            return GameMessage.builder()
+                    .type("GAME_DELTA")
+                    .payload(delta)
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+        }
+
         public static GameMessage attackResult(AttackResultMessage result) {
             return GameMessage.builder()
                     .type("ATTACK_RESULT")
@@ -163,6 +242,14 @@ public class GameWebSocketHandler {
                     .build();
         }
 
+        public static GameMessage blitzResult(BlitzResult result) {
+            return GameMessage.builder()
+                    .type("BLITZ_RESULT")
+                    .payload(result)
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+        }
+
         public static GameMessage playerJoined(PlayerDTO player) {
             return GameMessage.builder()
                     .type("PLAYER_JOINED")
@@ -181,7 +268,7 @@ public class GameWebSocketHandler {
 
         public static GameMessage gameStarted(GameStateDTO state) {
             return GameMessage.builder()
-                    .type("GAME_STARTED")
+                    .type(GAME_STARTED)
                     .payload(state)
                     .timestamp(System.currentTimeMillis())
                     .build();
@@ -0,0 +1,82 @@
+package com.risk.websocket;
+
+import com.risk.config.MapLoader;
+import com.risk.dto.GamePageDTO;
+import com.risk.dto.GameSummaryDTO;
+import com.risk.repository.GameListing;
+import com.risk.service.GameService;
+import com.risk.service.LobbyEvent;
+import com.risk.websocket.GameWebSocketHandler.GameMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Change feed of the game lobby on {@code /topic/lobby}.
+ * <p>
+ * A client subscribes to the topic, then to {@code /app/lobby} for a LOBBY_SNAPSHOT of the
+ * newest games of every status, and from then on keeps its list up to date from the
+ * GAME_CREATED, PLAYER_COUNT_CHANGED, GAME_STARTED and GAME_FINISHED messages, each carrying
+ * the game's current summary, so started games stay listed for spectators. Events are sent
+ * once the transaction that raised them commits, so the lobby is never told about a game
+ * that was rolled back, and browsing clients cost no queries.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LobbyFeed {
+
+    static final String TOPIC = "/topic/lobby";
+    static final String LOBBY_SNAPSHOT = "LOBBY_SNAPSHOT";
+    static final int SNAPSHOT_SIZE = 50;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GameService gameService;
+    private final MapLoader mapLoader;
+
+    /**
+     * The newest games of every status, as one page of at most {@value #SNAPSHOT_SIZE}.
+     */
+    public GameMessage snapshot() {
+        Page<GameListing> listings = gameService.listGames(null, null, null, false, 0, SNAPSHOT_SIZE);
+        GamePageDTO page = GamePageDTO.builder()
+                .games(listings.getContent().stream().map(this::toGameSummary).toList())
+                .page(listings.getNumber())
+                .size(listings.getSize())
+                .totalElements(listings.getTotalElements())
+                .totalPages(listings.getTotalPages())
+                .build();
+        return message(LOBBY_SNAPSHOT, page);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLobbyEvent(LobbyEvent event) {
+        String type = event.type().name();
+        try {
+            messagingTemplate.convertAndSend(TOPIC, message(type, toGameSummary(event.game())));
+        } catch (RuntimeException e) {
+            log.error("Error sending {} for game {} to the lobby", type, event.game().id(), e);
+        }
+    }
+
+    private static GameMessage message(String type, Object payload) {
+        return GameMessage.builder()
+                .type(type)
+                .payload(payload)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    private GameSummaryDTO toGameSummary(GameListing game) {
+        String mapName = "";
+        try {
+            mapName = mapLoader.getMap(game.mapId()).name();
+        } catch (IllegalArgumentException e) {
+            log.debug("Map not found for game {}: {}", game.id(), e.getMessage());
+        }
+        return GameSummaryDTO.fromListing(game, mapName);
+    }
+}
@@ -24,6 +24,8 @@ class RiskAIGame {
         this.bypassLogBuffer = false;
         this.ownAttackTimeout = null;
         this.lastReinforcementLogEntry = null;
+        this.stateVersion = 0;
+        this.resyncing = false;
         
         this.init();
     }
@@ -44,6 +46,7 @@ class RiskAIGame {
                 return;
             }
             this.gameState = await response.json();
+            this.stateVersion = this.gameState.stateVersion || 0;
             console.log('Game state loaded:', this.gameState);
         } catch (error) {
             console.error('Error loading game state:', error);
@@ -77,17 +80,11 @@ class RiskAIGame {
         switch (message.type) {
             case 'GAME_UPDATE':
             case 'GAME_STARTED':
-                this.logCPUActions(message.payload);
-                // Flush pending human fortify before turn/phase headers
-                if (this.pendingFortifyLog) {
-                    const pf = this.pendingFortifyLog;
-                    this.logFortify(pf.playerName, pf.fromName, pf.toName, pf.armies);
-                    this.pendingFortifyLog = null;
-                }
-                this.logPhaseChanges(message.payload);
-                this.gameState = message.payload;
-                this.updateUI();
-                this.renderMap();
+                this.applyState(message.payload, null);
+                break;
+                
+            case 'GAME_DELTA':
+                this.applyDelta(message.payload);
                 break;
             case 'ERROR':
                 if (message.payload?.playerId === this.playerId) {
@@ -99,6 +96,10 @@ class RiskAIGame {
                 this.showAttackResult(message.payload);
                 break;
                 
+            case 'BLITZ_RESULT':
+                this.showAttackResult(this.summarizeBlitz(message.payload));
+                break;
+                
             case 'CPU_FORTIFY':
                 this.showCpuFortifyInline(message.payload);
                 break;
@@ -117,6 +118,76 @@ class RiskAIGame {
         }
     }
     
+    /**
+     * Make newState the current state. Only the territories in changedKeys are redrawn;
+     * pass null to redraw the whole map.
+     */
+    applyState(newState, changedKeys) {
+        this.logCPUActions(newState);
+        // Flush pending human fortify before turn/phase headers
+        if (this.pendingFortifyLog) {
+            const pf = this.pendingFortifyLog;
+            this.logFortify(pf.playerName, pf.fromName, pf.toName, pf.armies);
+            this.pendingFortifyLog = null;
+        }
+        this.logPhaseChanges(newState);
+        this.gameState = newState;
+        this.stateVersion = newState.stateVersion || 0;
+        this.updateUI();
+        if (changedKeys) {
+            this.updateTerritories(changedKeys);
+        } else {
+            this.renderMap();
+        }
+    }
+    
+    /**
+     * Apply a GAME_DELTA on top of the current state; reload the full state if one was missed.
+     */
+    applyDelta(delta) {
+        if (this.resyncing || !this.gameState || delta.stateVersion <= this.stateVersion) return;
+        if (delta.baseVersion > this.stateVersion) {
+            console.log(`State version gap (have ${this.stateVersion}, delta from ${delta.baseVersion}), reloading`);
+            this.resync();
+            return;
+        }
+        
+        const changedTerritories = new Map(delta.territories.map(t => [t.territoryKey, t]));
+        const changedPlayers = new Map(delta.players.map(p => [p.id, p]));
+        const newState = {
+            ...this.gameState,
+            stateVersion: delta.stateVersion,
+            status: delta.status,
+            currentPhase: delta.currentPhase,
+            turnNumber: delta.turnNumber,
+            reinforcementsRemaining: delta.reinforcementsRemaining,
+            currentPlayer: delta.currentPlayer,
+            winnerId: delta.winnerId,
+            winnerName: delta.winnerName,
+            players: this.gameState.players.map(p => changedPlayers.get(p.id) || p),
+            territories: this.gameState.territories.map(t => {
+                const change = changedTerritories.get(t.territoryKey);
+                return change ? { ...t, ...change } : t;
+            })
+        };
+        this.applyState(newState, [...changedTerritories.keys()]);
+    }
+    
+    async resync() {
+        this.resyncing = true;
+        try {
+            await this.loadGameState();
+            this.updateUI();
+            this.renderMap();
+        } finally {
+            this.resyncing = false;
+        }
+    }
+    
+    findTerritory(territoryKey) {
+        return this.gameState.territories.find(t => t.territoryKey === territoryKey);
+    }
+    
     setupEventListeners() {
         // Start game button
         document.getElementById('start-game-btn')?.addEventListener('click', () => this.startGame());
@@ -130,6 +201,9 @@ class RiskAIGame {
         // Attack button
         document.getElementById('attack-btn')?.addEventListener('click', () => this.attack());
         
+        // Blitz button
+        document.getElementById('blitz-btn')?.addEventListener('click', () => this.blitz());
+        
         // End attack button
         document.getElementById('end-attack-btn')?.addEventListener('click', () => this.endAttack());
         
@@ -230,12 +304,32 @@ class RiskAIGame {
         group.appendChild(text);
         group.appendChild(nameText);
         
-        // Click handler
-        group.addEventListener('click', () => this.onTerritoryClick(territory));
+        // Click handler — look the territory up again, deltas replace the state objects
+        group.addEventListener('click', () =>
+            this.onTerritoryClick(this.findTerritory(territory.territoryKey) || territory));
         
         svg.appendChild(group);
     }
     
+    /**
+     * Redraw owner and armies of the given territories in place.
+     */
+    updateTerritories(territoryKeys) {
+        for (const key of territoryKeys) {
+            const territory = this.findTerritory(key);
+            const elem = document.querySelector(`[data-key="${key}"]`);
+            if (!territory || !elem) {
+                this.renderMap();
+                return;
+            }
+            const circle = elem.querySelector('circle');
+            circle.setAttribute('stroke', territory.ownerColor || '#555');
+            circle.setAttribute('stroke-width', territory.ownerId ? 4 : 2);
+            elem.querySelector('.territory-armies').textContent = territory.armies;
+        }
+        this.applyBattleHighlights();
+    }
+    
     abbreviateName(name) {
         if (name.length <= 10) return name;
         return name.split(' ').map(w => w[0]).join('');
@@ -337,6 +431,7 @@ class RiskAIGame {
                     this.targetTerritory = territory;
                     this.highlightTarget(territory);
                     document.getElementById('attack-btn').disabled = false;
+                    document.getElementById('blitz-btn').disabled = false;
                 } else if (territory.ownerId === this.playerId) {
                     // Reselect attacker
                     this.clearSelection();
@@ -406,6 +501,7 @@ class RiskAIGame {
         
         document.getElementById('place-armies-btn').disabled = true;
         document.getElementById('attack-btn').disabled = true;
+        document.getElementById('blitz-btn').disabled = true;
         document.getElementById('fortify-btn').disabled = true;
     }
     
@@ -677,6 +773,48 @@ class RiskAIGame {
         }
     }
     
+    async blitz() {
+        if (!this.selectedTerritory || !this.targetTerritory) return;
+        
+        try {
+            const response = await fetch(`/api/games/${this.gameId}/blitz?` + new URLSearchParams({
+                playerId: this.playerId,
+                fromTerritoryKey: this.selectedTerritory.territoryKey,
+                toTerritoryKey: this.targetTerritory.territoryKey
+            }), { method: 'POST' });
+            
+            if (response.ok) {
+                // Summary arrives via WebSocket BLITZ_RESULT for all players
+                await response.json();
+            } else {
+                const body = await response.json().catch(() => null);
+                this.showNotification(body?.error || 'Blitz not allowed', 'danger');
+            }
+            
+            this.clearSelection();
+        } catch (error) {
+            this.showNotification('Connection error during blitz', 'danger');
+        }
+    }
+    
+    /**
+     * Shape a blitz summary like a single attack result: total losses, dice of the last round.
+     */
+    summarizeBlitz(blitz) {
+        const last = blitz.rounds[blitz.rounds.length - 1] || { attackerDice: [], defenderDice: [] };
+        return {
+            fromTerritory: blitz.fromTerritoryKey,
+            toTerritory: blitz.toTerritoryKey,
+            attackerDice: last.attackerDice,
+            defenderDice: last.defenderDice,
+            attackerLosses: blitz.attackerLosses,
+            defenderLosses: blitz.defenderLosses,
+            conquered: blitz.conquered,
+            eliminatedPlayer: blitz.eliminatedPlayer,
+            rounds: blitz.rounds.length
+        };
+    }
+    
     async endAttack() {
         try {
             const response = await fetch(`/api/games/${this.gameId}/endAttack?playerId=${this.playerId}`, { 
@@ -981,6 +1119,9 @@ class RiskAIGame {
      */
     logAttack(fromName, toName, result) {
         let text = `⚔️ ${fromName} → ${toName} (−${result.attackerLosses} / −${result.defenderLosses})`;
+        if (result.rounds > 1) {
+            text += ` in ${result.rounds} rounds`;
+        }
         this.addLogEntry(text, 'attack');
         if (result.conquered) {
             this.addLogEntry(`🏴 ${toName} conquered!`, 'conquered');
@@ -0,0 +1,62 @@
+package com.risk.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for AsyncConfig — CPU turns on virtual threads.
+ */
+class AsyncConfigTest {
+
+    private final Executor executor = new AsyncConfig().taskExecutor();
+
+    @Test
+    @DisplayName("should run tasks on named virtual threads")
+    void shouldUseVirtualThreads() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Thread[] ran = new Thread[1];
+
+        executor.execute(() -> {
+            ran[0] = Thread.currentThread();
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(ran[0].isVirtual());
+        assertTrue(ran[0].getName().startsWith("CPU-"));
+    }
+
+    @Test
+    @DisplayName("should accept far more sleeping turns than the old pool and queue allowed")
+    void shouldNotRejectConcurrentSleepingTasks() throws InterruptedException {
+        int turns = 1_000;
+        CountDownLatch started = new CountDownLatch(turns);
+        CountDownLatch release = new CountDownLatch(1);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < turns; i++) {
+            executor.execute(() -> {
+                threads.add(Thread.currentThread());
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(turns, threads.size());
+        release.countDown();
+    }
+}
@@ -0,0 +1,119 @@
+package com.risk.config;
+
+import com.risk.model.Territory;
+import tools.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MapGraph — compiled adjacency, continent tables and territory binding.
+ */
+class MapGraphTest {
+
+    private MapDefinition smallMap;
+
+    @BeforeEach
+    void setUp() {
+        // a - b - c, with a and b in "north", c alone in "south"
+        smallMap = new MapDefinition("small", "Small", "d", "a", 2, 4, List.of(
+                new AreaDefinition("north", "North", 2, "#fff", List.of(
+                        new TerritoryDefinition("a", "A", List.of("b"), 0, 0),
+                        new TerritoryDefinition("b", "B", List.of("a", "c"), 0, 0))),
+                new AreaDefinition("south", "South", 1, "#000", List.of(
+                        new TerritoryDefinition("c", "C", List.of("b"), 0, 0)))));
+    }
+
+    @Test
+    @DisplayName("compile() should assign dense indices in declaration order")
+    void shouldAssignDenseIndices() {
+        MapGraph graph = MapGraph.compile(smallMap);
+
+        assertEquals(3, graph.size());
+        assertEquals(0, graph.indexOf("a"));
+        assertEquals(2, graph.indexOf("c"));
+        assertEquals(-1, graph.indexOf("missing"));
+        assertEquals("b", graph.keyOf(1));
+    }
+
+    @Test
+    @DisplayName("compile() should build adjacency exactly as declared")
+    void shouldBuildAdjacency() {
+        MapGraph graph = MapGraph.compile(smallMap);
+        int a = graph.indexOf("a");
+        int b = graph.indexOf("b");
+        int c = graph.indexOf("c");
+
+        assertEquals(2, graph.degree(b));
+        assertEquals(a, graph.neighbor(b, 0));
+        assertEquals(c, graph.neighbor(b, 1));
+        assertTrue(graph.isAdjacent(a, b));
+        assertFalse(graph.isAdjacent(a, c));
+        assertFalse(graph.isAdjacent(a, -1));
+    }
+
+    @Test
+    @DisplayName("compile() should precompute continent membership and borders")
+    void shouldPrecomputeContinents() {
+        MapGraph graph = MapGraph.compile(smallMap);
+
+        assertEquals(2, graph.continentCount());
+        assertEquals("north", graph.continentKey(0));
+        assertEquals(2, graph.continentBonus(0));
+        assertEquals(0, graph.continentOf(graph.indexOf("b")));
+        assertArrayEquals(new int[]{0, 1}, graph.continentMembers(0));
+        assertArrayEquals(new int[]{graph.indexOf("b")}, graph.continentBorders(0));
+        assertArrayEquals(new int[]{graph.indexOf("c")}, graph.continentBorders(1));
+    }
+
+    @Test
+    @DisplayName("compile() should reject unknown neighbor keys")
+    void shouldRejectUnknownNeighbor() {
+        MapDefinition broken = new MapDefinition("broken", "Broken", "d", "a", 2, 4, List.of(
+                new AreaDefinition("x", "X", 1, "#fff", List.of(
+                        new TerritoryDefinition("a", "A", List.of("nowhere"), 0, 0)))));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> MapGraph.compile(broken));
+        assertTrue(ex.getMessage().contains("nowhere"));
+    }
+
+    @Test
+    @DisplayName("attach() should bind a territory to shared adjacency")
+    void shouldAttachTerritory() {
+        MapGraph graph = MapGraph.compile(smallMap);
+        Territory a = Territory.builder().territoryKey("a").build();
+        Territory b = Territory.builder().territoryKey("b").build();
+        Territory c = Territory.builder().territoryKey("c").build();
+        graph.attach(a);
+        graph.attach(b);
+        graph.attach(c);
+
+        assertTrue(a.isNeighborOf(b));
+        assertFalse(a.isNeighborOf(c));
+        assertTrue(b.isNeighborOf("c"));
+        assertSame(graph.neighborKeysOf(1), b.getNeighborKeys());
+        assertThrows(UnsupportedOperationException.class, () -> b.getNeighborKeys().add("x"));
+    }
+
+    @Test
+    @DisplayName("MapLoader should compile every built-in map")
+    void shouldCompileBuiltInMaps() {
+        MapLoader loader = new MapLoader(new ObjectMapper());
+        loader.loadMaps();
+
+        for (MapDefinition map : loader.getAvailableMaps()) {
+            MapGraph graph = loader.getGraph(map.id());
+            int territories = map.areas().stream().mapToInt(a -> a.territories().size()).sum();
+            assertEquals(territories, graph.size(), map.id());
+            int members = 0;
+            for (int c = 0; c < graph.continentCount(); c++) {
+                members += graph.continentMembers(c).length;
+            }
+            assertEquals(territories, members, map.id());
+        }
+        assertThrows(IllegalArgumentException.class, () -> loader.getGraph("nonexistent-map"));
+    }
+}
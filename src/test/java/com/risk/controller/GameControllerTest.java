@@ -1,5 +1,6 @@
 package com.risk.controller;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -7,10 +8,13 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -25,12 +29,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.risk.config.MapDefinition;
 import com.risk.config.MapLoader;
+import com.risk.dto.AttackOddsDTO;
 import com.risk.dto.AttackResult;
+import com.risk.dto.BlitzResult;
 import com.risk.dto.CreateGameRequest;
+import com.risk.dto.GamePageDTO;
 import com.risk.dto.GameStateDTO;
 import com.risk.dto.GameSummaryDTO;
 import com.risk.dto.JoinGameRequest;
@@ -46,8 +56,11 @@ import com.risk.model.Player;
 import com.risk.model.PlayerColor;
 import com.risk.model.PlayerType;
 import com.risk.model.Territory;
+import com.risk.repository.GameListing;
 import com.risk.service.CPUPlayerService;
 import com.risk.service.GameService;
+import com.risk.service.GameStateCache;
+import com.risk.service.ReplayRecording;
 import com.risk.websocket.GameWebSocketHandler;
 
 /**
@@ -154,38 +167,55 @@ class GameControllerTest {
         }
     }
 
+    private GameListing listing(GameStatus status, int playerCount, int maxPlayers, String mapId, String hostName) {
+        return new GameListing("game-1", "Test Game", mapId, status, GameMode.CLASSIC,
+                playerCount, maxPlayers, 2, LocalDateTime.now(), hostName);
+    }
+
+    private void returnLobby(boolean joinableOnly, GameListing... listings) {
+        when(gameService.listGames(null, null, null, joinableOnly, 0, 20))
+                .thenReturn(new PageImpl<>(List.of(listings), PageRequest.of(0, 20), 41));
+    }
+
+    private void stubClassicWorld() {
+        MapDefinition mapDef = new MapDefinition("classic-world", "Classic World",
+                "desc", "Author", 2, 6, List.of());
+        when(mapLoader.getMap("classic-world")).thenReturn(mapDef);
+    }
+
     @Nested
     @DisplayName("GET /api/games")
     class GetGamesTests {
 
         @Test
-        @DisplayName("should return all games when joinableOnly is false")
+        @DisplayName("should return one page of the lobby with its totals")
         void shouldReturnAllGames() {
-            MapDefinition mapDef = new MapDefinition("classic-world", "Classic World",
-                    "desc", "Author", 2, 6, List.of());
-            when(mapLoader.getMap("classic-world")).thenReturn(mapDef);
-            when(gameService.getAllGames()).thenReturn(List.of(game));
+            stubClassicWorld();
+            returnLobby(false, listing(GameStatus.WAITING_FOR_PLAYERS, 1, 6, "classic-world", "Alice"));
 
-            ResponseEntity<List<GameSummaryDTO>> response = controller.getGames(false);
+            ResponseEntity<GamePageDTO> response = controller.getGames(false, null, null, null, 0, 20);
 
             assertEquals(200, response.getStatusCode().value());
-            assertEquals(1, response.getBody().size());
-            assertEquals("game-1", response.getBody().get(0).getId());
+            assertEquals(1, response.getBody().getGames().size());
+            assertEquals("game-1", response.getBody().getGames().get(0).getId());
+            assertEquals(0, response.getBody().getPage());
+            assertEquals(20, response.getBody().getSize());
+            assertEquals(41, response.getBody().getTotalElements());
+            assertEquals(3, response.getBody().getTotalPages());
         }
 
         @Test
-        @DisplayName("should return only joinable games when joinableOnly is true")
-        void shouldReturnJoinableGames() {
-            MapDefinition mapDef = new MapDefinition("classic-world", "Classic World",
-                    "desc", "Author", 2, 6, List.of());
-            when(mapLoader.getMap("classic-world")).thenReturn(mapDef);
-            when(gameService.getJoinableGames()).thenReturn(List.of(game));
+        @DisplayName("should pass filters and paging through to the service")
+        void shouldPassFilters() {
+            when(gameService.listGames(GameStatus.IN_PROGRESS, "europe", GameMode.DOMINATION, true, 2, 10))
+                    .thenReturn(new PageImpl<>(List.of(), PageRequest.of(2, 10), 20));
 
-            ResponseEntity<List<GameSummaryDTO>> response = controller.getGames(true);
+            ResponseEntity<GamePageDTO> response = controller.getGames(
+                    true, GameStatus.IN_PROGRESS, "europe", GameMode.DOMINATION, 2, 10);
 
-            assertEquals(200, response.getStatusCode().value());
-            verify(gameService).getJoinableGames();
-            verify(gameService, never()).getAllGames();
+            assertTrue(response.getBody().getGames().isEmpty());
+            assertEquals(2, response.getBody().getPage());
+            assertEquals(20, response.getBody().getTotalElements());
         }
     }
 
@@ -194,16 +224,37 @@ class GameControllerTest {
     class GetGameTests {
 
         @Test
-        @DisplayName("should return game state for given id")
+        @DisplayName("should return the cached JSON of the game state")
         void shouldReturnGameState() {
             GameStateDTO gameState = new GameStateDTO();
             gameState.setGameId("game-1");
-            when(gameService.getGameState("game-1")).thenReturn(gameState);
+            byte[] json = "{\"gameId\":\"game-1\"}".getBytes(StandardCharsets.UTF_8);
+            when(gameService.getGameStateSnapshot("game-1"))
+                    .thenReturn(new GameStateCache.Snapshot(7, gameState, json));
 
-            ResponseEntity<GameStateDTO> response = controller.getGame("game-1");
+            ResponseEntity<byte[]> response = controller.getGame("game-1");
 
             assertEquals(200, response.getStatusCode().value());
-            assertEquals("game-1", response.getBody().getGameId());
+            assertArrayEquals(json, response.getBody());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /{gameId}/replay")
+    class GetReplayTests {
+
+        @Test
+        @DisplayName("should seek before streaming and write the playback to the response")
+        void shouldStreamPlayback() throws Exception {
+            ReplayRecording.Playback playback = mock(ReplayRecording.Playback.class);
+            when(gameService.getReplay("game-1", 80)).thenReturn(playback);
+
+            ResponseEntity<StreamingResponseBody> response = controller.getReplay("game-1", 80);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            response.getBody().writeTo(out);
+
+            assertEquals(200, response.getStatusCode().value());
+            verify(playback).writeTo(out);
         }
     }
 
@@ -377,6 +428,48 @@ class GameControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /{gameId}/blitz")
+    class BlitzTests {
+
+        @Test
+        @DisplayName("should return the summary and broadcast it once with one game update")
+        void shouldBlitzAndBroadcastOnce() {
+            BlitzResult result = BlitzResult.builder()
+                    .fromTerritoryKey("alaska").toTerritoryKey("kamchatka")
+                    .rounds(List.of(new BlitzResult.Round(new int[]{6, 5, 1}, new int[]{4, 2}, 1, 1),
+                            new BlitzResult.Round(new int[]{6, 3}, new int[]{2}, 0, 1)))
+                    .attackerLosses(1).defenderLosses(2).conquered(true)
+                    .build();
+            when(gameService.blitz("game-1", "player-1", "alaska", "kamchatka", 1)).thenReturn(result);
+
+            ResponseEntity<BlitzResult> response = controller.blitz("game-1", "player-1", "alaska", "kamchatka", 1);
+
+            assertEquals(result, response.getBody());
+            verify(webSocketHandler).broadcastBlitzResult("game-1", result);
+            verify(webSocketHandler).broadcastGameUpdate("game-1");
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /{gameId}/attack-odds")
+    class AttackOddsTests {
+
+        @Test
+        @DisplayName("should return the odds from the game service")
+        void shouldReturnOdds() {
+            AttackOddsDTO odds = AttackOddsDTO.builder()
+                    .fromTerritoryKey("alaska").toTerritoryKey("kamchatka")
+                    .attackerArmies(6).defenderArmies(2).winProbability(0.89).exact(true)
+                    .build();
+            when(gameService.getAttackOdds("game-1", "alaska", "kamchatka")).thenReturn(odds);
+
+            ResponseEntity<AttackOddsDTO> response = controller.getAttackOdds("game-1", "alaska", "kamchatka");
+
+            assertEquals(odds, response.getBody());
+        }
+    }
+
     @Nested
     @DisplayName("POST /{gameId}/endAttack")
     class EndAttackTests {
@@ -483,48 +576,34 @@ class GameControllerTest {
         @DisplayName("should handle unknown map gracefully (swallow exception)")
         void shouldHandleUnknownMapGracefully() {
             when(mapLoader.getMap("unknown-map")).thenThrow(new IllegalArgumentException("Unknown map"));
-            game.setMapId("unknown-map");
-
-            when(gameService.getAllGames()).thenReturn(List.of(game));
+            returnLobby(false, listing(GameStatus.WAITING_FOR_PLAYERS, 1, 6, "unknown-map", "Alice"));
 
-            ResponseEntity<List<GameSummaryDTO>> response = controller.getGames(false);
+            ResponseEntity<GamePageDTO> response = controller.getGames(false, null, null, null, 0, 20);
 
             assertEquals(200, response.getStatusCode().value());
-            assertEquals("", response.getBody().get(0).getMapName());
+            assertEquals("", response.getBody().getGames().get(0).getMapName());
         }
 
         @Test
         @DisplayName("should show Unknown host when game has no players")
         void shouldShowUnknownHostWhenNoPlayers() {
-            Game emptyGame = Game.builder()
-                    .id("game-2").name("Empty").status(GameStatus.WAITING_FOR_PLAYERS)
-                    .currentPhase(GamePhase.SETUP).currentPlayerIndex(0).turnNumber(1)
-                    .maxPlayers(6).minPlayers(2).mapId("classic-world")
-                    .gameMode(GameMode.CLASSIC).createdAt(LocalDateTime.now())
-                    .players(new ArrayList<>()).territories(new HashSet<>())
-                    .build();
+            stubClassicWorld();
+            returnLobby(false, listing(GameStatus.WAITING_FOR_PLAYERS, 0, 6, "classic-world", null));
 
-            MapDefinition mapDef = new MapDefinition("classic-world", "Classic World",
-                    "desc", "Author", 2, 6, List.of());
-            when(mapLoader.getMap("classic-world")).thenReturn(mapDef);
-            when(gameService.getAllGames()).thenReturn(List.of(emptyGame));
-
-            ResponseEntity<List<GameSummaryDTO>> response = controller.getGames(false);
+            ResponseEntity<GamePageDTO> response = controller.getGames(false, null, null, null, 0, 20);
 
-            assertEquals("Unknown", response.getBody().get(0).getHostName());
+            assertEquals("Unknown", response.getBody().getGames().get(0).getHostName());
         }
 
         @Test
         @DisplayName("should populate all summary fields correctly")
         void shouldPopulateAllSummaryFields() {
-            MapDefinition mapDef = new MapDefinition("classic-world", "Classic World",
-                    "desc", "Author", 2, 6, List.of());
-            when(mapLoader.getMap("classic-world")).thenReturn(mapDef);
-            when(gameService.getAllGames()).thenReturn(List.of(game));
+            stubClassicWorld();
+            returnLobby(false, listing(GameStatus.WAITING_FOR_PLAYERS, 1, 6, "classic-world", "Alice"));
 
-            ResponseEntity<List<GameSummaryDTO>> response = controller.getGames(false);
+            ResponseEntity<GamePageDTO> response = controller.getGames(false, null, null, null, 0, 20);
 
-            GameSummaryDTO summary = response.getBody().get(0);
+            GameSummaryDTO summary = response.getBody().getGames().get(0);
             assertEquals("game-1", summary.getId());
             assertEquals("Test Game", summary.getName());
             assertEquals("classic-world", summary.getMapId());
@@ -542,29 +621,23 @@ class GameControllerTest {
         @Test
         @DisplayName("should mark canJoin=false when game is full")
         void shouldNotBeJoinableWhenFull() {
-            game.setMaxPlayers(1); // Only 1 max, already has 1 player = full
-            MapDefinition mapDef = new MapDefinition("classic-world", "Classic World",
-                    "desc", "Author", 2, 6, List.of());
-            when(mapLoader.getMap("classic-world")).thenReturn(mapDef);
-            when(gameService.getAllGames()).thenReturn(List.of(game));
+            stubClassicWorld();
+            returnLobby(false, listing(GameStatus.WAITING_FOR_PLAYERS, 1, 1, "classic-world", "Alice"));
 
-            ResponseEntity<List<GameSummaryDTO>> response = controller.getGames(false);
+            ResponseEntity<GamePageDTO> response = controller.getGames(false, null, null, null, 0, 20);
 
-            assertFalse(response.getBody().get(0).isCanJoin());
+            assertFalse(response.getBody().getGames().get(0).isCanJoin());
         }
 
         @Test
         @DisplayName("should mark canJoin=false when game is IN_PROGRESS")
         void shouldNotBeJoinableWhenInProgress() {
-            game.setStatus(GameStatus.IN_PROGRESS);
-            MapDefinition mapDef = new MapDefinition("classic-world", "Classic World",
-                    "desc", "Author", 2, 6, List.of());
-            when(mapLoader.getMap("classic-world")).thenReturn(mapDef);
-            when(gameService.getAllGames()).thenReturn(List.of(game));
+            stubClassicWorld();
+            returnLobby(false, listing(GameStatus.IN_PROGRESS, 1, 6, "classic-world", "Alice"));
 
-            ResponseEntity<List<GameSummaryDTO>> response = controller.getGames(false);
+            ResponseEntity<GamePageDTO> response = controller.getGames(false, null, null, null, 0, 20);
 
-            assertFalse(response.getBody().get(0).isCanJoin());
+            assertFalse(response.getBody().getGames().get(0).isCanJoin());
         }
     }
 
@@ -19,6 +19,7 @@ class CPUStrategyFactoryTest {
     @Mock private EasyCPUStrategy easyStrategy;
     @Mock private MediumCPUStrategy mediumStrategy;
     @Mock private HardCPUStrategy hardStrategy;
+    @Mock private ExpertCPUStrategy expertStrategy;
 
     @InjectMocks
     private CPUStrategyFactory factory;
@@ -45,10 +46,10 @@ class CPUStrategyFactoryTest {
     }
 
     @Test
-    @DisplayName("should return hard strategy for EXPERT difficulty (BUG 7 - fallback)")
-    void shouldReturnHardForExpert() {
+    @DisplayName("should return expert strategy for EXPERT difficulty")
+    void shouldReturnExpertForExpert() {
         CPUStrategy result = factory.getStrategy(CPUDifficulty.EXPERT);
-        assertSame(hardStrategy, result, "EXPERT should fall back to HARD strategy");
+        assertSame(expertStrategy, result);
     }
 
     @Test
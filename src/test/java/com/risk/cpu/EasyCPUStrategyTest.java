@@ -1,13 +1,18 @@
 package com.risk.cpu;
 
+import com.risk.config.MapLoader;
 import com.risk.model.*;
+import com.risk.repository.ContinentRepository;
+import com.risk.repository.GameRepository;
+import com.risk.repository.PlayerRepository;
 import com.risk.repository.TerritoryRepository;
+import com.risk.service.GameQueryService;
+import com.risk.service.LiveGameRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -22,10 +27,12 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class EasyCPUStrategyTest {
 
-    @Mock
-    private TerritoryRepository territoryRepository;
+    @Mock private GameRepository gameRepository;
+    @Mock private PlayerRepository playerRepository;
+    @Mock private TerritoryRepository territoryRepository;
+    @Mock private ContinentRepository continentRepository;
+    @Mock private MapLoader mapLoader;
 
-    @InjectMocks
     private EasyCPUStrategy strategy;
 
     private Game game;
@@ -34,6 +41,9 @@ class EasyCPUStrategyTest {
 
     @BeforeEach
     void setUp() {
+        strategy = new EasyCPUStrategy(new GameQueryService(gameRepository, territoryRepository, continentRepository,
+                new LiveGameRegistry(gameRepository, territoryRepository, playerRepository), mapLoader));
+
         cpuPlayer = Player.builder()
                 .id("cpu-1")
                 .name("CPU Easy")
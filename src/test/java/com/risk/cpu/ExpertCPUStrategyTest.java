@@ -0,0 +1,219 @@
+package com.risk.cpu;
+
+import com.risk.config.AreaDefinition;
+import com.risk.config.MapDefinition;
+import com.risk.config.MapGraph;
+import com.risk.config.TerritoryDefinition;
+import com.risk.model.*;
+import com.risk.service.GameQueryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExpertCPUStrategy — MCTS over a detached board, with Hard fallback.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExpertCPUStrategyTest {
+
+    @Mock private GameQueryService gameQueryService;
+    @Mock private HardCPUStrategy hardStrategy;
+
+    private ExpertCPUStrategy strategy;
+
+    private Game game;
+    private Player cpuPlayer;
+    private Player enemy;
+    private MapGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new ExpertCPUStrategy(gameQueryService, hardStrategy, 50, 1000, 2);
+
+        cpuPlayer = Player.builder()
+                .id("cpu-1").name("CPU Expert").type(PlayerType.CPU)
+                .cpuDifficulty(CPUDifficulty.EXPERT).color(PlayerColor.RED).turnOrder(0).build();
+        enemy = Player.builder()
+                .id("enemy-1").name("Enemy").type(PlayerType.HUMAN)
+                .color(PlayerColor.BLUE).turnOrder(1).build();
+
+        game = Game.builder()
+                .id("game-1").name("Expert Test").status(GameStatus.IN_PROGRESS)
+                .currentPhase(GamePhase.ATTACK)
+                .players(new ArrayList<>(List.of(cpuPlayer, enemy)))
+                .build();
+
+        // venezuela - brazil - {peru, argentina}, peru - argentina
+        graph = MapGraph.compile(new MapDefinition("test", "Test", "d", "a", 2, 2, List.of(
+                new AreaDefinition("south-america", "South America", 2, "#0f0", List.of(
+                        new TerritoryDefinition("venezuela", "Venezuela", List.of("brazil"), 0, 0),
+                        new TerritoryDefinition("brazil", "Brazil", List.of("venezuela", "peru", "argentina"), 0, 0),
+                        new TerritoryDefinition("peru", "Peru", List.of("brazil", "argentina"), 0, 0),
+                        new TerritoryDefinition("argentina", "Argentina", List.of("brazil", "peru"), 0, 0))))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        strategy.close();
+    }
+
+    private Territory territory(String key, Player owner, int armies) {
+        Territory t = Territory.builder().id(key).territoryKey(key).owner(owner).armies(armies).build();
+        graph.attach(t);
+        return t;
+    }
+
+    private void board(int venezuela, int brazil, int peru, int argentina) {
+        when(gameQueryService.getTerritories("game-1")).thenReturn(List.of(
+                territory("venezuela", cpuPlayer, venezuela),
+                territory("brazil", cpuPlayer, brazil),
+                territory("peru", cpuPlayer, peru),
+                territory("argentina", enemy, argentina)));
+    }
+
+    @Test
+    @DisplayName("getDifficulty() should return EXPERT")
+    void shouldReturnExpertDifficulty() {
+        assertEquals(CPUDifficulty.EXPERT, strategy.getDifficulty());
+    }
+
+    @Nested
+    @DisplayName("Search decisions")
+    class SearchTests {
+
+        @Test
+        @DisplayName("should reinforce a border territory with every available army")
+        void shouldReinforceBorder() {
+            board(3, 2, 2, 4);
+
+            CPUAction action = strategy.decideReinforcement(game, cpuPlayer, 5);
+
+            assertEquals(CPUAction.ActionType.PLACE_ARMIES, action.getType());
+            assertTrue(Set.of("brazil", "peru").contains(action.getToTerritoryKey()));
+            assertEquals(5, action.getArmies());
+            verifyNoInteractions(hardStrategy);
+        }
+
+        @Test
+        @DisplayName("should attack when the attack can eliminate the last enemy territory")
+        void shouldAttackForTheWin() {
+            board(1, 20, 1, 1);
+
+            CPUAction action = strategy.decideAttack(game, cpuPlayer);
+
+            assertEquals(CPUAction.ActionType.ATTACK, action.getType());
+            assertEquals("brazil", action.getFromTerritoryKey());
+            assertEquals("argentina", action.getToTerritoryKey());
+            assertEquals(3, action.getArmies());
+        }
+
+        @Test
+        @DisplayName("should only fortify from an interior territory to a border territory")
+        void shouldFortifyLegally() {
+            board(6, 2, 2, 4);
+
+            CPUAction action = strategy.decideFortify(game, cpuPlayer);
+
+            if (action.getType() == CPUAction.ActionType.FORTIFY) {
+                assertEquals("venezuela", action.getFromTerritoryKey());
+                assertEquals("brazil", action.getToTerritoryKey());
+                assertEquals(5, action.getArmies());
+            } else {
+                assertEquals(CPUAction.ActionType.SKIP_FORTIFY, action.getType());
+            }
+        }
+
+        @Test
+        @DisplayName("should decide within the search budget")
+        void shouldRespectBudget() {
+            board(3, 5, 5, 4);
+
+            long started = System.nanoTime();
+            strategy.decideAttack(game, cpuPlayer);
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+            assertTrue(elapsedMs < 1000, "search took " + elapsedMs + "ms");
+        }
+    }
+
+    @Nested
+    @DisplayName("Fallback to Hard")
+    class FallbackTests {
+
+        @Test
+        @DisplayName("should delegate when territories are not bound to a map graph")
+        void shouldDelegateWhenUnbound() {
+            Territory unbound = Territory.builder().id("t1").territoryKey("brazil")
+                    .owner(cpuPlayer).armies(3).build();
+            when(gameQueryService.getTerritories("game-1")).thenReturn(List.of(unbound));
+            CPUAction expected = CPUAction.endAttack();
+            when(hardStrategy.decideAttack(game, cpuPlayer)).thenReturn(expected);
+
+            assertSame(expected, strategy.decideAttack(game, cpuPlayer));
+        }
+
+        @Test
+        @DisplayName("should delegate without searching when the think delay leaves no budget")
+        void shouldDelegateWithoutBudget() {
+            strategy.close();
+            strategy = new ExpertCPUStrategy(gameQueryService, hardStrategy, 2000, 0, 1);
+            CPUAction expected = CPUAction.skipFortify();
+            when(hardStrategy.decideFortify(game, cpuPlayer)).thenReturn(expected);
+
+            assertSame(expected, strategy.decideFortify(game, cpuPlayer));
+            verifyNoInteractions(gameQueryService);
+        }
+
+        @Test
+        @DisplayName("should delegate on maps too large for the move encoding")
+        void shouldDelegateOnHugeMaps() {
+            int size = MonteCarloTreeSearch.MAX_TERRITORIES + 1;
+            List<TerritoryDefinition> definitions = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                definitions.add(new TerritoryDefinition("t" + i, "T" + i,
+                        List.of("t" + (i + size - 1) % size, "t" + (i + 1) % size), 0, 0));
+            }
+            graph = MapGraph.compile(new MapDefinition("huge", "Huge", "d", "a", 2, 2, List.of(
+                    new AreaDefinition("all", "All", 2, "#0f0", definitions))));
+            List<Territory> territories = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                territories.add(territory("t" + i, i % 2 == 0 ? cpuPlayer : enemy, 3));
+            }
+            when(gameQueryService.getTerritories("game-1")).thenReturn(territories);
+            CPUAction expected = CPUAction.endAttack();
+            when(hardStrategy.decideAttack(game, cpuPlayer)).thenReturn(expected);
+
+            assertSame(expected, strategy.decideAttack(game, cpuPlayer));
+        }
+
+        @Test
+        @DisplayName("search should report no move when the deadline passes before any iteration")
+        void shouldReportNoMoveWithoutIterations() throws InterruptedException {
+            SimulationState state = new SimulationState(graph, 2);
+            state.setTerritory(graph.indexOf("venezuela"), 0, 3);
+            state.setTerritory(graph.indexOf("brazil"), 0, 5);
+            state.setTerritory(graph.indexOf("peru"), 0, 1);
+            state.setTerritory(graph.indexOf("argentina"), 1, 2);
+            state.currentPlayer = 0;
+            state.phase = SimulationState.ATTACK;
+            ForkJoinPool pool = new ForkJoinPool(1);
+            try {
+                assertEquals(MonteCarloTreeSearch.NO_MOVE,
+                        new MonteCarloTreeSearch(pool).search(state, System.nanoTime(), 1));
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+}
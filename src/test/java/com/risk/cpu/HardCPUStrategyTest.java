@@ -1,14 +1,19 @@
 package com.risk.cpu;
 
+import com.risk.config.MapLoader;
 import com.risk.model.*;
 import com.risk.repository.ContinentRepository;
+import com.risk.repository.GameRepository;
+import com.risk.repository.PlayerRepository;
 import com.risk.repository.TerritoryRepository;
+import com.risk.service.BattleOddsService;
+import com.risk.service.GameQueryService;
+import com.risk.service.LiveGameRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -23,10 +28,12 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class HardCPUStrategyTest {
 
+    @Mock private GameRepository gameRepository;
+    @Mock private PlayerRepository playerRepository;
     @Mock private TerritoryRepository territoryRepository;
     @Mock private ContinentRepository continentRepository;
+    @Mock private MapLoader mapLoader;
 
-    @InjectMocks
     private HardCPUStrategy strategy;
 
     private Game game;
@@ -35,6 +42,10 @@ class HardCPUStrategyTest {
 
     @BeforeEach
     void setUp() {
+        strategy = new HardCPUStrategy(new GameQueryService(gameRepository, territoryRepository, continentRepository,
+                new LiveGameRegistry(gameRepository, territoryRepository, playerRepository), mapLoader),
+                new BattleOddsService(BattleOddsService.DEFAULT_MAX_ARMIES));
+
         cpuPlayer = Player.builder()
                 .id("cpu-1").name("CPU Hard").type(PlayerType.CPU)
                 .cpuDifficulty(CPUDifficulty.HARD).color(PlayerColor.RED).turnOrder(0).build();
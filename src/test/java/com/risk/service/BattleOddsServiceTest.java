@@ -0,0 +1,121 @@
+package com.risk.service;
+
+import com.risk.dto.AttackOddsDTO;
+import com.risk.model.Territory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BattleOddsService — precomputed battle outcome tables.
+ */
+class BattleOddsServiceTest {
+
+    private final BattleOddsService odds = new BattleOddsService(BattleOddsService.DEFAULT_MAX_ARMIES);
+
+    @Nested
+    @DisplayName("winProbability()")
+    class WinProbabilityTests {
+
+        @Test
+        @DisplayName("should match known exact values")
+        void shouldMatchKnownValues() {
+            // 1v1, 2v1 and 5v2 in attacking armies; the board count includes the army left behind
+            assertEquals(0.4167, odds.winProbability(2, 1), 1e-3);
+            assertEquals(0.7542, odds.winProbability(3, 1), 1e-3);
+            assertEquals(0.8898, odds.winProbability(6, 2), 1e-3);
+        }
+
+        @Test
+        @DisplayName("should be zero without an army to attack with")
+        void shouldBeZeroWithSingleArmy() {
+            assertEquals(0.0, odds.winProbability(1, 3));
+        }
+
+        @Test
+        @DisplayName("should be one against an empty territory")
+        void shouldBeOneAgainstNoDefenders() {
+            assertEquals(1.0, odds.winProbability(5, 0));
+        }
+
+        @Test
+        @DisplayName("should grow with the number of attackers")
+        void shouldGrowWithAttackers() {
+            double previous = 0;
+            for (int attackers = 2; attackers <= 30; attackers++) {
+                double p = odds.winProbability(attackers, 10);
+                assertTrue(p >= previous, "attackers " + attackers);
+                previous = p;
+            }
+        }
+
+        @Test
+        @DisplayName("should approximate beyond the table close to the exact value")
+        void shouldApproximateBeyondTable() {
+            BattleOddsService small = new BattleOddsService(20);
+
+            for (int[] pair : new int[][]{{40, 30}, {35, 35}, {30, 40}}) {
+                assertFalse(small.isExact(pair[0], pair[1]));
+                assertEquals(odds.winProbability(pair[0], pair[1]), small.winProbability(pair[0], pair[1]), 0.05);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("expected survivors")
+    class SurvivorTests {
+
+        @Test
+        @DisplayName("should keep at least the army left behind")
+        void shouldKeepArmyLeftBehind() {
+            assertTrue(odds.expectedAttackerSurvivors(10, 5) >= 1.0);
+            assertEquals(3.0, odds.expectedAttackerSurvivors(3, 0));
+        }
+
+        @Test
+        @DisplayName("should not exceed the starting defenders")
+        void shouldBoundDefenderSurvivors() {
+            double left = odds.expectedDefenderSurvivors(4, 6);
+            assertTrue(left > 0 && left <= 6);
+            assertEquals(6.0, odds.expectedDefenderSurvivors(1, 6));
+        }
+    }
+
+    @Nested
+    @DisplayName("forAttack()")
+    class ForAttackTests {
+
+        @Test
+        @DisplayName("should describe the battle between two territories")
+        void shouldDescribeBattle() {
+            Territory from = Territory.builder().territoryKey("alaska").armies(7).build();
+            Territory to = Territory.builder().territoryKey("kamchatka").armies(2).build();
+
+            AttackOddsDTO dto = odds.forAttack(from, to);
+
+            assertEquals("alaska", dto.getFromTerritoryKey());
+            assertEquals("kamchatka", dto.getToTerritoryKey());
+            assertEquals(7, dto.getAttackerArmies());
+            assertEquals(2, dto.getDefenderArmies());
+            assertEquals(odds.winProbability(7, 2), dto.getWinProbability());
+            assertTrue(dto.isExact());
+        }
+
+        @Test
+        @DisplayName("should flag approximated battles")
+        void shouldFlagApproximation() {
+            Territory from = Territory.builder().territoryKey("a").armies(500).build();
+            Territory to = Territory.builder().territoryKey("b").armies(3).build();
+
+            assertFalse(odds.forAttack(from, to).isExact());
+        }
+    }
+
+    @Test
+    @DisplayName("should reject a non-positive table size")
+    void shouldRejectInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BattleOddsService(0));
+    }
+}
@@ -1,5 +1,6 @@
 package com.risk.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -39,6 +40,8 @@ import com.risk.model.PlayerType;
 import com.risk.model.Territory;
 import com.risk.websocket.GameWebSocketHandler;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * Unit tests for CPUPlayerService — covers executeCPUTurn flow and helper methods.
  * Uses LENIENT strictness because the complex multi-phase flow makes exact stubbing impractical.
@@ -52,13 +55,15 @@ class CPUPlayerServiceTest {
     @Mock private GameWebSocketHandler webSocketHandler;
     @Mock private CPUStrategy cpuStrategy;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private CPUPlayerService cpuPlayerService;
     private Player cpuPlayer;
     private Player humanPlayer;
 
     @BeforeEach
     void setUp() {
-        cpuPlayerService = new CPUPlayerService(gameService, strategyFactory, webSocketHandler);
+        cpuPlayerService = new CPUPlayerService(gameService, strategyFactory, webSocketHandler, new GameActors(),
+                new GameMetrics(meterRegistry), new GameTracer(false, 1, 0));
         ReflectionTestUtils.setField(cpuPlayerService, "thinkDelayMs", 0L);
 
         cpuPlayer = Player.builder()
@@ -103,6 +108,7 @@ class CPUPlayerServiceTest {
                     .thenReturn(CPUAction.placeArmies("brazil", 3));
             when(cpuStrategy.decideAttack(any(), any())).thenReturn(CPUAction.endAttack());
             when(cpuStrategy.decideFortify(any(), any())).thenReturn(CPUAction.skipFortify());
+            when(cpuStrategy.getDifficulty()).thenReturn(CPUDifficulty.MEDIUM);
 
             cpuPlayerService.executeCPUTurn("game-1", "cpu-1");
 
@@ -110,6 +116,10 @@ class CPUPlayerServiceTest {
             verify(gameService).endAttackPhase("game-1", "cpu-1");
             verify(gameService).skipFortify("game-1", "cpu-1");
             verify(webSocketHandler).broadcastCPUTurnEnd(eq("game-1"), eq("CPU Player 1"));
+            for (String phase : List.of("REINFORCEMENT", "ATTACK", "FORTIFY")) {
+                assertEquals(1, meterRegistry.get(GameMetrics.CPU_DECISION)
+                        .tags("difficulty", "MEDIUM", "phase", phase).timer().count());
+            }
         }
 
         @Test
@@ -0,0 +1,176 @@
+package com.risk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for GameActors — per-game serialized command execution.
+ */
+class GameActorsTest {
+
+    private GameActors actors;
+
+    @BeforeEach
+    void setUp() {
+        actors = new GameActors();
+    }
+
+    @Nested
+    @DisplayName("call()")
+    class CallTests {
+
+        @Test
+        @DisplayName("should return the command's result")
+        void shouldReturnResult() {
+            assertEquals(42, actors.call("game-1", () -> 42));
+        }
+
+        @Test
+        @DisplayName("should rethrow the command's exception to the caller")
+        void shouldRethrowException() {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> actors.call("game-1", () -> {
+                        throw new IllegalArgumentException("Territory not found");
+                    }));
+
+            assertEquals("Territory not found", e.getMessage());
+        }
+
+        @Test
+        @DisplayName("should run nested commands for the same game inline")
+        void shouldRunNestedCommandsInline() {
+            String threads = actors.call("game-1", () -> {
+                String outer = Thread.currentThread().getName();
+                String inner = actors.call("game-1", () -> Thread.currentThread().getName());
+                return outer + "/" + inner;
+            });
+
+            assertEquals("game-game-1/game-game-1", threads);
+        }
+
+        @Test
+        @DisplayName("should retire the mailbox once it has no more work")
+        void shouldRetireIdleMailbox() throws InterruptedException {
+            actors.run("game-1", () -> { });
+
+            // The drain loop retires the mailbox right after completing the last command
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (actors.activeMailboxes() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(0, actors.activeMailboxes());
+        }
+
+        @Test
+        @DisplayName("should publish the commands waiting behind a running one")
+        void shouldGaugeQueuedCommands() throws InterruptedException {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            actors.bindTo(registry);
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+
+            actors.submit("game-1", () -> {
+                running.countDown();
+                awaitQuietly(release);
+            });
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            actors.submit("game-1", () -> { });
+            actors.submit("game-1", () -> { });
+
+            assertEquals(2, registry.get("risk.actors.queued").gauge().value());
+            assertEquals(1, registry.get("risk.actors.mailboxes").gauge().value());
+            release.countDown();
+            actors.run("game-1", () -> { });
+            assertEquals(0, actors.queuedTasks());
+        }
+
+        private void awaitQuietly(CountDownLatch latch) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Serialization")
+    class SerializationTests {
+
+        @Test
+        @DisplayName("commands for one game should never overlap")
+        void shouldSerializeCommandsPerGame() throws Exception {
+            int callers = 16;
+            int commandsEach = 200;
+            int[] counter = new int[1];
+            List<String> overlaps = Collections.synchronizedList(new ArrayList<>());
+            boolean[] inside = new boolean[1];
+
+            try (ExecutorService pool = Executors.newFixedThreadPool(callers)) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int c = 0; c < callers; c++) {
+                    futures.add(pool.submit(() -> {
+                        for (int i = 0; i < commandsEach; i++) {
+                            actors.run("game-1", () -> {
+                                if (inside[0]) {
+                                    overlaps.add(Thread.currentThread().getName());
+                                }
+                                inside[0] = true;
+                                counter[0]++; // unsynchronized on purpose: only one writer at a time
+                                inside[0] = false;
+                            });
+                        }
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get(30, TimeUnit.SECONDS);
+                }
+            }
+
+            assertTrue(overlaps.isEmpty());
+            assertEquals(callers * commandsEach, actors.call("game-1", () -> counter[0]));
+        }
+
+        @Test
+        @DisplayName("commands for different games should run in parallel")
+        void shouldRunGamesInParallel() throws Exception {
+            CountDownLatch bothRunning = new CountDownLatch(2);
+
+            try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<String> first = pool.submit(() -> actors.call("game-1", () -> awaitOther(bothRunning)));
+                Future<String> second = pool.submit(() -> actors.call("game-2", () -> awaitOther(bothRunning)));
+
+                assertNotEquals(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        private String awaitOther(CountDownLatch bothRunning) {
+            bothRunning.countDown();
+            try {
+                assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return Thread.currentThread().getName();
+        }
+    }
+}
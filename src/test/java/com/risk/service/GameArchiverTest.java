@@ -0,0 +1,243 @@
+package com.risk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import com.risk.dto.GameStateDTO;
+import com.risk.model.Game;
+import com.risk.model.GameArchive;
+import com.risk.model.GameEvent;
+import com.risk.model.GameMode;
+import com.risk.model.GamePhase;
+import com.risk.model.GameSnapshot;
+import com.risk.model.GameStatus;
+import com.risk.model.Player;
+import com.risk.repository.GameArchiveRepository;
+import com.risk.repository.GameRepository;
+import com.risk.repository.GameSnapshotRepository;
+
+/**
+ * Unit tests for GameArchiver — compacting finished games, deleting their rows and serving
+ * their replays.
+ */
+@ExtendWith(MockitoExtension.class)
+class GameArchiverTest {
+
+    @Mock private GameRepository gameRepository;
+    @Mock private GameArchiveRepository archiveRepository;
+    @Mock private GameQueryService gameQueryService;
+    @Mock private GameEventLog gameEventLog;
+    @Mock private GameSnapshotRepository gameSnapshotRepository;
+    @Mock private LiveGameRegistry liveGames;
+    @Mock private LiveGame liveGame;
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GameArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        archiver = new GameArchiver(gameRepository, archiveRepository, gameQueryService, gameEventLog,
+                gameSnapshotRepository, liveGames, jdbcTemplate, transactionManager, objectMapper, 0, 2, 10);
+    }
+
+    private void finished(String gameId) {
+        Game game = Game.builder()
+                .id(gameId).name("Game " + gameId).mapId("classic-world")
+                .status(GameStatus.FINISHED).gameMode(GameMode.CLASSIC)
+                .turnNumber(12).winnerId("p1")
+                .players(new ArrayList<>(List.of(Player.builder().id("p1").name("Alice").build(),
+                        Player.builder().id("p2").name("Bob").build())))
+                .endedAt(LocalDateTime.of(2025, 1, 15, 10, 30))
+                .build();
+        when(gameQueryService.getGame(gameId)).thenReturn(game);
+        when(gameQueryService.getGameState(gameId)).thenReturn(GameStateDTO.fromGame(game));
+        GameEvent placed = GameEvent.armiesPlaced("p1", "brazil", 3);
+        placed.setSequence(1);
+        GameEvent finished = GameEvent.gameFinished("p1", 12);
+        finished.setSequence(2);
+        when(gameEventLog.getEvents(gameId, 0)).thenReturn(List.of(placed, finished));
+    }
+
+    private void started(String gameId) {
+        when(gameSnapshotRepository.findByGameIdAndSequence(gameId, 0)).thenReturn(Optional.of(GameSnapshot.builder()
+                .gameId(gameId).sequence(0)
+                .status(GameStatus.IN_PROGRESS).currentPhase(GamePhase.REINFORCEMENT)
+                .currentPlayerId("p1").turnNumber(1).reinforcementsRemaining(3)
+                .board("brazil:p1:2;peru:p2:1").eliminatedPlayerIds("")
+                .createdAt(LocalDateTime.of(2025, 1, 15, 10, 0))
+                .build()));
+    }
+
+    private List<GameArchive> savedArchives() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GameArchive>> archives = ArgumentCaptor.forClass(List.class);
+        verify(archiveRepository).saveAll(archives.capture());
+        return archives.getValue();
+    }
+
+    @Nested
+    @DisplayName("archiveFinished()")
+    class ArchiveTests {
+
+        @Test
+        @DisplayName("should compact each finished game and delete its rows table by table")
+        void shouldCompactAndDelete() {
+            when(gameRepository.findFinishedBefore(any(), any(Pageable.class))).thenReturn(List.of("g1"));
+            finished("g1");
+
+            archiver.archiveFinished();
+
+            GameArchive archive = savedArchives().get(0);
+            assertEquals("g1", archive.getGameId());
+            assertEquals("Alice", archive.getWinnerName());
+            assertEquals(2, archive.getPlayerCount());
+            assertEquals(2, archive.getEventCount());
+            verify(jdbcTemplate).batchUpdate(eq("DELETE FROM games WHERE id = ?"), anyList());
+            verify(jdbcTemplate, times(6)).batchUpdate(anyString(), anyList());
+            verify(transactionManager).commit(any());
+        }
+
+        @Test
+        @DisplayName("should record the replay from the game's start snapshot, or archive without one")
+        void shouldRecordReplay() {
+            when(gameRepository.findFinishedBefore(any(), any(Pageable.class))).thenReturn(List.of("g1", "g2"),
+                    List.of());
+            finished("g1");
+            finished("g2");
+            started("g1");
+
+            archiver.archiveFinished();
+
+            List<GameArchive> archives = savedArchives();
+            ReplayRecording replay = ReplayRecording.parse(archives.get(0).getReplay());
+            assertEquals(2, replay.readActions().size());
+            assertEquals(2, replay.stateAt(1).getTerritories().get("brazil").getArmies());
+            assertNull(archives.get(1).getReplay());
+        }
+
+        @Test
+        @DisplayName("should keep fetching batches until one comes back short")
+        void shouldArchiveInBatches() {
+            when(gameRepository.findFinishedBefore(any(), any(Pageable.class)))
+                    .thenReturn(List.of("g1", "g2"), List.of("g3"));
+            finished("g1");
+            finished("g2");
+            finished("g3");
+
+            archiver.archiveFinished();
+
+            verify(transactionManager, times(2)).commit(any());
+            verify(jdbcTemplate, times(12)).batchUpdate(anyString(), anyList());
+        }
+
+        @Test
+        @DisplayName("should leave games that are still live to the write-behind flusher")
+        void shouldSkipLiveGames() {
+            when(gameRepository.findFinishedBefore(any(), any(Pageable.class))).thenReturn(List.of("g1"));
+            when(liveGames.find("g1")).thenReturn(Optional.of(liveGame));
+
+            archiver.archiveFinished();
+
+            verify(archiveRepository, never()).saveAll(any());
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        }
+
+        @Test
+        @DisplayName("should roll back a failed batch and keep its rows")
+        void shouldRollBackFailedBatch() {
+            when(gameRepository.findFinishedBefore(any(), any(Pageable.class))).thenReturn(List.of("g1"));
+            finished("g1");
+            when(archiveRepository.saveAll(any())).thenThrow(new IllegalStateException("disk full"));
+
+            archiver.archiveFinished();
+
+            verify(transactionManager).rollback(any());
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("read()")
+    class ReadTests {
+
+        @Test
+        @DisplayName("should return the final state and event log written by the archiver")
+        void shouldRoundTrip() {
+            when(gameRepository.findFinishedBefore(any(), any(Pageable.class))).thenReturn(List.of("g1"));
+            finished("g1");
+            archiver.archiveFinished();
+            when(archiveRepository.findByGameId("g1")).thenReturn(Optional.of(savedArchives().get(0)));
+
+            JsonNode json = objectMapper.readTree(archiver.read("g1"));
+
+            assertEquals("g1", json.get("finalState").get("gameId").asString());
+            assertEquals(2, json.get("events").size());
+            assertEquals("GAME_FINISHED", json.get("events").get(1).get("type").asString());
+        }
+
+        @Test
+        @DisplayName("should reject a game that has not been archived")
+        void shouldRejectUnknownGame() {
+            when(archiveRepository.findByGameId("g1")).thenReturn(Optional.empty());
+
+            assertThrows(IllegalArgumentException.class, () -> archiver.read("g1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("replay()")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("should seek the stored replay without loading the archive")
+        void shouldSeekStoredReplay() {
+            when(gameRepository.findFinishedBefore(any(), any(Pageable.class))).thenReturn(List.of("g1"));
+            finished("g1");
+            started("g1");
+            archiver.archiveFinished();
+            when(archiveRepository.findReplayByGameId("g1")).thenReturn(Optional.of(savedArchives().get(0).getReplay()));
+
+            assertEquals(1, archiver.replay("g1", 1).getFirstTurn());
+            verify(archiveRepository, never()).findByGameId(anyString());
+        }
+
+        @Test
+        @DisplayName("should reject a game without a replay")
+        void shouldRejectGameWithoutReplay() {
+            when(archiveRepository.findReplayByGameId("g1")).thenReturn(Optional.empty());
+
+            assertThrows(IllegalArgumentException.class, () -> archiver.replay("g1", 1));
+        }
+    }
+}
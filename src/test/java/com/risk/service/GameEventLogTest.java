@@ -0,0 +1,250 @@
+package com.risk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.risk.config.AreaDefinition;
+import com.risk.config.MapDefinition;
+import com.risk.config.MapGraph;
+import com.risk.config.TerritoryDefinition;
+import com.risk.model.Game;
+import com.risk.model.GameEvent;
+import com.risk.model.GameEventType;
+import com.risk.model.GamePhase;
+import com.risk.model.GameSnapshot;
+import com.risk.model.GameStatus;
+import com.risk.model.Player;
+import com.risk.model.PlayerColor;
+import com.risk.model.PlayerType;
+import com.risk.model.Territory;
+import com.risk.repository.GameEventRepository;
+import com.risk.repository.GameSnapshotRepository;
+
+/**
+ * Unit tests for the game event log — event recording, snapshots and recovery by replay.
+ */
+@ExtendWith(MockitoExtension.class)
+class GameEventLogTest {
+
+    @Mock private GameEventRepository gameEventRepository;
+    @Mock private GameSnapshotRepository gameSnapshotRepository;
+
+    private GameEventLog eventLog;
+
+    @BeforeEach
+    void setUp() {
+        eventLog = new GameEventLog(gameEventRepository, gameSnapshotRepository);
+    }
+
+    private static GameEvent numbered(GameEvent event, long sequence) {
+        event.setGameId("game-1");
+        event.setSequence(sequence);
+        return event;
+    }
+
+    @Nested
+    @DisplayName("recover()")
+    class RecoverTests {
+
+        @Test
+        @DisplayName("should apply only the events after the latest snapshot")
+        void shouldReplayTailAfterSnapshot() {
+            GameSnapshot snapshot = GameSnapshot.builder()
+                    .gameId("game-1").sequence(10)
+                    .status(GameStatus.IN_PROGRESS).currentPhase(GamePhase.REINFORCEMENT)
+                    .currentPlayerId("p1").turnNumber(4).reinforcementsRemaining(3)
+                    .board("brazil:p1:5;peru:p2:2").eliminatedPlayerIds("")
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            when(gameSnapshotRepository.findTopByGameIdOrderBySequenceDesc("game-1")).thenReturn(Optional.of(snapshot));
+            when(gameEventRepository.findByGameIdAndSequenceGreaterThanOrderBySequence("game-1", 10)).thenReturn(List.of(
+                    numbered(GameEvent.armiesPlaced("p1", "brazil", 3), 11),
+                    numbered(GameEvent.attackRolled("p1", "brazil", "peru", new int[]{6, 5}, new int[]{4, 2}, 0, 2), 12),
+                    numbered(GameEvent.territoryConquered("p1", "brazil", "peru", 2), 13),
+                    numbered(GameEvent.playerEliminated("p2"), 14),
+                    numbered(GameEvent.gameFinished("p1", 4), 15)));
+
+            ReplayedGame game = eventLog.recover("game-1");
+
+            assertEquals(15, game.getSequence());
+            assertEquals(6, game.getTerritories().get("brazil").getArmies());
+            assertEquals("p1", game.getTerritories().get("peru").getOwnerId());
+            assertEquals(2, game.getTerritories().get("peru").getArmies());
+            assertTrue(game.getEliminatedPlayerIds().contains("p2"));
+            assertEquals(GameStatus.FINISHED, game.getStatus());
+            assertEquals("p1", game.getWinnerId());
+        }
+
+        @Test
+        @DisplayName("should fail for a game without snapshot")
+        void shouldFailWithoutSnapshot() {
+            when(gameSnapshotRepository.findTopByGameIdOrderBySequenceDesc("nope")).thenReturn(Optional.empty());
+
+            assertThrows(IllegalArgumentException.class, () -> eventLog.recover("nope"));
+        }
+
+        @Test
+        @DisplayName("should reject events out of sequence")
+        void shouldRejectOutOfOrderEvents() {
+            ReplayedGame game = ReplayedGame.fromSnapshot(GameSnapshot.builder()
+                    .gameId("game-1").sequence(5)
+                    .status(GameStatus.IN_PROGRESS).currentPhase(GamePhase.ATTACK)
+                    .board("brazil:p1:5").build());
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> game.apply(numbered(GameEvent.attackEnded("p1"), 5)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Replay of live play")
+    class LivePlayTests {
+
+        private LiveGameRegistry liveGames;
+        private LiveGame liveGame;
+        private Game game;
+        private ReinforcementService reinforcementService;
+        private CombatService combatService;
+        private TurnManagementService turnManagementService;
+        private FortificationService fortificationService;
+
+        @BeforeEach
+        void setUp() {
+            Player alice = Player.builder().id("p1").name("Alice").color(PlayerColor.RED)
+                    .type(PlayerType.HUMAN).turnOrder(0).build();
+            Player bob = Player.builder().id("p2").name("Bob").color(PlayerColor.BLUE)
+                    .type(PlayerType.HUMAN).turnOrder(1).build();
+            game = Game.builder()
+                    .id("game-1").name("Replay").status(GameStatus.IN_PROGRESS)
+                    .currentPhase(GamePhase.REINFORCEMENT).currentPlayerIndex(0)
+                    .turnNumber(1).reinforcementsRemaining(3)
+                    .players(new ArrayList<>(List.of(alice, bob)))
+                    .territories(new HashSet<>())
+                    .build();
+            alice.setGame(game);
+            bob.setGame(game);
+
+            Territory brazil = Territory.builder().id("t1").territoryKey("brazil").name("Brazil")
+                    .owner(alice).armies(5).game(game).neighborKeys(new HashSet<>()).build();
+            Territory peru = Territory.builder().id("t2").territoryKey("peru").name("Peru")
+                    .owner(alice).armies(2).game(game).neighborKeys(new HashSet<>()).build();
+            Territory argentina = Territory.builder().id("t3").territoryKey("argentina").name("Argentina")
+                    .owner(bob).armies(2).game(game).neighborKeys(new HashSet<>()).build();
+            MapGraph graph = MapGraph.compile(new MapDefinition("test", "Test", "d", "a", 2, 2, List.of(
+                    new AreaDefinition("south-america", "South America", 2, "#0f0", List.of(
+                            new TerritoryDefinition("brazil", "Brazil", List.of("peru", "argentina"), 0, 0),
+                            new TerritoryDefinition("peru", "Peru", List.of("brazil", "argentina"), 0, 0),
+                            new TerritoryDefinition("argentina", "Argentina", List.of("brazil", "peru"), 0, 0))))));
+            List<Territory> territories = List.of(brazil, peru, argentina);
+            territories.forEach(graph::attach);
+
+            liveGames = new LiveGameRegistry(null, null, null);
+            liveGame = new LiveGame(game, graph, territories, List.of());
+            liveGames.register(liveGame);
+
+            GameQueryService queries = new GameQueryService(null, null, null, liveGames, null);
+            WinConditionService winConditions = new WinConditionService(null, queries, liveGames, event -> { });
+            reinforcementService = new ReinforcementService(queries, liveGames);
+            turnManagementService = new TurnManagementService(queries, winConditions, reinforcementService, liveGames,
+                    new GameMetrics(new SimpleMeterRegistry()));
+            fortificationService = new FortificationService(queries, turnManagementService, liveGames);
+            combatService = new CombatService(queries, winConditions, liveGames, new Random(3));
+        }
+
+        private ReplayedGame replayFromStart(GameSnapshot start) {
+            ReplayedGame replayed = ReplayedGame.fromSnapshot(start);
+            liveGame.drainChanges().events().forEach(replayed::apply);
+            return replayed;
+        }
+
+        private GameSnapshot snapshotNow() {
+            liveGame.captureSnapshot();
+            return liveGame.drainChanges().snapshot();
+        }
+
+        private void assertMatchesLiveGame(ReplayedGame replayed) {
+            assertEquals(liveGame.getLastEventSequence(), replayed.getSequence());
+            assertEquals(game.getStatus(), replayed.getStatus());
+            assertEquals(game.getCurrentPhase(), replayed.getCurrentPhase());
+            assertEquals(game.getTurnNumber(), replayed.getTurnNumber());
+            assertEquals(game.getReinforcementsRemaining(), replayed.getReinforcementsRemaining());
+            for (Territory t : liveGame.getTerritories()) {
+                ReplayedGame.TerritoryState state = replayed.getTerritories().get(t.getTerritoryKey());
+                assertEquals(t.getOwner().getId(), state.getOwnerId(), t.getTerritoryKey());
+                assertEquals(t.getArmies(), state.getArmies(), t.getTerritoryKey());
+            }
+        }
+
+        @Test
+        @DisplayName("should number events per game from 1")
+        void shouldNumberEvents() {
+            GameSnapshot start = snapshotNow();
+            assertEquals(0, start.getSequence());
+
+            reinforcementService.placeArmies("game-1", "p1", "brazil", 2);
+            reinforcementService.placeArmies("game-1", "p1", "peru", 1);
+
+            List<GameEvent> events = liveGame.drainChanges().events();
+            assertEquals(List.of(1L, 2L), events.stream().map(GameEvent::getSequence).toList());
+            assertEquals(GameEventType.ARMIES_PLACED, events.get(0).getType());
+            assertEquals("game-1", events.get(0).getGameId());
+        }
+
+        @Test
+        @DisplayName("replaying a full turn should reproduce the live state")
+        void shouldReproduceTurn() {
+            GameSnapshot start = snapshotNow();
+
+            reinforcementService.placeArmies("game-1", "p1", "brazil", 3);
+            combatService.attack("game-1", "p1", "brazil", "argentina", 3);
+            if (game.getStatus() == GameStatus.IN_PROGRESS) {
+                turnManagementService.endAttackPhase("game-1", "p1");
+                fortificationService.fortify("game-1", "p1", "brazil", "peru", 1);
+            }
+
+            assertMatchesLiveGame(replayFromStart(start));
+        }
+
+        @Test
+        @DisplayName("replaying a conquest to the end should reproduce elimination and the winner")
+        void shouldReproduceGameOver() {
+            GameSnapshot start = snapshotNow();
+
+            reinforcementService.placeArmies("game-1", "p1", "brazil", 3);
+            combatService.blitz("game-1", "p1", "brazil", "argentina", 1);
+            while (game.getStatus() == GameStatus.IN_PROGRESS
+                    && liveGame.findTerritory("peru").orElseThrow().getArmies() > 1) {
+                combatService.blitz("game-1", "p1", "peru", "argentina", 1);
+            }
+
+            ReplayedGame replayed = replayFromStart(start);
+            assertMatchesLiveGame(replayed);
+            if (game.getStatus() == GameStatus.FINISHED) {
+                assertEquals("p1", replayed.getWinnerId());
+                assertTrue(replayed.getEliminatedPlayerIds().contains("p2"));
+            } else {
+                assertNull(replayed.getWinnerId());
+            }
+        }
+    }
+}
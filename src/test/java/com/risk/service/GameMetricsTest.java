@@ -0,0 +1,52 @@
+package com.risk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.risk.model.CPUDifficulty;
+import com.risk.model.GamePhase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for GameMetrics — one cached meter per tag combination.
+ */
+class GameMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GameMetrics metrics = new GameMetrics(registry);
+
+    @Test
+    @DisplayName("should record repeated actions on one meter per action and outcome")
+    void shouldReuseActionTimers() {
+        for (int i = 0; i < 3; i++) {
+            metrics.timeAction("attack", () -> null);
+        }
+        assertThrows(IllegalStateException.class, () -> metrics.timeAction("attack", () -> {
+            throw new IllegalStateException("Not your turn");
+        }));
+
+        assertEquals(3, registry.get(GameMetrics.ACTION).tag("outcome", "success").timer().count());
+        assertEquals(1, registry.get(GameMetrics.ACTION).tag("outcome", "failure").timer().count());
+        assertEquals(2, registry.find(GameMetrics.ACTION).timers().size());
+    }
+
+    @Test
+    @DisplayName("should record CPU decisions and broadcasts on one meter per tag combination")
+    void shouldReuseDecisionAndBroadcastMeters() {
+        metrics.timeCpuDecision(CPUDifficulty.HARD, GamePhase.ATTACK, () -> null);
+        metrics.timeCpuDecision(CPUDifficulty.HARD, GamePhase.ATTACK, () -> null);
+        metrics.countStaleCpuDecision(GamePhase.ATTACK);
+        metrics.countStaleCpuDecision(GamePhase.ATTACK);
+        metrics.recordBroadcast("GAME_UPDATE", 1_000, 512);
+        metrics.recordBroadcast("GAME_UPDATE", 1_000, -1);
+
+        assertEquals(2, registry.get(GameMetrics.CPU_DECISION).timer().count());
+        assertEquals(2, registry.get(GameMetrics.CPU_STALE_DECISION).counter().count());
+        assertEquals(2, registry.get(GameMetrics.BROADCAST_DURATION).timer().count());
+        assertEquals(1, registry.get(GameMetrics.BROADCAST_SIZE).summary().count());
+    }
+}
@@ -18,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.risk.config.MapLoader;
 import com.risk.dto.GameStateDTO;
 import com.risk.model.Continent;
 import com.risk.model.Game;
@@ -30,6 +31,7 @@ import com.risk.model.PlayerType;
 import com.risk.model.Territory;
 import com.risk.repository.ContinentRepository;
 import com.risk.repository.GameRepository;
+import com.risk.repository.PlayerRepository;
 import com.risk.repository.TerritoryRepository;
 
 /**
@@ -41,6 +43,8 @@ class GameQueryServiceTest {
     @Mock private GameRepository gameRepository;
     @Mock private TerritoryRepository territoryRepository;
     @Mock private ContinentRepository continentRepository;
+    @Mock private MapLoader mapLoader;
+    @Mock private PlayerRepository playerRepository;
 
     private GameQueryService gameQueryService;
     private Game game;
@@ -49,7 +53,8 @@ class GameQueryServiceTest {
 
     @BeforeEach
     void setUp() {
-        gameQueryService = new GameQueryService(gameRepository, territoryRepository, continentRepository);
+        gameQueryService = new GameQueryService(gameRepository, territoryRepository, continentRepository,
+                new LiveGameRegistry(gameRepository, territoryRepository, playerRepository), mapLoader);
 
         player1 = Player.builder()
                 .id("p1").name("Alice").color(PlayerColor.RED)
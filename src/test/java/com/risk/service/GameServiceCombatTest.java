@@ -1,6 +1,7 @@
 package com.risk.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -8,12 +9,15 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -23,8 +27,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.risk.config.AreaDefinition;
+import com.risk.config.MapDefinition;
+import com.risk.config.MapGraph;
+import com.risk.config.MapLoader;
+import com.risk.config.TerritoryDefinition;
 import com.risk.dto.AttackResult;
+import com.risk.dto.BlitzResult;
 import com.risk.model.Game;
 import com.risk.model.GameMode;
 import com.risk.model.GamePhase;
@@ -49,7 +60,10 @@ class GameServiceCombatTest {
     @Mock private PlayerRepository playerRepository;
     @Mock private TerritoryRepository territoryRepository;
     @Mock private ContinentRepository continentRepository;
+    @Mock private MapLoader mapLoader;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
+    private LiveGameRegistry liveGames;
     private GameQueryService gameQueryService;
     private WinConditionService winConditionService;
     private CombatService combatService;
@@ -62,9 +76,10 @@ class GameServiceCombatTest {
 
     @BeforeEach
     void setUp() {
-        gameQueryService = new GameQueryService(gameRepository, territoryRepository, continentRepository);
-        winConditionService = new WinConditionService(gameRepository, playerRepository, territoryRepository);
-        combatService = new CombatService(gameRepository, territoryRepository, playerRepository, gameQueryService, winConditionService);
+        liveGames = new LiveGameRegistry(gameRepository, territoryRepository, playerRepository);
+        gameQueryService = new GameQueryService(gameRepository, territoryRepository, continentRepository, liveGames, mapLoader);
+        winConditionService = new WinConditionService(playerRepository, gameQueryService, liveGames, eventPublisher);
+        combatService = new CombatService(gameQueryService, winConditionService, liveGames);
 
         attacker = Player.builder()
                 .id("attacker-1")
@@ -392,5 +407,133 @@ class GameServiceCombatTest {
             }
             fail("Expected at least one conquest in 200 attempts");
         }
+
+        @Test
+        @DisplayName("should eliminate the defender and end a live game when its last territory is conquered")
+        void shouldEliminateAndFinishLiveGame() {
+            MapGraph graph = MapGraph.compile(new MapDefinition("test", "Test", "d", "a", 2, 2, List.of(
+                    new AreaDefinition("north", "North", 2, "#0f0", List.of(
+                            new TerritoryDefinition("alaska", "Alaska", List.of("kamchatka"), 0, 0),
+                            new TerritoryDefinition("kamchatka", "Kamchatka", List.of("alaska"), 0, 0))))));
+            graph.attach(fromTerritory);
+            graph.attach(toTerritory);
+            liveGames.register(new LiveGame(game, graph, List.of(fromTerritory, toTerritory), List.of()));
+
+            for (int i = 0; i < 200; i++) {
+                fromTerritory.setArmies(5);
+                toTerritory.setArmies(1);
+
+                AttackResult result = combatService.attack(
+                        "game-1", "attacker-1", "alaska", "kamchatka", 3);
+
+                if (result.isConquered()) {
+                    assertEquals("Defender", result.getEliminatedPlayer());
+                    assertTrue(defender.isEliminated());
+                    assertEquals(GameStatus.FINISHED, game.getStatus());
+                    assertEquals("attacker-1", game.getWinnerId());
+                    return;
+                }
+            }
+            fail("Expected at least one conquest in 200 attempts");
+        }
+    }
+
+    @Nested
+    @DisplayName("Blitz attack")
+    class BlitzTests {
+
+        private void stubBoard() {
+            when(gameRepository.findById("game-1")).thenReturn(Optional.of(game));
+            when(territoryRepository.findByGameIdAndTerritoryKey("game-1", "alaska"))
+                    .thenReturn(Optional.of(fromTerritory));
+            when(territoryRepository.findByGameIdAndTerritoryKey("game-1", "kamchatka"))
+                    .thenReturn(Optional.of(toTerritory));
+        }
+
+        private void stubSaves() {
+            lenient().when(territoryRepository.findByOwnerId("defender-1")).thenReturn(List.of());
+            lenient().when(playerRepository.findActivePlayersByGameId("game-1")).thenReturn(List.of(attacker));
+            lenient().when(playerRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(territoryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(gameRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        }
+
+        @Test
+        @DisplayName("should roll until conquest or exhaustion and save once")
+        void shouldRollUntilDone() {
+            combatService = new CombatService(gameQueryService, winConditionService, liveGames, new Random(7));
+            fromTerritory.setArmies(12);
+            toTerritory.setArmies(4);
+            stubBoard();
+            stubSaves();
+
+            BlitzResult result = combatService.blitz("game-1", "attacker-1", "alaska", "kamchatka", 1);
+
+            assertFalse(result.getRounds().isEmpty());
+            assertTrue(result.isConquered() || fromTerritory.getArmies() == 1);
+            assertEquals(result.getAttackerLosses(),
+                    result.getRounds().stream().mapToInt(BlitzResult.Round::getAttackerLosses).sum());
+            assertEquals(result.getDefenderLosses(),
+                    result.getRounds().stream().mapToInt(BlitzResult.Round::getDefenderLosses).sum());
+            assertEquals(fromTerritory.getArmies(), result.getFromArmies());
+            assertEquals(toTerritory.getArmies(), result.getToArmies());
+            verify(territoryRepository, times(1)).save(fromTerritory);
+            verify(territoryRepository, times(1)).save(toTerritory);
+            verify(gameRepository, times(1)).save(game);
+        }
+
+        @Test
+        @DisplayName("should never drop the attacker below the stop threshold")
+        void shouldStopAtThreshold() {
+            stubBoard();
+            when(territoryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(gameRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+            for (long seed = 0; seed < 50; seed++) {
+                combatService = new CombatService(gameQueryService, winConditionService, liveGames, new Random(seed));
+                fromTerritory.setArmies(10);
+                toTerritory.setArmies(30);
+
+                BlitzResult result = combatService.blitz("game-1", "attacker-1", "alaska", "kamchatka", 6);
+
+                assertFalse(result.isConquered(), "seed " + seed);
+                assertEquals(6, fromTerritory.getArmies(), "seed " + seed);
+            }
+        }
+
+        @Test
+        @DisplayName("should report the eliminated defender")
+        void shouldReportElimination() {
+            combatService = new CombatService(gameQueryService, winConditionService, liveGames, new Random(1));
+            fromTerritory.setArmies(30);
+            toTerritory.setArmies(1);
+            stubBoard();
+            stubSaves();
+
+            BlitzResult result = combatService.blitz("game-1", "attacker-1", "alaska", "kamchatka", 1);
+
+            assertTrue(result.isConquered());
+            assertEquals("Defender", result.getEliminatedPlayer());
+            assertTrue(defender.isEliminated());
+        }
+
+        @Test
+        @DisplayName("should reject a stop threshold at or above the attacking armies")
+        void shouldRejectThresholdAboveArmies() {
+            fromTerritory.setArmies(4);
+            stubBoard();
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> combatService.blitz("game-1", "attacker-1", "alaska", "kamchatka", 4));
+        }
+
+        @Test
+        @DisplayName("should reject a stop threshold below one")
+        void shouldRejectZeroThreshold() {
+            stubBoard();
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> combatService.blitz("game-1", "attacker-1", "alaska", "kamchatka", 0));
+        }
     }
 }
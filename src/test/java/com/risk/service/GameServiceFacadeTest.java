@@ -1,26 +1,41 @@
 package com.risk.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
 
+import com.risk.dto.AttackOddsDTO;
 import com.risk.dto.AttackResult;
+import com.risk.dto.BlitzResult;
 import com.risk.dto.CreateGameRequest;
 import com.risk.dto.GameStateDTO;
 import com.risk.dto.JoinGameRequest;
 import com.risk.model.CPUDifficulty;
 import com.risk.model.Game;
+import com.risk.model.GameStatus;
 import com.risk.model.Player;
 import com.risk.model.Territory;
+import com.risk.repository.GameListing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Unit tests for GameService facade — verifies all delegation methods.
@@ -35,6 +50,13 @@ class GameServiceFacadeTest {
     @Mock private TurnManagementService turnManagementService;
     @Mock private GameQueryService queryService;
     @Mock private WinConditionService winConditionService;
+    @Mock private BattleOddsService battleOddsService;
+    @Mock private GameStateCache gameStateCache;
+    @Spy private GameActors gameActors = new GameActors();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy private GameMetrics gameMetrics = new GameMetrics(meterRegistry);
+    @Spy private GameTracer gameTracer = new GameTracer(true, 16, 60_000);
+    @Mock private GameArchiver gameArchiver;
 
     @InjectMocks
     private GameService gameService;
@@ -126,6 +148,109 @@ class GameServiceFacadeTest {
         verify(combatService).attack("g1", "p1", "brazil", "argentina", 3);
     }
 
+    @Test
+    @DisplayName("attack should run on the game's mailbox")
+    void attackShouldRunOnGameMailbox() {
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        when(combatService.attack("g1", "p1", "brazil", "argentina", 3)).thenAnswer(inv -> {
+            ranOn.set(Thread.currentThread());
+            return AttackResult.builder().build();
+        });
+
+        gameService.attack("g1", "p1", "brazil", "argentina", 3);
+
+        assertTrue(ranOn.get().isVirtual());
+        assertEquals("game-g1", ranOn.get().getName());
+    }
+
+    @Test
+    @DisplayName("command failures should reach the caller unchanged")
+    void commandFailuresShouldPropagate() {
+        when(combatService.attack("g1", "p1", "brazil", "argentina", 3))
+                .thenThrow(new IllegalStateException("Not your turn"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> gameService.attack("g1", "p1", "brazil", "argentina", 3));
+
+        assertEquals("Not your turn", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("actions should be timed by action and outcome")
+    void actionsShouldBeTimed() {
+        when(combatService.attack("g1", "p1", "brazil", "argentina", 3))
+                .thenReturn(AttackResult.builder().build())
+                .thenThrow(new IllegalStateException("Not your turn"));
+
+        gameService.attack("g1", "p1", "brazil", "argentina", 3);
+        assertThrows(IllegalStateException.class,
+                () -> gameService.attack("g1", "p1", "brazil", "argentina", 3));
+
+        assertEquals(1, meterRegistry.get(GameMetrics.ACTION)
+                .tags("action", "attack", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(GameMetrics.ACTION)
+                .tags("action", "attack", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("actions should be traced as the wait for the mailbox and the command")
+    void actionsShouldBeTraced() {
+        when(fortificationService.skipFortify("g1", "p1")).thenReturn(Game.builder().id("g1").build());
+
+        gameService.skipFortify("g1", "p1");
+
+        List<GameTracer.Span> spans = gameTracer.timeline("g1");
+        assertEquals(List.of(GameTracer.MAILBOX_WAIT, GameTracer.COMMAND),
+                spans.stream().map(GameTracer.Span::kind).toList());
+        assertEquals("skipFortify", spans.get(1).name());
+        assertEquals("game-g1", spans.get(1).thread());
+    }
+
+    @Test
+    @DisplayName("read-only queries should not go through the mailbox")
+    void queriesShouldBypassMailbox() {
+        when(queryService.getGameState("g1")).thenReturn(new GameStateDTO());
+
+        gameService.getGameState("g1");
+
+        verifyNoInteractions(gameActors);
+    }
+
+    @Test
+    @DisplayName("blitz should delegate to combatService")
+    void blitzShouldDelegate() {
+        BlitzResult expected = BlitzResult.builder().conquered(true).build();
+        when(combatService.blitz("g1", "p1", "brazil", "argentina", 1)).thenReturn(expected);
+
+        assertEquals(expected, gameService.blitz("g1", "p1", "brazil", "argentina", 1));
+    }
+
+    @Test
+    @DisplayName("getAttackOdds should look up both territories and delegate to battleOddsService")
+    void getAttackOddsShouldDelegate() {
+        Territory brazil = Territory.builder().territoryKey("brazil").armies(5)
+                .neighborKeys(Set.of("argentina")).build();
+        Territory argentina = Territory.builder().territoryKey("argentina").armies(2)
+                .neighborKeys(Set.of("brazil")).build();
+        AttackOddsDTO expected = AttackOddsDTO.builder().winProbability(0.9).build();
+        when(queryService.findTerritory("g1", "brazil")).thenReturn(Optional.of(brazil));
+        when(queryService.findTerritory("g1", "argentina")).thenReturn(Optional.of(argentina));
+        when(battleOddsService.forAttack(brazil, argentina)).thenReturn(expected);
+
+        assertEquals(expected, gameService.getAttackOdds("g1", "brazil", "argentina"));
+    }
+
+    @Test
+    @DisplayName("getAttackOdds should reject territories that are not adjacent")
+    void getAttackOddsShouldRejectNonAdjacent() {
+        Territory brazil = Territory.builder().territoryKey("brazil").armies(5).neighborKeys(Set.of()).build();
+        Territory egypt = Territory.builder().territoryKey("egypt").armies(2).neighborKeys(Set.of()).build();
+        when(queryService.findTerritory("g1", "brazil")).thenReturn(Optional.of(brazil));
+        when(queryService.findTerritory("g1", "egypt")).thenReturn(Optional.of(egypt));
+
+        assertThrows(IllegalArgumentException.class, () -> gameService.getAttackOdds("g1", "brazil", "egypt"));
+    }
+
     @Test
     @DisplayName("endAttackPhase should delegate to turnManagementService")
     void endAttackPhaseShouldDelegate() {
@@ -199,26 +324,44 @@ class GameServiceFacadeTest {
     }
 
     @Test
-    @DisplayName("getJoinableGames should delegate to queryService")
-    void getJoinableGamesShouldDelegate() {
-        List<Game> expected = List.of(Game.builder().id("g1").build());
-        when(queryService.getJoinableGames()).thenReturn(expected);
+    @DisplayName("getGameStateSnapshot should delegate to gameStateCache")
+    void getGameStateSnapshotShouldDelegate() {
+        GameStateCache.Snapshot expected = new GameStateCache.Snapshot(3, new GameStateDTO(), new byte[0]);
+        when(gameStateCache.get("g1")).thenReturn(expected);
 
-        List<Game> result = gameService.getJoinableGames();
+        GameStateCache.Snapshot result = gameService.getGameStateSnapshot("g1");
 
         assertEquals(expected, result);
-        verify(queryService).getJoinableGames();
+        verify(gameStateCache).get("g1");
     }
 
     @Test
-    @DisplayName("getAllGames should delegate to queryService")
-    void getAllGamesShouldDelegate() {
-        List<Game> expected = List.of(Game.builder().id("g1").build());
-        when(queryService.getAllGames()).thenReturn(expected);
+    @DisplayName("listGames should delegate to queryService")
+    void listGamesShouldDelegate() {
+        Page<GameListing> expected = Page.empty();
+        when(queryService.listGames(GameStatus.FINISHED, "europe", null, false, 3, 25)).thenReturn(expected);
 
-        List<Game> result = gameService.getAllGames();
+        Page<GameListing> result = gameService.listGames(GameStatus.FINISHED, "europe", null, false, 3, 25);
 
         assertEquals(expected, result);
-        verify(queryService).getAllGames();
+        verify(queryService).listGames(GameStatus.FINISHED, "europe", null, false, 3, 25);
+    }
+
+    @Test
+    @DisplayName("getArchive should delegate to gameArchiver")
+    void getArchiveShouldDelegate() {
+        byte[] expected = "{}".getBytes();
+        when(gameArchiver.read("g1")).thenReturn(expected);
+
+        assertEquals(expected, gameService.getArchive("g1"));
+    }
+
+    @Test
+    @DisplayName("getReplay should delegate to gameArchiver")
+    void getReplayShouldDelegate() {
+        ReplayRecording.Playback expected = mock(ReplayRecording.Playback.class);
+        when(gameArchiver.replay("g1", 3)).thenReturn(expected);
+
+        assertEquals(expected, gameService.getReplay("g1", 3));
     }
 }
@@ -3,9 +3,11 @@ package com.risk.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -22,9 +24,17 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.risk.config.MapLoader;
 import com.risk.dto.CreateGameRequest;
 import com.risk.dto.JoinGameRequest;
 import com.risk.model.CPUDifficulty;
@@ -38,6 +48,7 @@ import com.risk.model.PlayerColor;
 import com.risk.model.PlayerType;
 import com.risk.model.Territory;
 import com.risk.repository.ContinentRepository;
+import com.risk.repository.GameListing;
 import com.risk.repository.GameRepository;
 import com.risk.repository.PlayerRepository;
 import com.risk.repository.TerritoryRepository;
@@ -54,8 +65,12 @@ class GameServiceLifecycleTest {
     @Mock private PlayerRepository playerRepository;
     @Mock private TerritoryRepository territoryRepository;
     @Mock private ContinentRepository continentRepository;
+    @Mock private MapLoader mapLoader;
+    @Mock private ApplicationEventPublisher eventPublisher;
     @Mock private MapService mapService;
+    @Mock private LiveGameLoader liveGameLoader;
 
+    private LiveGameRegistry liveGames;
     private GameQueryService gameQueryService;
     private WinConditionService winConditionService;
     private ReinforcementService reinforcementService;
@@ -69,12 +84,14 @@ class GameServiceLifecycleTest {
 
     @BeforeEach
     void setUp() {
-        gameQueryService = new GameQueryService(gameRepository, territoryRepository, continentRepository);
-        winConditionService = new WinConditionService(gameRepository, playerRepository, territoryRepository);
-        reinforcementService = new ReinforcementService(gameRepository, territoryRepository, continentRepository, gameQueryService);
-        turnManagementService = new TurnManagementService(gameRepository, gameQueryService, winConditionService, reinforcementService);
-        fortificationService = new FortificationService(gameRepository, territoryRepository, gameQueryService, turnManagementService);
-        lifecycleService = new GameLifecycleService(gameRepository, playerRepository, territoryRepository, mapService, gameQueryService, reinforcementService);
+        liveGames = new LiveGameRegistry(gameRepository, territoryRepository, playerRepository);
+        gameQueryService = new GameQueryService(gameRepository, territoryRepository, continentRepository, liveGames, mapLoader);
+        winConditionService = new WinConditionService(playerRepository, gameQueryService, liveGames, eventPublisher);
+        reinforcementService = new ReinforcementService(gameQueryService, liveGames);
+        turnManagementService = new TurnManagementService(gameQueryService, winConditionService, reinforcementService, liveGames,
+                new GameMetrics(new SimpleMeterRegistry()));
+        fortificationService = new FortificationService(gameQueryService, turnManagementService, liveGames);
+        lifecycleService = new GameLifecycleService(gameRepository, playerRepository, territoryRepository, mapService, gameQueryService, reinforcementService, liveGameLoader, eventPublisher);
 
         player1 = Player.builder()
                 .id("p1").name("Alice").color(PlayerColor.RED)
@@ -101,6 +118,12 @@ class GameServiceLifecycleTest {
         player2.setGame(game);
     }
 
+    private LobbyEvent publishedLobbyEvent() {
+        ArgumentCaptor<LobbyEvent> event = ArgumentCaptor.forClass(LobbyEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+
     @Nested
     @DisplayName("createGame()")
     class CreateGameTests {
@@ -123,6 +146,11 @@ class GameServiceLifecycleTest {
                 if (g.getPlayers() == null) g.setPlayers(new ArrayList<>());
                 return g;
             });
+            when(gameRepository.saveAndFlush(any(Game.class))).thenAnswer(inv -> {
+                Game g = inv.getArgument(0);
+                g.setId("new-game-id");
+                return g;
+            });
             when(playerRepository.save(any(Player.class))).thenAnswer(inv -> {
                 Player p = inv.getArgument(0);
                 if (p.getId() == null) p.setId(UUID.randomUUID().toString());
@@ -137,6 +165,11 @@ class GameServiceLifecycleTest {
             assertEquals(GamePhase.SETUP, result.getCurrentPhase());
             assertEquals(1, result.getTurnNumber());
             verify(mapService).initializeMap(any(Game.class));
+
+            LobbyEvent event = publishedLobbyEvent();
+            assertEquals(LobbyEvent.Type.GAME_CREATED, event.type());
+            assertEquals(2, event.game().playerCount());
+            assertEquals("Alice", event.game().hostName());
         }
     }
 
@@ -195,6 +228,22 @@ class GameServiceLifecycleTest {
 
             assertThrows(IllegalStateException.class,
                     () -> lifecycleService.addCPUPlayer("game-1", CPUDifficulty.MEDIUM));
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("should publish the new player count to the lobby")
+        void shouldPublishPlayerCount() {
+            game.setStatus(GameStatus.WAITING_FOR_PLAYERS);
+            when(gameRepository.findById("game-1")).thenReturn(Optional.of(game));
+            when(playerRepository.save(any(Player.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            lifecycleService.addCPUPlayer("game-1", CPUDifficulty.MEDIUM);
+
+            LobbyEvent event = publishedLobbyEvent();
+            assertEquals(LobbyEvent.Type.PLAYER_COUNT_CHANGED, event.type());
+            assertEquals(3, event.game().playerCount());
+            assertTrue(event.game().isJoinable());
         }
     }
 
@@ -213,6 +262,28 @@ class GameServiceLifecycleTest {
             assertThrows(IllegalStateException.class,
                     () -> lifecycleService.startGame("game-1"));
         }
+
+        @Test
+        @DisplayName("should deal territories and starting armies with one batched save")
+        void shouldDistributeTerritoriesInMemory() {
+            List<Territory> territories = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                territories.add(Territory.builder().id("t" + i).territoryKey("t" + i).name("T" + i).game(game).build());
+            }
+            when(territoryRepository.findByGameId("game-1")).thenReturn(territories);
+
+            lifecycleService.distributeTerritories(game);
+
+            verify(territoryRepository).saveAll(any());
+            verify(territoryRepository, never()).save(any());
+            int initialArmies = GameLifecycleService.getInitialArmiesPerPlayer(2);
+            for (Player player : List.of(player1, player2)) {
+                List<Territory> owned = territories.stream().filter(t -> t.getOwner() == player).toList();
+                assertEquals(player == player1 ? 3 : 2, owned.size());
+                assertEquals(initialArmies, owned.stream().mapToInt(Territory::getArmies).sum());
+                assertTrue(owned.stream().allMatch(t -> t.getArmies() >= 1));
+            }
+        }
     }
 
     @Nested
@@ -588,6 +659,7 @@ class GameServiceLifecycleTest {
             assertEquals(5, game.getTurnNumber(),
                     "Turn number should be reset to the limit");
             assertEquals("p1", game.getWinnerId(), "Player with most territories should win");
+            assertEquals(LobbyEvent.Type.GAME_FINISHED, publishedLobbyEvent().type());
         }
 
         @Test
@@ -683,29 +755,45 @@ class GameServiceLifecycleTest {
     }
 
     @Nested
-    @DisplayName("getJoinableGames() and getAllGames()")
+    @DisplayName("listGames()")
     class GameListTests {
 
         @Test
-        @DisplayName("getAllGames should delegate to repository")
-        void shouldDelegateGetAllGames() {
-            when(gameRepository.findAll()).thenReturn(List.of(game));
+        @DisplayName("should read one page of listings with the filters")
+        void shouldListGames() {
+            Page<GameListing> page = new PageImpl<>(List.of());
+            when(gameRepository.findListings(GameStatus.WAITING_FOR_PLAYERS, "europe", null, true,
+                    PageRequest.of(1, 10))).thenReturn(page);
 
-            List<Game> result = gameQueryService.getAllGames();
+            assertSame(page, gameQueryService.listGames(GameStatus.WAITING_FOR_PLAYERS, "europe", null, true, 1, 10));
+        }
 
-            assertEquals(1, result.size());
-            verify(gameRepository).findAll();
+        @Test
+        @DisplayName("should cap the page size")
+        void shouldCapPageSize() {
+            when(gameRepository.findListings(null, null, null, false,
+                    PageRequest.of(0, GameQueryService.MAX_PAGE_SIZE))).thenReturn(Page.empty());
+
+            gameQueryService.listGames(null, null, null, false, 0, 10_000);
+
+            verify(gameRepository).findListings(null, null, null, false, PageRequest.of(0, GameQueryService.MAX_PAGE_SIZE));
         }
 
         @Test
-        @DisplayName("getJoinableGames should delegate to repository")
-        void shouldDelegateGetJoinableGames() {
-            when(gameRepository.findJoinableGames()).thenReturn(List.of(game));
+        @DisplayName("should reject a negative page")
+        void shouldRejectNegativePage() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> gameQueryService.listGames(null, null, null, false, -1, 20));
+        }
 
-            List<Game> result = gameQueryService.getJoinableGames();
+        @Test
+        @DisplayName("should keep the denormalized player count in step with the players")
+        void shouldCountPlayers() {
+            when(playerRepository.save(any(Player.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            lifecycleService.addPlayer(game, "Bob", PlayerType.HUMAN, null, null);
 
-            assertEquals(1, result.size());
-            verify(gameRepository).findJoinableGames();
+            assertEquals(game.getPlayers().size(), game.getPlayerCount());
         }
     }
 
@@ -731,6 +819,11 @@ class GameServiceLifecycleTest {
                 if (g.getPlayers() == null) g.setPlayers(new ArrayList<>());
                 return g;
             });
+            when(gameRepository.saveAndFlush(any(Game.class))).thenAnswer(inv -> {
+                Game g = inv.getArgument(0);
+                g.setId("new-game-id");
+                return g;
+            });
             when(playerRepository.save(any(Player.class))).thenAnswer(inv -> {
                 Player p = inv.getArgument(0);
                 if (p.getId() == null) p.setId(java.util.UUID.randomUUID().toString());
@@ -762,6 +855,11 @@ class GameServiceLifecycleTest {
                 if (g.getPlayers() == null) g.setPlayers(new ArrayList<>());
                 return g;
             });
+            when(gameRepository.saveAndFlush(any(Game.class))).thenAnswer(inv -> {
+                Game g = inv.getArgument(0);
+                g.setId("new-game-id");
+                return g;
+            });
             when(playerRepository.save(any(Player.class))).thenAnswer(inv -> {
                 Player p = inv.getArgument(0);
                 if (p.getId() == null) p.setId(java.util.UUID.randomUUID().toString());
@@ -1,7 +1,9 @@
 package com.risk.service;
 
+import com.risk.config.MapLoader;
 import com.risk.model.*;
 import com.risk.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -28,7 +31,10 @@ class GameServiceTurnTest {
     @Mock private PlayerRepository playerRepository;
     @Mock private TerritoryRepository territoryRepository;
     @Mock private ContinentRepository continentRepository;
+    @Mock private MapLoader mapLoader;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
+    private LiveGameRegistry liveGames;
     private GameQueryService gameQueryService;
     private WinConditionService winConditionService;
     private ReinforcementService reinforcementService;
@@ -40,11 +46,13 @@ class GameServiceTurnTest {
 
     @BeforeEach
     void setUp() {
-        gameQueryService = new GameQueryService(gameRepository, territoryRepository, continentRepository);
-        winConditionService = new WinConditionService(gameRepository, playerRepository, territoryRepository);
-        reinforcementService = new ReinforcementService(gameRepository, territoryRepository, continentRepository, gameQueryService);
-        turnManagementService = new TurnManagementService(gameRepository, gameQueryService, winConditionService, reinforcementService);
-        fortificationService = new FortificationService(gameRepository, territoryRepository, gameQueryService, turnManagementService);
+        liveGames = new LiveGameRegistry(gameRepository, territoryRepository, playerRepository);
+        gameQueryService = new GameQueryService(gameRepository, territoryRepository, continentRepository, liveGames, mapLoader);
+        winConditionService = new WinConditionService(playerRepository, gameQueryService, liveGames, eventPublisher);
+        reinforcementService = new ReinforcementService(gameQueryService, liveGames);
+        turnManagementService = new TurnManagementService(gameQueryService, winConditionService, reinforcementService, liveGames,
+                new GameMetrics(new SimpleMeterRegistry()));
+        fortificationService = new FortificationService(gameQueryService, turnManagementService, liveGames);
 
         players = new ArrayList<>();
         for (int i = 0; i < 4; i++) {
@@ -0,0 +1,114 @@
+package com.risk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.risk.dto.GameStateDTO;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for GameStateCache — one build and serialization per live game version.
+ */
+@ExtendWith(MockitoExtension.class)
+class GameStateCacheTest {
+
+    @Mock private GameQueryService gameQueryService;
+    @Mock private LiveGameRegistry liveGames;
+    @Mock private LiveGame liveGame;
+
+    private GameStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GameStateCache(gameQueryService, liveGames, new ObjectMapper());
+    }
+
+    private static GameStateDTO state(long version) {
+        return GameStateDTO.builder().gameId("game-1").stateVersion(version).build();
+    }
+
+    @Nested
+    @DisplayName("get()")
+    class GetTests {
+
+        @Test
+        @DisplayName("should reuse the snapshot while the live game stays at the same version")
+        void shouldReuseSnapshotAtSameVersion() {
+            when(liveGames.find("game-1")).thenReturn(Optional.of(liveGame));
+            when(liveGame.getVersion()).thenReturn(5L);
+            when(gameQueryService.getGameState("game-1")).thenReturn(state(5));
+
+            GameStateCache.Snapshot first = cache.get("game-1");
+            GameStateCache.Snapshot second = cache.get("game-1");
+
+            assertSame(first, second);
+            verify(gameQueryService, times(1)).getGameState("game-1");
+            assertEquals(5, first.version());
+            String json = new String(first.json(), StandardCharsets.UTF_8);
+            assertTrue(json.contains("\"gameId\":\"game-1\""));
+        }
+
+        @Test
+        @DisplayName("should rebuild once the live game changes")
+        void shouldRebuildAfterChange() {
+            when(liveGames.find("game-1")).thenReturn(Optional.of(liveGame));
+            when(liveGame.getVersion()).thenReturn(5L, 6L);
+            when(gameQueryService.getGameState("game-1")).thenReturn(state(5), state(6));
+
+            GameStateCache.Snapshot first = cache.get("game-1");
+            GameStateCache.Snapshot second = cache.get("game-1");
+
+            assertNotSame(first, second);
+            assertEquals(6, second.version());
+        }
+
+        @Test
+        @DisplayName("should build every time and cache nothing for games that are not live")
+        void shouldNotCacheWhenNotLive() {
+            when(liveGames.find("game-1")).thenReturn(Optional.empty());
+            when(gameQueryService.getGameState("game-1")).thenReturn(state(0));
+
+            cache.get("game-1");
+            cache.get("game-1");
+
+            verify(gameQueryService, times(2)).getGameState("game-1");
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("evictInactive()")
+    class EvictInactiveTests {
+
+        @Test
+        @DisplayName("should drop games that are no longer live")
+        void shouldDropFinishedGames() {
+            when(liveGames.find("game-1")).thenReturn(Optional.of(liveGame), Optional.empty());
+            when(liveGame.getVersion()).thenReturn(5L);
+            when(gameQueryService.getGameState("game-1")).thenReturn(state(5));
+            cache.get("game-1");
+            assertEquals(1, cache.size());
+
+            cache.evictInactive();
+
+            assertEquals(0, cache.size());
+        }
+    }
+}
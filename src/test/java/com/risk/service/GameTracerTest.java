@@ -0,0 +1,101 @@
+package com.risk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for GameTracer — per-game ring buffers of timed spans.
+ */
+class GameTracerTest {
+
+    private static List<String> names(List<GameTracer.Span> spans) {
+        return spans.stream().map(GameTracer.Span::name).toList();
+    }
+
+    @Nested
+    @DisplayName("trace()")
+    class TraceTests {
+
+        @Test
+        @DisplayName("should make the game current for nested calls and list spans by start")
+        void shouldNestSpans() {
+            GameTracer tracer = new GameTracer(true, 16, 60_000);
+
+            String seen = tracer.trace("g1", GameTracer.COMMAND, "attack", () -> {
+                long started = System.nanoTime();
+                String current = tracer.currentGame();
+                tracer.record(current, GameTracer.REPOSITORY, "findById", started, System.nanoTime(), null);
+                return current;
+            });
+
+            assertEquals("g1", seen);
+            assertNull(tracer.currentGame());
+            assertEquals(List.of("attack", "findById"), names(tracer.timeline("g1")));
+        }
+
+        @Test
+        @DisplayName("should record the exception that ended a span")
+        void shouldRecordFailures() {
+            GameTracer tracer = new GameTracer(true, 16, 60_000);
+
+            assertThrows(IllegalStateException.class, () -> tracer.trace("g1", GameTracer.COMMAND, "attack",
+                    () -> {
+                        throw new IllegalStateException("Not your turn");
+                    }));
+
+            assertEquals("IllegalStateException", tracer.timeline("g1").get(0).detail());
+        }
+
+        @Test
+        @DisplayName("should record nothing while sampling is off")
+        void shouldSkipWhenOff() {
+            GameTracer tracer = new GameTracer(false, 16, 60_000);
+
+            assertEquals(7, tracer.trace("g1", GameTracer.COMMAND, "attack", () -> 7));
+            tracer.record("g1", GameTracer.BROADCAST, "GAME_UPDATE", 0, 1, null);
+
+            assertTrue(tracer.timeline("g1").isEmpty());
+            tracer.setEnabled(true);
+            tracer.trace("g1", GameTracer.COMMAND, "attack", () -> 7);
+            assertEquals(1, tracer.timeline("g1").size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Ring buffer")
+    class RingTests {
+
+        @Test
+        @DisplayName("should keep only the most recent spans of each game")
+        void shouldKeepRecentSpans() {
+            GameTracer tracer = new GameTracer(true, 3, 60_000);
+
+            for (int i = 0; i < 5; i++) {
+                tracer.trace("g1", GameTracer.COMMAND, "c" + i, () -> null);
+            }
+            tracer.trace("g2", GameTracer.COMMAND, "other", () -> null);
+
+            assertEquals(List.of("c2", "c3", "c4"), names(tracer.timeline("g1")));
+            assertEquals(List.of("other"), names(tracer.timeline("g2")));
+        }
+
+        @Test
+        @DisplayName("should drop games with no recent spans")
+        void shouldEvictIdleGames() {
+            GameTracer tracer = new GameTracer(true, 3, -1);
+            tracer.trace("g1", GameTracer.COMMAND, "attack", () -> null);
+
+            tracer.evictIdle();
+
+            assertTrue(tracer.timeline("g1").isEmpty());
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.risk.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.risk.config.AreaDefinition;
+import com.risk.config.MapDefinition;
+import com.risk.config.MapGraph;
+import com.risk.config.TerritoryDefinition;
+import com.risk.model.Game;
+import com.risk.model.GameEvent;
+import com.risk.model.GamePhase;
+import com.risk.model.GameSnapshot;
+import com.risk.model.GameStatus;
+import com.risk.model.Player;
+import com.risk.model.PlayerColor;
+import com.risk.model.PlayerType;
+import com.risk.model.Territory;
+import com.risk.repository.GameRepository;
+import com.risk.repository.PlayerRepository;
+import com.risk.repository.TerritoryRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for LiveGameRegistry — buffered writes for live games, write-through otherwise,
+ * and their write-behind flush.
+ */
+@ExtendWith(MockitoExtension.class)
+class LiveGameRegistryTest {
+
+    @Mock private GameRepository gameRepository;
+    @Mock private TerritoryRepository territoryRepository;
+    @Mock private PlayerRepository playerRepository;
+    @Mock private LiveGameLoader liveGameLoader;
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private LiveGameRegistry registry;
+    private Game game;
+    private Player player1;
+    private Player player2;
+    private Territory brazil;
+    private Territory peru;
+    private MapGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        registry = new LiveGameRegistry(gameRepository, territoryRepository, playerRepository);
+
+        player1 = Player.builder()
+                .id("p1").name("Alice").color(PlayerColor.RED)
+                .type(PlayerType.HUMAN).turnOrder(0).build();
+        player2 = Player.builder()
+                .id("p2").name("Bob").color(PlayerColor.BLUE)
+                .type(PlayerType.HUMAN).turnOrder(1).build();
+
+        game = Game.builder()
+                .id("game-1").name("Live").status(GameStatus.IN_PROGRESS)
+                .currentPhase(GamePhase.ATTACK)
+                .players(new ArrayList<>(List.of(player1, player2)))
+                .territories(new HashSet<>())
+                .build();
+
+        brazil = Territory.builder().id("t1").territoryKey("brazil")
+                .owner(player1).armies(5).game(game).neighborKeys(new HashSet<>()).build();
+        peru = Territory.builder().id("t2").territoryKey("peru")
+                .owner(player2).armies(2).game(game).neighborKeys(new HashSet<>()).build();
+
+        graph = MapGraph.compile(new MapDefinition("test", "Test", "d", "a", 2, 2, List.of(
+                new AreaDefinition("south-america", "South America", 2, "#0f0", List.of(
+                        new TerritoryDefinition("brazil", "Brazil", List.of("peru"), 0, 0),
+                        new TerritoryDefinition("peru", "Peru", List.of("brazil"), 0, 0))))));
+        graph.attach(brazil);
+        graph.attach(peru);
+    }
+
+    private LiveGame register() {
+        LiveGame liveGame = new LiveGame(game, graph, List.of(brazil, peru), List.of());
+        registry.register(liveGame);
+        return liveGame;
+    }
+
+    @Nested
+    @DisplayName("save*()")
+    class SaveTests {
+
+        @Test
+        @DisplayName("should write through to the repositories when the game is not live")
+        void shouldWriteThroughWhenNotLive() {
+            when(territoryRepository.save(brazil)).thenReturn(brazil);
+            when(gameRepository.save(game)).thenReturn(game);
+
+            registry.saveTerritory(game, brazil);
+            registry.saveGame(game);
+
+            verify(territoryRepository).save(brazil);
+            verify(gameRepository).save(game);
+        }
+
+        @Test
+        @DisplayName("should only mark state dirty when the game is live")
+        void shouldBufferWhenLive() {
+            LiveGame liveGame = register();
+
+            assertSame(brazil, registry.saveTerritory(game, brazil));
+            assertSame(player2, registry.savePlayer(game, player2));
+            assertSame(game, registry.saveGame(game));
+
+            verify(territoryRepository, never()).save(brazil);
+            verify(playerRepository, never()).save(player2);
+            verify(gameRepository, never()).save(game);
+            assertTrue(liveGame.isDirty());
+        }
+    }
+
+    @Nested
+    @DisplayName("LiveGame")
+    class LiveGameTests {
+
+        @Test
+        @DisplayName("should answer territory queries from memory")
+        void shouldAnswerQueriesFromMemory() {
+            LiveGame liveGame = register();
+
+            assertSame(peru, liveGame.findTerritory("peru").orElseThrow());
+            assertEquals(1, liveGame.countTerritoriesOwnedBy("p1"));
+            assertEquals(List.of(peru), liveGame.getTerritoriesOwnedBy("p2"));
+        }
+
+        @Test
+        @DisplayName("should keep ownership bitsets current when a territory changes hands")
+        void shouldTrackConquests() {
+            LiveGame liveGame = register();
+            BoardView before = liveGame.board();
+
+            peru.setOwner(player1);
+            registry.saveTerritory(game, peru);
+
+            assertEquals(2, liveGame.countTerritoriesOwnedBy("p1"));
+            assertEquals(0, liveGame.countTerritoriesOwnedBy("p2"));
+            assertFalse(liveGame.board().hasEnemyNeighbor(brazil, "p1"));
+            // Earlier snapshots are unaffected
+            assertTrue(before.hasEnemyNeighbor(brazil, "p1"));
+            assertEquals(List.of(peru), before.enemyNeighbors(brazil, "p1"));
+        }
+
+        @Test
+        @DisplayName("should keep territory, army and continent counts current")
+        void shouldCountHoldings() {
+            LiveGame liveGame = register();
+            int continent = graph.continentOf(graph.indexOf("peru"));
+            assertEquals(5, liveGame.countArmiesOwnedBy("p1"));
+            assertEquals(1, liveGame.countTerritoriesOwnedIn("p2", continent));
+
+            peru.setOwner(player1);
+            peru.setArmies(3);
+            brazil.setArmies(2);
+            registry.recount(game, peru);
+            assertEquals(2, liveGame.countTerritoriesOwnedBy("p1"));
+            assertEquals(0, liveGame.countTerritoriesOwnedIn("p2", continent));
+
+            registry.saveTerritory(game, peru);
+            registry.saveTerritory(game, brazil);
+            assertEquals(2, liveGame.countTerritoriesOwnedIn("p1", continent));
+            assertEquals(5, liveGame.countArmiesOwnedBy("p1"));
+            assertEquals(0, liveGame.countArmiesOwnedBy("p2"));
+            assertEquals(0, liveGame.countTerritoriesOwnedBy("unknown"));
+        }
+
+        @Test
+        @DisplayName("should grant a continent bonus once every territory of it is owned")
+        void shouldTrackContinentControl() {
+            LiveGame liveGame = register();
+            player1.setGame(game);
+            // No query service: live reinforcements must come from the counters alone
+            ReinforcementService reinforcements = new ReinforcementService(null, registry);
+            assertEquals(0, liveGame.continentBonusOf("p1"));
+            assertEquals(3, reinforcements.calculateReinforcements(player1));
+
+            peru.setOwner(player1);
+            registry.saveTerritory(game, peru);
+
+            assertEquals(2, liveGame.continentBonusOf("p1"));
+            assertEquals(0, liveGame.continentBonusOf("p2"));
+            assertEquals(5, reinforcements.calculateReinforcements(player1));
+        }
+
+        @Test
+        @DisplayName("should hand each change to the flusher once and accept it back on failure")
+        void shouldDrainAndRestoreChanges() {
+            LiveGame liveGame = register();
+            liveGame.markDirty(brazil);
+            liveGame.markDirty(brazil);
+            liveGame.markGameDirty();
+
+            LiveGame.Changes changes = liveGame.drainChanges();
+            assertEquals(List.of(brazil), changes.territories().stream().map(LiveGame.TerritoryRow::territory).toList());
+            assertNotNull(changes.game());
+            assertFalse(liveGame.isDirty());
+
+            liveGame.restoreChanges(changes);
+            assertTrue(liveGame.isDirty());
+        }
+
+        @Test
+        @DisplayName("should copy the row values when draining, unaffected by later changes")
+        void shouldCopyRowValues() {
+            LiveGame liveGame = register();
+            registry.saveTerritory(game, peru);
+            registry.saveGame(game);
+
+            LiveGame.Changes changes = liveGame.drainChanges();
+            peru.setOwner(player1);
+            peru.setArmies(7);
+            game.setCurrentPhase(GamePhase.FORTIFY);
+
+            assertEquals("p2", changes.territories().get(0).ownerId());
+            assertEquals(2, changes.territories().get(0).armies());
+            assertEquals(GamePhase.ATTACK, changes.game().currentPhase());
+        }
+
+        @Test
+        @DisplayName("should advance the state version on every change")
+        void shouldAdvanceVersion() {
+            LiveGame liveGame = register();
+            long initial = liveGame.getVersion();
+
+            registry.saveTerritory(game, brazil);
+            registry.savePlayer(game, player1);
+            registry.saveGame(game);
+
+            assertEquals(initial + 3, liveGame.getVersion());
+            liveGame.drainChanges();
+            assertEquals(initial + 3, liveGame.getVersion());
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("should publish the number of live games by status")
+        void shouldGaugeLiveGamesByStatus() {
+            SimpleMeterRegistry meters = new SimpleMeterRegistry();
+            registry.bindTo(meters);
+            register();
+
+            assertEquals(1, meters.get("risk.games.live").tag("status", "IN_PROGRESS").gauge().value());
+            game.setStatus(GameStatus.FINISHED);
+            assertEquals(0, meters.get("risk.games.live").tag("status", "IN_PROGRESS").gauge().value());
+            assertEquals(1, meters.get("risk.games.live").tag("status", "FINISHED").gauge().value());
+        }
+    }
+
+    @Nested
+    @DisplayName("Event log")
+    class EventLogTests {
+
+        @Test
+        @DisplayName("should number recorded events after the stored log")
+        void shouldNumberEvents() {
+            LiveGame liveGame = register();
+            liveGame.resumeEventLog(41, 40);
+
+            registry.recordEvent(game, GameEvent.armiesPlaced("p1", "brazil", 2));
+            registry.recordEvent(game, GameEvent.attackEnded("p1"));
+
+            List<GameEvent> events = liveGame.drainChanges().events();
+            assertEquals(List.of(42L, 43L), events.stream().map(GameEvent::getSequence).toList());
+            assertEquals("game-1", events.get(0).getGameId());
+            assertEquals(43, liveGame.getLastEventSequence());
+        }
+
+        @Test
+        @DisplayName("should put failed events back ahead of newer ones")
+        void shouldRestoreEventsInOrder() {
+            LiveGame liveGame = register();
+            liveGame.recordEvent(GameEvent.armiesPlaced("p1", "brazil", 2));
+            LiveGame.Changes failed = liveGame.drainChanges();
+            liveGame.recordEvent(GameEvent.attackEnded("p1"));
+
+            liveGame.restoreChanges(failed);
+
+            assertEquals(List.of(1L, 2L), liveGame.drainChanges().events().stream()
+                    .map(GameEvent::getSequence).toList());
+        }
+
+        @Test
+        @DisplayName("should ask for a snapshot first and then every interval events")
+        void shouldScheduleSnapshots() {
+            LiveGame liveGame = register();
+            assertTrue(liveGame.isSnapshotDue(2));
+
+            liveGame.captureSnapshot();
+            assertFalse(liveGame.isSnapshotDue(2));
+            liveGame.recordEvent(GameEvent.attackEnded("p1"));
+            assertFalse(liveGame.isSnapshotDue(2));
+            liveGame.recordEvent(GameEvent.attackEnded("p1"));
+            assertTrue(liveGame.isSnapshotDue(2));
+        }
+
+        @Test
+        @DisplayName("should capture the board and turn state at the current sequence")
+        void shouldCaptureSnapshot() {
+            LiveGame liveGame = register();
+            player2.eliminate();
+            liveGame.recordEvent(GameEvent.attackEnded("p1"));
+
+            liveGame.captureSnapshot();
+            GameSnapshot snapshot = liveGame.drainChanges().snapshot();
+
+            assertEquals(1, snapshot.getSequence());
+            assertEquals(GamePhase.ATTACK, snapshot.getCurrentPhase());
+            assertEquals("p2", snapshot.getEliminatedPlayerIds());
+            ReplayedGame replayed = ReplayedGame.fromSnapshot(snapshot);
+            assertEquals("p2", replayed.getTerritories().get("peru").getOwnerId());
+            assertEquals(5, replayed.getTerritories().get("brazil").getArmies());
+        }
+
+        @Test
+        @DisplayName("should only log events of a game that is not live")
+        void shouldIgnoreEventsWhenNotLive() {
+            registry.recordEvent(game, GameEvent.attackEnded("p1"));
+
+            assertTrue(registry.getLiveGames().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Write-behind flush")
+    class FlushTests {
+
+        @Test
+        @DisplayName("should wait for a running command and write rows that match the events written with them")
+        void shouldFlushBetweenCommands() throws Exception {
+            LiveGame liveGame = register();
+            liveGame.resumeEventLog(0, 0);
+            GameActors gameActors = new GameActors();
+            WriteBehindFlusher flusher = new WriteBehindFlusher(registry, gameActors, liveGameLoader, jdbcTemplate,
+                    transactionManager, new GameTracer(false, 1, 0), 200);
+            List<Object[]> territoryRows = new ArrayList<>();
+            List<Object[]> eventRows = new ArrayList<>();
+            when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+                List<Object[]> rows = inv.getArgument(1);
+                String sql = inv.getArgument(0);
+                (sql.startsWith("UPDATE territories") ? territoryRows : eventRows).addAll(rows);
+                int[] updated = new int[rows.size()];
+                Arrays.fill(updated, 1);
+                return updated;
+            });
+
+            // The previous command reinforced Peru
+            peru.setArmies(3);
+            registry.saveTerritory(game, peru);
+            registry.recordEvent(game, GameEvent.armiesPlaced("p2", "peru", 1));
+
+            // A conquest is halfway: Peru has its new owner but not yet the armies moved in
+            CountDownLatch halfway = new CountDownLatch(1);
+            CountDownLatch resume = new CountDownLatch(1);
+            gameActors.submit("game-1", () -> {
+                peru.setOwner(player1);
+                halfway.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                peru.setArmies(4);
+                registry.recordEvent(game, GameEvent.territoryConquered("p1", "brazil", "peru", 4));
+                registry.saveTerritory(game, peru);
+            });
+            assertTrue(halfway.await(5, TimeUnit.SECONDS));
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<?> flushing = executor.submit(() -> flusher.flush(liveGame));
+                assertThrows(TimeoutException.class, () -> flushing.get(100, TimeUnit.MILLISECONDS));
+                resume.countDown();
+                flushing.get(5, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            // Peru as the conquest left it, next to both events: the tail replays onto these rows
+            assertEquals(1, territoryRows.size());
+            assertArrayEquals(new Object[]{4, "p1", "t2", 0L}, territoryRows.get(0));
+            assertEquals(List.of(1L, 2L), eventRows.stream().map(row -> row[1]).toList());
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.risk.service;
 
 import com.risk.config.*;
 import com.risk.model.*;
-import com.risk.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,11 +10,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -24,9 +23,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class MapServiceTest {
 
-    @Mock private ContinentRepository continentRepository;
-    @Mock private TerritoryRepository territoryRepository;
     @Mock private MapLoader mapLoader;
+    @Mock private JdbcTemplate jdbcTemplate;
 
     @InjectMocks
     private MapService mapService;
@@ -45,11 +43,18 @@ class MapServiceTest {
                 .build();
     }
 
+    @SuppressWarnings("unchecked")
+    private List<Object[]> insertedRows(String table) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO " + table + " "), rows.capture());
+        return rows.getValue();
+    }
+
     @Test
-    @DisplayName("should create continents and territories from map definition")
+    @DisplayName("should insert continents and territories from the map definition as two batches")
     void shouldInitializeMapFromDefinition() {
         TerritoryDefinition terr1 = new TerritoryDefinition("alaska", "Alaska",
-                List.of("kamchatka", "nw-territory"), 10.0, 20.0);
+                List.of("kamchatka"), 10.0, 20.0);
         TerritoryDefinition terr2 = new TerritoryDefinition("kamchatka", "Kamchatka",
                 List.of("alaska"), 30.0, 40.0);
 
@@ -60,68 +65,37 @@ class MapServiceTest {
                 "Standard Risk map", "Author", 2, 6, List.of(area));
 
         when(mapLoader.getMap("classic-world")).thenReturn(mapDef);
-        when(continentRepository.save(any(Continent.class))).thenAnswer(inv -> {
-            Continent c = inv.getArgument(0);
-            c.setId("cont-1");
-            return c;
-        });
-        when(territoryRepository.save(any(Territory.class))).thenAnswer(inv -> {
-            Territory t = inv.getArgument(0);
-            t.setId("terr-" + t.getTerritoryKey());
-            return t;
-        });
-        when(territoryRepository.findByGameId("game-1")).thenReturn(List.of());
 
         mapService.initializeMap(game);
 
-        // Verify continent created
-        ArgumentCaptor<Continent> continentCaptor = ArgumentCaptor.forClass(Continent.class);
-        verify(continentRepository).save(continentCaptor.capture());
-        Continent saved = continentCaptor.getValue();
-        assertEquals("north-america", saved.getContinentKey());
-        assertEquals("North America", saved.getName());
-        assertEquals(5, saved.getBonusArmies());
-        assertEquals("#FF0000", saved.getColor());
-
-        // Verify 2 territories created
-        verify(territoryRepository, times(2)).save(any(Territory.class));
-    }
-
-    @Test
-    @DisplayName("should set neighbor keys on created territories")
-    void shouldSetNeighborKeys() {
-        TerritoryDefinition terr1 = new TerritoryDefinition("alaska", "Alaska",
-                List.of("kamchatka", "nw-territory"), 10.0, 20.0);
-
-        AreaDefinition area = new AreaDefinition("na", "NA", 5, "#FF0000", List.of(terr1));
-        MapDefinition mapDef = new MapDefinition("classic-world", "CW", "d", "a", 2, 6, List.of(area));
-
-        when(mapLoader.getMap("classic-world")).thenReturn(mapDef);
-        when(continentRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(territoryRepository.save(any(Territory.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(territoryRepository.findByGameId("game-1")).thenReturn(List.of());
-
-        mapService.initializeMap(game);
-
-        ArgumentCaptor<Territory> captor = ArgumentCaptor.forClass(Territory.class);
-        verify(territoryRepository).save(captor.capture());
-
-        Territory territory = captor.getValue();
-        assertEquals("alaska", territory.getTerritoryKey());
-        assertTrue(territory.getNeighborKeys().contains("kamchatka"));
-        assertTrue(territory.getNeighborKeys().contains("nw-territory"));
+        List<Object[]> continents = insertedRows("continents");
+        assertEquals(1, continents.size());
+        Object[] continent = continents.get(0);
+        assertNotNull(continent[0]);
+        assertEquals("North America", continent[1]);
+        assertEquals("north-america", continent[2]);
+        assertEquals(5, continent[3]);
+        assertEquals("#FF0000", continent[4]);
+        assertEquals("game-1", continent[5]);
+
+        List<Object[]> territories = insertedRows("territories");
+        assertEquals(2, territories.size());
+        assertEquals("alaska", territories.get(0)[2]);
+        assertEquals(10.0, territories.get(0)[4]);
+        assertEquals(20.0, territories.get(0)[5]);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
     }
 
     @Test
-    @DisplayName("should handle map with multiple areas")
-    void shouldHandleMultipleAreas() {
+    @DisplayName("should link each territory to its continent with generated ids")
+    void shouldLinkTerritoriesToContinents() {
         TerritoryDefinition t1 = new TerritoryDefinition("brazil", "Brazil",
-                List.of("argentina"), 10.0, 20.0);
+                List.of("egypt"), 10.0, 20.0);
         AreaDefinition area1 = new AreaDefinition("south-america", "South America",
                 2, "#00FF00", List.of(t1));
 
         TerritoryDefinition t2 = new TerritoryDefinition("egypt", "Egypt",
-                List.of("north-africa"), 30.0, 40.0);
+                List.of("brazil"), 30.0, 40.0);
         AreaDefinition area2 = new AreaDefinition("africa", "Africa",
                 3, "#0000FF", List.of(t2));
 
@@ -129,13 +103,17 @@ class MapServiceTest {
                 List.of(area1, area2));
 
         when(mapLoader.getMap("classic-world")).thenReturn(mapDef);
-        when(continentRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(territoryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(territoryRepository.findByGameId("game-1")).thenReturn(List.of());
 
         mapService.initializeMap(game);
 
-        verify(continentRepository, times(2)).save(any(Continent.class));
-        verify(territoryRepository, times(2)).save(any(Territory.class));
+        List<Object[]> continents = insertedRows("continents");
+        List<Object[]> territories = insertedRows("territories");
+        assertEquals(2, continents.size());
+        assertEquals(2, territories.size());
+        assertEquals(continents.get(0)[0], territories.get(0)[6]);
+        assertEquals(continents.get(1)[0], territories.get(1)[6]);
+        assertNotEquals(territories.get(0)[0], territories.get(1)[0]);
+        assertEquals(0, territories.get(0)[3]);
+        assertEquals("game-1", territories.get(1)[7]);
     }
 }
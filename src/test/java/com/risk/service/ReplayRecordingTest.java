@@ -0,0 +1,185 @@
+package com.risk.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.risk.model.Game;
+import com.risk.model.GameEvent;
+import com.risk.model.GamePhase;
+import com.risk.model.GameSnapshot;
+import com.risk.model.GameStatus;
+import com.risk.model.Player;
+
+/**
+ * Unit tests for ReplayRecording — the binary action stream and seeking by keyframe.
+ */
+class ReplayRecordingTest {
+
+    private static final int LAST_TURN = 7;
+
+    private final Game game = Game.builder()
+            .id("game-1").mapId("classic-world")
+            .players(new ArrayList<>(List.of(Player.builder().id("p1").name("Alice").build(),
+                    Player.builder().id("p2").name("Bob").build())))
+            .build();
+    private final GameSnapshot start = GameSnapshot.builder()
+            .gameId("game-1").sequence(0)
+            .status(GameStatus.IN_PROGRESS).currentPhase(GamePhase.REINFORCEMENT)
+            .currentPlayerId("p1").turnNumber(1).reinforcementsRemaining(3)
+            .board("alaska:p1:3;kamchatka:p2:2;brazil:p1:4;peru:p2:1")
+            .eliminatedPlayerIds("")
+            .createdAt(LocalDateTime.of(2025, 1, 15, 10, 0))
+            .build();
+    private final List<GameEvent> events = new ArrayList<>();
+    private byte[] bytes;
+    private ReplayRecording recording;
+
+    @BeforeEach
+    void setUp() {
+        // Turn 1: Alice conquers Kamchatka
+        log(GameEvent.armiesPlaced("p1", "alaska", 3));
+        log(GameEvent.attackRolled("p1", "alaska", "kamchatka", new int[]{6, 5, 3}, new int[]{4, 2}, 0, 2));
+        log(GameEvent.territoryConquered("p1", "alaska", "kamchatka", 3));
+        log(GameEvent.attackEnded("p1"));
+        log(GameEvent.fortified("p1", "brazil", "alaska", 2));
+        log(GameEvent.turnEnded("p2", 3, 1));
+        log(GameEvent.armiesPlaced("p2", "peru", 3));
+        log(GameEvent.attackEnded("p2"));
+        log(GameEvent.turnEnded("p1", 3, 2));
+        // Turns 2 to 6: both reinforce and pass
+        for (int turn = 2; turn < LAST_TURN; turn++) {
+            log(GameEvent.armiesPlaced("p1", "brazil", 3));
+            log(GameEvent.attackEnded("p1"));
+            log(GameEvent.turnEnded("p2", 3, turn));
+            log(GameEvent.armiesPlaced("p2", "peru", 3));
+            log(GameEvent.attackEnded("p2"));
+            log(GameEvent.turnEnded("p1", 3, turn + 1));
+        }
+        log(GameEvent.gameFinished("p1", LAST_TURN));
+
+        bytes = ReplayRecording.record(game, start, events, 3);
+        recording = ReplayRecording.parse(bytes);
+    }
+
+    private void log(GameEvent event) {
+        event.setGameId("game-1");
+        event.setSequence(events.size() + 1);
+        events.add(event);
+    }
+
+    /**
+     * State at the start of {@code turn}, by applying the original events from the start.
+     */
+    private ReplayedGame replayedTo(int turn) {
+        ReplayedGame state = ReplayedGame.fromSnapshot(start);
+        for (GameEvent event : events) {
+            if (state.getTurnNumber() >= turn) {
+                break;
+            }
+            state.apply(event);
+        }
+        return state;
+    }
+
+    private static void assertSameState(ReplayedGame expected, ReplayedGame actual) {
+        assertEquals(expected.getSequence(), actual.getSequence());
+        assertEquals(expected.getTurnNumber(), actual.getTurnNumber());
+        assertEquals(expected.getCurrentPhase(), actual.getCurrentPhase());
+        assertEquals(expected.getCurrentPlayerId(), actual.getCurrentPlayerId());
+        assertEquals(expected.getReinforcementsRemaining(), actual.getReinforcementsRemaining());
+        assertEquals(expected.getTerritories().keySet(), actual.getTerritories().keySet());
+        expected.getTerritories().forEach((key, territory) -> {
+            assertEquals(territory.getOwnerId(), actual.getTerritories().get(key).getOwnerId(), key);
+            assertEquals(territory.getArmies(), actual.getTerritories().get(key).getArmies(), key);
+        });
+    }
+
+    private static byte[] write(ReplayRecording.Playback playback) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        playback.writeTo(out);
+        return out.toByteArray();
+    }
+
+    @Nested
+    @DisplayName("record()")
+    class RecordTests {
+
+        @Test
+        @DisplayName("should keep every action with its dice and losses")
+        void shouldKeepActions() {
+            List<GameEvent> actions = recording.readActions();
+
+            assertEquals(events.size(), actions.size());
+            GameEvent attack = actions.get(1);
+            assertEquals("653-42", attack.getDice());
+            assertEquals(0, attack.getAttackerLosses());
+            assertEquals(2, attack.getDefenderLosses());
+            assertEquals("kamchatka", attack.getToKey());
+            assertEquals(LAST_TURN, actions.getLast().getTurnNumber());
+        }
+
+        @Test
+        @DisplayName("should span the turns from the start to the last one begun")
+        void shouldSpanTurns() {
+            assertEquals(1, recording.getFirstTurn());
+            assertEquals(LAST_TURN, recording.getLastTurn());
+        }
+    }
+
+    @Nested
+    @DisplayName("seek()")
+    class SeekTests {
+
+        @Test
+        @DisplayName("should rebuild the state at the start of every turn")
+        void shouldRebuildEveryTurn() {
+            for (int turn = 1; turn <= LAST_TURN; turn++) {
+                assertSameState(replayedTo(turn), recording.stateAt(turn));
+            }
+        }
+
+        @Test
+        @DisplayName("should stream from a turn as a recording of its own, between keyframes or on one")
+        void shouldStreamSeekableRecording() throws IOException {
+            for (int turn : new int[]{4, 6}) {
+                ReplayRecording seeked = ReplayRecording.parse(write(recording.seek(turn)));
+
+                assertEquals(turn, seeked.getFirstTurn());
+                assertEquals(LAST_TURN, seeked.getLastTurn());
+                assertSameState(replayedTo(turn), seeked.stateAt(turn));
+                assertSameState(replayedTo(LAST_TURN), seeked.stateAt(LAST_TURN));
+            }
+        }
+
+        @Test
+        @DisplayName("should stream the whole recording from the first turn")
+        void shouldStreamWholeRecording() throws IOException {
+            assertArrayEquals(bytes, write(recording.seek(1)));
+        }
+
+        @Test
+        @DisplayName("should reject turns outside the game")
+        void shouldRejectUnknownTurn() {
+            assertThrows(IllegalArgumentException.class, () -> recording.seek(0));
+            assertThrows(IllegalArgumentException.class, () -> recording.seek(LAST_TURN + 1));
+        }
+
+        @Test
+        @DisplayName("should reject bytes that are not a recording")
+        void shouldRejectOtherBytes() {
+            assertThrows(IllegalArgumentException.class, () -> ReplayRecording.parse(new byte[]{1, 2, 3, 4, 5}));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.risk.simulation;
+
+import com.risk.config.AreaDefinition;
+import com.risk.config.MapDefinition;
+import com.risk.config.TerritoryDefinition;
+import com.risk.model.CPUDifficulty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GameSimulator and BatchSimulator — in-memory, seeded CPU self-play.
+ */
+class GameSimulatorTest {
+
+    private MapDefinition map;
+
+    @BeforeEach
+    void setUp() {
+        // Two continents joined by brazil - north-africa
+        map = new MapDefinition("mini", "Mini", "d", "a", 2, 4, List.of(
+                new AreaDefinition("south-america", "South America", 2, "#0f0", List.of(
+                        new TerritoryDefinition("venezuela", "Venezuela", List.of("brazil", "peru"), 0, 0),
+                        new TerritoryDefinition("brazil", "Brazil", List.of("venezuela", "peru", "north-africa"), 0, 0),
+                        new TerritoryDefinition("peru", "Peru", List.of("venezuela", "brazil"), 0, 0))),
+                new AreaDefinition("africa", "Africa", 3, "#f80", List.of(
+                        new TerritoryDefinition("north-africa", "North Africa", List.of("brazil", "egypt", "congo"), 0, 0),
+                        new TerritoryDefinition("egypt", "Egypt", List.of("north-africa", "congo"), 0, 0),
+                        new TerritoryDefinition("congo", "Congo", List.of("north-africa", "egypt"), 0, 0)))));
+    }
+
+    private GameSimulator simulator(CPUDifficulty... difficulties) {
+        List<StrategyProvider> seats = Arrays.stream(difficulties)
+                .map(d -> StrategyProvider.of(d, 20))
+                .toList();
+        return new GameSimulator(map, seats, 200);
+    }
+
+    @Nested
+    @DisplayName("play()")
+    class PlayTests {
+
+        @Test
+        @DisplayName("should play a game to a result")
+        void shouldPlayToResult() {
+            SimulationResult result = simulator(CPUDifficulty.HARD, CPUDifficulty.MEDIUM).play(42);
+
+            assertEquals(42, result.seed());
+            assertTrue(result.turns() >= 1);
+            assertTrue(result.isDraw() || result.winnerSeat() == 0 || result.winnerSeat() == 1);
+        }
+
+        @Test
+        @DisplayName("should replay the same game from the same seed")
+        void shouldBeReproducible() {
+            GameSimulator simulator = simulator(CPUDifficulty.EASY, CPUDifficulty.MEDIUM, CPUDifficulty.HARD);
+
+            for (long seed = 1; seed <= 20; seed++) {
+                assertEquals(simulator.play(seed), simulator.play(seed), "seed " + seed);
+            }
+        }
+
+        @Test
+        @DisplayName("should reject games with fewer than two seats")
+        void shouldRejectSingleSeat() {
+            assertThrows(IllegalArgumentException.class, () -> simulator(CPUDifficulty.HARD));
+        }
+    }
+
+    @Nested
+    @DisplayName("BatchSimulator")
+    class BatchTests {
+
+        @Test
+        @DisplayName("should account for every game of the batch")
+        void shouldAccountForEveryGame() throws InterruptedException {
+            BatchReport report = new BatchSimulator(simulator(CPUDifficulty.HARD, CPUDifficulty.EASY), 2)
+                    .run(200, 7);
+
+            assertEquals(200, report.games());
+            assertEquals(200, report.winsBySeat()[0] + report.winsBySeat()[1] + report.draws());
+            assertTrue(report.totalTurns() >= 200);
+        }
+
+        @Test
+        @DisplayName("should produce the same tally regardless of thread count")
+        void shouldBeDeterministicAcrossThreads() throws InterruptedException {
+            GameSimulator simulator = simulator(CPUDifficulty.MEDIUM, CPUDifficulty.EASY);
+
+            BatchReport single = new BatchSimulator(simulator, 1).run(100, 3);
+            BatchReport parallel = new BatchSimulator(simulator, 4).run(100, 3);
+
+            assertArrayEquals(single.winsBySeat(), parallel.winsBySeat());
+            assertEquals(single.totalTurns(), parallel.totalTurns());
+            assertEquals(single.totalAttacks(), parallel.totalAttacks());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.risk.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BroadcastScheduler — update coalescing and event ordering.
+ */
+@ExtendWith(MockitoExtension.class)
+class BroadcastSchedulerTest {
+
+    @Mock private TaskScheduler taskScheduler;
+
+    private BroadcastScheduler broadcasts;
+    private List<String> sent;
+
+    @BeforeEach
+    void setUp() {
+        broadcasts = new BroadcastScheduler(taskScheduler, 100);
+        sent = new ArrayList<>();
+    }
+
+    /**
+     * Run the flushes scheduled so far, as the scheduler would once their windows close.
+     */
+    private void closeWindows(int expectedFlushes) {
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(expectedFlushes)).schedule(flush.capture(), any(Instant.class));
+        flush.getAllValues().get(expectedFlushes - 1).run();
+    }
+
+    @Nested
+    @DisplayName("requestUpdate()")
+    class RequestUpdateTests {
+
+        @Test
+        @DisplayName("should merge updates requested within one window into a single send")
+        void shouldMergeUpdates() {
+            broadcasts.requestUpdate("game-1", () -> sent.add("update-1"));
+            broadcasts.requestUpdate("game-1", () -> sent.add("update-2"));
+            broadcasts.requestUpdate("game-1", () -> sent.add("update-3"));
+            assertTrue(sent.isEmpty());
+
+            closeWindows(1);
+
+            assertEquals(List.of("update-3"), sent);
+            assertEquals(0, broadcasts.pendingGames());
+        }
+
+        @Test
+        @DisplayName("should open a new window once the previous one has been sent")
+        void shouldOpenNewWindowAfterFlush() {
+            broadcasts.requestUpdate("game-1", () -> sent.add("update-1"));
+            closeWindows(1);
+
+            broadcasts.requestUpdate("game-1", () -> sent.add("update-2"));
+            closeWindows(2);
+
+            assertEquals(List.of("update-1", "update-2"), sent);
+        }
+
+        @Test
+        @DisplayName("should keep games independent")
+        void shouldKeepGamesIndependent() {
+            broadcasts.requestUpdate("game-1", () -> sent.add("game-1"));
+            broadcasts.requestUpdate("game-2", () -> sent.add("game-2"));
+
+            verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+            assertEquals(2, broadcasts.pendingGames());
+        }
+
+        @Test
+        @DisplayName("should send at once when the window is 0")
+        void shouldSendImmediatelyWithoutWindow() {
+            BroadcastScheduler immediate = new BroadcastScheduler(taskScheduler, 0);
+
+            immediate.requestUpdate("game-1", () -> sent.add("update"));
+
+            assertEquals(List.of("update"), sent);
+            verifyNoInteractions(taskScheduler);
+        }
+    }
+
+    @Nested
+    @DisplayName("sendEvent()")
+    class SendEventTests {
+
+        @Test
+        @DisplayName("should send at once when no update is pending")
+        void shouldSendImmediatelyWhenIdle() {
+            broadcasts.sendEvent("game-1", () -> sent.add("event"));
+
+            assertEquals(List.of("event"), sent);
+            verifyNoInteractions(taskScheduler);
+        }
+
+        @Test
+        @DisplayName("should hold events behind a pending update and keep their order")
+        void shouldFollowPendingUpdate() {
+            broadcasts.requestUpdate("game-1", () -> sent.add("update-1"));
+            broadcasts.sendEvent("game-1", () -> sent.add("attack-1"));
+            broadcasts.requestUpdate("game-1", () -> sent.add("update-2"));
+            broadcasts.sendEvent("game-1", () -> sent.add("attack-2"));
+            assertTrue(sent.isEmpty());
+
+            closeWindows(1);
+
+            assertEquals(List.of("update-2", "attack-1", "attack-2"), sent);
+        }
+
+        @Test
+        @DisplayName("should hold events behind an update requested while the previous one was sent")
+        void shouldFollowUpdateRequestedDuringFlush() {
+            broadcasts.requestUpdate("game-1", () -> {
+                sent.add("update-1");
+                broadcasts.requestUpdate("game-1", () -> sent.add("update-2"));
+            });
+            closeWindows(1);
+
+            broadcasts.sendEvent("game-1", () -> sent.add("attack"));
+            assertEquals(List.of("update-1"), sent);
+            assertEquals(1, broadcasts.pendingGames());
+
+            closeWindows(2);
+
+            assertEquals(List.of("update-1", "update-2", "attack"), sent);
+            assertEquals(0, broadcasts.pendingGames());
+        }
+
+        @Test
+        @DisplayName("should keep sending after a failed broadcast")
+        void shouldSurviveFailures() {
+            broadcasts.requestUpdate("game-1", () -> {
+                throw new IllegalStateException("boom");
+            });
+            broadcasts.sendEvent("game-1", () -> sent.add("event"));
+
+            assertDoesNotThrow(() -> closeWindows(1));
+            assertEquals(List.of("event"), sent);
+        }
+    }
+
+    @Test
+    @DisplayName("should reject a negative window")
+    void shouldRejectNegativeWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new BroadcastScheduler(taskScheduler, -1));
+    }
+}
@@ -0,0 +1,196 @@
+package com.risk.websocket;
+
+import com.risk.dto.GameDeltaDTO;
+import com.risk.dto.GameStateDTO;
+import com.risk.dto.PlayerDTO;
+import com.risk.dto.TerritoryDTO;
+import com.risk.model.GamePhase;
+import com.risk.model.GameStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GameDeltaTracker — versioned states and GAME_DELTA computation.
+ */
+class GameDeltaTrackerTest {
+
+    private GameDeltaTracker tracker;
+    private List<GameStateDTO> snapshots;
+    private List<GameDeltaDTO> deltas;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new GameDeltaTracker();
+        snapshots = new ArrayList<>();
+        deltas = new ArrayList<>();
+    }
+
+    private void publish(GameStateDTO state) {
+        tracker.publish("game-1", state, snapshots::add, deltas::add);
+    }
+
+    private static GameStateDTO state(long version, int alaskaArmies, String... playerIds) {
+        List<PlayerDTO> players = new ArrayList<>();
+        for (String id : playerIds) {
+            players.add(PlayerDTO.builder().id(id).name(id).build());
+        }
+        return GameStateDTO.builder()
+                .gameId("game-1")
+                .stateVersion(version)
+                .status(GameStatus.IN_PROGRESS)
+                .currentPhase(GamePhase.ATTACK)
+                .turnNumber(3)
+                .currentPlayer(players.get(0))
+                .players(players)
+                .territories(List.of(
+                        TerritoryDTO.builder().territoryKey("alaska").ownerId("p1").armies(alaskaArmies)
+                                .name("Alaska").mapX(10).mapY(20).build(),
+                        TerritoryDTO.builder().territoryKey("kamchatka").ownerId("p2").armies(2)
+                                .name("Kamchatka").mapX(300).mapY(20).build()))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("publish()")
+    class PublishTests {
+
+        @Test
+        @DisplayName("should send the first state whole")
+        void shouldSendFirstStateWhole() {
+            GameStateDTO first = state(10, 5, "p1", "p2");
+
+            publish(first);
+
+            assertEquals(List.of(first), snapshots);
+            assertTrue(deltas.isEmpty());
+            assertEquals(10, first.getStateVersion());
+        }
+
+        @Test
+        @DisplayName("should send only the changed territories as a delta")
+        void shouldSendChangedTerritories() {
+            publish(state(10, 5, "p1", "p2"));
+
+            publish(state(12, 3, "p1", "p2"));
+
+            assertEquals(1, deltas.size());
+            GameDeltaDTO delta = deltas.get(0);
+            assertEquals(10, delta.getBaseVersion());
+            assertEquals(12, delta.getStateVersion());
+            assertEquals(1, delta.getTerritories().size());
+            assertEquals("alaska", delta.getTerritories().get(0).getTerritoryKey());
+            assertEquals(3, delta.getTerritories().get(0).getArmies());
+            assertTrue(delta.getPlayers().isEmpty());
+            assertEquals(GamePhase.ATTACK, delta.getCurrentPhase());
+        }
+
+        @Test
+        @DisplayName("should send turn changes even when the board is unchanged")
+        void shouldSendTurnChanges() {
+            publish(state(10, 5, "p1", "p2"));
+            GameStateDTO next = state(11, 5, "p1", "p2");
+            next.setCurrentPhase(GamePhase.FORTIFY);
+
+            publish(next);
+
+            assertEquals(1, deltas.size());
+            assertEquals(GamePhase.FORTIFY, deltas.get(0).getCurrentPhase());
+            assertTrue(deltas.get(0).getTerritories().isEmpty());
+        }
+
+        @Test
+        @DisplayName("should send nothing for a state already broadcast or older")
+        void shouldSkipStaleVersions() {
+            publish(state(10, 5, "p1", "p2"));
+
+            publish(state(10, 3, "p1", "p2"));
+            publish(state(9, 3, "p1", "p2"));
+
+            assertEquals(1, snapshots.size());
+            assertTrue(deltas.isEmpty());
+        }
+
+        @Test
+        @DisplayName("should keep the old base when a newer state has no visible changes")
+        void shouldKeepBaseWhenUnchanged() {
+            publish(state(10, 5, "p1", "p2"));
+            publish(state(11, 5, "p1", "p2"));
+
+            publish(state(12, 3, "p1", "p2"));
+
+            assertEquals(1, deltas.size());
+            assertEquals(10, deltas.get(0).getBaseVersion());
+            assertEquals(12, deltas.get(0).getStateVersion());
+        }
+
+        @Test
+        @DisplayName("should resend the whole state when the players change")
+        void shouldResendWholeWhenPlayersChange() {
+            publish(state(10, 5, "p1", "p2"));
+
+            GameStateDTO withNewPlayer = state(11, 5, "p1", "p2", "p3");
+            publish(withNewPlayer);
+
+            assertEquals(List.of(withNewPlayer), snapshots.subList(1, 2));
+            assertTrue(deltas.isEmpty());
+        }
+
+        @Test
+        @DisplayName("should always send unversioned states whole")
+        void shouldSendUnversionedWhole() {
+            publish(state(0, 5, "p1", "p2"));
+            publish(state(0, 3, "p1", "p2"));
+
+            assertEquals(2, snapshots.size());
+            assertTrue(deltas.isEmpty());
+        }
+
+        @Test
+        @DisplayName("should chain versions across consecutive deltas")
+        void shouldChainVersions() {
+            publish(state(10, 5, "p1", "p2"));
+            publish(state(11, 4, "p1", "p2"));
+            publish(state(13, 3, "p1", "p2"));
+
+            assertEquals(2, deltas.size());
+            assertEquals(deltas.get(0).getStateVersion(), deltas.get(1).getBaseVersion());
+        }
+
+        @Test
+        @DisplayName("should not modify the published states")
+        void shouldNotModifyStates() {
+            GameStateDTO first = state(10, 5, "p1", "p2");
+            GameStateDTO second = state(11, 3, "p1", "p2");
+
+            publish(first);
+            publish(second);
+
+            assertEquals(10, first.getStateVersion());
+            assertEquals(11, second.getStateVersion());
+        }
+    }
+
+    @Nested
+    @DisplayName("forget()")
+    class ForgetTests {
+
+        @Test
+        @DisplayName("should start over with a whole state")
+        void shouldStartOver() {
+            publish(state(10, 5, "p1", "p2"));
+
+            tracker.forget("game-1");
+            publish(state(11, 3, "p1", "p2"));
+
+            assertEquals(2, snapshots.size());
+            assertTrue(deltas.isEmpty());
+        }
+    }
+}
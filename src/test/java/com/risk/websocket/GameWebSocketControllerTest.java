@@ -15,6 +15,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -27,6 +28,7 @@ class GameWebSocketControllerTest {
     @Mock private GameService gameService;
     @Mock private CPUPlayerService cpuPlayerService;
     @Mock private GameWebSocketHandler webSocketHandler;
+    @Mock private LobbyFeed lobbyFeed;
 
     @InjectMocks
     private GameWebSocketController controller;
@@ -139,6 +141,69 @@ class GameWebSocketControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("handleBlitz")
+    class BlitzTests {
+
+        @Test
+        @DisplayName("should blitz and broadcast one result and one update")
+        void shouldBlitzAndBroadcast() {
+            var msg = new GameWebSocketController.BlitzMessage("player-1", "alaska", "kamchatka", 2);
+            BlitzResult result = BlitzResult.builder()
+                    .fromTerritoryKey("alaska").toTerritoryKey("kamchatka")
+                    .rounds(List.of()).conquered(false).build();
+
+            when(gameService.blitz("game-1", "player-1", "alaska", "kamchatka", 2)).thenReturn(result);
+            when(gameService.getGame("game-1")).thenReturn(game);
+
+            controller.handleBlitz("game-1", msg);
+
+            verify(webSocketHandler).broadcastBlitzResult("game-1", result);
+            verify(webSocketHandler).broadcastGameUpdate("game-1");
+            verify(webSocketHandler, never()).broadcastGameOver(any(), any());
+        }
+
+        @Test
+        @DisplayName("should fight to the last army when no stop threshold is given")
+        void shouldDefaultStopThreshold() {
+            var msg = new GameWebSocketController.BlitzMessage("player-1", "alaska", "kamchatka", 0);
+            when(gameService.blitz("game-1", "player-1", "alaska", "kamchatka", 1))
+                    .thenReturn(BlitzResult.builder().rounds(List.of()).build());
+            when(gameService.getGame("game-1")).thenReturn(game);
+
+            controller.handleBlitz("game-1", msg);
+
+            verify(gameService).blitz("game-1", "player-1", "alaska", "kamchatka", 1);
+        }
+
+        @Test
+        @DisplayName("should broadcast game over when the blitz ends the game")
+        void shouldBroadcastGameOver() {
+            var msg = new GameWebSocketController.BlitzMessage("player-1", "alaska", "kamchatka", 1);
+            game.setStatus(GameStatus.FINISHED);
+            game.setWinnerId("player-1");
+            when(gameService.blitz("game-1", "player-1", "alaska", "kamchatka", 1))
+                    .thenReturn(BlitzResult.builder().rounds(List.of()).conquered(true).build());
+            when(gameService.getGame("game-1")).thenReturn(game);
+
+            controller.handleBlitz("game-1", msg);
+
+            verify(webSocketHandler).broadcastGameOver("game-1", "Alice");
+        }
+
+        @Test
+        @DisplayName("should broadcast error on blitz exception")
+        void shouldBroadcastErrorOnFailure() {
+            var msg = new GameWebSocketController.BlitzMessage("player-1", "alaska", "kamchatka", 1);
+            when(gameService.blitz(any(), any(), any(), any(), anyInt()))
+                    .thenThrow(new IllegalArgumentException("Not adjacent"));
+
+            controller.handleBlitz("game-1", msg);
+
+            verify(webSocketHandler).broadcastError("game-1", "player-1", "Not adjacent");
+        }
+    }
+
     @Nested
     @DisplayName("handleEndAttack")
     class EndAttackTests {
@@ -270,4 +335,19 @@ class GameWebSocketControllerTest {
             verify(webSocketHandler).broadcastChatMessage("game-1", "Alice", "Hello!");
         }
     }
+
+    @Nested
+    @DisplayName("subscribeLobby")
+    class LobbyTests {
+
+        @Test
+        @DisplayName("should answer with the lobby snapshot")
+        void shouldReturnSnapshot() {
+            GameWebSocketHandler.GameMessage snapshot = GameWebSocketHandler.GameMessage.builder()
+                    .type(LobbyFeed.LOBBY_SNAPSHOT).build();
+            when(lobbyFeed.snapshot()).thenReturn(snapshot);
+
+            assertSame(snapshot, controller.subscribeLobby());
+        }
+    }
 }
@@ -2,9 +2,15 @@ package com.risk.websocket;
 
 import com.risk.cpu.CPUAction;
 import com.risk.dto.AttackResult;
+import com.risk.dto.BlitzResult;
+import com.risk.dto.GameDeltaDTO;
 import com.risk.dto.GameStateDTO;
 import com.risk.dto.PlayerDTO;
+import com.risk.service.GameMetrics;
 import com.risk.service.GameService;
+import com.risk.service.GameStateCache;
+import com.risk.service.GameTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,7 +19,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,10 +42,24 @@ class GameWebSocketHandlerTest {
     @Mock private GameService gameService;
 
     private GameWebSocketHandler handler;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @BeforeEach
     void setUp() {
-        handler = new GameWebSocketHandler(messagingTemplate, gameService);
+        handler = new GameWebSocketHandler(messagingTemplate, gameService, new GameDeltaTracker(),
+                new BroadcastScheduler(null, 0), new GameMetrics(meterRegistry), new GameTracer(false, 1, 0));
+    }
+
+    private GameStateCache.Snapshot snapshot(GameStateDTO state) {
+        return new GameStateCache.Snapshot(state.getStateVersion(), state, objectMapper.writeValueAsBytes(state));
+    }
+
+    private JsonNode sentJson() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<?>> msgCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq("/topic/game/game-1"), msgCaptor.capture());
+        return objectMapper.readTree(new String((byte[]) msgCaptor.getValue().getPayload(), StandardCharsets.UTF_8));
     }
 
     @Nested
@@ -87,30 +113,91 @@ class GameWebSocketHandlerTest {
     class BroadcastGameUpdateTests {
 
         @Test
-        @DisplayName("should send GAME_UPDATE message with game state")
+        @DisplayName("should send GAME_UPDATE message with the cached game state JSON")
         void shouldSendGameUpdate() {
-            GameStateDTO mockState = new GameStateDTO();
-            when(gameService.getGameState("game-1")).thenReturn(mockState);
+            GameStateDTO mockState = GameStateDTO.builder().gameId("game-1").turnNumber(4).build();
+            when(gameService.getGameStateSnapshot("game-1")).thenReturn(snapshot(mockState));
 
             handler.broadcastGameUpdate("game-1");
 
+            JsonNode msg = sentJson();
+            assertEquals("GAME_UPDATE", msg.get("type").asString());
+            assertEquals("game-1", msg.get("payload").get("gameId").asString());
+            assertEquals(4, msg.get("payload").get("turnNumber").asInt());
+            assertTrue(msg.get("timestamp").asLong() > 0);
+        }
+
+        @Test
+        @DisplayName("should send GAME_DELTA once a state has been broadcast")
+        void shouldSendDeltaAfterFirstUpdate() {
+            GameStateDTO first = GameStateDTO.builder().stateVersion(5).turnNumber(1).build();
+            GameStateDTO second = GameStateDTO.builder().stateVersion(6).turnNumber(2).build();
+            when(gameService.getGameStateSnapshot("game-1")).thenReturn(snapshot(first), snapshot(second));
+
+            handler.broadcastGameUpdate("game-1");
+            handler.broadcastGameUpdate("game-1");
+
             ArgumentCaptor<Object> msgCaptor = ArgumentCaptor.forClass(Object.class);
             verify(messagingTemplate).convertAndSend(eq("/topic/game/game-1"), msgCaptor.capture());
 
             GameWebSocketHandler.GameMessage msg = (GameWebSocketHandler.GameMessage) msgCaptor.getValue();
-            assertEquals("GAME_UPDATE", msg.getType());
-            assertEquals(mockState, msg.getPayload());
+            assertEquals("GAME_DELTA", msg.getType());
+            GameDeltaDTO delta = (GameDeltaDTO) msg.getPayload();
+            assertEquals(5, delta.getBaseVersion());
+            assertEquals(6, delta.getStateVersion());
+            assertEquals(2, delta.getTurnNumber());
+        }
+
+        @Test
+        @DisplayName("should record the size of full states and the time of every message")
+        void shouldRecordBroadcastMetrics() {
+            GameStateDTO first = GameStateDTO.builder().stateVersion(5).turnNumber(1).build();
+            GameStateDTO second = GameStateDTO.builder().stateVersion(6).turnNumber(2).build();
+            when(gameService.getGameStateSnapshot("game-1")).thenReturn(snapshot(first), snapshot(second));
+
+            handler.broadcastGameUpdate("game-1");
+            handler.broadcastGameUpdate("game-1");
+
+            var sizes = meterRegistry.get("risk.broadcast.size").tag("type", "GAME_UPDATE").summary();
+            assertEquals(1, sizes.count());
+            assertTrue(sizes.totalAmount() > snapshot(first).json().length);
+            assertEquals(1, meterRegistry.get("risk.broadcast.duration").tag("type", "GAME_DELTA").timer().count());
+            assertNull(meterRegistry.find("risk.broadcast.size").tag("type", "GAME_DELTA").summary());
         }
 
         @Test
         @DisplayName("should handle exception without propagating")
         void shouldNotPropagateException() {
-            when(gameService.getGameState("game-1")).thenThrow(new RuntimeException("DB error"));
+            when(gameService.getGameStateSnapshot("game-1")).thenThrow(new RuntimeException("DB error"));
 
             assertDoesNotThrow(() -> handler.broadcastGameUpdate("game-1"));
         }
     }
 
+    @Nested
+    @DisplayName("broadcastBlitzResult()")
+    class BroadcastBlitzResultTests {
+
+        @Test
+        @DisplayName("should send one BLITZ_RESULT message carrying every round")
+        void shouldSendBlitzResult() {
+            BlitzResult result = BlitzResult.builder()
+                    .fromTerritoryKey("alaska").toTerritoryKey("kamchatka")
+                    .rounds(List.of(new BlitzResult.Round(new int[]{6}, new int[]{1}, 0, 1)))
+                    .defenderLosses(1).conquered(true)
+                    .build();
+
+            handler.broadcastBlitzResult("game-1", result);
+
+            ArgumentCaptor<Object> msgCaptor = ArgumentCaptor.forClass(Object.class);
+            verify(messagingTemplate).convertAndSend(eq("/topic/game/game-1"), msgCaptor.capture());
+
+            GameWebSocketHandler.GameMessage msg = (GameWebSocketHandler.GameMessage) msgCaptor.getValue();
+            assertEquals("BLITZ_RESULT", msg.getType());
+            assertSame(result, msg.getPayload());
+        }
+    }
+
     @Nested
     @DisplayName("broadcastGameOver()")
     class BroadcastGameOverTests {
@@ -288,19 +375,16 @@ class GameWebSocketHandlerTest {
     class BroadcastGameStartedTests {
 
         @Test
-        @DisplayName("should send GAME_STARTED message with game state")
+        @DisplayName("should send GAME_STARTED message with the cached game state JSON")
         void shouldSendGameStarted() {
-            GameStateDTO mockState = new GameStateDTO();
-            when(gameService.getGameState("game-1")).thenReturn(mockState);
+            GameStateDTO mockState = GameStateDTO.builder().gameId("game-1").build();
+            when(gameService.getGameStateSnapshot("game-1")).thenReturn(snapshot(mockState));
 
             handler.broadcastGameStarted("game-1");
 
-            ArgumentCaptor<Object> msgCaptor = ArgumentCaptor.forClass(Object.class);
-            verify(messagingTemplate).convertAndSend(eq("/topic/game/game-1"), msgCaptor.capture());
-
-            GameWebSocketHandler.GameMessage msg = (GameWebSocketHandler.GameMessage) msgCaptor.getValue();
-            assertEquals("GAME_STARTED", msg.getType());
-            assertEquals(mockState, msg.getPayload());
+            JsonNode msg = sentJson();
+            assertEquals("GAME_STARTED", msg.get("type").asString());
+            assertEquals("game-1", msg.get("payload").get("gameId").asString());
         }
     }
 
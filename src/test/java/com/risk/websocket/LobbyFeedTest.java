@@ -0,0 +1,97 @@
+package com.risk.websocket;
+
+import com.risk.config.MapDefinition;
+import com.risk.config.MapLoader;
+import com.risk.dto.GamePageDTO;
+import com.risk.dto.GameSummaryDTO;
+import com.risk.model.GameMode;
+import com.risk.model.GameStatus;
+import com.risk.repository.GameListing;
+import com.risk.service.GameService;
+import com.risk.service.LobbyEvent;
+import com.risk.websocket.GameWebSocketHandler.GameMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LobbyFeed — the lobby snapshot and change messages.
+ */
+@ExtendWith(MockitoExtension.class)
+class LobbyFeedTest {
+
+    @Mock private SimpMessagingTemplate messagingTemplate;
+    @Mock private GameService gameService;
+    @Mock private MapLoader mapLoader;
+
+    @InjectMocks
+    private LobbyFeed lobbyFeed;
+
+    @BeforeEach
+    void setUp() {
+        when(mapLoader.getMap("classic-world")).thenReturn(new MapDefinition("classic-world", "Classic World",
+                "desc", "Author", 2, 6, List.of()));
+    }
+
+    private static GameListing listing(String id, GameStatus status, int playerCount) {
+        return new GameListing(id, "Game " + id, "classic-world", status, GameMode.CLASSIC,
+                playerCount, 6, 2, LocalDateTime.of(2025, 1, 15, 10, 30), "Alice");
+    }
+
+    @Test
+    @DisplayName("snapshot should hold the newest games of every status")
+    void snapshotShouldListNewestGames() {
+        when(gameService.listGames(null, null, null, false, 0, LobbyFeed.SNAPSHOT_SIZE)).thenReturn(new PageImpl<>(
+                List.of(listing("g1", GameStatus.WAITING_FOR_PLAYERS, 1), listing("g2", GameStatus.IN_PROGRESS, 3)),
+                PageRequest.of(0, LobbyFeed.SNAPSHOT_SIZE), 2));
+
+        GameMessage message = lobbyFeed.snapshot();
+
+        assertEquals(LobbyFeed.LOBBY_SNAPSHOT, message.getType());
+        GamePageDTO page = (GamePageDTO) message.getPayload();
+        assertEquals(2, page.getTotalElements());
+        assertEquals("Classic World", page.getGames().get(0).getMapName());
+        assertTrue(page.getGames().get(0).isCanJoin());
+        assertFalse(page.getGames().get(1).isCanJoin());
+    }
+
+    @Test
+    @DisplayName("should send each lobby event to the lobby topic with the game's summary")
+    void shouldSendEventsToTopic() {
+        lobbyFeed.onLobbyEvent(new LobbyEvent(LobbyEvent.Type.GAME_STARTED, listing("g1", GameStatus.IN_PROGRESS, 3)));
+
+        ArgumentCaptor<GameMessage> message = ArgumentCaptor.forClass(GameMessage.class);
+        verify(messagingTemplate).convertAndSend(eq(LobbyFeed.TOPIC), message.capture());
+        assertEquals("GAME_STARTED", message.getValue().getType());
+        GameSummaryDTO summary = (GameSummaryDTO) message.getValue().getPayload();
+        assertEquals("g1", summary.getId());
+        assertEquals(3, summary.getPlayerCount());
+        assertFalse(summary.isCanJoin());
+    }
+
+    @Test
+    @DisplayName("should not let a failed send reach the publisher")
+    void shouldSwallowSendFailures() {
+        doThrow(new IllegalStateException("broker down"))
+                .when(messagingTemplate).convertAndSend(eq(LobbyFeed.TOPIC), any(Object.class));
+
+        assertDoesNotThrow(() -> lobbyFeed.onLobbyEvent(
+                new LobbyEvent(LobbyEvent.Type.GAME_CREATED, listing("g1", GameStatus.WAITING_FOR_PLAYERS, 1))));
+    }
+}